@@ -9,7 +9,6 @@ import org.threeten.bp.ZonedDateTime;
 
 import com.opengamma.analytics.financial.credit.CreditInstrumentDefinition;
 import com.opengamma.analytics.financial.credit.CreditInstrumentDefinitionVisitorAdapter;
-import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndHazardRateCurveProvider;
 import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndSpreadsProvider;
 import com.opengamma.analytics.financial.credit.PriceType;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.legacy.LegacyCollateralizedVanillaCreditDefaultSwapDefinition;
@@ -31,6 +30,7 @@ import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.sta
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.standard.StandardSovereignCreditDefaultSwapDefinition;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.standard.StandardVanillaCreditDefaultSwapDefinition;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.vanilla.CreditDefaultSwapDefinition;
+import com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda.ISDACompliantIntegrationGrid;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda.ISDACreditDefaultSwapPVCalculator;
 import com.opengamma.analytics.financial.credit.hazardratecurve.HazardRateCurve;
 import com.opengamma.analytics.financial.credit.isdayieldcurve.ISDADateCurve;
@@ -69,15 +69,46 @@ public class ISDAHazardRateCurveCalculator {
     ArgumentChecker.notNull(cds, "cds");
     ArgumentChecker.notNull(data, "data");
     ArgumentChecker.notNull(valuationDate, "valuation date");
-    final TempVisitor visitor = new TempVisitor(valuationDate);
+    final TempVisitor visitor = new TempVisitor(valuationDate, null, 0);
+    return cds.accept(visitor, data);
+  }
+
+  /**
+   * Calibrates a hazard rate curve, starting from a curve calibrated to the same yield curve and market tenors and to spreads that differ only from a given
+   * tenor onwards (e.g. when the spread of one tenor is bumped). The hazard rates are bootstrapped tenor by tenor, so the hazard rates of the tenors before
+   * the first changed spread are those of the calibrated curve and only the following ones are calibrated again.
+   * @param cds The CDS
+   * @param data The yield curve, market tenors and market spreads
+   * @param valuationDate The valuation date
+   * @param calibratedCurve The curve calibrated to the unchanged spreads, not null
+   * @param firstChangedTenor The index of the first market tenor whose spread differs from the spreads the curve was calibrated to
+   * @return The calibrated hazard rate curve
+   */
+  public HazardRateCurve calibrateHazardRateCurve(final CreditInstrumentDefinition cds, final ISDAYieldCurveAndSpreadsProvider data, final ZonedDateTime valuationDate,
+      final HazardRateCurve calibratedCurve, final int firstChangedTenor) {
+    ArgumentChecker.notNull(cds, "cds");
+    ArgumentChecker.notNull(data, "data");
+    ArgumentChecker.notNull(valuationDate, "valuation date");
+    ArgumentChecker.notNull(calibratedCurve, "calibrated curve");
+    final int nTenors = data.getMarketDates().length;
+    ArgumentChecker.isTrue(calibratedCurve.getRates().length == nTenors + 1, "The calibrated curve has {} rates, expected {}", calibratedCurve.getRates().length, nTenors + 1);
+    ArgumentChecker.isTrue(firstChangedTenor >= 0 && firstChangedTenor <= nTenors, "First changed tenor {} must be between 0 and {}", firstChangedTenor, nTenors);
+    // The first rate of the curve is a duplicate of the hazard rate of the first tenor
+    final double[] calibratedRates = new double[nTenors];
+    System.arraycopy(calibratedCurve.getRates(), 1, calibratedRates, 0, nTenors);
+    final TempVisitor visitor = new TempVisitor(valuationDate, calibratedRates, firstChangedTenor);
     return cds.accept(visitor, data);
   }
 
   private class TempVisitor extends CreditInstrumentDefinitionVisitorAdapter<ISDAYieldCurveAndSpreadsProvider, HazardRateCurve> {
     private final ZonedDateTime _valuationDate;
+    private final double[] _calibratedRates;
+    private final int _firstChangedTenor;
 
-    public TempVisitor(final ZonedDateTime valuationDate) {
+    public TempVisitor(final ZonedDateTime valuationDate, final double[] calibratedRates, final int firstChangedTenor) {
       _valuationDate = valuationDate;
+      _calibratedRates = calibratedRates;
+      _firstChangedTenor = firstChangedTenor;
     }
 
     private HazardRateCurve calibrateCurve(final CreditDefaultSwapDefinition cds, final ISDAYieldCurveAndSpreadsProvider data) {
@@ -108,8 +139,13 @@ public class ISDAHazardRateCurveCalculator {
       // Convert the ZonedDateTime tenors into doubles (measured from valuationDate)
       final double[] tenorsAsDoubles = SCHEDULE_GENERATOR.convertTenorsToDoubles(marketDates, valuationDate, ACT_365);
 
-      // Loop through each of the input tenors
-      for (int m = 0; m < marketDates.length; m++) {
+      // The hazard rates of the tenors before the first changed spread are already calibrated
+      for (int m = 0; m < _firstChangedTenor; m++) {
+        hazardRates[m] = _calibratedRates[m];
+      }
+
+      // Loop through each of the remaining input tenors
+      for (int m = _firstChangedTenor; m < marketDates.length; m++) {
         // Construct a temporary vector of the first m tenors (note size of array)
         final int m1 = m + 1;
         final ZonedDateTime[] runningDates = new ZonedDateTime[m1];
@@ -155,11 +191,14 @@ public class ISDAHazardRateCurveCalculator {
         upperHazardRate = 1.0;
       }
 
+      // The yield curve is evaluated once on the curve time points, only the hazard rate curve changes during the search
+      final ISDACompliantIntegrationGrid grid = new ISDACompliantIntegrationGrid(yieldCurve, new HazardRateCurve(marketTenors, runningTenors, hazardRates, 0));
+
       // Now do the root search (in hazard rate space) - simple bisection method for the moment (guaranteed to work and we are not concerned with speed at the moment)
       // Calculate the CDS PV at the lower hazard rate bound
-      final double cdsPresentValueAtLowerPoint = calculateCDSPV(calibrationCDS, marketTenors, runningTenors, hazardRates, lowerHazardRate, yieldCurve, priceType);
+      final double cdsPresentValueAtLowerPoint = calculateCDSPV(calibrationCDS, grid, marketTenors, runningTenors, hazardRates, lowerHazardRate, priceType);
       // Calculate the CDS PV at the upper hazard rate bound
-      double cdsPresentValueAtMidPoint = calculateCDSPV(calibrationCDS, marketTenors, runningTenors, hazardRates, upperHazardRate, yieldCurve, priceType);
+      double cdsPresentValueAtMidPoint = calculateCDSPV(calibrationCDS, grid, marketTenors, runningTenors, hazardRates, upperHazardRate, priceType);
 
       // Orient the search
       if (cdsPresentValueAtLowerPoint < 0.0) {
@@ -177,7 +216,7 @@ public class ISDAHazardRateCurveCalculator {
         // Calculate the new mid-point
         final double hazardRateMidpoint = calibratedHazardRate + deltaHazardRate;
         // Calculate the CDS PV at the hazard rate range midpoint
-        cdsPresentValueAtMidPoint = calculateCDSPV(calibrationCDS, marketTenors, runningTenors, hazardRates, hazardRateMidpoint, yieldCurve, priceType);
+        cdsPresentValueAtMidPoint = calculateCDSPV(calibrationCDS, grid, marketTenors, runningTenors, hazardRates, hazardRateMidpoint, priceType);
         if (Double.doubleToLongBits(cdsPresentValueAtMidPoint) <= 0.0) {
           calibratedHazardRate = hazardRateMidpoint;
         }
@@ -190,8 +229,8 @@ public class ISDAHazardRateCurveCalculator {
     }
 
     // Private member function to compute the PV of a CDS given a particular guess for the hazard rate at tenor m (given calibrated hazard rates for tenors 0, ..., m - 1)
-    private double calculateCDSPV(final CreditDefaultSwapDefinition calibrationCDS, final ZonedDateTime[] tenors,
-        final double[] tenorsAsDoubles, final double[] hazardRates, final double hazardRateMidPoint, final ISDADateCurve yieldCurve, final PriceType priceType) {
+    private double calculateCDSPV(final CreditDefaultSwapDefinition calibrationCDS, final ISDACompliantIntegrationGrid grid, final ZonedDateTime[] tenors,
+        final double[] tenorsAsDoubles, final double[] hazardRates, final double hazardRateMidPoint, final PriceType priceType) {
 
       // How many tenors in the hazard rate term structure have been previously calibrated
       final int numberOfTenors = tenorsAsDoubles.length;
@@ -203,8 +242,7 @@ public class ISDAHazardRateCurveCalculator {
       final HazardRateCurve hazardRateCurve = new HazardRateCurve(tenors, tenorsAsDoubles, hazardRates, 0);
 
       // Compute the PV of the CDS with this term structure of hazard rates
-      final ISDAYieldCurveAndHazardRateCurveProvider curves = new ISDAYieldCurveAndHazardRateCurveProvider(yieldCurve, hazardRateCurve);
-      return PV_CALCULATOR.getPresentValue(calibrationCDS, curves, _valuationDate, priceType);
+      return PV_CALCULATOR.getPresentValue(calibrationCDS, grid.withHazardRateCurve(hazardRateCurve), _valuationDate, priceType);
     }
 
     @Override
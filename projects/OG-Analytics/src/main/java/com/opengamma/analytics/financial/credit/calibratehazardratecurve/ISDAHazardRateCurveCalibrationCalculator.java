@@ -7,11 +7,11 @@ package com.opengamma.analytics.financial.credit.calibratehazardratecurve;
 
 import org.threeten.bp.ZonedDateTime;
 
-import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndHazardRateCurveProvider;
 import com.opengamma.analytics.financial.credit.PriceType;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.legacy.LegacyCreditDefaultSwapDefinition;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.standard.StandardCreditDefaultSwapDefinition;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.vanilla.CreditDefaultSwapDefinition;
+import com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda.ISDACompliantIntegrationGrid;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda.ISDACreditDefaultSwapPVCalculator;
 import com.opengamma.analytics.financial.credit.hazardratecurve.HazardRateCurve;
 import com.opengamma.analytics.financial.credit.isdayieldcurve.ISDADateCurve;
@@ -104,11 +104,14 @@ public class ISDAHazardRateCurveCalibrationCalculator {
       upperHazardRate = 1.0;
     }
 
+    // The yield curve is evaluated once on the curve time points, only the hazard rate curve changes during the search
+    final ISDACompliantIntegrationGrid grid = new ISDACompliantIntegrationGrid(yieldCurve, new HazardRateCurve(marketTenors, runningTenors, hazardRates, 0));
+
     // Now do the root search (in hazard rate space) - simple bisection method for the moment (guaranteed to work and we are not concerned with speed at the moment)
     // Calculate the CDS PV at the lower hazard rate bound
-    final double cdsPresentValueAtLowerPoint = calculateCDSPV(valuationDate, calibrationCDS, marketTenors, runningTenors, hazardRates, lowerHazardRate, yieldCurve, priceType);
+    final double cdsPresentValueAtLowerPoint = calculateCDSPV(valuationDate, calibrationCDS, grid, marketTenors, runningTenors, hazardRates, lowerHazardRate, priceType);
     // Calculate the CDS PV at the upper hazard rate bound
-    double cdsPresentValueAtMidPoint = calculateCDSPV(valuationDate, calibrationCDS, marketTenors, runningTenors, hazardRates, upperHazardRate, yieldCurve, priceType);
+    double cdsPresentValueAtMidPoint = calculateCDSPV(valuationDate, calibrationCDS, grid, marketTenors, runningTenors, hazardRates, upperHazardRate, priceType);
 
     // Orient the search
     if (cdsPresentValueAtLowerPoint < 0.0) {
@@ -126,7 +129,7 @@ public class ISDAHazardRateCurveCalibrationCalculator {
       // Calculate the new mid-point
       final double hazardRateMidpoint = calibratedHazardRate + deltaHazardRate;
       // Calculate the CDS PV at the hazard rate range midpoint
-      cdsPresentValueAtMidPoint = calculateCDSPV(valuationDate, calibrationCDS, marketTenors, runningTenors, hazardRates, hazardRateMidpoint, yieldCurve, priceType);
+      cdsPresentValueAtMidPoint = calculateCDSPV(valuationDate, calibrationCDS, grid, marketTenors, runningTenors, hazardRates, hazardRateMidpoint, priceType);
       if (Double.doubleToLongBits(cdsPresentValueAtMidPoint) <= 0.0) {
         calibratedHazardRate = hazardRateMidpoint;
       }
@@ -139,8 +142,8 @@ public class ISDAHazardRateCurveCalibrationCalculator {
   }
 
   // Private member function to compute the PV of a CDS given a particular guess for the hazard rate at tenor m (given calibrated hazard rates for tenors 0, ..., m - 1)
-  private double calculateCDSPV(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition calibrationCDS, final ZonedDateTime[] tenors,
-      final double[] tenorsAsDoubles, final double[] hazardRates, final double hazardRateMidPoint, final ISDADateCurve yieldCurve, final PriceType priceType) {
+  private double calculateCDSPV(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition calibrationCDS, final ISDACompliantIntegrationGrid grid, final ZonedDateTime[] tenors,
+      final double[] tenorsAsDoubles, final double[] hazardRates, final double hazardRateMidPoint, final PriceType priceType) {
 
     // How many tenors in the hazard rate term structure have been previously calibrated
     final int numberOfTenors = tenorsAsDoubles.length;
@@ -152,8 +155,7 @@ public class ISDAHazardRateCurveCalibrationCalculator {
     final HazardRateCurve hazardRateCurve = new HazardRateCurve(tenors, tenorsAsDoubles, hazardRates, 0);
 
     // Compute the PV of the CDS with this term structure of hazard rates
-    final ISDAYieldCurveAndHazardRateCurveProvider curves = new ISDAYieldCurveAndHazardRateCurveProvider(yieldCurve, hazardRateCurve);
-    return PV_CALCULATOR.getPresentValue(calibrationCDS, curves, valuationDate, priceType);
+    return PV_CALCULATOR.getPresentValue(calibrationCDS, grid.withHazardRateCurve(hazardRateCurve), valuationDate, priceType);
   }
 
 }
@@ -5,15 +5,18 @@
  */
 package com.opengamma.analytics.financial.credit.creditdefaultswap.greeks.vanilla.isda;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.threeten.bp.ZonedDateTime;
 
-import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndHazardRateCurveProvider;
 import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndSpreadsProvider;
 import com.opengamma.analytics.financial.credit.PriceType;
 import com.opengamma.analytics.financial.credit.bumpers.CreditSpreadBumpersNew;
 import com.opengamma.analytics.financial.credit.bumpers.SpreadBumpType;
 import com.opengamma.analytics.financial.credit.calibratehazardratecurve.ISDAHazardRateCurveCalculator;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.vanilla.CreditDefaultSwapDefinition;
+import com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda.ISDACompliantIntegrationGrid;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda.ISDACreditDefaultSwapPVCalculator;
 import com.opengamma.analytics.financial.credit.hazardratecurve.HazardRateCurve;
 import com.opengamma.analytics.financial.credit.isdayieldcurve.ISDADateCurve;
@@ -21,13 +24,34 @@ import com.opengamma.analytics.financial.credit.marketdatachecker.SpreadTermStru
 import com.opengamma.util.ArgumentChecker;
 
 /**
- * 
+ * Calculates the bucketed CS01 of a CDS by bumping the market spread of each tenor in turn, recalibrating the hazard rate curve and repricing.
+ * <p>
+ * The hazard rate curve is bootstrapped tenor by tenor, so bumping the spread of a tenor does not change the hazard rates of the tenors before it: each
+ * bumped calibration starts from the unbumped calibrated curve and only the hazard rates from the bumped tenor onwards are calibrated again. The bumped
+ * curves have the same time points as the unbumped one, so the yield curve part of the pricing grid is computed once. If a pool is provided, the tenors are
+ * bumped and repriced in parallel; the results are the same with or without a pool.
  */
 public class ISDACreditDefaultSwapBucketedCS01Calculator {
   private static final CreditSpreadBumpersNew SPREAD_BUMPER = new CreditSpreadBumpersNew();
   private static final ISDAHazardRateCurveCalculator HAZARD_RATE_CALCULATOR = new ISDAHazardRateCurveCalculator();
   private static final ISDACreditDefaultSwapPVCalculator PV_CALCULATOR = new ISDACreditDefaultSwapPVCalculator();
   private static final SpreadTermStructureDataChecker DATA_CHECKER = new SpreadTermStructureDataChecker();
+  /** The pool on which the tenors are bumped, null to bump them sequentially */
+  private final ForkJoinPool _pool;
+
+  /**
+   * Bumps the tenors sequentially.
+   */
+  public ISDACreditDefaultSwapBucketedCS01Calculator() {
+    this(null);
+  }
+
+  /**
+   * @param pool The pool on which the tenors are bumped and repriced, null to bump them sequentially
+   */
+  public ISDACreditDefaultSwapBucketedCS01Calculator(final ForkJoinPool pool) {
+    _pool = pool;
+  }
 
   public double[] getCS01BucketedCreditDefaultSwap(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition cds, final ISDADateCurve yieldCurve,
       final ZonedDateTime[] marketTenors, final double[] marketSpreads, final double spreadBump, final SpreadBumpType spreadBumpType, final PriceType priceType) {
@@ -42,24 +66,84 @@ public class ISDACreditDefaultSwapBucketedCS01Calculator {
     DATA_CHECKER.checkSpreadData(valuationDate, marketTenors, marketSpreads);
     final int nSpreads = marketSpreads.length;
     final double[] bucketedCS01 = new double[nSpreads];
-    ISDAYieldCurveAndSpreadsProvider calibrationData = new ISDAYieldCurveAndSpreadsProvider(marketTenors, marketSpreads, yieldCurve);
-    HazardRateCurve hazardRateCurve = HAZARD_RATE_CALCULATOR.calibrateHazardRateCurve(cds, calibrationData, valuationDate);
-    ISDAYieldCurveAndHazardRateCurveProvider curveProvider = new ISDAYieldCurveAndHazardRateCurveProvider(yieldCurve, hazardRateCurve);
-    final double presentValue = PV_CALCULATOR.getPresentValue(cds, curveProvider, valuationDate, priceType);
-    // Loop through and bump each of the spreads at each tenor
-    for (int m = 0; m < nSpreads; m++) {
+    final ISDAYieldCurveAndSpreadsProvider calibrationData = new ISDAYieldCurveAndSpreadsProvider(marketTenors, marketSpreads, yieldCurve);
+    final HazardRateCurve hazardRateCurve = HAZARD_RATE_CALCULATOR.calibrateHazardRateCurve(cds, calibrationData, valuationDate);
+    final ISDACompliantIntegrationGrid grid = new ISDACompliantIntegrationGrid(yieldCurve, hazardRateCurve);
+    final double presentValue = PV_CALCULATOR.getPresentValue(cds, grid, valuationDate, priceType);
+    final BumpTask task = new BumpTask(valuationDate, cds, grid, marketTenors, marketSpreads, spreadBump, spreadBumpType, priceType, presentValue, bucketedCS01,
+        0, nSpreads);
+    if (_pool == null) {
+      // Loop through and bump each of the spreads at each tenor
+      for (int m = 0; m < nSpreads; m++) {
+        task.bump(m);
+      }
+    } else {
+      _pool.invoke(task);
+    }
+    return bucketedCS01;
+  }
+
+  /**
+   * Task bumping a range of tenors, splitting the range until a single tenor remains.
+   */
+  private static final class BumpTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final ZonedDateTime _valuationDate;
+    private final CreditDefaultSwapDefinition _cds;
+    private final ISDACompliantIntegrationGrid _grid;
+    private final ZonedDateTime[] _marketTenors;
+    private final double[] _marketSpreads;
+    private final double _spreadBump;
+    private final SpreadBumpType _spreadBumpType;
+    private final PriceType _priceType;
+    private final double _presentValue;
+    private final double[] _bucketedCS01;
+    private final int _start;
+    private final int _end;
+
+    private BumpTask(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid grid,
+        final ZonedDateTime[] marketTenors, final double[] marketSpreads, final double spreadBump, final SpreadBumpType spreadBumpType, final PriceType priceType,
+        final double presentValue, final double[] bucketedCS01, final int start, final int end) {
+      _valuationDate = valuationDate;
+      _cds = cds;
+      _grid = grid;
+      _marketTenors = marketTenors;
+      _marketSpreads = marketSpreads;
+      _spreadBump = spreadBump;
+      _spreadBumpType = spreadBumpType;
+      _priceType = priceType;
+      _presentValue = presentValue;
+      _bucketedCS01 = bucketedCS01;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start == 1) {
+        bump(_start);
+        return;
+      }
+      final int middle = (_start + _end) >>> 1;
+      invokeAll(subTask(_start, middle), subTask(middle, _end));
+    }
+
+    private BumpTask subTask(final int start, final int end) {
+      return new BumpTask(_valuationDate, _cds, _grid, _marketTenors, _marketSpreads, _spreadBump, _spreadBumpType, _priceType, _presentValue, _bucketedCS01,
+          start, end);
+    }
+
+    // Bump the spread at tenor m, recalibrate from the unbumped curve and reprice
+    private void bump(final int m) {
       // Calculate the bumped spreads vector
-      final double[] bumpedMarketSpreads = SPREAD_BUMPER.getBumpedCreditSpreads(marketSpreads, m, spreadBump, spreadBumpType);
+      final double[] bumpedMarketSpreads = SPREAD_BUMPER.getBumpedCreditSpreads(_marketSpreads, m, _spreadBump, _spreadBumpType);
       // Calculate the bumped CDS PV
-      calibrationData = new ISDAYieldCurveAndSpreadsProvider(marketTenors, bumpedMarketSpreads, yieldCurve);
-      hazardRateCurve = HAZARD_RATE_CALCULATOR.calibrateHazardRateCurve(cds, calibrationData, valuationDate);
-      curveProvider = new ISDAYieldCurveAndHazardRateCurveProvider(yieldCurve, hazardRateCurve);
-      final double bumpedPresentValue = PV_CALCULATOR.getPresentValue(cds, curveProvider, valuationDate, priceType);
+      final ISDAYieldCurveAndSpreadsProvider calibrationData = new ISDAYieldCurveAndSpreadsProvider(_marketTenors, bumpedMarketSpreads, _grid.getYieldCurve());
+      final HazardRateCurve hazardRateCurve = HAZARD_RATE_CALCULATOR.calibrateHazardRateCurve(_cds, calibrationData, _valuationDate, _grid.getHazardRateCurve(), m);
+      final double bumpedPresentValue = PV_CALCULATOR.getPresentValue(_cds, _grid.withHazardRateCurve(hazardRateCurve), _valuationDate, _priceType);
       // Compute the CS01 for this tenor
-      bucketedCS01[m] = (bumpedPresentValue - presentValue) / spreadBump;
+      _bucketedCS01[m] = (bumpedPresentValue - _presentValue) / _spreadBump;
     }
-    return bucketedCS01;
   }
 
-
 }
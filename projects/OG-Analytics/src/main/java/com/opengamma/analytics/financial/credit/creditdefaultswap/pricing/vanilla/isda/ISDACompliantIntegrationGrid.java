@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda;
+
+import java.util.Arrays;
+
+import com.opengamma.analytics.financial.credit.hazardratecurve.HazardRateCurve;
+import com.opengamma.analytics.financial.credit.isdayieldcurve.ISDADateCurve;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * The discount factors and survival probabilities of a yield curve and a hazard rate curve on the merged set of their (shifted) time points.
+ * <p>
+ * Both ISDA curves interpolate linearly the quantity t*r(t), so the log of the discount factor and the log of the survival probability are linear between
+ * the merged time points, i.e. the forward interest rate and the forward hazard rate are piecewise constant. The curves are evaluated once on the merged
+ * time points; the discount factors and survival probabilities at other times, and the integral of the contingent leg, are then obtained in closed form
+ * without interpolating the curves again. Outside the merged time points, the extrapolations of the curves (flat rate before the first point, linear t*r(t)
+ * after the last one) are also linear in the log and are continued in the same way.
+ */
+public class ISDACompliantIntegrationGrid {
+  /** Time points closer than this are merged */
+  private static final double TIME_TOLERANCE = 1e-15;
+  /** Below this value of (hazard rate + interest rate) * time, the contingent leg integral over an interval is expanded to second order */
+  private static final double SMALL_EXPONENT = 1e-8;
+
+  private final ISDADateCurve _yieldCurve;
+  private final HazardRateCurve _hazardRateCurve;
+  /** The merged time points */
+  private final double[] _times;
+  /** The log of the discount factor at the time points */
+  private final double[] _logDiscountFactors;
+  /** The log of the survival probability at the time points */
+  private final double[] _logSurvivalProbabilities;
+  /** The forward interest rate before the first point, between the points and after the last point (one more than the number of points) */
+  private final double[] _interestRates;
+  /** The forward hazard rate before the first point, between the points and after the last point (one more than the number of points) */
+  private final double[] _hazardRates;
+  /** The contingent leg integral between each pair of successive points (one less than the number of points) */
+  private final double[] _protection;
+
+  /**
+   * @param yieldCurve The yield curve, not null
+   * @param hazardRateCurve The hazard rate curve, not null
+   */
+  public ISDACompliantIntegrationGrid(final ISDADateCurve yieldCurve, final HazardRateCurve hazardRateCurve) {
+    ArgumentChecker.notNull(yieldCurve, "yield curve");
+    ArgumentChecker.notNull(hazardRateCurve, "hazard rate curve");
+    _yieldCurve = yieldCurve;
+    _times = mergeTimes(yieldCurve.getTimePoints(), hazardRateCurve.getShiftedTimePoints());
+    final int n = _times.length;
+    _logDiscountFactors = new double[n];
+    for (int i = 0; i < n; i++) {
+      _logDiscountFactors[i] = (yieldCurve.getOffset() - _times[i]) * yieldCurve.getInterestRate(_times[i]) - Math.log(yieldCurve.getZeroDiscountFactor());
+    }
+    _interestRates = forwardRates(_times, _logDiscountFactors, yieldCurve.getInterestRate(_times[0]));
+    _hazardRateCurve = hazardRateCurve;
+    _logSurvivalProbabilities = logSurvivalProbabilities(_times, hazardRateCurve);
+    _hazardRates = forwardRates(_times, _logSurvivalProbabilities, hazardRateCurve.getHazardRate(_times[0]));
+    _protection = protection(_times, _logDiscountFactors, _logSurvivalProbabilities, _interestRates, _hazardRates);
+  }
+
+  private ISDACompliantIntegrationGrid(final ISDACompliantIntegrationGrid grid, final HazardRateCurve hazardRateCurve) {
+    _yieldCurve = grid._yieldCurve;
+    _times = grid._times;
+    _logDiscountFactors = grid._logDiscountFactors;
+    _interestRates = grid._interestRates;
+    _hazardRateCurve = hazardRateCurve;
+    _logSurvivalProbabilities = logSurvivalProbabilities(_times, hazardRateCurve);
+    _hazardRates = forwardRates(_times, _logSurvivalProbabilities, hazardRateCurve.getHazardRate(_times[0]));
+    _protection = protection(_times, _logDiscountFactors, _logSurvivalProbabilities, _interestRates, _hazardRates);
+  }
+
+  /**
+   * Returns the grid for the same yield curve and another hazard rate curve. If the new hazard rate curve has the same time points as the current one
+   * (e.g. a bumped or recalibrated curve), the yield curve is not evaluated again.
+   * @param hazardRateCurve The hazard rate curve, not null
+   * @return The grid
+   */
+  public ISDACompliantIntegrationGrid withHazardRateCurve(final HazardRateCurve hazardRateCurve) {
+    ArgumentChecker.notNull(hazardRateCurve, "hazard rate curve");
+    if (Arrays.equals(hazardRateCurve.getShiftedTimePoints(), _hazardRateCurve.getShiftedTimePoints())) {
+      return new ISDACompliantIntegrationGrid(this, hazardRateCurve);
+    }
+    return new ISDACompliantIntegrationGrid(_yieldCurve, hazardRateCurve);
+  }
+
+  /**
+   * Gets the yield curve.
+   * @return The yield curve
+   */
+  public ISDADateCurve getYieldCurve() {
+    return _yieldCurve;
+  }
+
+  /**
+   * Gets the hazard rate curve.
+   * @return The hazard rate curve
+   */
+  public HazardRateCurve getHazardRateCurve() {
+    return _hazardRateCurve;
+  }
+
+  /**
+   * Gets the merged time points.
+   * @return The time points
+   */
+  public double[] getTimes() {
+    return _times;
+  }
+
+  /**
+   * The discount factor, equal to the yield curve discount factor.
+   * @param t The time
+   * @return The discount factor
+   */
+  public double getDiscountFactor(final double t) {
+    final int index = getIndex(t);
+    return Math.exp(logValue(_logDiscountFactors, _interestRates, index, t));
+  }
+
+  /**
+   * The survival probability, equal to the hazard rate curve survival probability.
+   * @param t The time
+   * @return The survival probability
+   */
+  public double getSurvivalProbability(final double t) {
+    final int index = getIndex(t);
+    return Math.exp(logValue(_logSurvivalProbabilities, _hazardRates, index, t));
+  }
+
+  /**
+   * The integral of the contingent leg between two times, i.e. the integral of h(s) * Q(s) * P(s) between the times, where h is the forward hazard rate,
+   * Q the survival probability and P the discount factor (the loss given default is not included).
+   * @param startTime The start time
+   * @param endTime The end time
+   * @return The integral, zero if the end time is not after the start time
+   */
+  public double getContingentLegIntegral(final double startTime, final double endTime) {
+    if (!(endTime > startTime)) {
+      return 0.0;
+    }
+    final int n = _times.length;
+    // The index of the interval containing the start time: 0 before the first point, i between point i - 1 and point i, n after the last point
+    int index = getIndex(startTime);
+    double start = startTime;
+    double integral = 0.0;
+    while (true) {
+      final double end = index < n ? Math.min(_times[index], endTime) : endTime;
+      if (index > 0 && index < n && start == _times[index - 1] && end == _times[index]) {
+        integral += _protection[index - 1];
+      } else {
+        final double logSurvivalDiscount = logValue(_logSurvivalProbabilities, _hazardRates, index, start) + logValue(_logDiscountFactors, _interestRates, index, start);
+        integral += contingentLegIntegral(_hazardRates[index], _interestRates[index], end - start, Math.exp(logSurvivalDiscount));
+      }
+      if (end == endTime) {
+        return integral;
+      }
+      start = end;
+      index++;
+    }
+  }
+
+  // The index of the interval containing t: 0 before the first point, i in [point i - 1, point i), n on or after the last point
+  private int getIndex(final double t) {
+    final int index = Arrays.binarySearch(_times, t);
+    return index >= 0 ? index + 1 : -(index + 1);
+  }
+
+  // The log value at t, linear from the point at the start of the interval (or the first point for the interval before it)
+  private double logValue(final double[] logValues, final double[] rates, final int index, final double t) {
+    final int point = Math.max(index - 1, 0);
+    return logValues[point] - rates[index] * (t - _times[point]);
+  }
+
+  private static double contingentLegIntegral(final double hazardRate, final double interestRate, final double dt, final double survivalDiscount) {
+    final double exponent = (hazardRate + interestRate) * dt;
+    if (Math.abs(exponent) < SMALL_EXPONENT) {
+      return hazardRate * dt * (1.0 - 0.5 * exponent) * survivalDiscount;
+    }
+    return hazardRate / (hazardRate + interestRate) * (1.0 - Math.exp(-exponent)) * survivalDiscount;
+  }
+
+  private static double[] mergeTimes(final double[] times1, final double[] times2) {
+    final double[] all = new double[times1.length + times2.length];
+    System.arraycopy(times1, 0, all, 0, times1.length);
+    System.arraycopy(times2, 0, all, times1.length, times2.length);
+    Arrays.sort(all);
+    int n = 1;
+    for (int i = 1; i < all.length; i++) {
+      if (all[i] - all[n - 1] > TIME_TOLERANCE) {
+        all[n++] = all[i];
+      }
+    }
+    return Arrays.copyOf(all, n);
+  }
+
+  private static double[] logSurvivalProbabilities(final double[] times, final HazardRateCurve hazardRateCurve) {
+    final int n = times.length;
+    final double[] logSurvivalProbabilities = new double[n];
+    final double logZeroDiscountFactor = Math.log(hazardRateCurve.getZeroDiscountFactor());
+    for (int i = 0; i < n; i++) {
+      logSurvivalProbabilities[i] = (hazardRateCurve.getOffset() - times[i]) * hazardRateCurve.getHazardRate(times[i]) - logZeroDiscountFactor;
+    }
+    return logSurvivalProbabilities;
+  }
+
+  // The forward rates before, between and after the points; the last interval rate is continued after the last point
+  private static double[] forwardRates(final double[] times, final double[] logValues, final double firstRate) {
+    final int n = times.length;
+    final double[] rates = new double[n + 1];
+    rates[0] = firstRate;
+    for (int i = 1; i < n; i++) {
+      rates[i] = (logValues[i - 1] - logValues[i]) / (times[i] - times[i - 1]);
+    }
+    rates[n] = rates[n - 1];
+    return rates;
+  }
+
+  private static double[] protection(final double[] times, final double[] logDiscountFactors, final double[] logSurvivalProbabilities, final double[] interestRates,
+      final double[] hazardRates) {
+    final int n = times.length;
+    final double[] protection = new double[Math.max(n - 1, 0)];
+    for (int i = 1; i < n; i++) {
+      final double survivalDiscount = Math.exp(logSurvivalProbabilities[i - 1] + logDiscountFactors[i - 1]);
+      protection[i - 1] = contingentLegIntegral(hazardRates[i], interestRates[i], times[i] - times[i - 1], survivalDiscount);
+    }
+    return protection;
+  }
+
+}
@@ -10,6 +10,7 @@ import org.threeten.bp.ZonedDateTime;
 import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndHazardRateCurveProvider;
 import com.opengamma.analytics.financial.credit.PriceType;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.vanilla.CreditDefaultSwapDefinition;
+import com.opengamma.util.ArgumentChecker;
 
 /**
  * 
@@ -24,6 +25,19 @@ public abstract class ISDACompliantLegCalculator {
    * @param priceType Clean or dirty 
    * @return The PV of the leg
    */
-  public abstract double calculateLeg(ZonedDateTime valuationDate, CreditDefaultSwapDefinition cds, ISDAYieldCurveAndHazardRateCurveProvider curves,
-      PriceType priceType);
+  public double calculateLeg(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider curves,
+      final PriceType priceType) {
+    ArgumentChecker.notNull(curves, "curves");
+    return calculateLeg(valuationDate, cds, new ISDACompliantIntegrationGrid(curves.getYieldCurve(), curves.getHazardRateCurve()), priceType);
+  }
+
+  /**
+   * get the PV of a leg of a CDS, with the curves already evaluated on their merged time points
+   * @param valuationDate The date that all cash-flows are PVed back to
+   * @param cds Description of the CDS
+   * @param grid The (ISDA model compliant) discount (yield) and survival (hazard rate) curves on their merged time points
+   * @param priceType Clean or dirty
+   * @return The PV of the leg
+   */
+  public abstract double calculateLeg(ZonedDateTime valuationDate, CreditDefaultSwapDefinition cds, ISDACompliantIntegrationGrid grid, PriceType priceType);
 }
@@ -10,8 +10,6 @@ import org.threeten.bp.ZonedDateTime;
 import com.opengamma.analytics.financial.credit.ISDAYieldCurveAndHazardRateCurveProvider;
 import com.opengamma.analytics.financial.credit.PriceType;
 import com.opengamma.analytics.financial.credit.creditdefaultswap.definition.vanilla.CreditDefaultSwapDefinition;
-import com.opengamma.analytics.financial.credit.hazardratecurve.HazardRateCurve;
-import com.opengamma.analytics.financial.credit.isdayieldcurve.ISDADateCurve;
 import com.opengamma.analytics.financial.credit.schedulegeneration.ScheduleUtils;
 import com.opengamma.analytics.financial.credit.schedulegeneration.isda.ISDAAccruedLegIntegrationScheduleGenerator;
 import com.opengamma.analytics.financial.credit.schedulegeneration.isda.ISDAPremiumLegScheduleGenerator;
@@ -42,15 +40,15 @@ public class ISDACompliantPremiumLegCalculator extends ISDACompliantLegCalculato
   // the ISDA model - will replace with a better model in due course
 
   @Override
-  public double calculateLeg(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider curves,
+  public double calculateLeg(final ZonedDateTime valuationDate, final CreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid grid,
       final PriceType priceType) {
+    ArgumentChecker.notNull(grid, "grid");
     double presentValuePremiumLeg = 0.0;
     final ZonedDateTime[] premiumLegSchedule = PREMIUM_LEG_SCHEDULE.constructISDACompliantCreditDefaultSwapPremiumLegSchedule(cds);
+    final ISDAYieldCurveAndHazardRateCurveProvider curves = new ISDAYieldCurveAndHazardRateCurveProvider(grid.getYieldCurve(), grid.getHazardRateCurve());
     final ZonedDateTime[] accruedLegIntegrationSchedule = ACRRUED_INTEGRATION_SCHEDULE.constructCreditDefaultSwapAccruedLegIntegrationSchedule(cds, curves);
     final ZonedDateTime adjustedMaturityDate = PREMIUM_LEG_SCHEDULE.getAdjustedMaturityDate(cds);
     ArgumentChecker.isTrue(!valuationDate.isAfter(adjustedMaturityDate), "Valuation date {} must be on or before the adjusted maturity date {}", valuationDate, adjustedMaturityDate);
-    final ISDADateCurve yieldCurve = curves.getYieldCurve();
-    final HazardRateCurve hazardRateCurve = curves.getHazardRateCurve();
     // TODO : Check the effective date calc here
     // If the valuation date is exactly the adjusted maturity date then simply return zero
     /*
@@ -85,8 +83,8 @@ public class ISDACompliantPremiumLegCalculator extends ISDACompliantLegCalculato
         tObsOffset = 0;
       }
       double t = today.isAfter(discountDate) ? -ACT_365.getDayCountFraction(discountDate, today) : ACT_365.getDayCountFraction(today, discountDate);
-      final double survival = hazardRateCurve.getSurvivalProbability(tObsOffset);
-      final double discount = yieldCurve.getDiscountFactor(t);
+      final double survival = grid.getSurvivalProbability(tObsOffset);
+      final double discount = grid.getDiscountFactor(t);
       thisPV += delta * accTime * discount * survival;
       double myPV = 0.0;
       if (cds.getIncludeAccruedPremium()) {
@@ -106,8 +104,8 @@ public class ISDACompliantPremiumLegCalculator extends ISDACompliantLegCalculato
         if (Double.compare(t, -0.0) == 0) {
           t = 0;
         }
-        double s0 = hazardRateCurve.getSurvivalProbability(t);
-        double df0 = yieldCurve.getDiscountFactor(t);
+        double s0 = grid.getSurvivalProbability(t);
+        double df0 = grid.getDiscountFactor(t);
         for (int j = 1; j < truncatedDateList.length; ++j) {
           double thisAccPV = 0.0;
           final ZonedDateTime date = truncatedDateList[j];
@@ -116,8 +114,8 @@ public class ISDACompliantPremiumLegCalculator extends ISDACompliantLegCalculato
             if (Double.compare(t, -0.0) == 0) {
               t = 0;
             }
-            final double s1 = hazardRateCurve.getSurvivalProbability(t);
-            final double df1 = yieldCurve.getDiscountFactor(t);
+            final double s1 = grid.getSurvivalProbability(t);
+            final double df1 = grid.getDiscountFactor(t);
             final double t0 = (offsetAccStartDate.isBefore(subStartDate) ? ACT_365.getDayCountFraction(offsetAccStartDate, subStartDate)
                 : ACT_365.getDayCountFraction(subStartDate, offsetAccStartDate)) + 0.5 / 365.0;
             final double t1 = (offsetAccStartDate.isBefore(date) ? ACT_365.getDayCountFraction(offsetAccStartDate, date)
@@ -144,7 +142,7 @@ public class ISDACompliantPremiumLegCalculator extends ISDACompliantLegCalculato
       bdaCashSettlementDate = BDA.adjustDate(cds.getCalendar(), bdaCashSettlementDate);
     }
     final double tSett = ACT_ACT.getDayCountFraction(valuationDate, bdaCashSettlementDate);
-    final double valueDatePV = yieldCurve.getDiscountFactor(tSett);
+    final double valueDatePV = grid.getDiscountFactor(tSett);
     presentValuePremiumLeg /= valueDatePV;
     if (priceType == PriceType.CLEAN) {
       //TODO not looked at this yet
@@ -41,15 +41,31 @@ public class ISDACreditDefaultSwapPVCalculator {
 
   public double getPresentValue(final CreditInstrumentDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data, final ZonedDateTime valuationDate,
       final PriceType priceType) {
-    ArgumentChecker.notNull(cds, "cds");
     ArgumentChecker.notNull(data, "data");
+    return getPresentValue(cds, new ISDACompliantIntegrationGrid(data.getYieldCurve(), data.getHazardRateCurve()), valuationDate, priceType);
+  }
+
+  /**
+   * The present value of a CDS, with the curves already evaluated on their merged time points. The same grid is used by both legs and can be reused for
+   * several CDS priced off the same curves; {@link ISDACompliantIntegrationGrid#withHazardRateCurve} avoids evaluating the yield curve again when only the
+   * hazard rate curve changes.
+   * @param cds The CDS
+   * @param grid The yield and hazard rate curves on their merged time points
+   * @param valuationDate The valuation date
+   * @param priceType Clean or dirty
+   * @return The present value
+   */
+  public double getPresentValue(final CreditInstrumentDefinition cds, final ISDACompliantIntegrationGrid grid, final ZonedDateTime valuationDate,
+      final PriceType priceType) {
+    ArgumentChecker.notNull(cds, "cds");
+    ArgumentChecker.notNull(grid, "grid");
     ArgumentChecker.notNull(valuationDate, "valuation date");
     ArgumentChecker.notNull(priceType, "price type");
     final TempVisitor visitor = new TempVisitor(valuationDate, priceType);
-    return cds.accept(visitor, data);
+    return cds.accept(visitor, grid);
   }
 
-  private class TempVisitor extends CreditInstrumentDefinitionVisitorAdapter<ISDAYieldCurveAndHazardRateCurveProvider, Double> {
+  private class TempVisitor extends CreditInstrumentDefinitionVisitorAdapter<ISDACompliantIntegrationGrid, Double> {
     private final ZonedDateTime _valuationDate;
     private final PriceType _priceType;
 
@@ -59,87 +75,87 @@ public class ISDACreditDefaultSwapPVCalculator {
     }
 
     @Override
-    public Double visitStandardVanillaCDS(final StandardVanillaCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardVanillaCDS(final StandardVanillaCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardFixedRecoveryCDS(final StandardFixedRecoveryCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardFixedRecoveryCDS(final StandardFixedRecoveryCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardForwardStartingCDS(final StandardForwardStartingCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardForwardStartingCDS(final StandardForwardStartingCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardMuniCDS(final StandardMuniCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardMuniCDS(final StandardMuniCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardQuantoCDS(final StandardQuantoCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardQuantoCDS(final StandardQuantoCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardRecoveryLockCDS(final StandardRecoveryLockCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardRecoveryLockCDS(final StandardRecoveryLockCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardSovereignCDS(final StandardSovereignCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardSovereignCDS(final StandardSovereignCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitStandardCollateralizedVanillaCDS(final StandardCollateralizedVanillaCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitStandardCollateralizedVanillaCDS(final StandardCollateralizedVanillaCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return visitStandardCDS(cds, data);
     }
 
     @Override
-    public Double visitLegacyVanillaCDS(final LegacyVanillaCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyVanillaCDS(final LegacyVanillaCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacyFixedRecoveryCDS(final LegacyFixedRecoveryCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyFixedRecoveryCDS(final LegacyFixedRecoveryCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacyForwardStartingCDS(final LegacyForwardStartingCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyForwardStartingCDS(final LegacyForwardStartingCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacyMuniCDS(final LegacyMuniCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyMuniCDS(final LegacyMuniCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacyQuantoCDS(final LegacyQuantoCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyQuantoCDS(final LegacyQuantoCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacyRecoveryLockCDS(final LegacyRecoveryLockCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyRecoveryLockCDS(final LegacyRecoveryLockCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacySovereignCDS(final LegacySovereignCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacySovereignCDS(final LegacySovereignCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @Override
-    public Double visitLegacyCollateralizedVanillaCDS(final LegacyCollateralizedVanillaCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    public Double visitLegacyCollateralizedVanillaCDS(final LegacyCollateralizedVanillaCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       return getLegacyCDSPresentValue(cds, data);
     }
 
     @SuppressWarnings("synthetic-access")
-    private Double getLegacyCDSPresentValue(final LegacyCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    private Double getLegacyCDSPresentValue(final LegacyCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       // Calculate the value of the premium leg (including accrued if required)
       final double presentValuePremiumLeg = PREMIUM_LEG_CALCULATOR.calculateLeg(_valuationDate, cds, data, _priceType);
       // Calculate the value of the contingent leg
@@ -162,7 +178,7 @@ public class ISDACreditDefaultSwapPVCalculator {
     }
 
     @SuppressWarnings("synthetic-access")
-    private Double visitStandardCDS(final StandardCreditDefaultSwapDefinition cds, final ISDAYieldCurveAndHazardRateCurveProvider data) {
+    private Double visitStandardCDS(final StandardCreditDefaultSwapDefinition cds, final ISDACompliantIntegrationGrid data) {
       // Calculate the value of the premium leg (including accrued if required)
       final double presentValuePremiumLeg = PREMIUM_LEG_CALCULATOR.calculateLeg(_valuationDate, cds, data, _priceType);
       // Calculate the value of the contingent leg
@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.credit.portfoliolosssimulationmodel;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Mergeable summary of a simulated loss distribution. The losses are accumulated in a fixed number of equally spaced bins on [0, maximum loss], each bin
+ * keeping the number of losses, their sum and their smallest and largest values, so that the memory used does not depend on the number of scenarios.
+ * Sketches built on separate sets of scenarios (e.g. on different threads) are combined with {@link #merge(LossDistributionSketch)}.
+ * <p>
+ * The quantiles are exact when all the losses in the bin containing the quantile are equal (which is the case for small portfolios, where there are few
+ * distinct loss levels); otherwise they are interpolated between the smallest and largest loss of the bin and the error is at most the bin width.
+ */
+public final class LossDistributionSketch {
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  // The upper end of the binned range of losses (losses above it are accumulated in the last bin)
+  private final double _maximumLoss;
+
+  // The width of each bin
+  private final double _binWidth;
+
+  // The number of losses, the sum of the losses and the smallest and largest loss in each bin
+  private final long[] _binCount;
+  private final double[] _binSum;
+  private final double[] _binMinimum;
+  private final double[] _binMaximum;
+
+  // The number of losses, the sum of the losses and the sum of the squared losses over all the bins
+  private long _numberOfScenarios;
+  private double _sum;
+  private double _sumOfSquares;
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param maximumLoss The largest possible loss, not negative
+   * @param numberOfBins The number of bins, strictly positive
+   */
+  public LossDistributionSketch(final double maximumLoss, final int numberOfBins) {
+
+    ArgumentChecker.notNegative(maximumLoss, "Maximum loss");
+    ArgumentChecker.notNegativeOrZero(numberOfBins, "Number of bins");
+
+    _maximumLoss = maximumLoss;
+    _binWidth = maximumLoss > 0.0 ? maximumLoss / numberOfBins : 1.0;
+
+    _binCount = new long[numberOfBins];
+    _binSum = new double[numberOfBins];
+    _binMinimum = new double[numberOfBins];
+    _binMaximum = new double[numberOfBins];
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Adds the loss of one scenario.
+   * @param loss The loss, not negative
+   */
+  public void add(final double loss) {
+
+    ArgumentChecker.isTrue(loss >= 0.0, "Loss must not be negative, have {}", loss);
+
+    final int bin = Math.min((int) (loss / _binWidth), _binCount.length - 1);
+
+    if (_binCount[bin] == 0) {
+      _binMinimum[bin] = loss;
+      _binMaximum[bin] = loss;
+    } else {
+      _binMinimum[bin] = Math.min(_binMinimum[bin], loss);
+      _binMaximum[bin] = Math.max(_binMaximum[bin], loss);
+    }
+
+    _binCount[bin]++;
+    _binSum[bin] += loss;
+
+    _numberOfScenarios++;
+    _sum += loss;
+    _sumOfSquares += loss * loss;
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Adds the losses summarised by another sketch to this one.
+   * @param other The other sketch, with the same maximum loss and number of bins
+   */
+  public void merge(final LossDistributionSketch other) {
+
+    ArgumentChecker.notNull(other, "Other sketch");
+    ArgumentChecker.isTrue(other._maximumLoss == _maximumLoss && other._binCount.length == _binCount.length, "Sketches must have the same bins");
+
+    for (int bin = 0; bin < _binCount.length; bin++) {
+
+      if (other._binCount[bin] == 0) {
+        continue;
+      }
+
+      if (_binCount[bin] == 0) {
+        _binMinimum[bin] = other._binMinimum[bin];
+        _binMaximum[bin] = other._binMaximum[bin];
+      } else {
+        _binMinimum[bin] = Math.min(_binMinimum[bin], other._binMinimum[bin]);
+        _binMaximum[bin] = Math.max(_binMaximum[bin], other._binMaximum[bin]);
+      }
+
+      _binCount[bin] += other._binCount[bin];
+      _binSum[bin] += other._binSum[bin];
+    }
+
+    _numberOfScenarios += other._numberOfScenarios;
+    _sum += other._sum;
+    _sumOfSquares += other._sumOfSquares;
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @return The number of scenarios added to the sketch
+   */
+  public long getNumberOfScenarios() {
+    return _numberOfScenarios;
+  }
+
+  /**
+   * @return The expected loss
+   */
+  public double getMeanLoss() {
+    checkNotEmpty();
+    return _sum / _numberOfScenarios;
+  }
+
+  /**
+   * @return The standard deviation of the loss
+   */
+  public double getStandardDeviation() {
+    checkNotEmpty();
+    final double mean = _sum / _numberOfScenarios;
+    return Math.sqrt(Math.max(_sumOfSquares / _numberOfScenarios - mean * mean, 0.0));
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * The value at risk, the smallest loss L such that at least a fraction confidenceLevel of the scenarios have a loss less than or equal to L.
+   * @param confidenceLevel The confidence level, in (0, 1)
+   * @return The value at risk
+   */
+  public double getValueAtRisk(final double confidenceLevel) {
+
+    checkNotEmpty();
+    ArgumentChecker.isTrue(confidenceLevel > 0.0 && confidenceLevel < 1.0, "Confidence level must be in (0, 1), have {}", confidenceLevel);
+
+    // The rank (starting at 1) of the value at risk among the sorted losses
+    final long rank = Math.max((long) Math.ceil(confidenceLevel * _numberOfScenarios), 1);
+
+    long countBelow = 0;
+    int bin = 0;
+    while (countBelow + _binCount[bin] < rank) {
+      countBelow += _binCount[bin];
+      bin++;
+    }
+
+    return rankedLossInBin(bin, rank - countBelow);
+  }
+
+  /**
+   * The expected shortfall, the average of the largest losses making up a fraction 1 - confidenceLevel of the scenarios.
+   * @param confidenceLevel The confidence level, in (0, 1)
+   * @return The expected shortfall
+   */
+  public double getExpectedShortfall(final double confidenceLevel) {
+
+    checkNotEmpty();
+    ArgumentChecker.isTrue(confidenceLevel > 0.0 && confidenceLevel < 1.0, "Confidence level must be in (0, 1), have {}", confidenceLevel);
+
+    // The number of scenarios in the tail
+    final long tailCount = Math.max(_numberOfScenarios - (long) Math.floor(confidenceLevel * _numberOfScenarios), 1);
+
+    // Sum the whole bins from the top, then the largest losses of the bin where the tail starts
+    long remaining = tailCount;
+    double tailSum = 0.0;
+    int bin = _binCount.length - 1;
+    while (_binCount[bin] < remaining) {
+      remaining -= _binCount[bin];
+      tailSum += _binSum[bin];
+      bin--;
+    }
+
+    final long count = _binCount[bin];
+    if (remaining == count) {
+      tailSum += _binSum[bin];
+    } else {
+      // The losses in the bin are taken evenly spaced between the smallest and the largest, as for the value at risk
+      final double step = (_binMaximum[bin] - _binMinimum[bin]) / (count - 1);
+      tailSum += remaining * _binMinimum[bin] + step * remaining * (2 * count - remaining - 1) / 2.0;
+    }
+
+    return tailSum / tailCount;
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  // The loss of a given rank (starting at 1) among the losses of a bin, taken evenly spaced between the smallest and the largest
+  private double rankedLossInBin(final int bin, final long rankInBin) {
+
+    final long count = _binCount[bin];
+    if (count == 1) {
+      return _binMinimum[bin];
+    }
+
+    return _binMinimum[bin] + (_binMaximum[bin] - _binMinimum[bin]) * (rankInBin - 1) / (count - 1);
+  }
+
+  private void checkNotEmpty() {
+    ArgumentChecker.isTrue(_numberOfScenarios > 0, "No scenario has been added to the sketch");
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+}
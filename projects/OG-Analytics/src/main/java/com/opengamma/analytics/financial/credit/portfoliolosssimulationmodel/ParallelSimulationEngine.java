@@ -0,0 +1,229 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.credit.portfoliolosssimulationmodel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import cern.jet.random.engine.MersenneTwister;
+
+import com.opengamma.analytics.financial.credit.recoveryratemodel.RecoveryRateModel;
+import com.opengamma.analytics.math.random.NormalRandomNumberGenerator;
+import com.opengamma.analytics.math.statistics.distribution.NormalDistribution;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Class to run the default simulation of a universe of obligors in blocks of scenarios, possibly in parallel, accumulating the portfolio loss of each
+ * scenario in a {@link LossDistributionSketch} rather than retaining the simulated scenarios.
+ * <p>
+ * Implementation note: The scenarios are divided in blocks of maximum size BLOCK_SIZE. Each block has its own random number stream, seeded from the default
+ * simulation seed in the order of the blocks, and the block sketches are merged in a fixed order, so that the results are the same with or without a pool.
+ */
+public class ParallelSimulationEngine {
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  // TODO : Need to add the portfolio of trades object (the loss is currently the default loss on the obligor notionals)
+  // TODO : Use the stochastic recovery rates when they are available in the ScenarioGenerator
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  // The maximum number of scenarios simulated with one random number stream
+  private static final int BLOCK_SIZE = 1000;
+
+  // The default number of bins of the loss distribution
+  private static final int DEFAULT_NUMBER_OF_BINS = 10000;
+
+  // The pool on which the blocks are simulated (null to simulate them sequentially on the calling thread)
+  private final ForkJoinPool _pool;
+
+  // The number of bins of the loss distribution
+  private final int _numberOfBins;
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param pool The pool on which the blocks of scenarios are simulated, null to simulate them sequentially
+   */
+  public ParallelSimulationEngine(final ForkJoinPool pool) {
+    this(pool, DEFAULT_NUMBER_OF_BINS);
+  }
+
+  /**
+   * @param pool The pool on which the blocks of scenarios are simulated, null to simulate them sequentially
+   * @param numberOfBins The number of bins of the loss distribution
+   */
+  public ParallelSimulationEngine(final ForkJoinPool pool, final int numberOfBins) {
+
+    ArgumentChecker.notNegativeOrZero(numberOfBins, "Number of bins");
+
+    _pool = pool;
+    _numberOfBins = numberOfBins;
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Simulates the defaults of the obligor universe and returns the distribution of the portfolio loss, the loss of a scenario being the sum over the
+   * defaulted obligors of notional * (1 - recovery rate).
+   * @param scenarioGenerator The scenario generator (obligor universe, recovery rate models, correlations, default probabilities, number of simulations and seed)
+   * @return The loss distribution, from which the value at risk and expected shortfall are computed
+   */
+  public LossDistributionSketch runSimulation(final ScenarioGenerator scenarioGenerator) {
+
+    ArgumentChecker.notNull(scenarioGenerator, "Scenario generator");
+
+    final int numberOfSimulations = scenarioGenerator.getNumberofSimulations();
+    final int numberOfObligors = scenarioGenerator.getObligorUniverse().getNumberOfObligors();
+
+    ArgumentChecker.notNegativeOrZero(numberOfSimulations, "Number of simulations");
+
+    // ----------------------------------------------------------------------------------------------------------------------------------------
+
+    // Precompute the obligor data used in every scenario
+
+    final double[] notionals = scenarioGenerator.getObligorUniverse().getObligorNotionals();
+    final RecoveryRateModel[] recoveryRateModels = scenarioGenerator.getRecoveryRateModels();
+    final double[] rho = scenarioGenerator.getRho();
+
+    final NormalDistribution normDist = new NormalDistribution(0.0, 1.0);
+
+    final double[] lossGivenDefault = new double[numberOfObligors];
+    final double[] defaultBarrierLevel = new double[numberOfObligors];
+    final double[] idiosyncraticWeight = new double[numberOfObligors];
+
+    double maximumLoss = 0.0;
+
+    for (int i = 0; i < numberOfObligors; i++) {
+      lossGivenDefault[i] = notionals[i] * (1.0 - recoveryRateModels[i].getRecoveryRate());
+      defaultBarrierLevel[i] = normDist.getInverseCDF(scenarioGenerator.getDefaultProbability()[i]);
+      idiosyncraticWeight[i] = Math.sqrt(1.0 - rho[i] * rho[i]);
+
+      maximumLoss += Math.max(lossGivenDefault[i], 0.0);
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------------------------------
+
+    // Split the scenarios in blocks, the seeds being drawn on the calling thread so that each block has the same random numbers whatever the order of execution
+
+    final int nbBlock = (numberOfSimulations + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    final MersenneTwister seedGenerator = new MersenneTwister(scenarioGenerator.getDefaultSimulationSeed());
+    final int[] seedBlock = new int[nbBlock];
+    for (int loopblock = 0; loopblock < nbBlock; loopblock++) {
+      seedBlock[loopblock] = seedGenerator.nextInt();
+    }
+
+    final ScenarioBlockTask task = new ScenarioBlockTask(numberOfSimulations, seedBlock, lossGivenDefault, defaultBarrierLevel, rho, idiosyncraticWeight,
+        maximumLoss, 0, nbBlock);
+
+    if (_pool == null) {
+      return task.simulateBlocks();
+    }
+
+    return _pool.invoke(task);
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Task simulating a range of blocks of scenarios, splitting the range until a single block remains and merging the loss distributions of the two halves.
+   */
+  private final class ScenarioBlockTask extends RecursiveTask<LossDistributionSketch> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int _numberOfSimulations;
+    private final int[] _seedBlock;
+    private final double[] _lossGivenDefault;
+    private final double[] _defaultBarrierLevel;
+    private final double[] _rho;
+    private final double[] _idiosyncraticWeight;
+    private final double _maximumLoss;
+    private final int _start;
+    private final int _end;
+
+    private ScenarioBlockTask(final int numberOfSimulations, final int[] seedBlock, final double[] lossGivenDefault, final double[] defaultBarrierLevel,
+        final double[] rho, final double[] idiosyncraticWeight, final double maximumLoss, final int start, final int end) {
+      _numberOfSimulations = numberOfSimulations;
+      _seedBlock = seedBlock;
+      _lossGivenDefault = lossGivenDefault;
+      _defaultBarrierLevel = defaultBarrierLevel;
+      _rho = rho;
+      _idiosyncraticWeight = idiosyncraticWeight;
+      _maximumLoss = maximumLoss;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected LossDistributionSketch compute() {
+      if (_end - _start == 1) {
+        return simulateBlock(_start);
+      }
+      final int middle = (_start + _end) >>> 1;
+      final ScenarioBlockTask left = subTask(_start, middle);
+      final ScenarioBlockTask right = subTask(middle, _end);
+      invokeAll(left, right);
+      final LossDistributionSketch sketch = left.join();
+      sketch.merge(right.join());
+      return sketch;
+    }
+
+    // Same splitting and merging as compute(), on the calling thread
+    private LossDistributionSketch simulateBlocks() {
+      if (_end - _start == 1) {
+        return simulateBlock(_start);
+      }
+      final int middle = (_start + _end) >>> 1;
+      final LossDistributionSketch sketch = subTask(_start, middle).simulateBlocks();
+      sketch.merge(subTask(middle, _end).simulateBlocks());
+      return sketch;
+    }
+
+    private ScenarioBlockTask subTask(final int start, final int end) {
+      return new ScenarioBlockTask(_numberOfSimulations, _seedBlock, _lossGivenDefault, _defaultBarrierLevel, _rho, _idiosyncraticWeight, _maximumLoss, start, end);
+    }
+
+    // Simulate the scenarios of one block with the random number stream of the block
+    private LossDistributionSketch simulateBlock(final int block) {
+
+      final int numberOfObligors = _lossGivenDefault.length;
+      final int numberOfScenarios = Math.min(BLOCK_SIZE, _numberOfSimulations - block * BLOCK_SIZE);
+
+      final NormalRandomNumberGenerator normRand = new NormalRandomNumberGenerator(0.0, 1.0, new MersenneTwister(_seedBlock[block]));
+      final LossDistributionSketch sketch = new LossDistributionSketch(_maximumLoss, _numberOfBins);
+
+      for (int alpha = 0; alpha < numberOfScenarios; alpha++) {
+
+        // The systemic factor followed by the idiosyncratic factors of the obligors for this simulation
+        final double[] deviates = normRand.getVector(numberOfObligors + 1);
+        final double systemicFactor = deviates[0];
+
+        double loss = 0.0;
+
+        for (int i = 0; i < numberOfObligors; i++) {
+
+          // Compute the default latent variable for this obligor for this simulation
+          final double defaultLatentVariable = _rho[i] * systemicFactor + _idiosyncraticWeight[i] * deviates[i + 1];
+
+          // Did the obligor i default in simulation alpha ...
+          if (defaultLatentVariable < _defaultBarrierLevel[i]) {
+            // ... yes
+            loss += _lossGivenDefault[i];
+          }
+        }
+
+        sketch.add(Math.max(loss, 0.0));
+      }
+
+      return sketch;
+    }
+
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+}
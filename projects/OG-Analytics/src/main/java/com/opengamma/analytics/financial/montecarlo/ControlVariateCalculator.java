@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.montecarlo;
+
+import org.apache.commons.lang.Validate;
+
+import com.opengamma.analytics.math.function.Function1D;
+import com.opengamma.analytics.math.statistics.descriptive.MeanCalculator;
+import com.opengamma.analytics.math.statistics.descriptive.SampleCovarianceCalculator;
+import com.opengamma.analytics.math.statistics.descriptive.SampleVarianceCalculator;
+
+/**
+ * Control variate estimator of a Monte Carlo mean.
+ * <p>
+ * Given the path values $y_i$ of the quantity to estimate and the path values $x_i$ of a control whose expectation $E[X]$ is known (for example the
+ * discounted value of a European option or of the underlying swap, computed on the same paths), the estimate is
+ * $$
+ * \begin{align*}
+ * \overline{y} - b (\overline{x} - E[X])
+ * \end{align*}
+ * $$
+ * with the coefficient $b = \text{cov}(x, y) / \text{var}(x)$ minimising the variance of the estimate.
+ */
+public final class ControlVariateCalculator {
+
+  /**
+   * The unique instance of the calculator.
+   */
+  private static final ControlVariateCalculator INSTANCE = new ControlVariateCalculator();
+
+  /**
+   * Gets the calculator instance.
+   * @return The calculator.
+   */
+  public static ControlVariateCalculator getInstance() {
+    return INSTANCE;
+  }
+
+  private static final Function1D<double[], Double> MEAN_CALCULATOR = new MeanCalculator();
+  private static final SampleCovarianceCalculator COVARIANCE_CALCULATOR = new SampleCovarianceCalculator();
+  private static final Function1D<double[], Double> VARIANCE_CALCULATOR = new SampleVarianceCalculator();
+
+  /**
+   * Constructor.
+   */
+  private ControlVariateCalculator() {
+  }
+
+  /**
+   * Computes the coefficient minimising the variance of the estimate.
+   * @param values The path values of the quantity to estimate.
+   * @param controls The path values of the control, on the same paths.
+   * @return The coefficient.
+   */
+  public double coefficient(final double[] values, final double[] controls) {
+    Validate.notNull(values, "values");
+    Validate.notNull(controls, "controls");
+    Validate.isTrue(values.length == controls.length, "Values and controls should have the same length");
+    final double variance = VARIANCE_CALCULATOR.evaluate(controls);
+    if (variance == 0) {
+      return 0;
+    }
+    return COVARIANCE_CALCULATOR.evaluate(controls, values) / variance;
+  }
+
+  /**
+   * Computes the control variate estimate of the mean.
+   * @param values The path values of the quantity to estimate.
+   * @param controls The path values of the control, on the same paths.
+   * @param controlMean The known expectation of the control.
+   * @return The estimate.
+   */
+  public double estimate(final double[] values, final double[] controls, final double controlMean) {
+    final double b = coefficient(values, controls);
+    return MEAN_CALCULATOR.evaluate(values) - b * (MEAN_CALCULATOR.evaluate(controls) - controlMean);
+  }
+
+}
@@ -9,9 +9,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.lang.Validate;
 
+import cern.jet.random.engine.MersenneTwister;
+
 import com.opengamma.analytics.financial.interestrate.InstrumentDerivative;
 import com.opengamma.analytics.financial.interestrate.InterestRateCurveSensitivity;
 import com.opengamma.analytics.financial.interestrate.YieldCurveBundle;
@@ -21,7 +25,9 @@ import com.opengamma.analytics.financial.model.interestrate.definition.HullWhite
 import com.opengamma.analytics.math.linearalgebra.CholeskyDecompositionCommons;
 import com.opengamma.analytics.math.linearalgebra.CholeskyDecompositionResult;
 import com.opengamma.analytics.math.matrix.DoubleMatrix2D;
+import com.opengamma.analytics.math.random.NormalRandomNumberGenerator;
 import com.opengamma.analytics.math.random.RandomNumberGenerator;
+import com.opengamma.util.ArgumentChecker;
 import com.opengamma.util.money.Currency;
 import com.opengamma.util.money.CurrencyAmount;
 import com.opengamma.util.tuple.DoublesPair;
@@ -56,6 +62,14 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
    * The number of paths in one block.
    */
   private static final int BLOCK_SIZE = 1000;
+  /**
+   * The seed from which the random number streams of the blocks are derived when running in parallel.
+   */
+  private final int _seed;
+  /**
+   * The pool on which the blocks are run in parallel. Null if the blocks are run sequentially on the calling thread.
+   */
+  private final ForkJoinPool _pool;
 
   /**
    * @param numberGenerator The random number generator.
@@ -63,12 +77,30 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
    */
   public HullWhiteMonteCarloMethod(final RandomNumberGenerator numberGenerator, final int nbPath) {
     super(numberGenerator, nbPath);
+    _seed = 0;
+    _pool = null;
+  }
+
+  /**
+   * Constructor for a method running the blocks of paths in parallel.
+   * Each block has its own normal random number stream, seeded from a Mersenne twister with the given seed. The block seeds are drawn in block order before
+   * any paths are generated and the block prices are summed in block order, so the result for a given seed does not depend on the pool or its parallelism.
+   * The results are not the same as the ones obtained with a single generator.
+   * @param seed The seed.
+   * @param nbPath The number of paths.
+   * @param pool The pool to run the blocks on.
+   */
+  public HullWhiteMonteCarloMethod(final int seed, final int nbPath, final ForkJoinPool pool) {
+    super(new NormalRandomNumberGenerator(0.0, 1.0, new MersenneTwister(seed)), nbPath);
+    ArgumentChecker.notNull(pool, "pool");
+    _seed = seed;
+    _pool = pool;
   }
 
   /**
    * Computes the present value in the Hull-White one factor model by Monte-Carlo.
    * Implementation note: The total number of paths is divided in blocks of maximum size BLOCK_SIZE=1000. The Monte Carlo is run on each block and the average of each
-   * block price is the total price.
+   * block price is the total price. If the method was constructed with a pool, the blocks are run in parallel on that pool.
    * @param instrument The swaption.
    * @param ccy The currency
    * @param dscName The discounting curve name.
@@ -139,19 +171,23 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
     }
     nbPath2[nbBlock - 1] = getNbPath() - (nbBlock - 1) * BLOCK_SIZE;
     final double[][] impactAmount = decision.getImpactAmount();
+    final double[] pvBlock = new double[nbBlock];
+    if (_pool == null) {
+      for (int loopblock = 0; loopblock < nbBlock; loopblock++) {
+        pvBlock[loopblock] = presentValueBlock(instrument, getNumberGenerator(), nbPath2[loopblock], covCD, pDI, h, h2, gamma, impactAmount);
+      }
+    } else {
+      // Seeds drawn on the calling thread so that each block has the same random numbers whatever the order of execution.
+      final MersenneTwister seedGenerator = new MersenneTwister(_seed);
+      final int[] seedBlock = new int[nbBlock];
+      for (int loopblock = 0; loopblock < nbBlock; loopblock++) {
+        seedBlock[loopblock] = seedGenerator.nextInt();
+      }
+      _pool.invoke(new PresentValueBlockTask(instrument, seedBlock, nbPath2, covCD, pDI, h, h2, gamma, impactAmount, pvBlock, 0, nbBlock));
+    }
     double pv = 0;
     for (int loopblock = 0; loopblock < nbBlock; loopblock++) {
-      final double[][] x = getNormalArray(nbJump, nbPath2[loopblock]);
-      final double[][] y = new double[nbJump][nbPath2[loopblock]]; // jump/path
-      for (int looppath = 0; looppath < nbPath2[loopblock]; looppath++) {
-        for (int i = 0; i < nbJump; i++) {
-          for (int j = 0; j < nbJump; j++) {
-            y[i][looppath] += x[j][looppath] * covCD[i][j];
-          }
-        }
-      }
-      final Double[][][] pD = pathGeneratorDiscount(pDI, y, h, h2, gamma);
-      pv += instrument.accept(MCC, new MonteCarloDiscountFactorDataBundle(pD, impactAmount)) * nbPath2[loopblock];
+      pv += pvBlock[loopblock];
     }
     pv *= pDN / getNbPath(); // Multiply by the numeraire.
     return CurrencyAmount.of(ccy, pv);
@@ -249,17 +285,9 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
       pDIBar[loopjump] = new double[impactAmount[loopjump].length];
     }
     for (int loopblock = 0; loopblock < nbBlock; loopblock++) {
-      final double[][] x = getNormalArray(nbJump, nbPath2[loopblock]);
-      final double[][] y = new double[nbJump][nbPath2[loopblock]]; // jump/path
-      for (int looppath = 0; looppath < nbPath2[loopblock]; looppath++) {
-        for (int i = 0; i < nbJump; i++) {
-          for (int j = 0; j < nbJump; j++) {
-            y[i][looppath] += x[j][looppath] * covCD[i][j];
-          }
-        }
-      }
-      final Double[][][] pD = pathGeneratorDiscount(pDI, y, h, h2, gamma);
-      final MonteCarloDiscountFactorDerivativeDataBundle mcdDB = new MonteCarloDiscountFactorDerivativeDataBundle(pD, impactAmount);
+      final double[] y = correlatedArray(getNormalArray(nbJump, nbPath2[loopblock]), covCD, nbPath2[loopblock]);
+      final double[] pD = pathGeneratorDiscount(pDI, y, nbPath2[loopblock], h, h2, gamma);
+      final MonteCarloDiscountFactorDerivativeDataBundle mcdDB = new MonteCarloDiscountFactorDerivativeDataBundle(pD, nbPath2[loopblock], impactAmount);
       pvBlock[loopblock] = instrument.accept(MCDC, mcdDB) * nbPath2[loopblock];
       pv += pvBlock[loopblock];
       // Backward sweep (in block loop)
@@ -277,7 +305,7 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
           }
         }
       }
-      final double[][] pDIBarTemp = pathGeneratorDiscountAdjointIDF(pDI, y, h, h2, gamma, pDBar);
+      final double[][] pDIBarTemp = pathGeneratorDiscountAdjointIDF(pDI, y, nbPath2[loopblock], h, h2, gamma, pDBar);
       for (int loopjump = 0; loopjump < nbJump; loopjump++) {
         for (int loopimp = 0; loopimp < impactAmount[loopjump].length; loopimp++) {
           pDIBar[loopjump][loopimp] += pDIBarTemp[loopjump][loopimp];
@@ -317,43 +345,133 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
   }
 
   /**
-   * Gets a 2D-array of independent normally distributed variables.
-   * @param nbJump The number of jumps.
+   * Computes the present value of one block of paths, rebased by the numeraire and multiplied by the number of paths in the block.
+   * The correlated variables and the discount factors are held in flat arrays, see {@link #correlatedArray} and {@link #pathGeneratorDiscount}.
+   * @param instrument The swaption.
+   * @param numberGenerator The random number generator for the block.
+   * @param nbPath The number of paths in the block.
+   * @param covCD The Cholesky decomposition of the covariance matrix.
+   * @param pDI The initial discount factors rebased by the numeraire.
+   * @param h The H parameters.
+   * @param h2 The H^2 parameters.
+   * @param gamma The gamma parameters.
+   * @param impactAmount The reference amounts.
+   * @return The block present value.
+   */
+  private double presentValueBlock(final InstrumentDerivative instrument, final RandomNumberGenerator numberGenerator, final int nbPath, final double[][] covCD,
+      final double[][] pDI, final double[][] h, final double[][] h2, final double[] gamma, final double[][] impactAmount) {
+    final double[] y = correlatedArray(getNormalArray(numberGenerator, covCD.length, nbPath), covCD, nbPath);
+    final double[] pD = pathGeneratorDiscount(pDI, y, nbPath, h, h2, gamma);
+    return instrument.accept(MCC, new MonteCarloDiscountFactorDataBundle(pD, nbPath, impactAmount)) * nbPath;
+  }
+
+  /**
+   * Computes the correlated random variables from the independent ones.
+   * @param x The independent random variables. jump/path
+   * @param covCD The Cholesky decomposition of the covariance matrix.
    * @param nbPath The number of paths.
-   * @return The array of variables.
+   * @return The correlated random variables, with the variables for one jump in consecutive entries (jump/path).
    */
-  private double[][] getNormalArray(final int nbJump, final int nbPath) {
-    final double[][] result = new double[nbJump][nbPath];
-    for (int loopjump = 0; loopjump < nbJump; loopjump++) {
-      result[loopjump] = getNumberGenerator().getVector(nbPath);
+  private static double[] correlatedArray(final double[][] x, final double[][] covCD, final int nbPath) {
+    final int nbJump = covCD.length;
+    final double[] y = new double[nbJump * nbPath];
+    for (int i = 0; i < nbJump; i++) {
+      final int offset = i * nbPath;
+      for (int j = 0; j < nbJump; j++) {
+        final double c = covCD[i][j];
+        if (c != 0.0) {
+          final double[] xj = x[j];
+          for (int looppath = 0; looppath < nbPath; looppath++) {
+            y[offset + looppath] += xj[looppath] * c;
+          }
+        }
+      }
     }
-    return result;
+    return y;
+  }
+
+  /**
+   * Task computing the present values of a range of blocks, splitting the range until a single block remains.
+   */
+  private final class PresentValueBlockTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final InstrumentDerivative _instrument;
+    private final int[] _seedBlock;
+    private final int[] _nbPathBlock;
+    private final double[][] _covCD;
+    private final double[][] _pDI;
+    private final double[][] _h;
+    private final double[][] _h2;
+    private final double[] _gamma;
+    private final double[][] _impactAmount;
+    private final double[] _pvBlock;
+    private final int _start;
+    private final int _end;
+
+    private PresentValueBlockTask(final InstrumentDerivative instrument, final int[] seedBlock, final int[] nbPathBlock, final double[][] covCD, final double[][] pDI,
+        final double[][] h, final double[][] h2, final double[] gamma, final double[][] impactAmount, final double[] pvBlock, final int start, final int end) {
+      _instrument = instrument;
+      _seedBlock = seedBlock;
+      _nbPathBlock = nbPathBlock;
+      _covCD = covCD;
+      _pDI = pDI;
+      _h = h;
+      _h2 = h2;
+      _gamma = gamma;
+      _impactAmount = impactAmount;
+      _pvBlock = pvBlock;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start == 1) {
+        final RandomNumberGenerator numberGenerator = new NormalRandomNumberGenerator(0.0, 1.0, new MersenneTwister(_seedBlock[_start]));
+        _pvBlock[_start] = presentValueBlock(_instrument, numberGenerator, _nbPathBlock[_start], _covCD, _pDI, _h, _h2, _gamma, _impactAmount);
+      } else {
+        final int middle = (_start + _end) >>> 1;
+        invokeAll(new PresentValueBlockTask(_instrument, _seedBlock, _nbPathBlock, _covCD, _pDI, _h, _h2, _gamma, _impactAmount, _pvBlock, _start, middle),
+            new PresentValueBlockTask(_instrument, _seedBlock, _nbPathBlock, _covCD, _pDI, _h, _h2, _gamma, _impactAmount, _pvBlock, middle, _end));
+      }
+    }
+
   }
 
   /**
    * Construct the discount factors on the simulated paths from the random variables and the model constants.
    * @param initDiscountFactor The initial discount factors.
-   * @param y The correlated random variables. jump/path
+   * @param y The correlated random variables, with the variables for one jump in consecutive entries. jump/path
+   * @param nbPath The number of paths.
    * @param h The H parameters. jump/cf
    * @param h2 The H^2 parameters.
    * @param gamma The gamma parameters.
-   * @return The discount factor paths (path/jump/cf).
+   * @return The discount factor paths in a flat array (path/jump/cf).
    */
-  private Double[][][] pathGeneratorDiscount(final double[][] initDiscountFactor, final double[][] y, final double[][] h, final double[][] h2, final double[] gamma) {
-    final int nbJump = y.length;
-    final int nbPath = y[0].length;
-    final Double[][][] pD = new Double[nbPath][nbJump][];
+  private static double[] pathGeneratorDiscount(final double[][] initDiscountFactor, final double[] y, final int nbPath, final double[][] h, final double[][] h2,
+      final double[] gamma) {
+    final int nbJump = h.length;
+    final int[] cfOffset = new int[nbJump];
+    int pathSize = 0;
+    for (int loopjump = 0; loopjump < nbJump; loopjump++) {
+      cfOffset[loopjump] = pathSize;
+      pathSize += h[loopjump].length;
+    }
+    final double[] pD = new double[nbPath * pathSize];
     double[] h2gamma;
     for (int loopjump = 0; loopjump < nbJump; loopjump++) {
       final int nbCF = h[loopjump].length;
+      final int offset = loopjump * nbPath;
       h2gamma = new double[nbCF];
       for (int loopcf = 0; loopcf < nbCF; loopcf++) {
         h2gamma[loopcf] = h2[loopjump][loopcf] * gamma[loopjump];
       }
       for (int looppath = 0; looppath < nbPath; looppath++) {
-        pD[looppath][loopjump] = new Double[nbCF];
+        final int index = looppath * pathSize + cfOffset[loopjump];
         for (int loopcf = 0; loopcf < nbCF; loopcf++) {
-          pD[looppath][loopjump][loopcf] = initDiscountFactor[loopjump][loopcf] * Math.exp(-h[loopjump][loopcf] * y[loopjump][looppath] - h2gamma[loopcf]);
+          pD[index + loopcf] = initDiscountFactor[loopjump][loopcf] * Math.exp(-h[loopjump][loopcf] * y[offset + looppath] - h2gamma[loopcf]);
         }
       }
     }
@@ -363,16 +481,17 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
   /**
    * Computes the initial discount factors adjoint values with respect to the initDiscountFactor.
    * @param initDiscountFactor The initial discount factors.
-   * @param y The correlated random variables.
+   * @param y The correlated random variables, with the variables for one jump in consecutive entries. jump/path
+   * @param nbPath The number of paths.
    * @param h The H parameters.
    * @param h2 The H^2 parameters.
    * @param gamma The gamma parameters.
    * @param pDBar The simulated discount factor adjoints (path/jump/cf).
    * @return The initial discount factor adjoints (jump/cf).
    */
-  private double[][] pathGeneratorDiscountAdjointIDF(final double[][] initDiscountFactor, final double[][] y, final double[][] h, final double[][] h2, final double[] gamma, final Double[][][] pDBar) {
-    final int nbJump = y.length;
-    final int nbPath = y[0].length;
+  private static double[][] pathGeneratorDiscountAdjointIDF(final double[][] initDiscountFactor, final double[] y, final int nbPath, final double[][] h, final double[][] h2,
+      final double[] gamma, final Double[][][] pDBar) {
+    final int nbJump = h.length;
     double[] h2gamma;
     final double[][] initDiscountFactorBar = new double[nbJump][];
     for (int loopjump = 0; loopjump < nbJump; loopjump++) {
@@ -383,9 +502,10 @@ public class HullWhiteMonteCarloMethod extends MonteCarloMethod {
       }
       // Backward sweep
       initDiscountFactorBar[loopjump] = new double[nbCF];
+      final int offset = loopjump * nbPath;
       for (int looppath = 0; looppath < nbPath; looppath++) {
         for (int loopcf = 0; loopcf < nbCF; loopcf++) {
-          initDiscountFactorBar[loopjump][loopcf] += Math.exp(-h[loopjump][loopcf] * y[loopjump][looppath] - h2gamma[loopcf]) * pDBar[looppath][loopjump][loopcf];
+          initDiscountFactorBar[loopjump][loopcf] += Math.exp(-h[loopjump][loopcf] * y[offset + looppath] - h2gamma[loopcf]) * pDBar[looppath][loopjump][loopcf];
         }
       }
     }
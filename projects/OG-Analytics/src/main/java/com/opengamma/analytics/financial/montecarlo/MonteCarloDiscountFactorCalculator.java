@@ -41,16 +41,15 @@ public class MonteCarloDiscountFactorCalculator extends InstrumentDerivativeVisi
 
   @Override
   public Double visitCapFloorIbor(final CapFloorIbor payment, final MonteCarloDiscountFactorDataBundle mcResults) {
-    final Double[][][] pathDiscountFactors = mcResults.getPathDiscountingFactor();
     final double[][] impactAmount = mcResults.getImpactAmount();
-    Validate.isTrue(pathDiscountFactors[0].length == 1, "Only one decision date for cap/floor.");
+    Validate.isTrue(mcResults.getNbStep() == 1, "Only one decision date for cap/floor.");
     double price = 0;
-    final int nbPath = pathDiscountFactors.length;
+    final int nbPath = mcResults.getNbPath();
     double ibor;
     final double omega = (payment.isCap() ? 1.0 : -1.0);
     for (int looppath = 0; looppath < nbPath; looppath++) {
-      ibor = (-impactAmount[0][0] * pathDiscountFactors[looppath][0][0] / (impactAmount[0][1] * pathDiscountFactors[looppath][0][1]) - 1.0) / payment.getFixingAccrualFactor();
-      price += Math.max(omega * (ibor - payment.getStrike()), 0) * pathDiscountFactors[looppath][0][2];
+      ibor = (-impactAmount[0][0] * mcResults.getPathDiscountFactor(looppath, 0, 0) / (impactAmount[0][1] * mcResults.getPathDiscountFactor(looppath, 0, 1)) - 1.0) / payment.getFixingAccrualFactor();
+      price += Math.max(omega * (ibor - payment.getStrike()), 0) * mcResults.getPathDiscountFactor(looppath, 0, 2);
     }
     price = price / nbPath * payment.getNotional() * payment.getPaymentYearFraction();
     return price;
@@ -58,16 +57,15 @@ public class MonteCarloDiscountFactorCalculator extends InstrumentDerivativeVisi
 
   @Override
   public Double visitSwaptionPhysicalFixedIbor(final SwaptionPhysicalFixedIbor swaption, final MonteCarloDiscountFactorDataBundle mcResults) {
-    final Double[][][] pathDiscountFactors = mcResults.getPathDiscountingFactor();
     final double[][] impactAmount = mcResults.getImpactAmount();
-    Validate.isTrue(pathDiscountFactors[0].length == 1, "Only one decision date for swaptions.");
+    Validate.isTrue(mcResults.getNbStep() == 1, "Only one decision date for swaptions.");
     double price = 0;
-    final int nbPath = pathDiscountFactors.length;
+    final int nbPath = mcResults.getNbPath();
     double swapPathValue;
     for (int looppath = 0; looppath < nbPath; looppath++) {
       swapPathValue = 0;
       for (int loopcf = 0; loopcf < impactAmount[0].length; loopcf++) {
-        swapPathValue += impactAmount[0][loopcf] * pathDiscountFactors[looppath][0][loopcf];
+        swapPathValue += impactAmount[0][loopcf] * mcResults.getPathDiscountFactor(looppath, 0, loopcf);
       }
       price += Math.max(swapPathValue, 0);
     }
@@ -77,10 +75,9 @@ public class MonteCarloDiscountFactorCalculator extends InstrumentDerivativeVisi
 
   @Override
   public Double visitAnnuityCouponIborRatchet(final AnnuityCouponIborRatchet annuity, final MonteCarloDiscountFactorDataBundle mcResults) {
-    final Double[][][] pathDiscountFactors = mcResults.getPathDiscountingFactor();
     final double[][] impactAmount = mcResults.getImpactAmount();
     double price = 0.0;
-    final int nbPath = pathDiscountFactors.length;
+    final int nbPath = mcResults.getNbPath();
     final int nbCpn = annuity.getNumberOfPayments();
     final double[] annuityPathValue = new double[nbPath];
     final double[][] cpnRate = new double[nbCpn][nbPath];
@@ -90,26 +87,26 @@ public class MonteCarloDiscountFactorCalculator extends InstrumentDerivativeVisi
         final CouponFixed cpn = (CouponFixed) annuity.getNthPayment(loopcpn);
         for (int looppath = 0; looppath < nbPath; looppath++) {
           cpnRate[loopcpn][looppath] = cpn.getFixedRate();
-          annuityPathValue[looppath] += impactAmount[loopcpn][0] * pathDiscountFactors[looppath][loopcpn][0];
+          annuityPathValue[looppath] += impactAmount[loopcpn][0] * mcResults.getPathDiscountFactor(looppath, loopcpn, 0);
         }
       } else {
         if (annuity.getNthPayment(loopcpn) instanceof CouponIborRatchet) {
           final CouponIborRatchet cpn = (CouponIborRatchet) annuity.getNthPayment(loopcpn);
           for (int looppath = 0; looppath < nbPath; looppath++) {
-            ibor = (-impactAmount[loopcpn][0] * pathDiscountFactors[looppath][loopcpn][0] / (impactAmount[loopcpn][1] *
-                pathDiscountFactors[looppath][loopcpn][1]) - 1.0) / cpn.getFixingAccrualFactor();
+            ibor = (-impactAmount[loopcpn][0] * mcResults.getPathDiscountFactor(looppath, loopcpn, 0) / (impactAmount[loopcpn][1] *
+                mcResults.getPathDiscountFactor(looppath, loopcpn, 1)) - 1.0) / cpn.getFixingAccrualFactor();
             final double cpnMain = cpn.getMainCoefficients()[0] * cpnRate[loopcpn - 1][looppath] + cpn.getMainCoefficients()[1] * ibor + cpn.getMainCoefficients()[2];
             final double cpnFloor = cpn.getFloorCoefficients()[0] * cpnRate[loopcpn - 1][looppath] + cpn.getFloorCoefficients()[1] * ibor + cpn.getFloorCoefficients()[2];
             final double cpnCap = cpn.getCapCoefficients()[0] * cpnRate[loopcpn - 1][looppath] + cpn.getCapCoefficients()[1] * ibor + cpn.getCapCoefficients()[2];
             cpnRate[loopcpn][looppath] = Math.min(Math.max(cpnFloor, cpnMain), cpnCap);
-            annuityPathValue[looppath] += cpnRate[loopcpn][looppath] * cpn.getPaymentYearFraction() * cpn.getNotional() * pathDiscountFactors[looppath][loopcpn][1];
+            annuityPathValue[looppath] += cpnRate[loopcpn][looppath] * cpn.getPaymentYearFraction() * cpn.getNotional() * mcResults.getPathDiscountFactor(looppath, loopcpn, 1);
           }
         } else {
           final CouponIborGearing cpn = (CouponIborGearing) annuity.getNthPayment(loopcpn);
           for (int looppath = 0; looppath < nbPath; looppath++) {
-            ibor = (-impactAmount[0][0] * pathDiscountFactors[looppath][0][0] / (impactAmount[0][1] * pathDiscountFactors[looppath][0][1]) - 1.0) / cpn.getFixingAccrualFactor();
+            ibor = (-impactAmount[0][0] * mcResults.getPathDiscountFactor(looppath, 0, 0) / (impactAmount[0][1] * mcResults.getPathDiscountFactor(looppath, 0, 1)) - 1.0) / cpn.getFixingAccrualFactor();
             cpnRate[loopcpn][looppath] = cpn.getFactor() * ibor + cpn.getSpread();
-            annuityPathValue[looppath] += cpnRate[loopcpn][looppath] * cpn.getPaymentYearFraction() * cpn.getNotional() * pathDiscountFactors[looppath][loopcpn][1];
+            annuityPathValue[looppath] += cpnRate[loopcpn][looppath] * cpn.getPaymentYearFraction() * cpn.getNotional() * mcResults.getPathDiscountFactor(looppath, loopcpn, 1);
           }
         }
       }
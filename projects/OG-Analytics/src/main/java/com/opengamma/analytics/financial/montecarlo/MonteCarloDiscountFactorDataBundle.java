@@ -7,17 +7,34 @@ package com.opengamma.analytics.financial.montecarlo;
 
 /**
  * The data bundle with the Monte Carlo discount factors and the reference amounts.
+ * The discount factors are held in a flat array in path/step/cash-flow order, the number of cash-flows of each step being the number of reference amounts of that step.
  */
 public class MonteCarloDiscountFactorDataBundle {
 
   /**
-   * The paths discount factors. The dimensions are path/step/cash-flow.
+   * The paths discount factors. The dimensions are path/step/cash-flow. Created from the flat array on demand if the bundle was created from the flat array.
    */
-  private final Double[][][] _pathDiscountingFactor;
+  private Double[][][] _pathDiscountingFactor;
+  /**
+   * The paths discount factors in a flat array in path/step/cash-flow order.
+   */
+  private final double[] _pathDiscountFactor;
   /**
    * The reference amounts at the impact dates. The dimensions are step/cash-flow.
    */
   private final double[][] _impactAmount;
+  /**
+   * The number of paths.
+   */
+  private final int _nbPath;
+  /**
+   * The offset of each step in the discount factors of one path.
+   */
+  private final int[] _stepOffset;
+  /**
+   * The number of discount factors in one path.
+   */
+  private final int _pathSize;
 
   /**
    * Constructor.
@@ -28,6 +45,42 @@ public class MonteCarloDiscountFactorDataBundle {
     super();
     _pathDiscountingFactor = pathDiscountingFactor;
     _impactAmount = impactAmount;
+    _nbPath = pathDiscountingFactor.length;
+    _stepOffset = new int[impactAmount.length];
+    _pathSize = stepOffset(impactAmount, _stepOffset);
+    _pathDiscountFactor = new double[_nbPath * _pathSize];
+    for (int looppath = 0; looppath < _nbPath; looppath++) {
+      for (int loopstep = 0; loopstep < impactAmount.length; loopstep++) {
+        final int offset = looppath * _pathSize + _stepOffset[loopstep];
+        for (int loopcf = 0; loopcf < impactAmount[loopstep].length; loopcf++) {
+          _pathDiscountFactor[offset + loopcf] = pathDiscountingFactor[looppath][loopstep][loopcf];
+        }
+      }
+    }
+  }
+
+  /**
+   * Constructor from the discount factors in a flat array. The array is used directly, not copied.
+   * @param pathDiscountFactor The paths discount factors in path/step/cash-flow order.
+   * @param nbPath The number of paths.
+   * @param impactAmount The reference amounts at the impact dates.
+   */
+  public MonteCarloDiscountFactorDataBundle(double[] pathDiscountFactor, int nbPath, double[][] impactAmount) {
+    super();
+    _pathDiscountFactor = pathDiscountFactor;
+    _impactAmount = impactAmount;
+    _nbPath = nbPath;
+    _stepOffset = new int[impactAmount.length];
+    _pathSize = stepOffset(impactAmount, _stepOffset);
+  }
+
+  private static int stepOffset(final double[][] impactAmount, final int[] stepOffset) {
+    int pathSize = 0;
+    for (int loopstep = 0; loopstep < impactAmount.length; loopstep++) {
+      stepOffset[loopstep] = pathSize;
+      pathSize += impactAmount[loopstep].length;
+    }
+    return pathSize;
   }
 
   /**
@@ -35,9 +88,48 @@ public class MonteCarloDiscountFactorDataBundle {
    * @return The path discounting factors.
    */
   public Double[][][] getPathDiscountingFactor() {
+    if (_pathDiscountingFactor == null) {
+      final Double[][][] pathDiscountingFactor = new Double[_nbPath][_impactAmount.length][];
+      for (int looppath = 0; looppath < _nbPath; looppath++) {
+        for (int loopstep = 0; loopstep < _impactAmount.length; loopstep++) {
+          pathDiscountingFactor[looppath][loopstep] = new Double[_impactAmount[loopstep].length];
+          for (int loopcf = 0; loopcf < _impactAmount[loopstep].length; loopcf++) {
+            pathDiscountingFactor[looppath][loopstep][loopcf] = getPathDiscountFactor(looppath, loopstep, loopcf);
+          }
+        }
+      }
+      _pathDiscountingFactor = pathDiscountingFactor;
+    }
     return _pathDiscountingFactor;
   }
 
+  /**
+   * Gets one path discounting factor.
+   * @param path The path index.
+   * @param step The step index.
+   * @param cf The cash-flow index.
+   * @return The discounting factor.
+   */
+  public double getPathDiscountFactor(int path, int step, int cf) {
+    return _pathDiscountFactor[path * _pathSize + _stepOffset[step] + cf];
+  }
+
+  /**
+   * Gets the number of paths.
+   * @return The number of paths.
+   */
+  public int getNbPath() {
+    return _nbPath;
+  }
+
+  /**
+   * Gets the number of steps.
+   * @return The number of steps.
+   */
+  public int getNbStep() {
+    return _impactAmount.length;
+  }
+
   /**
    * Gets the impact amounts.
    * @return The impact amounts.
@@ -29,6 +29,18 @@ public class MonteCarloDiscountFactorDerivativeDataBundle extends MonteCarloDisc
     _impactAmountDerivative = new double[0][0];
   }
 
+  /**
+   * Constructor from the discount factors in a flat array. The array is used directly, not copied.
+   * @param pathDiscountFactor The paths discount factors in path/step/cash-flow order.
+   * @param nbPath The number of paths.
+   * @param impactAmount The reference amounts at the impact dates.
+   */
+  public MonteCarloDiscountFactorDerivativeDataBundle(double[] pathDiscountFactor, int nbPath, double[][] impactAmount) {
+    super(pathDiscountFactor, nbPath, impactAmount);
+    _pathDiscountingFactorDerivative = new Double[0][0][0];
+    _impactAmountDerivative = new double[0][0];
+  }
+
   /**
    * Gets the derivatives of path discounting factors.
    * @return The derivatives of path discounting factors.
@@ -5,7 +5,10 @@
  */
 package com.opengamma.analytics.financial.montecarlo;
 
+import java.util.List;
+
 import com.opengamma.analytics.financial.interestrate.method.PricingMethod;
+import com.opengamma.analytics.math.random.QuasiRandomNumberGenerator;
 import com.opengamma.analytics.math.random.RandomNumberGenerator;
 
 /**
@@ -48,4 +51,44 @@ public abstract class MonteCarloMethod implements PricingMethod {
     return _nbPath;
   }
 
+  /**
+   * Gets a 2D-array of independent normally distributed variables from the method's generator.
+   * @param nbJump The number of jumps.
+   * @param nbPath The number of paths.
+   * @return The array of variables (jump/path).
+   */
+  protected double[][] getNormalArray(final int nbJump, final int nbPath) {
+    return getNormalArray(getNumberGenerator(), nbJump, nbPath);
+  }
+
+  /**
+   * Gets a 2D-array of independent normally distributed variables.
+   * A pseudo-random generator is asked for one vector across the paths for each jump. A {@link QuasiRandomNumberGenerator} is asked for one vector across
+   * the jumps for each path, as the coordinates of its points are the dimensions of a path.
+   * @param numberGenerator The random number generator.
+   * @param nbJump The number of jumps.
+   * @param nbPath The number of paths.
+   * @return The array of variables (jump/path).
+   */
+  public static double[][] getNormalArray(final RandomNumberGenerator numberGenerator, final int nbJump, final int nbPath) {
+    final double[][] result = new double[nbJump][];
+    if (numberGenerator instanceof QuasiRandomNumberGenerator) {
+      for (int loopjump = 0; loopjump < nbJump; loopjump++) {
+        result[loopjump] = new double[nbPath];
+      }
+      final List<double[]> points = numberGenerator.getVectors(nbJump, nbPath);
+      for (int looppath = 0; looppath < nbPath; looppath++) {
+        final double[] point = points.get(looppath);
+        for (int loopjump = 0; loopjump < nbJump; loopjump++) {
+          result[loopjump][looppath] = point[loopjump];
+        }
+      }
+    } else {
+      for (int loopjump = 0; loopjump < nbJump; loopjump++) {
+        result[loopjump] = numberGenerator.getVector(nbPath);
+      }
+    }
+    return result;
+  }
+
 }
@@ -124,9 +124,12 @@ public class LiborMarketModelMonteCarloMethod extends MonteCarloMethod {
    * Create one step in the LMM diffusion. The step is done through several jump times. The diffusion is approximated with a predictor-corrector approach.
    * @param jumpTime The jump times.
    * @param initIbor Rate at the start of the period. Size: nbPeriodLMM x nbPath.
+   * @param dw The normally distributed variables of the whole paths. Size: (nbJumpTotal x nbFactorLMM) x nbPath.
+   * @param firstJump The index in the whole paths of the first jump of the step.
+   * @param lmm The LMM parameters.
    * @return The Ibor rates at the end of the jump period. Size: nbPeriodLMM x nbPath.
    */
-  private double[][] stepPC(final double[] jumpTime, final double[][] initIbor, final LiborMarketModelDisplacedDiffusionParameters lmm) {
+  private double[][] stepPC(final double[] jumpTime, final double[][] initIbor, final double[][] dw, final int firstJump, final LiborMarketModelDisplacedDiffusionParameters lmm) {
     final double amr = lmm.getMeanReversion();
     final double[] iborTime = lmm.getIborTime();
     final double[] almm = lmm.getDisplacement();
@@ -164,8 +167,7 @@ public class LiborMarketModelMonteCarloMethod extends MonteCarloMethod {
         }
       }
       final DoubleMatrix2D salpha2 = new DoubleMatrix2D(salpha2Array);
-      // Random seed
-      final double[][] dw = getNormalArray(nbFactorLMM, nbPath);
+      final int dwIndex = (firstJump + loopjump) * nbFactorLMM;
       // Common figures
       final double[] dr1 = new double[nI];
       for (int loopn = 0; loopn < nI; loopn++) {
@@ -175,7 +177,7 @@ public class LiborMarketModelMonteCarloMethod extends MonteCarloMethod {
       for (int loopn = 0; loopn < nI; loopn++) {
         for (int looppath = 0; looppath < nbPath; looppath++) {
           for (int loopfact = 0; loopfact < nbFactorLMM; loopfact++) {
-            cc[loopn][looppath] += gammaLMM.getEntry(index + loopn, loopfact) * dw[loopfact][looppath] * sqrtDt * alpha[loopjump];
+            cc[loopn][looppath] += gammaLMM.getEntry(index + loopn, loopfact) * dw[dwIndex + loopfact][looppath] * sqrtDt * alpha[loopjump];
           }
           cc[loopn][looppath] += dr1[loopn];
         }
@@ -214,7 +216,8 @@ public class LiborMarketModelMonteCarloMethod extends MonteCarloMethod {
   }
 
   /**
-   * 
+   * Generates the paths of the Ibor rates. The random variables of a path are drawn as one point of dimension (number of jumps, including the intermediary
+   * ones) x (number of factors), which must be within the dimension of a quasi-random generator.
    * @param jumpTime The time of the mandatory jumps.
    * @param initIbor The Ibor rates at the start. nbPeriodLMM x nbPath
    * @param lmm The LMM parameters.
@@ -233,21 +236,29 @@ public class LiborMarketModelMonteCarloMethod extends MonteCarloMethod {
     System.arraycopy(jumpTime, 0, jumpTimeA, 1, nbJump);
     final double[][][] result = new double[nbJump][nbPeriod][nbPath];
     // TODO: add intermediary jump dates if necessary
+    final double[][] jumpIn = new double[nbJump][];
+    int nbJumpTotal = 0;
     for (int loopjump = 0; loopjump < nbJump; loopjump++) {
       // Intermediary jumps
-      double[] jumpIn;
       if (jumpTimeA[loopjump + 1] - jumpTimeA[loopjump] < _maxJump) {
-        jumpIn = new double[] {jumpTimeA[loopjump], jumpTimeA[loopjump + 1]};
+        jumpIn[loopjump] = new double[] {jumpTimeA[loopjump], jumpTimeA[loopjump + 1]};
       } else {
         final double jump = jumpTimeA[loopjump + 1] - jumpTimeA[loopjump];
         final int nbJumpIn = (int) Math.ceil(jump / _maxJump);
-        jumpIn = new double[nbJumpIn + 1];
-        jumpIn[0] = jumpTimeA[loopjump];
+        jumpIn[loopjump] = new double[nbJumpIn + 1];
+        jumpIn[loopjump][0] = jumpTimeA[loopjump];
         for (int loopJumpIn = 1; loopJumpIn <= nbJumpIn; loopJumpIn++) {
-          jumpIn[loopJumpIn] = jumpTimeA[loopjump] + loopJumpIn * jump / nbJumpIn;
+          jumpIn[loopjump][loopJumpIn] = jumpTimeA[loopjump] + loopJumpIn * jump / nbJumpIn;
         }
       }
-      initTmp = stepPC(jumpIn, initTmp, lmm);
+      nbJumpTotal += jumpIn[loopjump].length - 1;
+    }
+    // Random seed: one point per path across all the jumps and factors, so that a quasi-random generator sees the whole path.
+    final double[][] dw = getNormalArray(nbJumpTotal * lmm.getNbFactor(), nbPath);
+    int firstJump = 0;
+    for (int loopjump = 0; loopjump < nbJump; loopjump++) {
+      initTmp = stepPC(jumpIn[loopjump], initTmp, dw, firstJump, lmm);
+      firstJump += jumpIn[loopjump].length - 1;
       for (int loop1 = 0; loop1 < nbPeriod; loop1++) {
         System.arraycopy(initTmp[loop1], 0, result[loopjump][loop1], 0, nbPath);
       }
@@ -255,18 +266,4 @@ public class LiborMarketModelMonteCarloMethod extends MonteCarloMethod {
     return result;
   }
 
-  /**
-   * Gets a 2D-array of independent normally distributed variables.
-   * @param nbJump The number of jumps.
-   * @param nbPath The number of paths.
-   * @return The array of variables.
-   */
-  private double[][] getNormalArray(final int nbJump, final int nbPath) {
-    final double[][] result = new double[nbJump][nbPath];
-    for (int loopjump = 0; loopjump < nbJump; loopjump++) {
-      result[loopjump] = getNumberGenerator().getVector(nbPath);
-    }
-    return result;
-  }
-
 }
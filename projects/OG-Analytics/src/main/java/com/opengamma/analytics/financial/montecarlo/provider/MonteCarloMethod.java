@@ -47,4 +47,15 @@ public abstract class MonteCarloMethod {
     return _nbPath;
   }
 
+  /**
+   * Gets a 2D-array of independent normally distributed variables from the method's generator.
+   * @param nbJump The number of jumps.
+   * @param nbPath The number of paths.
+   * @return The array of variables (jump/path).
+   * @see com.opengamma.analytics.financial.montecarlo.MonteCarloMethod#getNormalArray(RandomNumberGenerator, int, int)
+   */
+  protected double[][] getNormalArray(final int nbJump, final int nbPath) {
+    return com.opengamma.analytics.financial.montecarlo.MonteCarloMethod.getNormalArray(getNumberGenerator(), nbJump, nbPath);
+  }
+
 }
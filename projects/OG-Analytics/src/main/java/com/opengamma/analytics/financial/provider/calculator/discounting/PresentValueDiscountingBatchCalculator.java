@@ -0,0 +1,294 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.provider.calculator.discounting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.analytics.financial.instrument.index.IborIndex;
+import com.opengamma.analytics.financial.interestrate.InstrumentDerivative;
+import com.opengamma.analytics.financial.interestrate.annuity.derivative.Annuity;
+import com.opengamma.analytics.financial.interestrate.annuity.derivative.AnnuityCouponFixed;
+import com.opengamma.analytics.financial.interestrate.payments.derivative.CouponFixed;
+import com.opengamma.analytics.financial.interestrate.payments.derivative.CouponIbor;
+import com.opengamma.analytics.financial.interestrate.payments.derivative.CouponIborSpread;
+import com.opengamma.analytics.financial.interestrate.payments.derivative.Payment;
+import com.opengamma.analytics.financial.interestrate.payments.derivative.PaymentFixed;
+import com.opengamma.analytics.financial.interestrate.swap.derivative.Swap;
+import com.opengamma.analytics.financial.interestrate.swap.derivative.SwapFixedCoupon;
+import com.opengamma.analytics.financial.provider.description.interestrate.MulticurveProviderInterface;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.money.Currency;
+import com.opengamma.util.money.MultipleCurrencyAmount;
+
+/**
+ * Calculator of the present values of a batch of instruments in a single currency, by discounting.
+ * <p>
+ * Swaps and annuities made of fixed payments, fixed coupons, Ibor coupons and Ibor coupons with spread are decomposed into their payments. The distinct
+ * payment times and the distinct forward rate periods of all the instruments are collected first, so that each discount factor and forward rate is obtained
+ * from the provider once for the whole batch rather than once per coupon. The present values are then the same as the ones of
+ * {@link PresentValueDiscountingCalculator}. The other instruments are priced one by one with {@link PresentValueDiscountingCalculator}.
+ */
+public final class PresentValueDiscountingBatchCalculator {
+
+  /**
+   * The unique instance of the calculator.
+   */
+  private static final PresentValueDiscountingBatchCalculator INSTANCE = new PresentValueDiscountingBatchCalculator();
+
+  /**
+   * Gets the calculator instance.
+   * @return The calculator.
+   */
+  public static PresentValueDiscountingBatchCalculator getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Constructor.
+   */
+  private PresentValueDiscountingBatchCalculator() {
+  }
+
+  /**
+   * The calculator used for the instruments which are not decomposed.
+   */
+  private static final PresentValueDiscountingCalculator PVDC = PresentValueDiscountingCalculator.getInstance();
+
+  /**
+   * Computes the present values of the instruments.
+   * @param instruments The instruments, all with payments in the given currency only.
+   * @param ccy The currency of the instruments.
+   * @param multicurve The multi-curve provider.
+   * @return The present values, in the same order as the instruments.
+   */
+  public double[] presentValue(final InstrumentDerivative[] instruments, final Currency ccy, final MulticurveProviderInterface multicurve) {
+    ArgumentChecker.noNulls(instruments, "instruments");
+    ArgumentChecker.notNull(ccy, "currency");
+    ArgumentChecker.notNull(multicurve, "multicurve");
+    final int nbInstrument = instruments.length;
+    // Decomposition into legs of payments
+    final Payment[][][] legs = new Payment[nbInstrument][][];
+    int nbPayment = 0;
+    for (int loopins = 0; loopins < nbInstrument; loopins++) {
+      legs[loopins] = getLegs(instruments[loopins], ccy);
+      if (legs[loopins] != null) {
+        for (final Payment[] leg : legs[loopins]) {
+          nbPayment += leg.length;
+        }
+      }
+    }
+    // Distinct payment times and forward periods
+    final double[] paymentTimes = new double[nbPayment];
+    final int[] forwardSlot = new int[nbPayment];
+    final Map<ForwardPeriod, Integer> forwardSlots = new HashMap<>();
+    final List<ForwardPeriod> forwardPeriods = new ArrayList<>();
+    int looppay = 0;
+    for (int loopins = 0; loopins < nbInstrument; loopins++) {
+      if (legs[loopins] == null) {
+        continue;
+      }
+      for (final Payment[] leg : legs[loopins]) {
+        for (final Payment payment : leg) {
+          paymentTimes[looppay] = payment.getPaymentTime();
+          forwardSlot[looppay] = -1;
+          if (payment instanceof CouponIbor) {
+            final CouponIbor coupon = (CouponIbor) payment;
+            forwardSlot[looppay] = getForwardSlot(new ForwardPeriod(coupon.getIndex(), coupon.getFixingPeriodStartTime(), coupon.getFixingPeriodEndTime(),
+                coupon.getFixingAccrualFactor()), forwardSlots, forwardPeriods);
+          } else if (payment instanceof CouponIborSpread) {
+            final CouponIborSpread coupon = (CouponIborSpread) payment;
+            forwardSlot[looppay] = getForwardSlot(new ForwardPeriod(coupon.getIndex(), coupon.getFixingPeriodStartTime(), coupon.getFixingPeriodEndTime(),
+                coupon.getFixingAccrualFactor()), forwardSlots, forwardPeriods);
+          }
+          looppay++;
+        }
+      }
+    }
+    final double[] times = distinct(paymentTimes);
+    // Curve passes
+    final double[] discountFactors = new double[times.length];
+    for (int looptime = 0; looptime < times.length; looptime++) {
+      discountFactors[looptime] = multicurve.getDiscountFactor(ccy, times[looptime]);
+    }
+    final double[] forwards = new double[forwardPeriods.size()];
+    for (int loopfwd = 0; loopfwd < forwards.length; loopfwd++) {
+      final ForwardPeriod period = forwardPeriods.get(loopfwd);
+      forwards[loopfwd] = multicurve.getForwardRate(period._index, period._startTime, period._endTime, period._accrualFactor);
+    }
+    // Present values
+    final double[] pv = new double[nbInstrument];
+    looppay = 0;
+    for (int loopins = 0; loopins < nbInstrument; loopins++) {
+      if (legs[loopins] == null) {
+        pv[loopins] = getAmount(instruments[loopins].accept(PVDC, multicurve), ccy);
+        continue;
+      }
+      double pvInstrument = 0;
+      for (final Payment[] leg : legs[loopins]) {
+        double pvLeg = 0;
+        for (final Payment payment : leg) {
+          final double df = discountFactors[Arrays.binarySearch(times, paymentTimes[looppay])];
+          final double pvPayment;
+          if (payment instanceof CouponIbor) {
+            final CouponIbor coupon = (CouponIbor) payment;
+            pvPayment = coupon.getNotional() * coupon.getPaymentYearFraction() * forwards[forwardSlot[looppay]] * df;
+          } else if (payment instanceof CouponIborSpread) {
+            final CouponIborSpread coupon = (CouponIborSpread) payment;
+            pvPayment = (coupon.getNotional() * coupon.getPaymentYearFraction() * forwards[forwardSlot[looppay]] + coupon.getSpreadAmount()) * df;
+          } else if (payment instanceof CouponFixed) {
+            pvPayment = ((CouponFixed) payment).getAmount() * df;
+          } else {
+            pvPayment = ((PaymentFixed) payment).getAmount() * df;
+          }
+          pvLeg += pvPayment;
+          looppay++;
+        }
+        pvInstrument += pvLeg;
+      }
+      pv[loopins] = pvInstrument;
+    }
+    return pv;
+  }
+
+  /**
+   * Decomposes an instrument into legs of payments that can be priced from the batch discount factors and forward rates.
+   * @param instrument The instrument.
+   * @param ccy The currency.
+   * @return The legs, or null if the instrument must be priced by the calculator.
+   */
+  private static Payment[][] getLegs(final InstrumentDerivative instrument, final Currency ccy) {
+    final Class<?> type = instrument.getClass();
+    if ((type == Swap.class) || (type == SwapFixedCoupon.class)) {
+      final Swap<?, ?> swap = (Swap<?, ?>) instrument;
+      final Payment[] leg1 = getLeg(swap.getFirstLeg(), ccy);
+      final Payment[] leg2 = getLeg(swap.getSecondLeg(), ccy);
+      if ((leg1 == null) || (leg2 == null)) {
+        return null;
+      }
+      return new Payment[][] {leg1, leg2 };
+    }
+    if ((type == Annuity.class) || (type == AnnuityCouponFixed.class)) {
+      final Payment[] leg = getLeg((Annuity<?>) instrument, ccy);
+      if (leg == null) {
+        return null;
+      }
+      return new Payment[][] {leg };
+    }
+    if (isSupported(instrument, ccy)) {
+      return new Payment[][] {new Payment[] {(Payment) instrument } };
+    }
+    return null;
+  }
+
+  private static Payment[] getLeg(final Annuity<?> annuity, final Currency ccy) {
+    final Class<?> type = annuity.getClass();
+    if ((type != Annuity.class) && (type != AnnuityCouponFixed.class)) {
+      return null;
+    }
+    final Payment[] payments = annuity.getPayments();
+    for (final Payment payment : payments) {
+      if (!isSupported(payment, ccy)) {
+        return null;
+      }
+    }
+    return payments;
+  }
+
+  private static boolean isSupported(final InstrumentDerivative instrument, final Currency ccy) {
+    final Class<?> type = instrument.getClass();
+    if ((type == CouponFixed.class) || (type == CouponIbor.class) || (type == CouponIborSpread.class) || (type == PaymentFixed.class)) {
+      return ccy.equals(((Payment) instrument).getCurrency());
+    }
+    return false;
+  }
+
+  private static int getForwardSlot(final ForwardPeriod period, final Map<ForwardPeriod, Integer> forwardSlots, final List<ForwardPeriod> forwardPeriods) {
+    final Integer slot = forwardSlots.get(period);
+    if (slot != null) {
+      return slot;
+    }
+    final int newSlot = forwardPeriods.size();
+    forwardPeriods.add(period);
+    forwardSlots.put(period, newSlot);
+    return newSlot;
+  }
+
+  /**
+   * Returns the distinct values of an array, sorted.
+   * @param values The values.
+   * @return The sorted distinct values.
+   */
+  private static double[] distinct(final double[] values) {
+    if (values.length == 0) {
+      return values;
+    }
+    final double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int nbDistinct = 1;
+    for (int loopv = 1; loopv < sorted.length; loopv++) {
+      if (Double.compare(sorted[loopv], sorted[nbDistinct - 1]) != 0) {
+        sorted[nbDistinct++] = sorted[loopv];
+      }
+    }
+    return Arrays.copyOf(sorted, nbDistinct);
+  }
+
+  private static double getAmount(final MultipleCurrencyAmount pv, final Currency ccy) {
+    ArgumentChecker.isTrue((pv.size() == 1) && (pv.getCurrencyAmount(ccy) != null), "Instrument present value {} is not in the single currency {}", pv, ccy);
+    return pv.getAmount(ccy);
+  }
+
+  /**
+   * The description of a forward rate: index, fixing period and accrual factor.
+   */
+  private static final class ForwardPeriod {
+
+    private final IborIndex _index;
+    private final double _startTime;
+    private final double _endTime;
+    private final double _accrualFactor;
+
+    private ForwardPeriod(final IborIndex index, final double startTime, final double endTime, final double accrualFactor) {
+      _index = index;
+      _startTime = startTime;
+      _endTime = endTime;
+      _accrualFactor = accrualFactor;
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = _index.hashCode();
+      long temp = Double.doubleToLongBits(_startTime);
+      result = prime * result + (int) (temp ^ (temp >>> 32));
+      temp = Double.doubleToLongBits(_endTime);
+      result = prime * result + (int) (temp ^ (temp >>> 32));
+      temp = Double.doubleToLongBits(_accrualFactor);
+      result = prime * result + (int) (temp ^ (temp >>> 32));
+      return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ForwardPeriod)) {
+        return false;
+      }
+      final ForwardPeriod other = (ForwardPeriod) obj;
+      return (Double.doubleToLongBits(_startTime) == Double.doubleToLongBits(other._startTime))
+          && (Double.doubleToLongBits(_endTime) == Double.doubleToLongBits(other._endTime))
+          && (Double.doubleToLongBits(_accrualFactor) == Double.doubleToLongBits(other._accrualFactor)) && _index.equals(other._index);
+    }
+
+  }
+
+}
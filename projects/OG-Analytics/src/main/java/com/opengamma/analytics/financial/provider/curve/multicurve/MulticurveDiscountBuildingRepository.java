@@ -9,8 +9,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.lang.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.opengamma.analytics.financial.curve.interestrate.generator.GeneratorYDCurve;
 import com.opengamma.analytics.financial.instrument.index.IborIndex;
@@ -23,6 +28,7 @@ import com.opengamma.analytics.financial.provider.description.interestrate.Multi
 import com.opengamma.analytics.financial.provider.description.interestrate.MulticurveProviderInterface;
 import com.opengamma.analytics.financial.provider.sensitivity.multicurve.MulticurveSensitivity;
 import com.opengamma.analytics.financial.provider.sensitivity.multicurve.ParameterSensitivityMulticurveUnderlyingMatrixCalculator;
+import com.opengamma.analytics.math.MathException;
 import com.opengamma.analytics.math.function.Function1D;
 import com.opengamma.analytics.math.linearalgebra.DecompositionFactory;
 import com.opengamma.analytics.math.matrix.CommonsMatrixAlgebra;
@@ -41,6 +47,8 @@ import com.opengamma.util.tuple.Pair;
 // TODO: REVIEW: Embed in a better object.
 public class MulticurveDiscountBuildingRepository {
 
+  private static final Logger s_logger = LoggerFactory.getLogger(MulticurveDiscountBuildingRepository.class);
+
   /**
    * The absolute tolerance for the root finder.
    */
@@ -61,6 +69,30 @@ public class MulticurveDiscountBuildingRepository {
    * The matrix algebra used for matrix inversion.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  /**
+   * The pool on which the instrument values and the Jacobian rows are computed, null to compute them on the calling thread.
+   */
+  private final ForkJoinPool _pool;
+  /**
+   * Whether a unit is calibrated from the parameters and the Jacobian of its previous calibration, when there is one.
+   */
+  private final boolean _warmStart;
+  /**
+   * Whether a unit is first updated from its previous calibration, and calibrated in full only when the update fails.
+   */
+  private final boolean _incremental;
+  /**
+   * The root finder used to refine the incremental updates, with a small number of steps.
+   */
+  private final BroydenVectorRootFinder _incrementalRootFinder;
+  /**
+   * The maximum number of steps for the root finder refining an incremental update.
+   */
+  private static final int INCREMENTAL_STEP_MAXIMUM = 5;
+  /**
+   * The last calibration of each unit, by the names of the curves of the unit.
+   */
+  private final ConcurrentMap<List<String>, UnitCalibration> _previousUnits = new ConcurrentHashMap<>();
 
   /**
    * Constructor.
@@ -69,10 +101,56 @@ public class MulticurveDiscountBuildingRepository {
    * @param stepMaximum The maximum number of step for the root finder.
    */
   public MulticurveDiscountBuildingRepository(final double toleranceAbs, final double toleranceRel, final int stepMaximum) {
+    this(toleranceAbs, toleranceRel, stepMaximum, null, false);
+  }
+
+  /**
+   * Constructor.
+   * <p>
+   * With a pool, the instrument values and the rows of the Jacobian are computed in parallel on the pool.
+   * <p>
+   * With warm start, the repository keeps the parameters and the Jacobian of the last calibration of each unit of curves and uses them, instead of the
+   * parameters guess and a Jacobian computed at the guess, as the starting point of the next calibration of a unit with the same curve names and number of
+   * parameters. This is intended for repeated calibrations to moving market data; if the root finder fails from the previous solution the unit is calibrated
+   * again from the parameters guess.
+   * @param toleranceAbs The absolute tolerance for the root finder.
+   * @param toleranceRel The relative tolerance for the root finder.
+   * @param stepMaximum The maximum number of step for the root finder.
+   * @param pool The pool on which the calibration computations are done, null to do them on the calling thread.
+   * @param warmStart Whether to start each calibration from the previous one.
+   */
+  public MulticurveDiscountBuildingRepository(final double toleranceAbs, final double toleranceRel, final int stepMaximum, final ForkJoinPool pool, final boolean warmStart) {
+    this(toleranceAbs, toleranceRel, stepMaximum, pool, warmStart, false);
+  }
+
+  /**
+   * Constructor.
+   * <p>
+   * In incremental mode, which requires warm start, each unit is first updated from its previous calibration. The values of the instruments are computed on
+   * the previous curves; a unit whose values are all within the absolute tolerance keeps its previous curves. Otherwise the parameters are moved by the
+   * first-order update given by the inverse Jacobian of the previous {@link CurveBuildingBlockBundle} and refined by a few root finder steps starting from
+   * the previous Jacobian. When the first-order update does not reduce the values or the refinement does not converge, the unit is calibrated in full as
+   * with warm start. While the units, and all the units before them, keep their previous curves, the inverse Jacobian matrices of the previous calibration
+   * are reused instead of being computed again.
+   * @param toleranceAbs The absolute tolerance for the root finder.
+   * @param toleranceRel The relative tolerance for the root finder.
+   * @param stepMaximum The maximum number of step for the root finder.
+   * @param pool The pool on which the calibration computations are done, null to do them on the calling thread.
+   * @param warmStart Whether to start each calibration from the previous one.
+   * @param incremental Whether to update each calibration incrementally from the previous one.
+   */
+  public MulticurveDiscountBuildingRepository(final double toleranceAbs, final double toleranceRel, final int stepMaximum, final ForkJoinPool pool, final boolean warmStart,
+      final boolean incremental) {
+    ArgumentChecker.isTrue(warmStart || !incremental, "Incremental calibration requires warm start");
     _toleranceAbs = toleranceAbs;
     _toleranceRel = toleranceRel;
     _stepMaximum = stepMaximum;
+    _pool = pool;
+    _warmStart = warmStart;
+    _incremental = incremental;
     _rootFinder = new BroydenVectorRootFinder(_toleranceAbs, _toleranceRel, _stepMaximum, DecompositionFactory.getDecomposition(DecompositionFactory.SV_COLT_NAME));
+    _incrementalRootFinder = new BroydenVectorRootFinder(_toleranceAbs, _toleranceRel, Math.min(_stepMaximum, INCREMENTAL_STEP_MAXIMUM),
+        DecompositionFactory.getDecomposition(DecompositionFactory.SV_COLT_NAME));
     // TODO: make the root finder flexible.
     // TODO: create a way to select the SensitivityMatrixMulticurve calculator (with underlying curve or not)
   }
@@ -81,6 +159,7 @@ public class MulticurveDiscountBuildingRepository {
    * Build a unit of curves.
    * @param instruments The instruments used for the unit calibration.
    * @param initGuess The initial parameters guess.
+   * @param initJacobian The Jacobian at the initial parameters guess, or an estimate of it. Null to compute it.
    * @param knownData The known data (fx rates, other curves, model parameters, ...)
    * @param discountingMap The discounting curves names map.
    * @param forwardIborMap The forward curves names map.
@@ -90,25 +169,95 @@ public class MulticurveDiscountBuildingRepository {
    * @param sensitivityCalculator The parameter sensitivity calculator.
    * @return The new curves and the calibrated parameters.
    */
-  private Pair<MulticurveProviderDiscount, Double[]> makeUnit(final InstrumentDerivative[] instruments, final double[] initGuess, final MulticurveProviderDiscount knownData,
+  private Pair<MulticurveProviderDiscount, Double[]> makeUnit(final InstrumentDerivative[] instruments, final double[] initGuess, final DoubleMatrix2D initJacobian,
+      final MulticurveProviderDiscount knownData,
       final LinkedHashMap<String, Currency> discountingMap, final LinkedHashMap<String, IborIndex[]> forwardIborMap, final LinkedHashMap<String, IndexON[]> forwardONMap,
       final LinkedHashMap<String, GeneratorYDCurve> generatorsMap, final InstrumentDerivativeVisitor<MulticurveProviderInterface, Double> calculator,
       final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator) {
     final GeneratorMulticurveProviderDiscount generator = new GeneratorMulticurveProviderDiscount(knownData, discountingMap, forwardIborMap, forwardONMap, generatorsMap);
     final MulticurveDiscountBuildingData data = new MulticurveDiscountBuildingData(instruments, generator);
-    final Function1D<DoubleMatrix1D, DoubleMatrix1D> curveCalculator = new MulticurveDiscountFinderFunction(calculator, data);
-    final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianCalculator = new MulticurveDiscountFinderJacobian(new ParameterSensitivityMulticurveUnderlyingMatrixCalculator(sensitivityCalculator),
-        data);
-    final double[] parameters = _rootFinder.getRoot(curveCalculator, jacobianCalculator, new DoubleMatrix1D(initGuess)).getData();
+    final Function1D<DoubleMatrix1D, DoubleMatrix1D> curveCalculator = _pool == null ? new MulticurveDiscountFinderFunction(calculator, data) :
+        new MulticurveDiscountFinderFunction(calculator, data, _pool);
+    final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianCalculator = makeJacobianCalculator(data, sensitivityCalculator);
+    final double[] parameters = _rootFinder.getRoot(curveCalculator, jacobianCalculator, new DoubleMatrix1D(initGuess), initJacobian).getData();
     final MulticurveProviderDiscount newCurves = data.getGeneratorMarket().evaluate(new DoubleMatrix1D(parameters));
     return new ObjectsPair<>(newCurves, ArrayUtils.toObject(parameters));
   }
 
   /**
-   * Build the Jacobian matrixes associated to a unit of curves.
+   * Updates a unit of curves from its previous calibration.
+   * @param instruments The instruments used for the unit calibration.
+   * @param previous The previous calibration of the unit.
+   * @param knownData The known data (fx rates, other curves, model parameters, ...)
+   * @param discountingMap The discounting curves names map.
+   * @param forwardIborMap The forward curves names map.
+   * @param forwardONMap The forward curves names map.
+   * @param generatorsMap The generators map.
+   * @param calculator The calculator of the value on which the calibration is done (usually ParSpreadMarketQuoteCalculator (recommended) or converted present value).
+   * @param sensitivityCalculator The parameter sensitivity calculator.
+   * @return The new curves and the calibrated parameters, null if the unit should be calibrated in full.
+   */
+  private Pair<MulticurveProviderDiscount, Double[]> makeUnitIncremental(final InstrumentDerivative[] instruments, final UnitCalibration previous,
+      final MulticurveProviderDiscount knownData,
+      final LinkedHashMap<String, Currency> discountingMap, final LinkedHashMap<String, IborIndex[]> forwardIborMap, final LinkedHashMap<String, IndexON[]> forwardONMap,
+      final LinkedHashMap<String, GeneratorYDCurve> generatorsMap, final InstrumentDerivativeVisitor<MulticurveProviderInterface, Double> calculator,
+      final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator) {
+    final GeneratorMulticurveProviderDiscount generator = new GeneratorMulticurveProviderDiscount(knownData, discountingMap, forwardIborMap, forwardONMap, generatorsMap);
+    final MulticurveDiscountBuildingData data = new MulticurveDiscountBuildingData(instruments, generator);
+    final Function1D<DoubleMatrix1D, DoubleMatrix1D> curveCalculator = _pool == null ? new MulticurveDiscountFinderFunction(calculator, data) :
+        new MulticurveDiscountFinderFunction(calculator, data, _pool);
+    final double[] previousParameters = previous.getParameters();
+    final DoubleMatrix1D values = curveCalculator.evaluate(new DoubleMatrix1D(previousParameters));
+    final double valuesNorm = MATRIX_ALGEBRA.getNormInfinity(values);
+    if (valuesNorm <= _toleranceAbs) {
+      return new ObjectsPair<>(generator.evaluate(new DoubleMatrix1D(previousParameters)), ArrayUtils.toObject(previousParameters));
+    }
+    // First-order update with the inverse Jacobian of the previous calibration
+    final double[][] inverseJacobian = previous.getInverseJacobian().getData();
+    final double[] updatedParameters = new double[previousParameters.length];
+    for (int loopparam = 0; loopparam < previousParameters.length; loopparam++) {
+      double delta = 0;
+      for (int loopins = 0; loopins < values.getNumberOfElements(); loopins++) {
+        delta += inverseJacobian[loopparam][loopins] * values.getEntry(loopins);
+      }
+      updatedParameters[loopparam] = previousParameters[loopparam] - delta;
+    }
+    final DoubleMatrix1D updatedValues = curveCalculator.evaluate(new DoubleMatrix1D(updatedParameters));
+    final double updatedNorm = MATRIX_ALGEBRA.getNormInfinity(updatedValues);
+    if (!(updatedNorm < valuesNorm)) {
+      return null;
+    }
+    if (updatedNorm <= _toleranceAbs) {
+      return new ObjectsPair<>(generator.evaluate(new DoubleMatrix1D(updatedParameters)), ArrayUtils.toObject(updatedParameters));
+    }
+    final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianCalculator = makeJacobianCalculator(data, sensitivityCalculator);
+    final double[] parameters;
+    try {
+      parameters = _incrementalRootFinder.getRoot(curveCalculator, jacobianCalculator, new DoubleMatrix1D(updatedParameters), previous.getJacobian()).getData();
+    } catch (final MathException e) {
+      return null;
+    }
+    return new ObjectsPair<>(generator.evaluate(new DoubleMatrix1D(parameters)), ArrayUtils.toObject(parameters));
+  }
+
+  /**
+   * Creates the function computing the Jacobian of the calibration instruments values with respect to the curve parameters.
+   * @param data The curve building data.
+   * @param sensitivityCalculator The parameter sensitivity calculator.
+   * @return The function.
+   */
+  private Function1D<DoubleMatrix1D, DoubleMatrix2D> makeJacobianCalculator(final MulticurveDiscountBuildingData data,
+      final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator) {
+    final ParameterSensitivityMulticurveUnderlyingMatrixCalculator parameterSensitivityCalculator = new ParameterSensitivityMulticurveUnderlyingMatrixCalculator(sensitivityCalculator);
+    if (_pool == null) {
+      return new MulticurveDiscountFinderJacobian(parameterSensitivityCalculator, data);
+    }
+    return new MulticurveDiscountFinderJacobian(parameterSensitivityCalculator, data, _pool);
+  }
+
+  /**
+   * Build the Jacobian matrix of a block of curves.
    * @param instruments The instruments used for the block calibration.
-   * @param startBlock The index of the first parameter of the unit in the block.
-   * @param nbParameters The number of parameters for each curve in the unit.
    * @param parameters The parameters used to build each curve in the block.
    * @param knownData The known data (FX rates, other curves, model parameters, ...) for the block calibration.
    * @param discountingMap The discounting curves names map.
@@ -117,19 +266,26 @@ public class MulticurveDiscountBuildingRepository {
    * @param generatorsMap The generators map.
    * @param sensitivityCalculator The parameter sensitivity calculator for the value on which the calibration is done
   (usually ParSpreadMarketQuoteDiscountingProviderCalculator (recommended) or converted present value).
+   * @return The Jacobian matrix, the transition matrix between the curve parameters and the par spread.
+   */
+  private DoubleMatrix2D makeJacobian(final InstrumentDerivative[] instruments, final Double[] parameters, final MulticurveProviderDiscount knownData,
+      final LinkedHashMap<String, Currency> discountingMap, final LinkedHashMap<String, IborIndex[]> forwardIborMap, final LinkedHashMap<String, IndexON[]> forwardONMap,
+      final LinkedHashMap<String, GeneratorYDCurve> generatorsMap, final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator) {
+    final GeneratorMulticurveProviderDiscount generator = new GeneratorMulticurveProviderDiscount(knownData, discountingMap, forwardIborMap, forwardONMap, generatorsMap);
+    final MulticurveDiscountBuildingData data = new MulticurveDiscountBuildingData(instruments, generator);
+    return makeJacobianCalculator(data, sensitivityCalculator).evaluate(new DoubleMatrix1D(parameters));
+  }
+
+  /**
+   * Build the Jacobian matrixes associated to a unit of curves.
+   * @param jacobian The Jacobian matrix of the block.
+   * @param startBlock The index of the first parameter of the unit in the block.
+   * @param nbParameters The number of parameters for each curve in the unit.
    * @return The part of the inverse Jacobian matrix associated to each curve.
    * The Jacobian matrix is the transition matrix between the curve parameters and the par spread.
    */
   // TODO: Currently only for the ParSpreadMarketQuoteDiscountingProviderCalculator.
-  private DoubleMatrix2D[] makeCurveMatrix(final InstrumentDerivative[] instruments, final int startBlock, final int[] nbParameters, final Double[] parameters,
-      final MulticurveProviderDiscount knownData, final LinkedHashMap<String, Currency> discountingMap, final LinkedHashMap<String, IborIndex[]> forwardIborMap,
-      final LinkedHashMap<String, IndexON[]> forwardONMap, final LinkedHashMap<String, GeneratorYDCurve> generatorsMap,
-      final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator) {
-    final GeneratorMulticurveProviderDiscount generator = new GeneratorMulticurveProviderDiscount(knownData, discountingMap, forwardIborMap, forwardONMap, generatorsMap);
-    final MulticurveDiscountBuildingData data = new MulticurveDiscountBuildingData(instruments, generator);
-    final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianCalculator = new MulticurveDiscountFinderJacobian(new ParameterSensitivityMulticurveUnderlyingMatrixCalculator(sensitivityCalculator),
-        data);
-    final DoubleMatrix2D jacobian = jacobianCalculator.evaluate(new DoubleMatrix1D(parameters));
+  private static DoubleMatrix2D[] makeCurveMatrix(final DoubleMatrix2D jacobian, final int startBlock, final int[] nbParameters) {
     final DoubleMatrix2D inverseJacobian = MATRIX_ALGEBRA.getInverse(jacobian);
     final double[][] matrixTotal = inverseJacobian.getData();
     final DoubleMatrix2D[] result = new DoubleMatrix2D[nbParameters.length];
@@ -181,6 +337,7 @@ public class MulticurveDiscountBuildingRepository {
     final List<Double> parametersSoFar = new ArrayList<>();
     final LinkedHashMap<String, Pair<Integer, Integer>> unitMap = new LinkedHashMap<>();
     int startUnit = 0;
+    boolean unchangedSoFar = true; // Whether all the units so far have kept their previous curves.
     for (int loopunit = 0; loopunit < nbUnits; loopunit++) {
       final int nbCurve = curveGenerators[loopunit].length;
       final int[] startCurve = new int[nbCurve]; // First parameter index of the curve in the unit.
@@ -204,11 +361,57 @@ public class MulticurveDiscountBuildingRepository {
         generatorsSoFar.put(curveNames[loopunit][loopcurve], tmp);
         unitMap.put(curveNames[loopunit][loopcurve], new ObjectsPair<>(startUnit + startCurve[loopcurve], nbIns[loopcurve]));
       }
-      final Pair<MulticurveProviderDiscount, Double[]> unitCal = makeUnit(instrumentsUnit, parametersGuess[loopunit], knownSoFarData, discountingMap, forwardIborMap, forwardONMap, gen, calculator,
-          sensitivityCalculator);
+      final List<String> unitCurveNames = Arrays.asList(curveNames[loopunit]);
+      UnitCalibration previousUnit = _warmStart ? _previousUnits.get(unitCurveNames) : null;
+      if (previousUnit != null && previousUnit.getParameters().length != parametersGuess[loopunit].length) {
+        previousUnit = null;
+      }
+      Pair<MulticurveProviderDiscount, Double[]> unitCal = null;
+      if (_incremental && previousUnit != null) {
+        unitCal = makeUnitIncremental(instrumentsUnit, previousUnit, knownSoFarData, discountingMap, forwardIborMap, forwardONMap, gen, calculator, sensitivityCalculator);
+        if (unitCal == null) {
+          s_logger.debug("Incremental update of {} failed, calibrating in full", unitCurveNames);
+        }
+      }
+      if (unitCal == null && previousUnit != null) {
+        try {
+          unitCal = makeUnit(instrumentsUnit, previousUnit.getParameters(), previousUnit.getJacobian(), knownSoFarData, discountingMap, forwardIborMap, forwardONMap, gen,
+              calculator, sensitivityCalculator);
+        } catch (final MathException e) {
+          s_logger.debug("Calibration of {} from the previous solution failed, starting from the parameters guess: {}", unitCurveNames, e.getMessage());
+        }
+      }
+      if (unitCal == null) {
+        unitCal = makeUnit(instrumentsUnit, parametersGuess[loopunit], null, knownSoFarData, discountingMap, forwardIborMap, forwardONMap, gen, calculator, sensitivityCalculator);
+      }
+      final double[] unitParameters = ArrayUtils.toPrimitive(unitCal.getSecond());
       parametersSoFar.addAll(Arrays.asList(unitCal.getSecond()));
-      final DoubleMatrix2D[] mat = makeCurveMatrix(instrumentsSoFarArray, startUnit, nbIns, parametersSoFar.toArray(new Double[parametersSoFar.size()]), knownData, discountingMap,
-          forwardIborMap, forwardONMap, generatorsSoFar, sensitivityCalculator);
+      unchangedSoFar = unchangedSoFar && _incremental && previousUnit != null && previousUnit.getStartUnit() == startUnit
+          && Arrays.equals(previousUnit.getParameters(), unitParameters);
+      final DoubleMatrix2D[] mat;
+      if (unchangedSoFar) {
+        // The unit and the units before it have their previous curves: the previous inverse Jacobian matrices are still valid
+        mat = previousUnit.getCurveMatrices();
+      } else {
+        final DoubleMatrix2D jacobian = makeJacobian(instrumentsSoFarArray, parametersSoFar.toArray(new Double[parametersSoFar.size()]), knownData, discountingMap,
+            forwardIborMap, forwardONMap, generatorsSoFar, sensitivityCalculator);
+        mat = makeCurveMatrix(jacobian, startUnit, nbIns);
+        if (_warmStart) {
+          // The Jacobian of the unit calibration at the solution is the diagonal block of the unit in the block Jacobian. As the block Jacobian is block lower
+          // triangular, the inverse of the unit Jacobian is the diagonal block of the unit in the inverse of the block Jacobian.
+          final double[][] unitJacobian = new double[nbInsUnit][];
+          for (int loopins = 0; loopins < nbInsUnit; loopins++) {
+            unitJacobian[loopins] = Arrays.copyOfRange(jacobian.getData()[startUnit + loopins], startUnit, startUnit + nbInsUnit);
+          }
+          final double[][] unitInverseJacobian = new double[nbInsUnit][];
+          for (int loopcurve = 0; loopcurve < nbCurve; loopcurve++) {
+            for (int loopparam = 0; loopparam < nbIns[loopcurve]; loopparam++) {
+              unitInverseJacobian[startCurve[loopcurve] + loopparam] = Arrays.copyOfRange(mat[loopcurve].getData()[loopparam], startUnit, startUnit + nbInsUnit);
+            }
+          }
+          _previousUnits.put(unitCurveNames, new UnitCalibration(unitParameters, new DoubleMatrix2D(unitJacobian), new DoubleMatrix2D(unitInverseJacobian), startUnit, mat));
+        }
+      }
       // TODO: should curve matrix be computed only once at the end? To save time
       for (int loopcurve = 0; loopcurve < curveGenerators[loopunit].length; loopcurve++) {
         unitBundleSoFar.put(curveNames[loopunit][loopcurve], new ObjectsPair<>(new CurveBuildingBlock(unitMap), mat[loopcurve]));
@@ -219,4 +422,60 @@ public class MulticurveDiscountBuildingRepository {
     return new ObjectsPair<>(knownSoFarData, new CurveBuildingBlockBundle(unitBundleSoFar));
   }
 
+  /**
+   * The result of the calibration of a unit kept for the next calibration of the unit.
+   */
+  private static final class UnitCalibration {
+    /**
+     * The calibrated parameters.
+     */
+    private final double[] _parameters;
+    /**
+     * The Jacobian of the unit calibration at the calibrated parameters.
+     */
+    private final DoubleMatrix2D _jacobian;
+    /**
+     * The inverse of the Jacobian of the unit calibration.
+     */
+    private final DoubleMatrix2D _inverseJacobian;
+    /**
+     * The index of the first parameter of the unit in the block.
+     */
+    private final int _startUnit;
+    /**
+     * The part of the inverse block Jacobian associated to each curve of the unit.
+     */
+    private final DoubleMatrix2D[] _curveMatrices;
+
+    private UnitCalibration(final double[] parameters, final DoubleMatrix2D jacobian, final DoubleMatrix2D inverseJacobian, final int startUnit,
+        final DoubleMatrix2D[] curveMatrices) {
+      _parameters = parameters;
+      _jacobian = jacobian;
+      _inverseJacobian = inverseJacobian;
+      _startUnit = startUnit;
+      _curveMatrices = curveMatrices;
+    }
+
+    private double[] getParameters() {
+      return _parameters;
+    }
+
+    private DoubleMatrix2D getJacobian() {
+      return _jacobian;
+    }
+
+    private DoubleMatrix2D getInverseJacobian() {
+      return _inverseJacobian;
+    }
+
+    private int getStartUnit() {
+      return _startUnit;
+    }
+
+    private DoubleMatrix2D[] getCurveMatrices() {
+      return _curveMatrices;
+    }
+
+  }
+
 }
@@ -5,6 +5,9 @@
  */
 package com.opengamma.analytics.financial.provider.curve.multicurve;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import com.opengamma.analytics.financial.interestrate.InstrumentDerivativeVisitor;
 import com.opengamma.analytics.financial.provider.description.interestrate.MulticurveProviderDiscount;
 import com.opengamma.analytics.financial.provider.description.interestrate.MulticurveProviderInterface;
@@ -26,6 +29,10 @@ public class MulticurveDiscountFinderFunction extends Function1D<DoubleMatrix1D,
    * The data required for curve building.
    */
   private final MulticurveDiscountBuildingData _data;
+  /**
+   * The pool on which the instruments are valued, null to value them on the calling thread.
+   */
+  private final ForkJoinPool _pool;
 
   /**
    * Constructor.
@@ -37,6 +44,23 @@ public class MulticurveDiscountFinderFunction extends Function1D<DoubleMatrix1D,
     ArgumentChecker.notNull(data, "Data");
     _calculator = calculator;
     _data = data;
+    _pool = null;
+  }
+
+  /**
+   * Constructor valuing the instruments in parallel.
+   * @param calculator The instrument value calculator.
+   * @param data The data required for curve building.
+   * @param pool The pool on which the instruments are valued.
+   */
+  public MulticurveDiscountFinderFunction(final InstrumentDerivativeVisitor<MulticurveProviderInterface, Double> calculator, final MulticurveDiscountBuildingData data,
+      final ForkJoinPool pool) {
+    ArgumentChecker.notNull(calculator, "Calculator");
+    ArgumentChecker.notNull(data, "Data");
+    ArgumentChecker.notNull(pool, "Pool");
+    _calculator = calculator;
+    _data = data;
+    _pool = pool;
   }
 
   @Override
@@ -45,10 +69,45 @@ public class MulticurveDiscountFinderFunction extends Function1D<DoubleMatrix1D,
     final MulticurveProviderDiscount newCurves = _data.getGeneratorMarket().evaluate(x);
     bundle.setAll(newCurves);
     final double[] res = new double[_data.getNumberOfInstruments()];
-    for (int i = 0; i < _data.getNumberOfInstruments(); i++) {
-      res[i] = _data.getInstrument(i).accept(_calculator, bundle);
+    if (_pool == null) {
+      for (int i = 0; i < _data.getNumberOfInstruments(); i++) {
+        res[i] = _data.getInstrument(i).accept(_calculator, bundle);
+      }
+    } else {
+      _pool.invoke(new ValueTask(bundle, res, 0, res.length));
     }
     return new DoubleMatrix1D(res);
   }
 
+  /**
+   * Values a range of instruments, splitting it until there is one instrument per task.
+   */
+  private final class ValueTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final MulticurveProviderDiscount _bundle;
+    private final double[] _res;
+    private final int _start;
+    private final int _end;
+
+    private ValueTask(final MulticurveProviderDiscount bundle, final double[] res, final int start, final int end) {
+      _bundle = bundle;
+      _res = res;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start == 1) {
+        _res[_start] = _data.getInstrument(_start).accept(_calculator, _bundle);
+      } else if (_end > _start) {
+        final int middle = (_start + _end) >>> 1;
+        invokeAll(new ValueTask(_bundle, _res, _start, middle), new ValueTask(_bundle, _res, middle, _end));
+      }
+    }
+
+  }
+
 }
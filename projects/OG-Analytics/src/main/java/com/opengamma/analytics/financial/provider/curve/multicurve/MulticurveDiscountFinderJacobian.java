@@ -6,6 +6,8 @@
 package com.opengamma.analytics.financial.provider.curve.multicurve;
 
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.opengamma.analytics.financial.interestrate.InstrumentDerivative;
 import com.opengamma.analytics.financial.provider.description.interestrate.MulticurveProviderDiscount;
@@ -13,6 +15,7 @@ import com.opengamma.analytics.financial.provider.sensitivity.multicurve.Paramet
 import com.opengamma.analytics.math.function.Function1D;
 import com.opengamma.analytics.math.matrix.DoubleMatrix1D;
 import com.opengamma.analytics.math.matrix.DoubleMatrix2D;
+import com.opengamma.util.ArgumentChecker;
 
 /**
  * Function computing the Jacobian of the error of valuation produce by a array representing the curve parameters. 
@@ -28,6 +31,10 @@ public class MulticurveDiscountFinderJacobian extends Function1D<DoubleMatrix1D,
    * The data required for curve building.
    */
   private final MulticurveDiscountBuildingData _data;
+  /**
+   * The pool on which the rows of the Jacobian are computed, null to compute them on the calling thread.
+   */
+  private final ForkJoinPool _pool;
 
   /**
    * Constructor.
@@ -38,6 +45,21 @@ public class MulticurveDiscountFinderJacobian extends Function1D<DoubleMatrix1D,
       final MulticurveDiscountBuildingData data) {
     _parameterSensitivityCalculator = parameterSensitivityCalculator;
     _data = data;
+    _pool = null;
+  }
+
+  /**
+   * Constructor computing the rows of the Jacobian, one per instrument, in parallel.
+   * @param parameterSensitivityCalculator The instrument parameter sensitivity calculator.
+   * @param data The data required for curve building.
+   * @param pool The pool on which the rows are computed.
+   */
+  public MulticurveDiscountFinderJacobian(final ParameterSensitivityMulticurveMatrixAbstractCalculator parameterSensitivityCalculator,
+      final MulticurveDiscountBuildingData data, final ForkJoinPool pool) {
+    ArgumentChecker.notNull(pool, "Pool");
+    _parameterSensitivityCalculator = parameterSensitivityCalculator;
+    _data = data;
+    _pool = pool;
   }
 
   @Override
@@ -48,11 +70,48 @@ public class MulticurveDiscountFinderJacobian extends Function1D<DoubleMatrix1D,
     Set<String> curvesSet = _data.getGeneratorMarket().getCurvesList();
     final int nbParameters = _data.getNumberOfInstruments();
     final double[][] res = new double[nbParameters][nbParameters];
-    for (int loopinstrument = 0; loopinstrument < _data.getNumberOfInstruments(); loopinstrument++) {
-      InstrumentDerivative deriv = _data.getInstrument(loopinstrument);
-      res[loopinstrument] = _parameterSensitivityCalculator.calculateSensitivity(deriv, bundle, curvesSet).getData();
+    if (_pool == null) {
+      for (int loopinstrument = 0; loopinstrument < _data.getNumberOfInstruments(); loopinstrument++) {
+        InstrumentDerivative deriv = _data.getInstrument(loopinstrument);
+        res[loopinstrument] = _parameterSensitivityCalculator.calculateSensitivity(deriv, bundle, curvesSet).getData();
+      }
+    } else {
+      _pool.invoke(new RowTask(bundle, curvesSet, res, 0, nbParameters));
     }
     return new DoubleMatrix2D(res);
   }
 
+  /**
+   * Computes a range of rows of the Jacobian, splitting it until there is one row per task.
+   */
+  private final class RowTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final MulticurveProviderDiscount _bundle;
+    private final Set<String> _curvesSet;
+    private final double[][] _res;
+    private final int _start;
+    private final int _end;
+
+    private RowTask(final MulticurveProviderDiscount bundle, final Set<String> curvesSet, final double[][] res, final int start, final int end) {
+      _bundle = bundle;
+      _curvesSet = curvesSet;
+      _res = res;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start == 1) {
+        _res[_start] = _parameterSensitivityCalculator.calculateSensitivity(_data.getInstrument(_start), _bundle, _curvesSet).getData();
+      } else if (_end > _start) {
+        final int middle = (_start + _end) >>> 1;
+        invokeAll(new RowTask(_bundle, _curvesSet, _res, _start, middle), new RowTask(_bundle, _curvesSet, _res, middle, _end));
+      }
+    }
+
+  }
+
 }
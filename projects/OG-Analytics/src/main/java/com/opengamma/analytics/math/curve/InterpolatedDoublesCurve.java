@@ -512,6 +512,17 @@ public class InterpolatedDoublesCurve extends ArraysDoublesCurve {
     return _interpolator.interpolate(_dataBundle, x);
   }
 
+  /**
+   * Gets the y values for x values sorted in increasing order, as {@link #getYValue} would for each of them but without boxing and with a single
+   * walk through the nodes for the interpolators that support it.
+   * @param sortedX The x values, sorted in increasing order, not null
+   * @return The y values
+   */
+  public double[] getYValuesSorted(final double[] sortedX) {
+    Validate.notNull(sortedX, "x");
+    return _interpolator.interpolateSorted(_dataBundle, sortedX);
+  }
+
   @Override
   public Double[] getYValueParameterSensitivity(Double x) {
     Validate.notNull(x, "x");
@@ -5,6 +5,8 @@
  */
 package com.opengamma.analytics.math.interpolation;
 
+import java.util.Arrays;
+
 import org.apache.commons.lang.Validate;
 
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
@@ -81,6 +83,39 @@ public class CombinedInterpolatorExtrapolator extends Interpolator1D {
     return _interpolator.interpolate(data, value);
   }
 
+  @Override
+  public double[] interpolateSorted(final Interpolator1DDataBundle data, final double[] sortedValues) {
+    Validate.notNull(data, "data");
+    checkSorted(sortedValues);
+    final int n = sortedValues.length;
+    final double firstKey = data.firstKey();
+    final double lastKey = data.lastKey();
+    int start = 0;
+    if (_leftExtrapolator != null) {
+      while (start < n && sortedValues[start] < firstKey) {
+        start++;
+      }
+    }
+    int end = n;
+    if (_rightExtrapolator != null) {
+      while (end > start && sortedValues[end - 1] > lastKey) {
+        end--;
+      }
+    }
+    final double[] result = new double[n];
+    for (int i = 0; i < start; i++) {
+      result[i] = _leftExtrapolator.interpolate(data, sortedValues[i]);
+    }
+    if (end > start) {
+      final double[] inside = _interpolator.interpolateSorted(data, Arrays.copyOfRange(sortedValues, start, end));
+      System.arraycopy(inside, 0, result, start, end - start);
+    }
+    for (int i = end; i < n; i++) {
+      result[i] = _rightExtrapolator.interpolate(data, sortedValues[i]);
+    }
+    return result;
+  }
+
   @Override
   public double[] getNodeSensitivitiesForValue(final Interpolator1DDataBundle data, final Double value) {
     Validate.notNull(data, "data");
@@ -25,6 +25,59 @@ public abstract class Interpolator1D implements Interpolator<Interpolator1DDataB
   @Override
   public abstract Double interpolate(Interpolator1DDataBundle data, Double value);
 
+  /**
+   * Computes the interpolated values for an array of values sorted in increasing order. The result is the same as calling
+   * {@link #interpolate(Interpolator1DDataBundle, Double)} for each value; implementations may use the ordering to walk the knots once rather than
+   * searching for the interval of each value.
+   * @param data The interpolation data, not null
+   * @param sortedValues The values for which the interpolation is computed, sorted in increasing order, not null
+   * @return The interpolated values
+   */
+  public double[] interpolateSorted(final Interpolator1DDataBundle data, final double[] sortedValues) {
+    Validate.notNull(data, "data");
+    checkSorted(sortedValues);
+    final double[] result = new double[sortedValues.length];
+    for (int i = 0; i < sortedValues.length; i++) {
+      result[i] = interpolate(data, sortedValues[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Checks that the values are not null and sorted in increasing order.
+   * @param sortedValues The values
+   */
+  protected static void checkSorted(final double[] sortedValues) {
+    Validate.notNull(sortedValues, "values");
+    for (int i = 1; i < sortedValues.length; i++) {
+      Validate.isTrue(sortedValues[i - 1] <= sortedValues[i], "Values must be sorted in increasing order");
+    }
+  }
+
+  /**
+   * Gets the index of the largest key less than or equal to the value, searching forward from a starting index. This is the index returned by
+   * {@link Interpolator1DDataBundle#getLowerBoundIndex(Double)} when the starting index is at or below it, which is the case when the values are
+   * visited in increasing order.
+   * @param keys The sorted keys
+   * @param value The value
+   * @param start The index from which to search
+   * @return The lower bound index
+   */
+  protected static int getLowerBoundIndex(final double[] keys, final double value, final int start) {
+    final int n = keys.length;
+    if (value < keys[0]) {
+      throw new IllegalArgumentException("Could not get lower bound index for " + value + ": lowest x-value is " + keys[0]);
+    }
+    if (value > keys[n - 1]) {
+      throw new IllegalArgumentException("Could not get lower bound index for " + value + ": highest x-value is " + keys[n - 1]);
+    }
+    int index = start;
+    while (index < n - 1 && keys[index + 1] <= value) {
+      index++;
+    }
+    return index;
+  }
+
   public double[] getNodeSensitivitiesForValue(Interpolator1DDataBundle data, Double value, boolean useFiniteDifferenceSensitivities) {
     return useFiniteDifferenceSensitivities ? getFiniteDifferenceSensitivities(data, value) : getNodeSensitivitiesForValue(data, value);
   }
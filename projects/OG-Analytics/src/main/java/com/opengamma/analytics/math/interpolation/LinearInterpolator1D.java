@@ -36,6 +36,29 @@ public class LinearInterpolator1D extends Interpolator1D {
     return y1 + (value - x1) / (x2 - x1) * (y2 - y1);
   }
 
+  @Override
+  public double[] interpolateSorted(final Interpolator1DDataBundle model, final double[] sortedValues) {
+    Validate.notNull(model, "Data bundle must not be null");
+    checkSorted(sortedValues);
+    final double[] xData = model.getKeys();
+    final double[] yData = model.getValues();
+    final int n = xData.length - 1;
+    final double[] result = new double[sortedValues.length];
+    int low = 0;
+    for (int i = 0; i < sortedValues.length; i++) {
+      final double value = sortedValues[i];
+      low = getLowerBoundIndex(xData, value, low);
+      if (low == n) {
+        result[i] = yData[n];
+      } else {
+        final double x1 = xData[low];
+        final double y1 = yData[low];
+        result[i] = y1 + (value - x1) / (xData[low + 1] - x1) * (yData[low + 1] - y1);
+      }
+    }
+    return result;
+  }
+
   @Override
   public double[] getNodeSensitivitiesForValue(final Interpolator1DDataBundle data, final Double value) {
     Validate.notNull(data, "data");
@@ -117,16 +117,7 @@ public class MonotoneConvexSplineInterpolator extends PiecewisePolynomialInterpo
     final int nKnots = coefsMatrixIntegrate.getNumberOfRows() + 1;
     final double[] knots = result.getKnots().getData();
 
-    int indicator = 0;
-    if (x <= knots[1]) {
-      indicator = 0;
-    } else {
-      for (int i = 1; i < nKnots - 1; ++i) {
-        if (knots[i] < x) {
-          indicator = i;
-        }
-      }
-    }
+    final int indicator = getIntervalIndex(knots, nKnots, x, 0);
 
     final double[] coefs = coefsMatrixIntegrate.getRowVector(indicator).getData();
 
@@ -149,17 +140,13 @@ public class MonotoneConvexSplineInterpolator extends PiecewisePolynomialInterpo
     final int nKnots = coefsMatrixIntegrate.getNumberOfRows() + 1;
     final double[] knots = result.getKnots().getData();
 
+    // Increasing keys are located by walking forward from the interval of the previous key
+    int indicator = 0;
     for (int j = 0; j < keyLength; ++j) {
-      int indicator = 0;
-      if (x[j] <= knots[1]) {
+      if (j > 0 && x[j] < x[j - 1]) {
         indicator = 0;
-      } else {
-        for (int i = 1; i < nKnots - 1; ++i) {
-          if (knots[i] < x[j]) {
-            indicator = i;
-          }
-        }
       }
+      indicator = getIntervalIndex(knots, nKnots, x[j], indicator);
 
       final double[] coefs = coefsMatrixIntegrate.getRowVector(indicator).getData();
       res[j] = getValue(coefs, x[j], knots[indicator]);
@@ -184,17 +171,12 @@ public class MonotoneConvexSplineInterpolator extends PiecewisePolynomialInterpo
     final double[] knots = result.getKnots().getData();
 
     for (int j = 0; j < keyDim; ++j) {
+      int indicator = 0;
       for (int k = 0; k < keyLength; ++k) {
-        int indicator = 0;
-        if (xMatrix[j][k] <= knots[1]) {
+        if (k > 0 && xMatrix[j][k] < xMatrix[j][k - 1]) {
           indicator = 0;
-        } else {
-          for (int i = 1; i < nKnots - 1; ++i) {
-            if (knots[i] < xMatrix[j][k]) {
-              indicator = i;
-            }
-          }
         }
+        indicator = getIntervalIndex(knots, nKnots, xMatrix[j][k], indicator);
 
         final double[] coefs = coefsMatrixIntegrate.getRowVector(indicator).getData();
         res[j][k] = getValue(coefs, xMatrix[j][k], knots[indicator]);
@@ -280,16 +262,7 @@ public class MonotoneConvexSplineInterpolator extends PiecewisePolynomialInterpo
     final int nKnots = coefsMatrix.getNumberOfRows() + 1;
     final double[] knots = result.getKnots().getData();
 
-    int indicator = 0;
-    if (x <= knots[1]) {
-      indicator = 0;
-    } else {
-      for (int i = 1; i < nKnots - 1; ++i) {
-        if (knots[i] < x) {
-          indicator = i;
-        }
-      }
-    }
+    final int indicator = getIntervalIndex(knots, nKnots, x, 0);
 
     final double[] coefs = coefsMatrix.getRowVector(indicator).getData();
 
@@ -318,17 +291,13 @@ public class MonotoneConvexSplineInterpolator extends PiecewisePolynomialInterpo
     final int keyLength = x.length;
     double[] res = new double[keyLength];
 
+    // Increasing keys are located by walking forward from the interval of the previous key
+    int indicator = 0;
     for (int j = 0; j < keyLength; ++j) {
-      int indicator = 0;
-      if (x[j] <= knots[1]) {
+      if (j > 0 && x[j] < x[j - 1]) {
         indicator = 0;
-      } else {
-        for (int i = 1; i < nKnots - 1; ++i) {
-          if (knots[i] < x[j]) {
-            indicator = i;
-          }
-        }
       }
+      indicator = getIntervalIndex(knots, nKnots, x[j], indicator);
 
       final double[] coefs = coefsMatrix.getRowVector(indicator).getData();
       res[j] = getValue(coefs, x[j], knots[indicator]);
@@ -358,6 +327,22 @@ public class MonotoneConvexSplineInterpolator extends PiecewisePolynomialInterpo
     return new DoubleMatrix2D(res);
   }
 
+  /**
+   * Finds the interval of a key: the largest i in [1, nKnots - 2] such that knots[i] < x, or 0 if there is none.
+   * @param knots The knots
+   * @param nKnots The number of knots
+   * @param x The key
+   * @param start An index not greater than the interval of the key, from which the search walks forward
+   * @return The interval index
+   */
+  private static int getIntervalIndex(final double[] knots, final int nKnots, final double x, final int start) {
+    int indicator = start;
+    while (indicator < nKnots - 2 && knots[indicator + 1] < x) {
+      ++indicator;
+    }
+    return indicator;
+  }
+
   /**
    * Derive r(t) * t from f(t)
    * @param knots 
@@ -51,6 +51,37 @@ public class NaturalCubicSplineInterpolator1D extends Interpolator1D {
     return a * yData[low] + b * yData[high] + (a * (a * a - 1) * y2[low] + b * (b * b - 1) * y2[high]) * delta * delta / 6.;
   }
 
+  @Override
+  public double[] interpolateSorted(final Interpolator1DDataBundle data, final double[] sortedValues) {
+    Validate.notNull(data, "data bundle");
+    Validate.isTrue(data instanceof Interpolator1DCubicSplineDataBundle);
+    checkSorted(sortedValues);
+    final Interpolator1DCubicSplineDataBundle splineData = (Interpolator1DCubicSplineDataBundle) data;
+    final int n = data.size() - 1;
+    final double[] xData = data.getKeys();
+    final double[] yData = data.getValues();
+    final double[] y2 = splineData.getSecondDerivatives();
+    final double[] result = new double[sortedValues.length];
+    int low = 0;
+    for (int i = 0; i < sortedValues.length; i++) {
+      final double value = sortedValues[i];
+      low = getLowerBoundIndex(xData, value, low);
+      if (low == n) {
+        result[i] = yData[n];
+        continue;
+      }
+      final int high = low + 1;
+      final double delta = xData[high] - xData[low];
+      if (Math.abs(delta) < _eps) {
+        throw new MathException("x data points were not distinct");
+      }
+      final double a = (xData[high] - value) / delta;
+      final double b = (value - xData[low]) / delta;
+      result[i] = a * yData[low] + b * yData[high] + (a * (a * a - 1) * y2[low] + b * (b * b - 1) * y2[high]) * delta * delta / 6.;
+    }
+    return result;
+  }
+
   @Override
   public double[] getNodeSensitivitiesForValue(final Interpolator1DDataBundle data, final Double value) {
     Validate.notNull(data, "data");
@@ -12,6 +12,7 @@ import com.opengamma.analytics.math.interpolation.data.ArrayInterpolator1DDataBu
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DPiecewisePoynomialDataBundle;
 import com.opengamma.analytics.math.matrix.DoubleMatrix1D;
+import com.opengamma.util.ArgumentChecker;
 
 /**
  * 
@@ -42,6 +43,41 @@ public abstract class PiecewisePolynomialInterpolator1D extends Interpolator1D {
     return res.getEntry(0);
   }
 
+  @Override
+  public double[] interpolateSorted(final Interpolator1DDataBundle data, final double[] sortedValues) {
+    Validate.notNull(data, "data bundle");
+    Validate.isTrue(data instanceof Interpolator1DPiecewisePoynomialDataBundle);
+    checkSorted(sortedValues);
+    final PiecewisePolynomialResultsWithSensitivity poly = ((Interpolator1DPiecewisePoynomialDataBundle) data).getPiecewisePolynomialResultsWithSensitivity();
+    final double[] knots = poly.getKnots().getData();
+    final double[][] coefMatrix = poly.getCoefMatrix().getData();
+    final int dim = poly.getDimensions();
+    final int nKnots = knots.length;
+    final double[] result = new double[sortedValues.length];
+    int low = 0;
+    for (int i = 0; i < sortedValues.length; i++) {
+      final double value = sortedValues[i];
+      ArgumentChecker.isFalse(Double.isNaN(value), "xKey containing NaN");
+      ArgumentChecker.isFalse(Double.isInfinite(value), "xKey containing Infinity");
+      // Same interval as the scalar evaluation: the lower bound index, clamped to the first and last intervals
+      while (low < nKnots - 1 && knots[low + 1] <= value) {
+        low++;
+      }
+      final int interval = Math.min(low, nKnots - 2);
+      final double[] coefs = coefMatrix[dim * interval];
+      final double s = value - knots[interval];
+      double res = coefs[0];
+      for (int j = 1; j < coefs.length; j++) {
+        res *= s;
+        res += coefs[j];
+      }
+      ArgumentChecker.isFalse(Double.isInfinite(res), "Too large input");
+      ArgumentChecker.isFalse(Double.isNaN(res), "Too large input");
+      result[i] = res;
+    }
+    return result;
+  }
+
   @Override
   public double[] getNodeSensitivitiesForValue(final Interpolator1DDataBundle data, final Double value) {
     Validate.notNull(value, "value");
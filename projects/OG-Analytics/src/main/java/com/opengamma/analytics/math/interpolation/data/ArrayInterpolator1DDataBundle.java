@@ -17,6 +17,11 @@ public class ArrayInterpolator1DDataBundle implements Interpolator1DDataBundle {
   private final double[] _keys;
   private final double[] _values;
   private final int _n;
+  /**
+   * The lower bound index of the last lookup, tried before a binary search. Lookups from several threads may overwrite each other's hint, which only
+   * costs a binary search.
+   */
+  private int _lastIndex;
 
   public ArrayInterpolator1DDataBundle(final double[] keys, final double[] values) {
     this(keys, values, false);
@@ -135,15 +140,29 @@ public class ArrayInterpolator1DDataBundle implements Interpolator1DDataBundle {
       throw new IllegalArgumentException("Could not get lower bound index for " + value + ": highest x-value is "
           + _keys[_keys.length - 1]);
     }
-    int index = Arrays.binarySearch(_keys, value);
+    final double x = value;
+    // Repeated or increasing lookups usually fall in the last interval or the next one
+    final int hint = _lastIndex;
+    if (hint < _n - 1 && _keys[hint] <= x) {
+      if (x < _keys[hint + 1]) {
+        return hint;
+      }
+      if (hint + 2 < _n && x < _keys[hint + 2]) {
+        _lastIndex = hint + 1;
+        return hint + 1;
+      }
+    }
+    int index = Arrays.binarySearch(_keys, x);
     if (index >= 0) {
       // Fast break out if it's an exact match.
+      _lastIndex = index;
       return index;
     }
     if (index < 0) {
       index = -(index + 1);
       index--;
     }
+    _lastIndex = index;
     return index;
   }
 
@@ -5,6 +5,9 @@
  */
 package com.opengamma.analytics.math.matrix;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.commons.lang.Validate;
 
@@ -16,6 +19,46 @@ import com.opengamma.analytics.math.linearalgebra.TridiagonalMatrix;
  */
 public class OGMatrixAlgebra extends MatrixAlgebra {
 
+  /**
+   * The number of multiply-adds from which the product of two matrices is cache blocked.
+   */
+  private static final int BLOCKED_THRESHOLD = 64 * 64 * 64;
+  /**
+   * The number of multiply-adds from which the rows of a blocked product are computed in parallel, when there is a pool.
+   */
+  private static final double PARALLEL_THRESHOLD = 2.0E6;
+  /**
+   * The number of rows in a panel of a blocked product, the smallest unit of parallel work.
+   */
+  private static final int PANEL_ROWS = 64;
+  /**
+   * The block size on the inner dimension of a blocked product.
+   */
+  private static final int BLOCK_INNER = 128;
+  /**
+   * The block size on the columns of a blocked product.
+   */
+  private static final int BLOCK_COLUMNS = 256;
+  /**
+   * The pool on which the panels of large products are computed, null to compute them on the calling thread.
+   */
+  private final ForkJoinPool _pool;
+
+  /**
+   * Creates an instance computing on the calling thread.
+   */
+  public OGMatrixAlgebra() {
+    this(null);
+  }
+
+  /**
+   * Creates an instance computing the products of large matrices in parallel.
+   * @param pool The pool on which the row panels of large products are computed, null to compute them on the calling thread.
+   */
+  public OGMatrixAlgebra(final ForkJoinPool pool) {
+    _pool = pool;
+  }
+
   /**
    * {@inheritDoc}
    * @throws NotImplementedException
@@ -223,6 +266,16 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
         + m1.getNumberOfColumns() + ", but m2 is " + m2.getNumberOfRows() + " by " + m2.getNumberOfColumns());
     final int m = a.length;
     final int n = b[0].length;
+    final double work = (double) m * n * p;
+    if (work >= BLOCKED_THRESHOLD) {
+      final double[][] res = new double[m][n];
+      if (_pool != null && work >= PARALLEL_THRESHOLD) {
+        _pool.invoke(new RowPanelTask(a, b, res, 0, m));
+      } else {
+        multiplyRows(a, b, res, 0, m);
+      }
+      return new DoubleMatrix2D(res);
+    }
     double sum;
     final double[][] res = new double[m][n];
     int i, j, k;
@@ -238,6 +291,63 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
     return new DoubleMatrix2D(res);
   }
 
+  /**
+   * Adds the product of the rows [start, end) of a by b to the same rows of res. The inner dimension and the columns are cut in blocks so that the block of
+   * b being swept stays in cache while it is used for all the rows, and the innermost loop runs along rows of b and res.
+   */
+  private static void multiplyRows(final double[][] a, final double[][] b, final double[][] res, final int start, final int end) {
+    final int p = b.length;
+    final int n = b[0].length;
+    for (int kk = 0; kk < p; kk += BLOCK_INNER) {
+      final int kEnd = Math.min(kk + BLOCK_INNER, p);
+      for (int jj = 0; jj < n; jj += BLOCK_COLUMNS) {
+        final int jEnd = Math.min(jj + BLOCK_COLUMNS, n);
+        for (int i = start; i < end; i++) {
+          final double[] ai = a[i];
+          final double[] resi = res[i];
+          for (int k = kk; k < kEnd; k++) {
+            final double aik = ai[k];
+            final double[] bk = b[k];
+            for (int j = jj; j < jEnd; j++) {
+              resi[j] += aik * bk[j];
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes a range of row panels of a product, splitting it in two while it has more than one panel.
+   */
+  private static final class RowPanelTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[][] _a;
+    private final double[][] _b;
+    private final double[][] _res;
+    private final int _start;
+    private final int _end;
+
+    private RowPanelTask(final double[][] a, final double[][] b, final double[][] res, final int start, final int end) {
+      _a = a;
+      _b = b;
+      _res = res;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start <= PANEL_ROWS) {
+        multiplyRows(_a, _b, _res, _start, _end);
+        return;
+      }
+      final int nbPanels = (_end - _start + PANEL_ROWS - 1) / PANEL_ROWS;
+      final int mid = _start + (nbPanels / 2) * PANEL_ROWS;
+      invokeAll(new RowPanelTask(_a, _b, _res, _start, mid), new RowPanelTask(_a, _b, _res, mid, _end));
+    }
+  }
+
   private DoubleMatrix1D multiply(final DoubleMatrix2D matrix, final DoubleMatrix1D vector) {
     final double[][] a = matrix.getData();
     final double[] b = vector.getData();
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Wrapper around a generator of symmetric (zero mean) variables that produces antithetic pairs, halving the number of variables drawn from the underlying
+ * generator and removing the odd order terms from the error of the Monte Carlo estimate.
+ * <p>
+ * A vector from {@link #getVector} has its second half equal to the negation of its first half; when the vectors are requested per dimension across all the
+ * paths, the paths i and i + n/2 are an antithetic pair. The vectors from {@link #getVectors} alternate between a vector drawn from the underlying generator and
+ * its negation; when the vectors are requested per path, successive paths are an antithetic pair. For an odd length the last entry is drawn without a pair.
+ * <p>
+ * Use {@link #of} to obtain a wrapper that is a {@link QuasiRandomNumberGenerator} when the underlying generator is one.
+ */
+public class AntitheticRandomNumberGenerator implements RandomNumberGenerator {
+
+  private final RandomNumberGenerator _underlying;
+
+  /**
+   * @param underlying The generator of the symmetric variables, not null.
+   */
+  public AntitheticRandomNumberGenerator(final RandomNumberGenerator underlying) {
+    ArgumentChecker.notNull(underlying, "underlying");
+    _underlying = underlying;
+  }
+
+  /**
+   * Creates a wrapper around the generator, preserving its quasi-random nature.
+   * @param underlying The generator of the symmetric variables, not null.
+   * @return The wrapper.
+   */
+  public static AntitheticRandomNumberGenerator of(final RandomNumberGenerator underlying) {
+    if (underlying instanceof QuasiRandomNumberGenerator) {
+      return new Quasi(underlying);
+    }
+    return new AntitheticRandomNumberGenerator(underlying);
+  }
+
+  /**
+   * Gets the underlying generator.
+   * @return The generator.
+   */
+  public RandomNumberGenerator getUnderlying() {
+    return _underlying;
+  }
+
+  @Override
+  public double[] getVector(final int dimension) {
+    ArgumentChecker.notNegative(dimension, "dimension");
+    final int half = dimension / 2;
+    final double[] result = new double[dimension];
+    final double[] x = getUnderlying().getVector(dimension - half);
+    System.arraycopy(x, 0, result, 0, half);
+    for (int i = 0; i < half; i++) {
+      result[half + i] = -x[i];
+    }
+    if (dimension > 2 * half) {
+      result[dimension - 1] = x[half];
+    }
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(final int dimension, final int n) {
+    ArgumentChecker.notNegative(dimension, "dimension");
+    ArgumentChecker.notNegative(n, "n");
+    final List<double[]> result = new ArrayList<>(n);
+    for (final double[] x : getUnderlying().getVectors(dimension, n - n / 2)) {
+      result.add(x);
+      if (result.size() < n) {
+        final double[] y = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+          y[i] = -x[i];
+        }
+        result.add(y);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Antithetic wrapper around a quasi-random generator.
+   */
+  private static final class Quasi extends AntitheticRandomNumberGenerator implements QuasiRandomNumberGenerator {
+
+    private Quasi(final RandomNumberGenerator underlying) {
+      super(underlying);
+    }
+
+  }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Wrapper around a generator that uses its vectors to build Brownian paths by Brownian bridge construction on equally spaced steps, returning the normalised
+ * increments of the paths.
+ * <p>
+ * The increments are independent standard normal variables, as are the input vectors, but the first coordinates of the underlying vector determine the
+ * large scale shape of the path: the first fixes the end point, the second the mid point and so on. Used with a low-discrepancy sequence, whose first
+ * coordinates are the most uniformly distributed, this concentrates the variance of a path dependent payoff in the best dimensions.
+ */
+public class BrownianBridgeRandomNumberGenerator implements QuasiRandomNumberGenerator {
+
+  private final RandomNumberGenerator _underlying;
+  private final ConcurrentMap<Integer, Bridge> _bridges = new ConcurrentHashMap<>();
+
+  /**
+   * @param underlying The generator of the standard normal variables, not null.
+   */
+  public BrownianBridgeRandomNumberGenerator(final RandomNumberGenerator underlying) {
+    ArgumentChecker.notNull(underlying, "underlying");
+    _underlying = underlying;
+  }
+
+  /**
+   * Gets the underlying generator.
+   * @return The generator.
+   */
+  public RandomNumberGenerator getUnderlying() {
+    return _underlying;
+  }
+
+  private Bridge getBridge(final int dimension) {
+    Bridge bridge = _bridges.get(dimension);
+    if (bridge == null) {
+      bridge = new Bridge(dimension);
+      final Bridge existing = _bridges.putIfAbsent(dimension, bridge);
+      if (existing != null) {
+        bridge = existing;
+      }
+    }
+    return bridge;
+  }
+
+  @Override
+  public double[] getVector(final int dimension) {
+    ArgumentChecker.notNegative(dimension, "dimension");
+    return getBridge(dimension).increments(getUnderlying().getVector(dimension));
+  }
+
+  @Override
+  public List<double[]> getVectors(final int dimension, final int n) {
+    ArgumentChecker.notNegative(dimension, "dimension");
+    ArgumentChecker.notNegative(n, "n");
+    final Bridge bridge = getBridge(dimension);
+    final List<double[]> result = new ArrayList<>(n);
+    for (final double[] z : getUnderlying().getVectors(dimension, n)) {
+      result.add(bridge.increments(z));
+    }
+    return result;
+  }
+
+  /**
+   * The construction order and weights of a bridge on the times 1 to n, with the path at time 0 equal to 0.
+   */
+  private static final class Bridge {
+
+    /**
+     * The time index filled by each step of the construction.
+     */
+    private final int[] _index;
+    /**
+     * The time index of the known point to the left of each step, 0 being the origin.
+     */
+    private final int[] _left;
+    /**
+     * The time index of the known point to the right of each step, -1 for the first step.
+     */
+    private final int[] _right;
+    private final double[] _leftWeight;
+    private final double[] _rightWeight;
+    private final double[] _sigma;
+
+    private Bridge(final int n) {
+      _index = new int[n];
+      _left = new int[n];
+      _right = new int[n];
+      _leftWeight = new double[n];
+      _rightWeight = new double[n];
+      _sigma = new double[n];
+      if (n == 0) {
+        return;
+      }
+      // Times are 1-based; known[i] is set once the path at time i has been constructed
+      final boolean[] known = new boolean[n + 1];
+      known[0] = true;
+      _index[0] = n;
+      _left[0] = 0;
+      _right[0] = -1;
+      _sigma[0] = Math.sqrt(n);
+      known[n] = true;
+      int step = 1;
+      // Breadth first bisection of the intervals between known points
+      while (step < n) {
+        int j = 0;
+        final int[] pending = new int[n];
+        int nbPending = 0;
+        for (int i = 1; i <= n; i++) {
+          if (known[i]) {
+            if (i - j > 1) {
+              pending[nbPending++] = j;
+              pending[nbPending++] = i;
+            }
+            j = i;
+          }
+        }
+        for (int p = 0; p < nbPending; p += 2) {
+          final int l = pending[p];
+          final int r = pending[p + 1];
+          final int m = (l + r) >>> 1;
+          _index[step] = m;
+          _left[step] = l;
+          _right[step] = r;
+          _leftWeight[step] = (double) (r - m) / (r - l);
+          _rightWeight[step] = (double) (m - l) / (r - l);
+          _sigma[step] = Math.sqrt((double) (m - l) * (r - m) / (r - l));
+          known[m] = true;
+          step++;
+        }
+      }
+    }
+
+    private double[] increments(final double[] z) {
+      final int n = _index.length;
+      final double[] w = new double[n + 1];
+      for (int step = 0; step < n; step++) {
+        final double left = w[_left[step]];
+        final double right = _right[step] < 0 ? 0 : w[_right[step]];
+        w[_index[step]] = _leftWeight[step] * left + _rightWeight[step] * right + _sigma[step] * z[step];
+      }
+      final double[] result = new double[n];
+      for (int i = 0; i < n; i++) {
+        result[i] = w[i + 1] - w[i];
+      }
+      return result;
+    }
+
+  }
+
+}
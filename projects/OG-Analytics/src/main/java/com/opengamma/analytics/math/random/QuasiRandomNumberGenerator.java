@@ -0,0 +1,17 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+/**
+ * A generator whose vectors are the successive points of a sequence, such as a low-discrepancy sequence, rather than independent draws.
+ * <p>
+ * The coordinates of one vector are not independent of each other in the way the coordinates of a pseudo-random vector are, so each vector must be used for
+ * the dimensions (time steps, factors) of a single path. A Monte Carlo method should request one vector per path using {@link #getVectors} and not a vector
+ * spanning all the paths for each dimension.
+ */
+public interface QuasiRandomNumberGenerator extends RandomNumberGenerator {
+
+}
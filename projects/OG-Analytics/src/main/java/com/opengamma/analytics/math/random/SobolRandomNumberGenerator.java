@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.analytics.math.statistics.distribution.NormalDistribution;
+import com.opengamma.analytics.math.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Generator of standard normal vectors from the Sobol low-discrepancy sequence, mapped through the inverse of the normal cumulative distribution function.
+ * <p>
+ * The points are generated in Gray code order using the direction numbers of S. Joe and F. Y. Kuo, "Constructing Sobol sequences with better two-dimensional
+ * projections", SIAM J. Sci. Comput. 30 (2008), for the first {@link #MAX_DIMENSION} dimensions. The first point of the sequence (the origin) is skipped.
+ * A vector of dimension d is the first d coordinates of the next point, so the dimension requested should be the same for all the paths of a simulation.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class SobolRandomNumberGenerator implements QuasiRandomNumberGenerator {
+
+  /**
+   * The maximum dimension supported.
+   */
+  public static final int MAX_DIMENSION = 40;
+  /**
+   * The number of bits of each coordinate.
+   */
+  private static final int BITS = 32;
+  /**
+   * The scale from an integer coordinate to [0, 1).
+   */
+  private static final double SCALE = 1d / (1L << BITS);
+  /**
+   * The degree, the coefficients of the primitive polynomial and the initial direction numbers for the dimensions after the first one.
+   */
+  private static final int[][] PRIMITIVE_POLYNOMIALS = new int[][] {
+    {1, 0, 1 }, {2, 1, 1, 3 }, {3, 1, 1, 3, 1 }, {3, 2, 1, 1, 1 }, {4, 1, 1, 1, 3, 3 }, {4, 4, 1, 3, 5, 13 }, {5, 2, 1, 1, 5, 5, 17 }, {5, 4, 1, 1, 5, 5, 5 },
+    {5, 7, 1, 1, 7, 11, 19 }, {5, 11, 1, 1, 5, 1, 1 }, {5, 13, 1, 1, 1, 3, 11 }, {5, 14, 1, 3, 5, 5, 31 }, {6, 1, 1, 3, 3, 9, 7, 49 },
+    {6, 13, 1, 1, 1, 15, 21, 21 }, {6, 16, 1, 3, 1, 13, 27, 49 }, {6, 19, 1, 1, 1, 15, 7, 5 }, {6, 22, 1, 3, 1, 15, 13, 25 }, {6, 25, 1, 1, 5, 5, 19, 61 },
+    {7, 1, 1, 3, 7, 11, 23, 15, 103 }, {7, 4, 1, 3, 7, 13, 13, 15, 69 }, {7, 7, 1, 1, 3, 13, 7, 35, 63 }, {7, 8, 1, 3, 5, 9, 1, 25, 53 },
+    {7, 14, 1, 3, 1, 13, 9, 35, 107 }, {7, 19, 1, 3, 1, 5, 27, 61, 31 }, {7, 21, 1, 1, 5, 11, 19, 41, 61 }, {7, 28, 1, 3, 5, 3, 3, 13, 69 },
+    {7, 31, 1, 1, 7, 13, 1, 19, 1 }, {7, 32, 1, 3, 7, 5, 13, 19, 59 }, {7, 37, 1, 1, 3, 9, 25, 29, 41 }, {7, 41, 1, 3, 5, 13, 23, 1, 55 },
+    {7, 42, 1, 3, 7, 3, 13, 59, 17 }, {7, 50, 1, 3, 1, 3, 5, 53, 69 }, {7, 55, 1, 1, 5, 5, 23, 33, 13 }, {7, 56, 1, 1, 7, 7, 1, 61, 123 },
+    {7, 59, 1, 1, 7, 9, 13, 61, 49 }, {7, 62, 1, 3, 3, 5, 3, 55, 33 }, {8, 14, 1, 3, 1, 15, 31, 13, 49, 245 }, {8, 21, 1, 3, 5, 15, 31, 59, 63, 97 },
+    {8, 22, 1, 3, 1, 11, 11, 11, 77, 249 } };
+  /**
+   * The direction numbers, dimension/bit.
+   */
+  private static final long[][] DIRECTIONS = new long[MAX_DIMENSION][BITS];
+
+  static {
+    for (int i = 0; i < BITS; i++) {
+      DIRECTIONS[0][i] = 1L << (BITS - 1 - i);
+    }
+    for (int d = 1; d < MAX_DIMENSION; d++) {
+      final int[] polynomial = PRIMITIVE_POLYNOMIALS[d - 1];
+      final int s = polynomial[0];
+      final int a = polynomial[1];
+      final long[] v = DIRECTIONS[d];
+      for (int i = 0; i < s; i++) {
+        v[i] = ((long) polynomial[i + 2]) << (BITS - 1 - i);
+      }
+      for (int i = s; i < BITS; i++) {
+        v[i] = v[i - s] ^ (v[i - s] >> s);
+        for (int k = 1; k < s; k++) {
+          if (((a >> (s - 1 - k)) & 1) != 0) {
+            v[i] ^= v[i - k];
+          }
+        }
+      }
+    }
+  }
+
+  private final ProbabilityDistribution<Double> _normal = new NormalDistribution(0, 1);
+  private final long[] _point = new long[MAX_DIMENSION];
+  private long _index;
+
+  /**
+   * Creates a generator at the start of the sequence.
+   */
+  public SobolRandomNumberGenerator() {
+  }
+
+  /**
+   * Creates a generator that skips the first points of the sequence.
+   *
+   * @param skip the number of points to skip, not negative
+   */
+  public SobolRandomNumberGenerator(final int skip) {
+    ArgumentChecker.notNegative(skip, "skip");
+    for (int i = 0; i < skip; i++) {
+      nextPoint();
+    }
+  }
+
+  private void nextPoint() {
+    // Gray code: flip the direction number for the lowest zero bit of the index
+    final int c = Long.numberOfTrailingZeros(~_index);
+    if (c >= BITS) {
+      throw new IllegalStateException("Sobol sequence exhausted");
+    }
+    for (int d = 0; d < MAX_DIMENSION; d++) {
+      _point[d] ^= DIRECTIONS[d][c];
+    }
+    _index++;
+  }
+
+  @Override
+  public double[] getVector(final int dimension) {
+    ArgumentChecker.notNegative(dimension, "dimension");
+    ArgumentChecker.isTrue(dimension <= MAX_DIMENSION, "Dimension {} is greater than the maximum of {}", dimension, MAX_DIMENSION);
+    nextPoint();
+    final double[] result = new double[dimension];
+    for (int i = 0; i < dimension; i++) {
+      result[i] = _normal.getInverseCDF(_point[i] * SCALE);
+    }
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(final int dimension, final int n) {
+    ArgumentChecker.notNegative(dimension, "dimension");
+    ArgumentChecker.notNegative(n, "n");
+    final List<double[]> result = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      result.add(getVector(dimension));
+    }
+    return result;
+  }
+
+}
@@ -60,22 +60,51 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
   * @return the vector root of the collection of functions 
    */
 
-  @SuppressWarnings("synthetic-access")
   public DoubleMatrix1D getRoot(final Function1D<DoubleMatrix1D, DoubleMatrix1D> function, final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianFunction, final DoubleMatrix1D startPosition) {
+    return getRoot(function, jacobianFunction, startPosition, null);
+  }
+
+  /**
+   * Finds the root starting from a known estimate of the matrix used for the first step, for example the one at the root of a nearby problem, rather than
+   * computing it at the start position. If the estimate does not give an improvement the matrix is computed at the start position as usual.
+   *@param function a vector function (i.e. vector to vector)
+   *@param jacobianFunction calculates the Jacobian
+   *@param startPosition where to start the root finder for
+   *@param startEstimate the estimate of the matrix produced by the initialization function (the Jacobian, or its inverse for the root finders working
+   * with the inverse), null to compute it at the start position
+   *@return the vector root of the collection of functions
+   */
+  @SuppressWarnings("synthetic-access")
+  public DoubleMatrix1D getRoot(final Function1D<DoubleMatrix1D, DoubleMatrix1D> function, final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianFunction, final DoubleMatrix1D startPosition,
+      final DoubleMatrix2D startEstimate) {
     checkInputs(function, startPosition);
+    if (startEstimate != null) {
+      final int n = startPosition.getNumberOfElements();
+      ArgumentChecker.isTrue(startEstimate.getNumberOfRows() == n && startEstimate.getNumberOfColumns() == n, "Start estimate should be a {} by {} matrix", n, n);
+    }
 
     final DataBundle data = new DataBundle();
     final DoubleMatrix1D y = function.evaluate(startPosition);
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix2D estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    DoubleMatrix2D estimate = startEstimate == null ? _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition) : startEstimate;
 
     if (!getNextPosition(function, estimate, data)) {
       if (isConverged(data)) {
         return data.getX(); // this can happen if the starting position is the root
       }
-      throw new MathException("Cannot work with this starting position. Please choose another point");
+      if (startEstimate == null) {
+        throw new MathException("Cannot work with this starting position. Please choose another point");
+      }
+      // The estimate given is too far from the Jacobian at the start position
+      estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+      if (!getNextPosition(function, estimate, data)) {
+        if (isConverged(data)) {
+          return data.getX();
+        }
+        throw new MathException("Cannot work with this starting position. Please choose another point");
+      }
     }
 
     int count = 0;
@@ -95,6 +95,31 @@ public class ISDAHazardRateCurveCalculatorTest {
     assertTrue("Calibrated hazard rate curve has changed.", curve.equals(curveExpected));
   }
 
+  @Test
+  /**
+   * The hazard rates before the first changed spread are taken from the calibrated curve, the others are calibrated as from scratch
+   */
+  public void testFromCalibratedCurve() {
+    final HazardRateCurve curve = CALCULATOR.calibrateHazardRateCurve(CDS, CURVES_DATA, VALUATION_DATE);
+    for (int m = 0; m < MARKET_SPREADS.length; m++) {
+      final double[] bumpedSpreads = MARKET_SPREADS.clone();
+      bumpedSpreads[m] += 1;
+      final ISDAYieldCurveAndSpreadsProvider bumpedData = new ISDAYieldCurveAndSpreadsProvider(MARKET_TENORS, bumpedSpreads, YIELD_CURVE);
+      final HazardRateCurve expected = CALCULATOR.calibrateHazardRateCurve(CDS, bumpedData, VALUATION_DATE);
+      final HazardRateCurve bumped = CALCULATOR.calibrateHazardRateCurve(CDS, bumpedData, VALUATION_DATE, curve, m);
+      assertTrue(Arrays.equals(expected.getRates(), bumped.getRates()));
+      assertTrue(Arrays.equals(expected.getTimes(), bumped.getTimes()));
+    }
+    assertTrue(Arrays.equals(curve.getRates(), CALCULATOR.calibrateHazardRateCurve(CDS, CURVES_DATA, VALUATION_DATE, curve, MARKET_SPREADS.length).getRates()));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testWrongCalibratedCurve() {
+    final HazardRateCurve curve = new HazardRateCurve(MARKET_TENORS, MARKET_TIMES, HAZARD_RATES, 0);
+    final ISDAYieldCurveAndSpreadsProvider data = new ISDAYieldCurveAndSpreadsProvider(Arrays.copyOf(MARKET_TENORS, 4), Arrays.copyOf(MARKET_SPREADS, 4), YIELD_CURVE);
+    CALCULATOR.calibrateHazardRateCurve(CDS, data, VALUATION_DATE, curve, 1);
+  }
+
   /**
    * This regression test fails because CalibrateHazardRateTermStructureISDAMethod fails to calibrate to market spreads.
    * As of writing this, 16/06/2013, it fails on the first point. See {@link CalibrateHazardRateTermStructureISDAMethodTest}
@@ -7,6 +7,8 @@ package com.opengamma.analytics.financial.credit.creditdefaultswap.greeks.vanill
 
 import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.testng.annotations.Test;
 import org.threeten.bp.ZonedDateTime;
 
@@ -58,6 +60,29 @@ public class ISDACreditDefaultSwapBucketedCS01CalculatorTest {
     YIELD_CURVE = new ISDADateCurve("ISDA", BASE_DATE, YC_DATES, YC_RATES, OFFSET);
   }
 
+  @Test
+  /**
+   * The tenors bumped in parallel give the same CS01 as the tenors bumped sequentially
+   */
+  public void testParallel() {
+    final ZonedDateTime valuationDate = DateUtils.getUTCDate(2013, 3, 4);
+    final ZonedDateTime[] marketTenors = new ZonedDateTime[] {DateUtils.getUTCDate(2013, 3, 20), DateUtils.getUTCDate(2013, 6, 19), DateUtils.getUTCDate(2013, 9, 18),
+        DateUtils.getUTCDate(2013, 12, 18), DateUtils.getUTCDate(2014, 3, 19), DateUtils.getUTCDate(2015, 3, 18), DateUtils.getUTCDate(2016, 3, 16),
+        DateUtils.getUTCDate(2018, 3, 15), DateUtils.getUTCDate(2023, 3, 15) };
+    final double[] marketSpreads = new double[] {300, 315, 350, 390, 400, 420, 410, 404, 402 };
+    final LegacyVanillaCreditDefaultSwapDefinition cds = CreditDefaultSwapDefinitionDataSets.getLegacyVanillaDefinition().withMaturityDate(valuationDate.plusYears(10));
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final double[] expected = CALCULATOR.getCS01BucketedCreditDefaultSwap(valuationDate, cds, YIELD_CURVE, marketTenors, marketSpreads, 1, SpreadBumpType.ADDITIVE,
+          PriceType.CLEAN);
+      final double[] result = new ISDACreditDefaultSwapBucketedCS01Calculator(pool).getCS01BucketedCreditDefaultSwap(valuationDate, cds, YIELD_CURVE, marketTenors,
+          marketSpreads, 1, SpreadBumpType.ADDITIVE, PriceType.CLEAN);
+      assertArrayEquals(expected, result, 0);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Test(enabled = false)
   public void regressionTest() {
     final LegacyVanillaCreditDefaultSwapDefinition cds = CreditDefaultSwapDefinitionDataSets.getLegacyVanillaDefinition().withMaturityDate(VALUATION_DATE.plusYears(10));
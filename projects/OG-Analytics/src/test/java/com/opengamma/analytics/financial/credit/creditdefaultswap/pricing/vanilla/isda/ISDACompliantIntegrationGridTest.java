@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.credit.creditdefaultswap.pricing.vanilla.isda;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.TreeSet;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.ZonedDateTime;
+
+import com.opengamma.analytics.financial.credit.hazardratecurve.HazardRateCurve;
+import com.opengamma.analytics.financial.credit.isdayieldcurve.ISDADateCurve;
+import com.opengamma.financial.convention.daycount.DayCount;
+import com.opengamma.financial.convention.daycount.DayCountFactory;
+import com.opengamma.util.time.DateUtils;
+
+/**
+ * Tests of the yield and hazard rate curves on their merged time points.
+ */
+public class ISDACompliantIntegrationGridTest {
+  private static final ZonedDateTime BASE_DATE = DateUtils.getUTCDate(2013, 3, 1);
+  private static final ZonedDateTime[] HR_DATES = new ZonedDateTime[] {DateUtils.getUTCDate(2013, 3, 1), DateUtils.getUTCDate(2013, 6, 1), DateUtils.getUTCDate(2013, 9, 1),
+      DateUtils.getUTCDate(2013, 12, 1), DateUtils.getUTCDate(2014, 3, 1), DateUtils.getUTCDate(2015, 3, 1), DateUtils.getUTCDate(2016, 3, 1), DateUtils.getUTCDate(2018, 3, 1),
+      DateUtils.getUTCDate(2023, 3, 1) };
+  private static final double[] HR_RATES = new double[] {0.01, 0.02, 0.04, 0.03, 0.06, 0.03, 0.05, 0.03, 0.02 };
+  private static final ZonedDateTime[] YC_DATES = new ZonedDateTime[] {DateUtils.getUTCDate(2013, 4, 1), DateUtils.getUTCDate(2013, 7, 15), DateUtils.getUTCDate(2013, 9, 1),
+      DateUtils.getUTCDate(2014, 5, 1), DateUtils.getUTCDate(2015, 3, 1), DateUtils.getUTCDate(2017, 3, 1), DateUtils.getUTCDate(2020, 3, 1), DateUtils.getUTCDate(2025, 3, 1) };
+  private static final double[] YC_RATES = new double[] {0.005, 0.006, 0.008, 0.009, 0.01, 0.012, 0.015, 0.02 };
+  private static final DayCount DAY_COUNT = DayCountFactory.INSTANCE.getDayCount("ACT/365");
+  private static final double OFFSET = 1. / 365;
+  private static final double[] HR_TIMES;
+  private static final HazardRateCurve HAZARD_RATE_CURVE;
+  private static final ISDADateCurve YIELD_CURVE;
+  private static final ISDACompliantIntegrationGrid GRID;
+  private static final double EPS = 1e-14;
+
+  static {
+    final int n = HR_DATES.length;
+    HR_TIMES = new double[n];
+    for (int i = 0; i < n; i++) {
+      HR_TIMES[i] = DAY_COUNT.getDayCountFraction(BASE_DATE, HR_DATES[i]);
+    }
+    HAZARD_RATE_CURVE = new HazardRateCurve(HR_DATES, HR_TIMES, HR_RATES, OFFSET);
+    YIELD_CURVE = new ISDADateCurve("ISDA", BASE_DATE, YC_DATES, YC_RATES, OFFSET);
+    GRID = new ISDACompliantIntegrationGrid(YIELD_CURVE, HAZARD_RATE_CURVE);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullYieldCurve() {
+    new ISDACompliantIntegrationGrid(null, HAZARD_RATE_CURVE);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullHazardRateCurve() {
+    new ISDACompliantIntegrationGrid(YIELD_CURVE, null);
+  }
+
+  @Test
+  public void testCurveValues() {
+    // Before the first point, between the points, on the points and after the last point
+    for (double t = -0.5; t < 15; t += 0.0137) {
+      assertEquals(HAZARD_RATE_CURVE.getSurvivalProbability(t), GRID.getSurvivalProbability(t), EPS);
+      assertEquals(YIELD_CURVE.getDiscountFactor(t), GRID.getDiscountFactor(t), EPS);
+    }
+    for (final double t : GRID.getTimes()) {
+      assertEquals(HAZARD_RATE_CURVE.getSurvivalProbability(t), GRID.getSurvivalProbability(t), EPS);
+      assertEquals(YIELD_CURVE.getDiscountFactor(t), GRID.getDiscountFactor(t), EPS);
+    }
+  }
+
+  @Test
+  public void testContingentLegIntegral() {
+    final double[][] intervals = new double[][] { {-1. / 365, 10 }, {0, 10 }, {0.3, 0.31 }, {HR_TIMES[1] + OFFSET, HR_TIMES[6] + OFFSET }, {2.1, 30 } };
+    for (final double[] interval : intervals) {
+      assertEquals(integral(YIELD_CURVE, HAZARD_RATE_CURVE, interval[0], interval[1]), GRID.getContingentLegIntegral(interval[0], interval[1]), EPS);
+    }
+    assertEquals(0, GRID.getContingentLegIntegral(1, 1), 0);
+    assertEquals(0, GRID.getContingentLegIntegral(2, 1), 0);
+  }
+
+  @Test
+  public void testWithHazardRateCurve() {
+    final double[] bumpedRates = HR_RATES.clone();
+    bumpedRates[4] += 0.001;
+    final HazardRateCurve bumped = new HazardRateCurve(HR_DATES, HR_TIMES, bumpedRates, OFFSET);
+    final ISDACompliantIntegrationGrid expected = new ISDACompliantIntegrationGrid(YIELD_CURVE, bumped);
+    final ISDACompliantIntegrationGrid grid = GRID.withHazardRateCurve(bumped);
+    assertEquals(expected.getContingentLegIntegral(0, 10), grid.getContingentLegIntegral(0, 10), 0);
+    assertEquals(expected.getSurvivalProbability(2.5), grid.getSurvivalProbability(2.5), 0);
+    // Different time points
+    final HazardRateCurve shorter = new HazardRateCurve(new ZonedDateTime[] {HR_DATES[0], HR_DATES[4] }, new double[] {HR_TIMES[0], HR_TIMES[4] },
+        new double[] {HR_RATES[0], HR_RATES[4] }, OFFSET);
+    assertEquals(new ISDACompliantIntegrationGrid(YIELD_CURVE, shorter).getContingentLegIntegral(0, 10), GRID.withHazardRateCurve(shorter).getContingentLegIntegral(0, 10), 0);
+  }
+
+  // The contingent leg integral computed on the curves, interval by interval on the merged time points
+  private static double integral(final ISDADateCurve yieldCurve, final HazardRateCurve hazardRateCurve, final double start, final double end) {
+    final TreeSet<Double> schedule = new TreeSet<>();
+    schedule.add(start);
+    schedule.add(end);
+    for (final double t : yieldCurve.getTimePoints()) {
+      if (t > start && t < end) {
+        schedule.add(t);
+      }
+    }
+    for (final double t : hazardRateCurve.getShiftedTimePoints()) {
+      if (t > start && t < end) {
+        schedule.add(t);
+      }
+    }
+    final Double[] times = schedule.toArray(new Double[schedule.size()]);
+    double survivalProbability = hazardRateCurve.getSurvivalProbability(times[0]);
+    double discountFactor = yieldCurve.getDiscountFactor(times[0]);
+    double integral = 0;
+    for (int i = 1; i < times.length; i++) {
+      final double dt = times[i] - times[i - 1];
+      final double survivalProbabilityPrevious = survivalProbability;
+      final double discountFactorPrevious = discountFactor;
+      survivalProbability = hazardRateCurve.getSurvivalProbability(times[i]);
+      discountFactor = yieldCurve.getDiscountFactor(times[i]);
+      final double hazardRate = Math.log(survivalProbabilityPrevious / survivalProbability) / dt;
+      final double interestRate = Math.log(discountFactorPrevious / discountFactor) / dt;
+      integral += hazardRate / (hazardRate + interestRate) * (1 - Math.exp(-(hazardRate + interestRate) * dt)) * survivalProbabilityPrevious * discountFactorPrevious;
+    }
+    return integral;
+  }
+
+}
@@ -85,7 +85,7 @@ public class ISDACreditDefaultSwapPVCalculatorTest {
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void testNullData() {
     final LegacyVanillaCreditDefaultSwapDefinition cds = getLegacyVanillaDefinition().withMaturityDate(VALUATION_DATE.plusYears(10));
-    CALCULATOR.getPresentValue(cds, null, VALUATION_DATE, PriceType.CLEAN);
+    CALCULATOR.getPresentValue(cds, (ISDAYieldCurveAndHazardRateCurveProvider) null, VALUATION_DATE, PriceType.CLEAN);
   }
 
   @Test(expectedExceptions = IllegalArgumentException.class)
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.credit.portfoliolosssimulationmodel;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the loss distribution sketch.
+ */
+public class LossDistributionSketchTest {
+
+  private static final double TOLERANCE = 1.0E-10;
+
+  @Test
+  /**
+   * One loss per bin: the quantiles are exact.
+   */
+  public void exactBins() {
+    final LossDistributionSketch sketch = new LossDistributionSketch(1000.0, 1000);
+    for (int loss = 1; loss <= 1000; loss++) {
+      sketch.add(loss);
+    }
+    assertEquals(1000, sketch.getNumberOfScenarios());
+    assertEquals(500.5, sketch.getMeanLoss(), TOLERANCE);
+    assertEquals(Math.sqrt((1000.0 * 1000.0 - 1.0) / 12.0), sketch.getStandardDeviation(), TOLERANCE);
+    assertEquals(950.0, sketch.getValueAtRisk(0.95), TOLERANCE);
+    assertEquals(990.0, sketch.getValueAtRisk(0.99), TOLERANCE);
+    assertEquals(975.5, sketch.getExpectedShortfall(0.95), TOLERANCE);
+    assertEquals(995.5, sketch.getExpectedShortfall(0.99), TOLERANCE);
+  }
+
+  @Test
+  /**
+   * Evenly spaced losses within wide bins: the interpolation in the bins recovers the quantiles.
+   */
+  public void interpolatedBins() {
+    final LossDistributionSketch sketch = new LossDistributionSketch(1000.0, 10);
+    for (int loss = 1; loss <= 1000; loss++) {
+      sketch.add(loss);
+    }
+    assertEquals(950.0, sketch.getValueAtRisk(0.95), TOLERANCE);
+    assertEquals(975.5, sketch.getExpectedShortfall(0.95), TOLERANCE);
+    assertEquals(500.0, sketch.getValueAtRisk(0.5), TOLERANCE);
+    assertEquals(750.5, sketch.getExpectedShortfall(0.5), TOLERANCE);
+  }
+
+  @Test
+  /**
+   * The sketch of all the losses is the merge of the sketches of a partition of the losses.
+   */
+  public void merge() {
+    final LossDistributionSketch all = new LossDistributionSketch(1000.0, 100);
+    final LossDistributionSketch even = new LossDistributionSketch(1000.0, 100);
+    final LossDistributionSketch odd = new LossDistributionSketch(1000.0, 100);
+    for (int loss = 1; loss <= 1000; loss++) {
+      all.add(loss);
+      (loss % 2 == 0 ? even : odd).add(loss);
+    }
+    even.merge(odd);
+    assertEquals(all.getNumberOfScenarios(), even.getNumberOfScenarios());
+    assertEquals(all.getMeanLoss(), even.getMeanLoss(), TOLERANCE);
+    assertEquals(all.getStandardDeviation(), even.getStandardDeviation(), TOLERANCE);
+    assertEquals(all.getValueAtRisk(0.99), even.getValueAtRisk(0.99), TOLERANCE);
+    assertEquals(all.getExpectedShortfall(0.99), even.getExpectedShortfall(0.99), TOLERANCE);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void negativeLoss() {
+    new LossDistributionSketch(1000.0, 10).add(-1.0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void emptySketch() {
+    new LossDistributionSketch(1000.0, 10).getValueAtRisk(0.99);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void differentBins() {
+    new LossDistributionSketch(1000.0, 10).merge(new LossDistributionSketch(1000.0, 20));
+  }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.credit.portfoliolosssimulationmodel;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.analytics.financial.credit.recoveryratemodel.RecoveryRateModel;
+import com.opengamma.analytics.financial.credit.underlyingpool.UnderlyingPoolDummyPool;
+import com.opengamma.analytics.financial.credit.underlyingpool.definition.UnderlyingPool;
+
+/**
+ * Tests of the simulation engine running blocks of scenarios in parallel.
+ */
+public class ParallelSimulationEngineTest {
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  private static final int numberOfSimulations = 100500;
+
+  private static final int defaultSimulationSeed = 987654321;
+  private static final int recoveryRateSimulationSeed = 987654321;
+
+  private static final double simulationTimeHorizon = 1.0;
+
+  private static final double homogeneousDefaultCorrelation = 0.5;
+  private static final double homogeneousRecoveryCorrelation = 0.0;
+  private static final double homogeneousDefaultProbability = 0.05;
+
+  private static final UnderlyingPool obligorUniverse = new UnderlyingPoolDummyPool().constructPool();
+
+  private static final int numberOfObligors = obligorUniverse.getNumberOfObligors();
+
+  private static final SimulationMethods simMethods = new SimulationMethods();
+
+  private static final RecoveryRateModel[] recoveryRateModels = simMethods.constructRecoveryRateModels(numberOfObligors);
+
+  private static final ScenarioGenerator scenarioGenerator = new ScenarioGenerator(
+      obligorUniverse,
+      recoveryRateModels,
+      numberOfSimulations,
+      defaultSimulationSeed,
+      recoveryRateSimulationSeed,
+      simulationTimeHorizon,
+      simMethods.constructCorrelationVector(numberOfObligors, homogeneousDefaultCorrelation),
+      simMethods.constructCorrelationVector(numberOfObligors, homogeneousRecoveryCorrelation),
+      simMethods.constructDefaultProbabilityVector(numberOfObligors, homogeneousDefaultProbability));
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  /**
+   * The results do not depend on the pool.
+   */
+  public void parallelEqualsSequential() {
+    final LossDistributionSketch sequential = new ParallelSimulationEngine(null).runSimulation(scenarioGenerator);
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final LossDistributionSketch parallel = new ParallelSimulationEngine(pool).runSimulation(scenarioGenerator);
+      assertEquals(numberOfSimulations, sequential.getNumberOfScenarios());
+      assertEquals(numberOfSimulations, parallel.getNumberOfScenarios());
+      assertEquals(sequential.getMeanLoss(), parallel.getMeanLoss(), 0.0);
+      assertEquals(sequential.getStandardDeviation(), parallel.getStandardDeviation(), 0.0);
+      assertEquals(sequential.getValueAtRisk(0.99), parallel.getValueAtRisk(0.99), 0.0);
+      assertEquals(sequential.getExpectedShortfall(0.99), parallel.getExpectedShortfall(0.99), 0.0);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  /**
+   * The expected loss is the sum of the default probabilities times the losses given default, and the value at risk is the loss of a set of defaults.
+   */
+  public void lossDistribution() {
+    final LossDistributionSketch sketch = new ParallelSimulationEngine(null).runSimulation(scenarioGenerator);
+    final double[] notionals = obligorUniverse.getObligorNotionals();
+    double expectedLoss = 0.0;
+    for (int i = 0; i < numberOfObligors; i++) {
+      expectedLoss += homogeneousDefaultProbability * notionals[i] * (1.0 - recoveryRateModels[i].getRecoveryRate());
+    }
+    assertEquals(expectedLoss, sketch.getMeanLoss(), 1.0E+5);
+    // With few obligors each bin holds a single loss level, so the value at risk is exactly the loss of a subset of the obligors
+    final double var = sketch.getValueAtRisk(0.99);
+    boolean isSubsetLoss = false;
+    for (int subset = 0; subset < 1 << numberOfObligors; subset++) {
+      double loss = 0.0;
+      for (int i = 0; i < numberOfObligors; i++) {
+        if ((subset & 1 << i) != 0) {
+          loss += notionals[i] * (1.0 - recoveryRateModels[i].getRecoveryRate());
+        }
+      }
+      isSubsetLoss |= Math.abs(loss - var) < 1.0E-6;
+    }
+    assertTrue(isSubsetLoss);
+    assertTrue(sketch.getExpectedShortfall(0.99) >= var);
+  }
+
+  // ----------------------------------------------------------------------------------------------------------------------------------------
+}
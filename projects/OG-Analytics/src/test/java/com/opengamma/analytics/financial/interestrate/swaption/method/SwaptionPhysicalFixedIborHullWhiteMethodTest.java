@@ -10,6 +10,7 @@ import static org.testng.AssertJUnit.assertEquals;
 import it.unimi.dsi.fastutil.doubles.DoubleAVLTreeSet;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 import org.threeten.bp.Period;
@@ -250,6 +251,30 @@ public class SwaptionPhysicalFixedIborHullWhiteMethodTest {
     assertEquals("Swaption physical - Hull-White - Monte Carlo - payer/receiver/swap parity", pvReceiverLongMC.getAmount() + pvPayerShortMC.getAmount(), pvSwap, 1.0E+5);
   }
 
+  @Test
+  /**
+   * Compare explicit formula with Monte-Carlo with blocks run in parallel; the result for a given seed should not depend on the parallelism.
+   */
+  public void presentValueMonteCarloParallel() {
+    final int nbPath = 12500;
+    final ForkJoinPool pool1 = new ForkJoinPool(1);
+    final ForkJoinPool pool4 = new ForkJoinPool(4);
+    try {
+      final HullWhiteMonteCarloMethod methodMC1 = new HullWhiteMonteCarloMethod(MersenneTwister.DEFAULT_SEED, nbPath, pool1);
+      final HullWhiteMonteCarloMethod methodMC4 = new HullWhiteMonteCarloMethod(MersenneTwister.DEFAULT_SEED, nbPath, pool4);
+      final CurrencyAmount pvPayerLongExplicit = METHOD_HW.presentValue(SWAPTION_PAYER_LONG, BUNDLE_HW);
+      final CurrencyAmount pvPayerLongMC1 = methodMC1.presentValue(SWAPTION_PAYER_LONG, CUR, FUNDING_CURVE_NAME, BUNDLE_HW);
+      final CurrencyAmount pvPayerLongMC4 = methodMC4.presentValue(SWAPTION_PAYER_LONG, CUR, FUNDING_CURVE_NAME, BUNDLE_HW);
+      assertEquals("Swaption physical - Hull-White - Monte Carlo parallel", pvPayerLongExplicit.getAmount(), pvPayerLongMC4.getAmount(), 1.0E+4);
+      assertEquals("Swaption physical - Hull-White - Monte Carlo parallel", pvPayerLongMC1.getAmount(), pvPayerLongMC4.getAmount(), 0.0);
+      final CurrencyAmount pvPayerLongMC4Again = methodMC4.presentValue(SWAPTION_PAYER_LONG, CUR, FUNDING_CURVE_NAME, BUNDLE_HW);
+      assertEquals("Swaption physical - Hull-White - Monte Carlo parallel", pvPayerLongMC4.getAmount(), pvPayerLongMC4Again.getAmount(), 0.0);
+    } finally {
+      pool1.shutdown();
+      pool4.shutdown();
+    }
+  }
+
   @Test
   /**
    * Tests the Hull-White parameters sensitivity for the explicit formula.
@@ -69,6 +69,7 @@ import com.opengamma.analytics.financial.provider.sensitivity.parameter.Paramete
 import com.opengamma.analytics.financial.schedule.ScheduleCalculator;
 import com.opengamma.analytics.financial.util.AssertSensivityObjects;
 import com.opengamma.analytics.math.random.NormalRandomNumberGenerator;
+import com.opengamma.analytics.math.random.SobolRandomNumberGenerator;
 import com.opengamma.financial.convention.calendar.Calendar;
 import com.opengamma.util.money.Currency;
 import com.opengamma.util.money.MultipleCurrencyAmount;
@@ -174,6 +175,18 @@ public class SwaptionPhysicalFixedIborLMMDDMethodTest {
     assertEquals("Swaption physical - LMM - present value Approximation/Monte Carlo", impliedVolMC, impliedVolApprox, 2.0E-3);
   }
 
+  @Test
+  /**
+   * Test the present value: Monte Carlo with a Sobol sequence vs Monte Carlo with pseudo-random numbers.
+   */
+  public void presentValueMCSobol() {
+    final LiborMarketModelMonteCarloMethod methodLmmMc = new LiborMarketModelMonteCarloMethod(new NormalRandomNumberGenerator(0.0, 1.0, new MersenneTwister()), NB_PATH);
+    final MultipleCurrencyAmount pvMC = methodLmmMc.presentValue(SWAPTION_PAYER_LONG, EUR, LMM_MULTICURVES);
+    final LiborMarketModelMonteCarloMethod methodLmmSobol = new LiborMarketModelMonteCarloMethod(new SobolRandomNumberGenerator(), NB_PATH);
+    final MultipleCurrencyAmount pvSobol = methodLmmSobol.presentValue(SWAPTION_PAYER_LONG, EUR, LMM_MULTICURVES);
+    assertEquals("Swaption physical - LMM - present value Monte Carlo Sobol/pseudo-random", pvMC.getAmount(EUR), pvSobol.getAmount(EUR), 2.0E-2 * pvMC.getAmount(EUR));
+  }
+
   @Test
   /**
    * Tests long/short parity.
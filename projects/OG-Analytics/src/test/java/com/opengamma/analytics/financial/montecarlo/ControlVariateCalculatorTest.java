@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.montecarlo;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link ControlVariateCalculator} class.
+ */
+public class ControlVariateCalculatorTest {
+
+  private static final ControlVariateCalculator CALCULATOR = ControlVariateCalculator.getInstance();
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testLength() {
+    CALCULATOR.estimate(new double[3], new double[2], 0);
+  }
+
+  @Test
+  public void testPerfectControl() {
+    // Values are an affine function of the control, so the estimate is exact
+    final double[] controls = new double[] {0.3, -1.2, 0.8, 1.5, -0.1 };
+    final double[] values = new double[controls.length];
+    for (int i = 0; i < controls.length; i++) {
+      values[i] = 2.0 + 3.0 * controls[i];
+    }
+    assertEquals(3.0, CALCULATOR.coefficient(values, controls), 1e-12);
+    assertEquals(2.0, CALCULATOR.estimate(values, controls, 0), 1e-12);
+  }
+
+  @Test
+  public void testConstantControl() {
+    final double[] values = new double[] {1, 2, 3 };
+    assertEquals(0.0, CALCULATOR.coefficient(values, new double[] {1, 1, 1 }), 0);
+    assertEquals(2.0, CALCULATOR.estimate(values, new double[] {1, 1, 1 }, 0), 1e-12);
+  }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.financial.provider.calculator.discounting;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Period;
+import org.threeten.bp.ZonedDateTime;
+
+import com.opengamma.analytics.financial.instrument.annuity.AnnuityCouponIborSpreadDefinition;
+import com.opengamma.analytics.financial.instrument.cash.CashDefinition;
+import com.opengamma.analytics.financial.instrument.index.GeneratorSwapFixedIbor;
+import com.opengamma.analytics.financial.instrument.index.GeneratorSwapFixedIborMaster;
+import com.opengamma.analytics.financial.instrument.index.IborIndex;
+import com.opengamma.analytics.financial.instrument.swap.SwapFixedIborDefinition;
+import com.opengamma.analytics.financial.instrument.swap.SwapIborIborDefinition;
+import com.opengamma.analytics.financial.interestrate.InstrumentDerivative;
+import com.opengamma.analytics.financial.provider.description.MulticurveProviderDiscountDataSets;
+import com.opengamma.analytics.financial.provider.description.interestrate.MulticurveProviderDiscount;
+import com.opengamma.financial.convention.calendar.Calendar;
+import com.opengamma.util.money.Currency;
+import com.opengamma.util.time.DateUtils;
+
+/**
+ * Tests the {@link PresentValueDiscountingBatchCalculator} against {@link PresentValueDiscountingCalculator}.
+ */
+public class PresentValueDiscountingBatchCalculatorTest {
+
+  private static final MulticurveProviderDiscount MULTICURVES = MulticurveProviderDiscountDataSets.createMulticurveEurUsd();
+  private static final IborIndex[] INDEX_LIST = MulticurveProviderDiscountDataSets.getIndexesIborMulticurveEurUsd();
+  private static final IborIndex USDLIBOR3M = INDEX_LIST[2];
+  private static final IborIndex USDLIBOR6M = INDEX_LIST[3];
+  private static final Calendar NYC = MulticurveProviderDiscountDataSets.getUSDCalendar();
+  private static final GeneratorSwapFixedIbor USD6MLIBOR3M = GeneratorSwapFixedIborMaster.getInstance().getGenerator("USD6MLIBOR3M", NYC);
+  private static final ZonedDateTime SETTLEMENT_DATE = DateUtils.getUTCDate(2012, 5, 17);
+  private static final ZonedDateTime REFERENCE_DATE = DateUtils.getUTCDate(2012, 5, 14);
+  private static final double NOTIONAL = 100000000; //100m
+  private static final String NOT_USED = "Not used";
+  private static final String[] NOT_USED_A = {NOT_USED, NOT_USED, NOT_USED, NOT_USED };
+
+  private static final PresentValueDiscountingCalculator PVDC = PresentValueDiscountingCalculator.getInstance();
+  private static final PresentValueDiscountingBatchCalculator PVDBC = PresentValueDiscountingBatchCalculator.getInstance();
+
+  private static final double TOLERANCE_PV = 1.0E-2;
+
+  private static InstrumentDerivative[] portfolio() {
+    final int nbSwap = 40;
+    final InstrumentDerivative[] instruments = new InstrumentDerivative[nbSwap + 2];
+    for (int loopswap = 0; loopswap < nbSwap; loopswap++) {
+      // Swaps sharing payment dates, with different rates, tenors and directions
+      final Period tenor = Period.ofYears(1 + loopswap % 10);
+      final double rate = 0.01 + 0.001 * loopswap;
+      instruments[loopswap] = SwapFixedIborDefinition.from(SETTLEMENT_DATE, tenor, USD6MLIBOR3M, NOTIONAL, rate, loopswap % 2 == 0).toDerivative(REFERENCE_DATE, NOT_USED_A);
+    }
+    instruments[nbSwap] = new SwapIborIborDefinition(AnnuityCouponIborSpreadDefinition.from(SETTLEMENT_DATE, Period.ofYears(5), NOTIONAL, USDLIBOR3M, 0.0020, true, NYC),
+        AnnuityCouponIborSpreadDefinition.from(SETTLEMENT_DATE, Period.ofYears(5), NOTIONAL, USDLIBOR6M, 0.0005, false, NYC)).toDerivative(REFERENCE_DATE, NOT_USED_A);
+    // Not decomposed; priced by the calculator
+    instruments[nbSwap + 1] = new CashDefinition(Currency.USD, SETTLEMENT_DATE, SETTLEMENT_DATE.plusMonths(6), NOTIONAL, 0.01, 0.5).toDerivative(REFERENCE_DATE, NOT_USED_A);
+    return instruments;
+  }
+
+  @Test
+  public void presentValue() {
+    final InstrumentDerivative[] instruments = portfolio();
+    final double[] pv = PVDBC.presentValue(instruments, Currency.USD, MULTICURVES);
+    assertEquals(instruments.length, pv.length);
+    for (int loopins = 0; loopins < instruments.length; loopins++) {
+      assertEquals("PresentValueDiscountingBatchCalculator: instrument " + loopins, instruments[loopins].accept(PVDC, MULTICURVES).getAmount(Currency.USD), pv[loopins],
+          TOLERANCE_PV);
+    }
+  }
+
+  @Test
+  public void empty() {
+    assertEquals(0, PVDBC.presentValue(new InstrumentDerivative[0], Currency.USD, MULTICURVES).length);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void wrongCurrency() {
+    PVDBC.presentValue(portfolio(), Currency.EUR, MULTICURVES);
+  }
+
+}
@@ -6,12 +6,14 @@
 package com.opengamma.analytics.financial.provider.curve;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
@@ -212,6 +214,76 @@ public class MulticurveBuildingDiscountingDiscountSimpleTest {
     }
   }
 
+  @Test
+  /**
+   * Calibrates in parallel, then again from the previous solution after a move of the market quotes.
+   */
+  public void curveConstructionParallelWarmStart() {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final MulticurveDiscountBuildingRepository repository = new MulticurveDiscountBuildingRepository(TOLERANCE_ROOT, TOLERANCE_ROOT, STEP_MAX, pool, true);
+      final Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> cold = makeCurvesFromDefinitions(repository, DEFINITIONS_UNITS[0], GENERATORS_UNITS[0], NAMES_UNITS[0],
+          KNOWN_DATA, PSMQC, PSMQCSC, false);
+      curveConstructionTest(DEFINITIONS_UNITS[0], cold.getFirst(), false, 0);
+      final CurveBuildingBlockBundle expected = CURVES_PAR_SPREAD_MQ_WITHOUT_TODAY_BLOCK.get(0).getSecond();
+      for (final String name : new String[] {CURVE_NAME_DSC_USD, CURVE_NAME_FWD3_USD }) {
+        final double[][] expectedMatrix = expected.getBlock(name).getSecond().getData();
+        final double[][] matrix = cold.getSecond().getBlock(name).getSecond().getData();
+        for (int looprow = 0; looprow < expectedMatrix.length; looprow++) {
+          for (int loopcol = 0; loopcol < expectedMatrix[looprow].length; loopcol++) {
+            assertEquals("Curve construction: parallel Jacobian " + name, expectedMatrix[looprow][loopcol], matrix[looprow][loopcol], TOLERANCE_CAL);
+          }
+        }
+      }
+      final double[] dscQuotes = DSC_USD_MARKET_QUOTES.clone();
+      final double[] fwd3Quotes = FWD3_USD_MARKET_QUOTES.clone();
+      for (int loopq = 0; loopq < dscQuotes.length; loopq++) {
+        dscQuotes[loopq] += 0.0005;
+      }
+      for (int loopq = 0; loopq < fwd3Quotes.length; loopq++) {
+        fwd3Quotes[loopq] -= 0.0002;
+      }
+      final InstrumentDefinition<?>[][][] moved = new InstrumentDefinition<?>[][][] { {getDefinitions(dscQuotes, DSC_USD_GENERATORS, DSC_USD_ATTR) },
+        {getDefinitions(fwd3Quotes, FWD3_USD_GENERATORS, FWD3_USD_ATTR) } };
+      final Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> warm = makeCurvesFromDefinitions(repository, moved, GENERATORS_UNITS[0], NAMES_UNITS[0], KNOWN_DATA,
+          PSMQC, PSMQCSC, false);
+      curveConstructionTest(moved, warm.getFirst(), false, 0);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  /**
+   * Checks the incremental calibration when a single quote moves against a full calibration.
+   */
+  public void curveConstructionIncremental() {
+    final MulticurveDiscountBuildingRepository repository = new MulticurveDiscountBuildingRepository(TOLERANCE_ROOT, TOLERANCE_ROOT, STEP_MAX, null, true, true);
+    final Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> first = makeCurvesFromDefinitions(repository, DEFINITIONS_UNITS[0], GENERATORS_UNITS[0], NAMES_UNITS[0],
+        KNOWN_DATA, PSMQC, PSMQCSC, false);
+    curveConstructionTest(DEFINITIONS_UNITS[0], first.getFirst(), false, 0);
+    final double[] fwd3Quotes = FWD3_USD_MARKET_QUOTES.clone();
+    fwd3Quotes[fwd3Quotes.length - 1] += 0.0001;
+    final InstrumentDefinition<?>[][][] moved = new InstrumentDefinition<?>[][][] { {getDefinitions(DSC_USD_MARKET_QUOTES, DSC_USD_GENERATORS, DSC_USD_ATTR) },
+      {getDefinitions(fwd3Quotes, FWD3_USD_GENERATORS, FWD3_USD_ATTR) } };
+    final Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> incremental = makeCurvesFromDefinitions(repository, moved, GENERATORS_UNITS[0], NAMES_UNITS[0],
+        KNOWN_DATA, PSMQC, PSMQCSC, false);
+    curveConstructionTest(moved, incremental.getFirst(), false, 0);
+    assertSame("Curve construction: incremental unchanged unit", first.getSecond().getBlock(CURVE_NAME_DSC_USD).getSecond(),
+        incremental.getSecond().getBlock(CURVE_NAME_DSC_USD).getSecond());
+    final Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> full = makeCurvesFromDefinitions(moved, GENERATORS_UNITS[0], NAMES_UNITS[0], KNOWN_DATA, PSMQC, PSMQCSC,
+        false);
+    for (final String name : new String[] {CURVE_NAME_DSC_USD, CURVE_NAME_FWD3_USD }) {
+      final double[][] expectedMatrix = full.getSecond().getBlock(name).getSecond().getData();
+      final double[][] matrix = incremental.getSecond().getBlock(name).getSecond().getData();
+      for (int looprow = 0; looprow < expectedMatrix.length; looprow++) {
+        for (int loopcol = 0; loopcol < expectedMatrix[looprow].length; loopcol++) {
+          assertEquals("Curve construction: incremental Jacobian " + name, expectedMatrix[looprow][loopcol], matrix[looprow][loopcol], TOLERANCE_CAL);
+        }
+      }
+    }
+  }
+
   public void curveConstructionTest(final InstrumentDefinition<?>[][][] definitions, final MulticurveProviderDiscount curves, final boolean withToday, final int block) {
     final int nbBlocks = definitions.length;
     for (int loopblock = 0; loopblock < nbBlocks; loopblock++) {
@@ -260,6 +332,13 @@ public class MulticurveBuildingDiscountingDiscountSimpleTest {
   private static Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> makeCurvesFromDefinitions(final InstrumentDefinition<?>[][][] definitions, final GeneratorYDCurve[][] curveGenerators,
       final String[][] curveNames, final MulticurveProviderDiscount knownData, final InstrumentDerivativeVisitor<MulticurveProviderInterface, Double> calculator,
       final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator, final boolean withToday) {
+    return makeCurvesFromDefinitions(CURVE_BUILDING_REPOSITORY, definitions, curveGenerators, curveNames, knownData, calculator, sensitivityCalculator, withToday);
+  }
+
+  private static Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> makeCurvesFromDefinitions(final MulticurveDiscountBuildingRepository repository,
+      final InstrumentDefinition<?>[][][] definitions, final GeneratorYDCurve[][] curveGenerators, final String[][] curveNames, final MulticurveProviderDiscount knownData,
+      final InstrumentDerivativeVisitor<MulticurveProviderInterface, Double> calculator,
+      final InstrumentDerivativeVisitor<MulticurveProviderInterface, MulticurveSensitivity> sensitivityCalculator, final boolean withToday) {
     final int nbUnits = curveGenerators.length;
     final double[][] parametersGuess = new double[nbUnits][];
     final GeneratorYDCurve[][] generatorFinal = new GeneratorYDCurve[nbUnits][];
@@ -280,7 +359,7 @@ public class MulticurveBuildingDiscountingDiscountSimpleTest {
         startCurve += instruments[loopunit][loopcurve].length;
       }
     }
-    return CURVE_BUILDING_REPOSITORY.makeCurvesFromDerivatives(instruments, generatorFinal, curveNames, parametersGuess, knownData, DSC_MAP, FWD_IBOR_MAP, FWD_ON_MAP, calculator,
+    return repository.makeCurvesFromDerivatives(instruments, generatorFinal, curveNames, parametersGuess, knownData, DSC_MAP, FWD_IBOR_MAP, FWD_ON_MAP, calculator,
         sensitivityCalculator);
   }
 
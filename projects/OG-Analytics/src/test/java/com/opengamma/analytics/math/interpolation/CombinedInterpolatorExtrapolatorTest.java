@@ -136,4 +136,21 @@ public class CombinedInterpolatorExtrapolatorTest {
     assertEquals(COMBINED3.interpolate(DATA, x - 100), F.evaluate(0.), 1e-15);
     assertEquals(COMBINED3.interpolate(DATA, x + 100), F.evaluate(x + 100), 1e-5);
   }
+
+  @Test
+  public void testSorted() {
+    final double[] x = new double[] {-3, -1, 0, 0.5, 4, 4, 8.9, 9, 12 };
+    final double[] y = COMBINED3.interpolateSorted(DATA, x);
+    for (int i = 0; i < x.length; i++) {
+      assertEquals(COMBINED3.interpolate(DATA, x[i]), y[i], 0);
+    }
+    final double[] y2 = COMBINED2.interpolateSorted(DATA, new double[] {-5, 20 });
+    assertEquals(F.evaluate(0.), y2[0], 1e-15);
+    assertEquals(F.evaluate(9.), y2[1], 1e-15);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSortedNoExtrapolator() {
+    COMBINED1.interpolateSorted(DATA, new double[] {1, 12 });
+  }
 }
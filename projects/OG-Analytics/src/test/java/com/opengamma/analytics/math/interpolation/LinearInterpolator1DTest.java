@@ -69,4 +69,23 @@ public class LinearInterpolator1DTest {
     }
     assertEquals(INTERPOLATOR.interpolate(INTERPOLATOR.getDataBundle(data), 3.4), FUNCTION.evaluate(3.4), 1e-15);
   }
+
+  @Test
+  public void testSorted() {
+    final double[] x = new double[] {1, 1.2, 1.2, 2, 2.5, 2.99, 3};
+    final double[] y = INTERPOLATOR.interpolateSorted(MODEL, x);
+    for (int i = 0; i < x.length; i++) {
+      assertEquals(INTERPOLATOR.interpolate(MODEL, x[i]), y[i], 0);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testUnsortedValues() {
+    INTERPOLATOR.interpolateSorted(MODEL, new double[] {2, 1.5});
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSortedHighValue() {
+    INTERPOLATOR.interpolateSorted(MODEL, new double[] {2, 10});
+  }
 }
@@ -79,4 +79,17 @@ public class LogLinearInterpolator1DTest {
   public void test() {
     assertEquals(Math.log(INTERPOLATOR.interpolate(MODEL, 3.4)), LINEAR.interpolate(TRANSFORMED_MODEL, 3.4), EPS);
   }
+
+  @Test
+  public void testSorted() {
+    final double[] keys = MODEL.getKeys();
+    final double[] x = new double[4 * (keys.length - 1) + 1];
+    for (int i = 0; i < x.length; i++) {
+      x[i] = keys[0] + (keys[keys.length - 1] - keys[0]) * i / (x.length - 1);
+    }
+    final double[] y = INTERPOLATOR.interpolateSorted(MODEL, x);
+    for (int i = 0; i < x.length; i++) {
+      assertEquals(INTERPOLATOR.interpolate(MODEL, x[i]), y[i], 0);
+    }
+  }
 }
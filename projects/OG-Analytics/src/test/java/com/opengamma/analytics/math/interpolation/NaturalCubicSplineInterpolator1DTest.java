@@ -116,4 +116,16 @@ public class NaturalCubicSplineInterpolator1DTest {
     }
 
   }
+
+  @Test
+  public void testSorted() {
+    final double[] x = new double[56];
+    for (int i = 0; i < x.length; i++) {
+      x[i] = i / 50.;
+    }
+    final double[] y = INTERPOLATOR.interpolateSorted(MODEL, x);
+    for (int i = 0; i < x.length; i++) {
+      assertEquals(INTERPOLATOR.interpolate(MODEL, x[i]), y[i], 0);
+    }
+  }
 }
@@ -198,4 +198,19 @@ public class NaturalSplineInterpolator1DTest {
       yValues3Dw[j] = yValues3[j];
     }
   }
+
+  /**
+   * Sorted batch evaluation, including values outside the data range, is the same as the scalar one
+   */
+  @Test
+  public void sortedTest() {
+    final double[] xValues = new double[] {1., 2., 3.5, 4., 6., 7.5 };
+    final double[] yValues = new double[] {0.5, 1.2, 0.8, 1.9, 2.4, 2.2 };
+    final Interpolator1DDataBundle data = INTERP1D.getDataBundleFromSortedArrays(xValues, yValues);
+    final double[] xKeys = new double[] {0.5, 1., 1.7, 2., 2., 3.9, 5., 7.5, 8. };
+    final double[] res = INTERP1D.interpolateSorted(data, xKeys);
+    for (int i = 0; i < xKeys.length; ++i) {
+      assertEquals(res[i], INTERP1D.interpolate(data, xKeys[i]), 0.);
+    }
+  }
 }
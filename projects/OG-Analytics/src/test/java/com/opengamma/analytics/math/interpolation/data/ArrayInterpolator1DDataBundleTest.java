@@ -46,4 +46,15 @@ public class ArrayInterpolator1DDataBundleTest extends Interpolator1DDataBundleT
     }
   }
 
+  @Test
+  public void lowerBoundIndexHint() {
+    final double[] keys = new double[] {0.0, 0.1, 0.2, 0.3, 0.4, 0.5 };
+    final Interpolator1DDataBundle model = new ArrayInterpolator1DDataBundle(keys, keys, true);
+    // Same, next, backwards and far lookups after each other
+    final double[] values = new double[] {0.25, 0.25, 0.3, 0.35, 0.45, 0.5, 0.05, 0.0, 0.4, 0.15 };
+    final int[] expected = new int[] {2, 2, 3, 3, 4, 5, 0, 0, 4, 1 };
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(expected[i], model.getLowerBoundIndex(values[i]));
+    }
+  }
 }
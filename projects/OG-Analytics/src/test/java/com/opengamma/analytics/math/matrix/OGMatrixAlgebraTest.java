@@ -7,6 +7,8 @@ package com.opengamma.analytics.math.matrix;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.testng.annotations.Test;
 
 import com.opengamma.analytics.math.linearalgebra.TridiagonalMatrix;
@@ -111,4 +113,43 @@ public class OGMatrixAlgebraTest {
 
   }
 
+  @Test
+  /**
+   * Large enough for the blocked product, and for the parallel one with a pool, with sizes that are not multiples of the blocks.
+   */
+  public void testLargeMultiply() {
+    final int m = 203;
+    final int p = 301;
+    final int n = 157;
+    final double[][] a = new double[m][p];
+    final double[][] b = new double[p][n];
+    for (int i = 0; i < m; i++) {
+      for (int k = 0; k < p; k++) {
+        a[i][k] = RANDOM.nextRandom();
+      }
+    }
+    for (int k = 0; k < p; k++) {
+      for (int j = 0; j < n; j++) {
+        b[k][j] = RANDOM.nextRandom();
+      }
+    }
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final DoubleMatrix2D c = (DoubleMatrix2D) ALGEBRA.multiply(new DoubleMatrix2D(a), new DoubleMatrix2D(b));
+      final DoubleMatrix2D cParallel = (DoubleMatrix2D) new OGMatrixAlgebra(pool).multiply(new DoubleMatrix2D(a), new DoubleMatrix2D(b));
+      for (int i = 0; i < m; i++) {
+        for (int j = 0; j < n; j++) {
+          double sum = 0;
+          for (int k = 0; k < p; k++) {
+            sum += a[i][k] * b[k][j];
+          }
+          assertEquals(sum, c.getEntry(i, j), 1e-11);
+          assertEquals(c.getEntry(i, j), cParallel.getEntry(i, j), 0);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
 }
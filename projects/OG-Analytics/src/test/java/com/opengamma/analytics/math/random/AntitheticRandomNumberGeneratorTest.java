@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import cern.jet.random.engine.MersenneTwister64;
+
+/**
+ * Tests the {@link AntitheticRandomNumberGenerator} class.
+ */
+public class AntitheticRandomNumberGeneratorTest {
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullUnderlying() {
+    new AntitheticRandomNumberGenerator(null);
+  }
+
+  @Test
+  public void testOf() {
+    assertFalse(AntitheticRandomNumberGenerator.of(new NormalRandomNumberGenerator(0, 1)) instanceof QuasiRandomNumberGenerator);
+    assertTrue(AntitheticRandomNumberGenerator.of(new SobolRandomNumberGenerator()) instanceof QuasiRandomNumberGenerator);
+  }
+
+  @Test
+  public void testVector() {
+    final RandomNumberGenerator generator = AntitheticRandomNumberGenerator.of(new NormalRandomNumberGenerator(0, 1, new MersenneTwister64()));
+    final double[] x = generator.getVector(7);
+    assertEquals(7, x.length);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(-x[i], x[i + 3], 0);
+    }
+  }
+
+  @Test
+  public void testVectors() {
+    final RandomNumberGenerator generator = AntitheticRandomNumberGenerator.of(new NormalRandomNumberGenerator(0, 1, new MersenneTwister64()));
+    final List<double[]> x = generator.getVectors(3, 5);
+    assertEquals(5, x.size());
+    for (int i = 0; i < 4; i += 2) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(-x.get(i)[j], x.get(i + 1)[j], 0);
+      }
+    }
+  }
+
+}
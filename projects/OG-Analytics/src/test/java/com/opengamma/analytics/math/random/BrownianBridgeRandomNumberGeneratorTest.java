@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link BrownianBridgeRandomNumberGenerator} class.
+ */
+public class BrownianBridgeRandomNumberGeneratorTest {
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullUnderlying() {
+    new BrownianBridgeRandomNumberGenerator(null);
+  }
+
+  @Test
+  public void testEndPoint() {
+    final int d = 7;
+    final double[] z = new SobolRandomNumberGenerator().getVector(d);
+    final double[] increments = new BrownianBridgeRandomNumberGenerator(new SobolRandomNumberGenerator()).getVector(d);
+    // The first variable fixes the end of the path
+    double w = 0;
+    for (final double dw : increments) {
+      w += dw;
+    }
+    assertEquals(Math.sqrt(d) * z[0], w, 1e-12);
+  }
+
+  @Test
+  public void testMoments() {
+    final int n = 4096;
+    final int d = 7;
+    final List<double[]> increments = new BrownianBridgeRandomNumberGenerator(new SobolRandomNumberGenerator()).getVectors(d, n);
+    for (int i = 0; i < d; i++) {
+      double mean = 0;
+      double variance = 0;
+      for (final double[] dw : increments) {
+        mean += dw[i] / n;
+        variance += dw[i] * dw[i] / n;
+      }
+      assertEquals(0, mean, 1e-2);
+      assertEquals(1, variance, 2e-2);
+      for (int j = i + 1; j < d; j++) {
+        double covariance = 0;
+        for (final double[] dw : increments) {
+          covariance += dw[i] * dw[j] / n;
+        }
+        assertEquals(0, covariance, 2e-2);
+      }
+    }
+  }
+
+}
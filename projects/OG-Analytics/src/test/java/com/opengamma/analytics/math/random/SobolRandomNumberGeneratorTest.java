@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.analytics.math.random;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link SobolRandomNumberGenerator} class.
+ */
+public class SobolRandomNumberGeneratorTest {
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBadSkip() {
+    new SobolRandomNumberGenerator(-1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBadDimension() {
+    new SobolRandomNumberGenerator().getVector(SobolRandomNumberGenerator.MAX_DIMENSION + 1);
+  }
+
+  @Test
+  public void testFirstPoints() {
+    final SobolRandomNumberGenerator generator = new SobolRandomNumberGenerator();
+    // The first point is the centre of the unit cube, the median of the normal distribution
+    final double[] first = generator.getVector(SobolRandomNumberGenerator.MAX_DIMENSION);
+    for (final double x : first) {
+      assertEquals(0, x, 1e-12);
+    }
+    // The next two points are in the opposite quarters in the first dimension
+    assertEquals(-generator.getVector(1)[0], generator.getVector(1)[0], 1e-12);
+  }
+
+  @Test
+  public void testSkip() {
+    final SobolRandomNumberGenerator generator = new SobolRandomNumberGenerator();
+    generator.getVectors(10, 5);
+    final double[] expected = generator.getVector(10);
+    final double[] actual = new SobolRandomNumberGenerator(5).getVector(10);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(expected[i], actual[i], 0);
+    }
+  }
+
+  @Test
+  public void testMoments() {
+    final int n = 4096;
+    final int d = SobolRandomNumberGenerator.MAX_DIMENSION;
+    final List<double[]> points = new SobolRandomNumberGenerator().getVectors(d, n);
+    assertEquals(n, points.size());
+    for (int i = 0; i < d; i++) {
+      double mean = 0;
+      double variance = 0;
+      for (final double[] point : points) {
+        mean += point[i] / n;
+        variance += point[i] * point[i] / n;
+      }
+      assertEquals(0, mean, 1e-2);
+      assertEquals(1, variance, 1e-2);
+    }
+  }
+
+}
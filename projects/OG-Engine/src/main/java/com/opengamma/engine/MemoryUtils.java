@@ -33,6 +33,9 @@ public final class MemoryUtils {
     }
   };
 
+  /**
+   * Canonical instances of the property sets that are not {@link ValueProperties.ValuePropertiesImpl}, which keeps its own.
+   */
   private static final WeakInstanceCache<ValueProperties> s_valueProperties = new WeakInstanceCache<ValueProperties>();
 
   private static final WeakInstanceCache<ValueRequirement> s_valueRequirement = new NormalizingWeakInstanceCache<ValueRequirement>() {
@@ -70,7 +73,12 @@ public final class MemoryUtils {
   }
 
   public static ValueProperties instance(final ValueProperties valueProperties) {
-    return s_valueProperties.get(valueProperties);
+    if (valueProperties instanceof ValueProperties.ValuePropertiesImpl) {
+      // Shares the cache that memoises its operations
+      return valueProperties.intern();
+    } else {
+      return s_valueProperties.get(valueProperties);
+    }
   }
 
   public static ValueRequirement instance(final ValueRequirement valueRequirement) {
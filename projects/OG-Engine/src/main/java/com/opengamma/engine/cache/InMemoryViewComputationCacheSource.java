@@ -16,7 +16,15 @@ public class InMemoryViewComputationCacheSource extends DefaultViewComputationCa
    * @param fudgeContext Fudge context to use for serialization
    */
   public InMemoryViewComputationCacheSource(final FudgeContext fudgeContext) {
-    super(new InMemoryIdentifierMap(), fudgeContext, new DefaultFudgeMessageStoreFactory(
+    this(new InMemoryIdentifierMap(), fudgeContext);
+  }
+
+  /**
+   * @param identifierMap the identifier map to use, for example a {@link PrimitiveIdentifierMap} for large views
+   * @param fudgeContext Fudge context to use for serialization
+   */
+  public InMemoryViewComputationCacheSource(final IdentifierMap identifierMap, final FudgeContext fudgeContext) {
+    super(identifierMap, fudgeContext, new DefaultFudgeMessageStoreFactory(
         new InMemoryBinaryDataStoreFactory(), fudgeContext), new DefaultFudgeMessageStoreFactory(
             new InMemoryBinaryDataStoreFactory(), fudgeContext));
   }
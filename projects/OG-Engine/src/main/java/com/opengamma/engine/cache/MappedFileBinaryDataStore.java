@@ -0,0 +1,358 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.JdkUtils;
+
+/**
+ * An implementation of {@link BinaryDataStore} which appends values to memory-mapped segment files.
+ * <p>
+ * Each value is written to the end of the current segment as a length prefixed record and its location is
+ * published in a primitive identifier to location index. Readers find the location in the index and copy the
+ * record straight out of the mapped segment. Writers only synchronize to reserve space and to publish the index
+ * entry - the data itself is copied into the segment outside of that lock. Reads and writes share the read half of
+ * a read/write lock so that the segments can't be unmapped while they are in use.
+ * <p>
+ * Values are never overwritten in place; storing a value against an existing identifier appends a new record
+ * and updates the index. When the store is deleted it takes the write half of the lock, waiting for any reads or
+ * writes in progress, then unmaps the segments and removes the segment files.
+ */
+public class MappedFileBinaryDataStore extends AbstractBinaryDataStore implements BinaryDataStore {
+
+  private static final Logger s_logger = LoggerFactory.getLogger(MappedFileBinaryDataStore.class);
+
+  /**
+   * The default size of each segment file.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final int RECORD_HEADER_SIZE = 4;
+
+  private final File _directory;
+  private final int _segmentSize;
+  private final Index _index = new Index();
+
+  /**
+   * The mapped segments. The array is replaced, never modified, when a segment is added so that readers can
+   * use it without locking.
+   */
+  private volatile MappedByteBuffer[] _segments = new MappedByteBuffer[0];
+  /**
+   * The write position in the last segment. Guarded by {@code this}.
+   */
+  private int _writePosition;
+  /**
+   * Set when the store has been deleted. Guarded by {@code this}.
+   */
+  private boolean _deleted;
+  /**
+   * Held for read by any read or write using the segments, and for write when the segments are unmapped.
+   */
+  private final ReadWriteLock _accessLock = new ReentrantReadWriteLock();
+
+  public MappedFileBinaryDataStore(final File directory) {
+    this(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Creates a new data store, writing segment files to the given directory.
+   *
+   * @param directory the directory to write segment files to, created if it does not exist, not null
+   * @param segmentSize the size of each segment file in bytes. Values larger than this are written to a segment of their own
+   */
+  public MappedFileBinaryDataStore(final File directory, final int segmentSize) {
+    ArgumentChecker.notNull(directory, "directory");
+    ArgumentChecker.notNegativeOrZero(segmentSize, "segmentSize");
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new OpenGammaRuntimeException("Couldn't create data store directory " + directory);
+    }
+    _directory = directory;
+    _segmentSize = segmentSize;
+  }
+
+  public File getDirectory() {
+    return _directory;
+  }
+
+  public int getSegmentSize() {
+    return _segmentSize;
+  }
+
+  private File getSegmentFile(final int segment) {
+    return new File(getDirectory(), "segment-" + segment + ".dat");
+  }
+
+  private MappedByteBuffer createSegment(final int segment, final int size) {
+    final File file = getSegmentFile(segment);
+    try {
+      final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+      try {
+        // The mapping remains valid after the channel is closed
+        return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      } finally {
+        raf.close();
+      }
+    } catch (IOException e) {
+      throw new OpenGammaRuntimeException("Couldn't map segment file " + file, e);
+    }
+  }
+
+  /**
+   * Reserves space for a record, creating a new segment if the current one is full.
+   *
+   * @param recordSize the size of the record, including its header
+   * @return the location of the record
+   */
+  private synchronized long reserve(final int recordSize) {
+    if (_deleted) {
+      throw new IllegalStateException("Data store has been deleted");
+    }
+    MappedByteBuffer[] segments = _segments;
+    if ((segments.length == 0) || (_writePosition + recordSize > segments[segments.length - 1].capacity())) {
+      final MappedByteBuffer[] newSegments = new MappedByteBuffer[segments.length + 1];
+      System.arraycopy(segments, 0, newSegments, 0, segments.length);
+      newSegments[segments.length] = createSegment(segments.length, Math.max(recordSize, getSegmentSize()));
+      _segments = newSegments;
+      segments = newSegments;
+      _writePosition = 0;
+    }
+    final long location = location(segments.length - 1, _writePosition);
+    _writePosition += recordSize;
+    return location;
+  }
+
+  private static long location(final int segment, final int offset) {
+    // Segment number is stored plus one so that zero never represents a valid location
+    return ((long) (segment + 1) << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  private static int segment(final long location) {
+    return (int) (location >>> 32) - 1;
+  }
+
+  private static int offset(final long location) {
+    return (int) location;
+  }
+
+  /**
+   * Returns a read-only view of a record.
+   *
+   * @param segments the segments, not null
+   * @param identifier the identifier
+   * @return the view, positioned at the start of the data and limited to its end, null if there is no record
+   */
+  private ByteBuffer getRecord(final MappedByteBuffer[] segments, final long identifier) {
+    final long location = _index.get(identifier);
+    if (location == 0L) {
+      return null;
+    }
+    final int segment = segment(location);
+    if (segment >= segments.length) {
+      // Store has been deleted
+      return null;
+    }
+    final ByteBuffer buffer = segments[segment].asReadOnlyBuffer();
+    final int offset = offset(location) + RECORD_HEADER_SIZE;
+    buffer.limit(offset + buffer.getInt(offset - RECORD_HEADER_SIZE));
+    buffer.position(offset);
+    return buffer;
+  }
+
+  @Override
+  public byte[] get(final long identifier) {
+    _accessLock.readLock().lock();
+    try {
+      final ByteBuffer buffer = getRecord(_segments, identifier);
+      if (buffer == null) {
+        return null;
+      }
+      // Copy out of the segment so that the caller's data remains valid after the store is deleted
+      final byte[] data = new byte[buffer.remaining()];
+      buffer.get(data);
+      return data;
+    } finally {
+      _accessLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void put(final long identifier, final byte[] data) {
+    _accessLock.readLock().lock();
+    try {
+      final long location = reserve(data.length + RECORD_HEADER_SIZE);
+      final MappedByteBuffer[] segments = _segments;
+      final int segment = segment(location);
+      if (segment >= segments.length) {
+        // Store was deleted after the space was reserved
+        return;
+      }
+      final ByteBuffer buffer = segments[segment].duplicate();
+      buffer.position(offset(location));
+      buffer.putInt(data.length);
+      buffer.put(data);
+      synchronized (this) {
+        if (!_deleted) {
+          _index.put(identifier, location);
+        }
+      }
+    } finally {
+      _accessLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void delete() {
+    final MappedByteBuffer[] segments;
+    // Waits for any reader or writer still using the segments
+    _accessLock.writeLock().lock();
+    try {
+      synchronized (this) {
+        if (_deleted) {
+          return;
+        }
+        _deleted = true;
+        segments = _segments;
+        _segments = new MappedByteBuffer[0];
+        _index.clear();
+      }
+      for (int i = 0; i < segments.length; i++) {
+        if (!JdkUtils.unmap(segments[i])) {
+          s_logger.debug("Couldn't unmap segment {}; it will be released when garbage collected", i);
+        }
+      }
+    } finally {
+      _accessLock.writeLock().unlock();
+    }
+    for (int i = 0; i < segments.length; i++) {
+      final File file = getSegmentFile(i);
+      if (!file.delete()) {
+        // The mapping may still be live on some platforms until the buffer is garbage collected
+        s_logger.debug("Couldn't delete {} immediately", file);
+        file.deleteOnExit();
+      }
+    }
+    if (!getDirectory().delete()) {
+      getDirectory().deleteOnExit();
+    }
+  }
+
+  /**
+   * Open addressed identifier to location index. Lookups are lock-free; updates must be serialized by the caller.
+   * A slot's value is written before its key so that a reader which sees the key will also see the value. The
+   * table is replaced, rather than resized in place, when it becomes too full.
+   */
+  private static final class Index {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final class Table {
+
+      private final AtomicLongArray _keys;
+      private final AtomicLongArray _values;
+      private final int _mask;
+
+      private Table(final int capacity) {
+        _keys = new AtomicLongArray(capacity);
+        _values = new AtomicLongArray(capacity);
+        _mask = capacity - 1;
+      }
+
+    }
+
+    private volatile Table _table = new Table(INITIAL_CAPACITY);
+    private boolean _hasZeroKey;
+    private volatile long _zeroKeyValue;
+    private int _size;
+
+    private static int hash(final long key) {
+      final long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+
+    public long get(final long key) {
+      if (key == 0L) {
+        return _zeroKeyValue;
+      }
+      final Table table = _table;
+      int i = hash(key) & table._mask;
+      while (true) {
+        final long k = table._keys.get(i);
+        if (k == key) {
+          return table._values.get(i);
+        } else if (k == 0L) {
+          return 0L;
+        }
+        i = (i + 1) & table._mask;
+      }
+    }
+
+    private static boolean insert(final Table table, final long key, final long value) {
+      int i = hash(key) & table._mask;
+      while (true) {
+        final long k = table._keys.get(i);
+        if (k == key) {
+          table._values.set(i, value);
+          return false;
+        } else if (k == 0L) {
+          table._values.set(i, value);
+          table._keys.set(i, key);
+          return true;
+        }
+        i = (i + 1) & table._mask;
+      }
+    }
+
+    public void put(final long key, final long value) {
+      if (key == 0L) {
+        _zeroKeyValue = value;
+        if (!_hasZeroKey) {
+          _hasZeroKey = true;
+          _size++;
+        }
+        return;
+      }
+      Table table = _table;
+      if ((_size + 1) * 4 > (table._mask + 1) * 3) {
+        final Table newTable = new Table((table._mask + 1) << 1);
+        for (int i = 0; i <= table._mask; i++) {
+          final long k = table._keys.get(i);
+          if (k != 0L) {
+            insert(newTable, k, table._values.get(i));
+          }
+        }
+        _table = newTable;
+        table = newTable;
+      }
+      if (insert(table, key, value)) {
+        _size++;
+      }
+    }
+
+    public void clear() {
+      _table = new Table(INITIAL_CAPACITY);
+      _hasZeroKey = false;
+      _zeroKeyValue = 0L;
+      _size = 0;
+    }
+
+  }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.io.File;
+
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Creates {@link MappedFileBinaryDataStore} instances, each in its own folder beneath a base directory.
+ */
+public class MappedFileBinaryDataStoreFactory implements BinaryDataStoreFactory {
+
+  private final File _baseDirectory;
+  private int _segmentSize = MappedFileBinaryDataStore.DEFAULT_SEGMENT_SIZE;
+
+  public MappedFileBinaryDataStoreFactory(final File baseDirectory) {
+    ArgumentChecker.notNull(baseDirectory, "baseDirectory");
+    _baseDirectory = baseDirectory;
+  }
+
+  public MappedFileBinaryDataStoreFactory(final String baseDirectory) {
+    this(new File(baseDirectory));
+  }
+
+  public File getBaseDirectory() {
+    return _baseDirectory;
+  }
+
+  public void setSegmentSize(final int segmentSize) {
+    ArgumentChecker.notNegativeOrZero(segmentSize, "segmentSize");
+    _segmentSize = segmentSize;
+  }
+
+  public int getSegmentSize() {
+    return _segmentSize;
+  }
+
+  @Override
+  public BinaryDataStore createDataStore(ViewComputationCacheKey cacheKey) {
+    final String name = (cacheKey.getViewCycleId() + "-" + cacheKey.getCalculationConfigurationName()).replaceAll("[^A-Za-z0-9\\-_\\.]", "_");
+    return new MappedFileBinaryDataStore(new File(getBaseDirectory(), name), getSegmentSize());
+  }
+
+}
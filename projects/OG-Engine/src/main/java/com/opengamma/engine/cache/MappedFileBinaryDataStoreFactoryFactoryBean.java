@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import java.io.File;
+
+import com.opengamma.util.SingletonFactoryBean;
+
+/**
+ * Creates a {@link MappedFileBinaryDataStoreFactory} writing its segment files beneath a folder of the temporary directory by default.
+ */
+public class MappedFileBinaryDataStoreFactoryFactoryBean extends SingletonFactoryBean<MappedFileBinaryDataStoreFactory> {
+
+  private static final String DEFAULT_DATASTORE_FOLDER = "MappedFileBinaryDataStore";
+
+  private String _dataStoreBaseFolder;
+  private String _dataStoreFolder;
+  private int _segmentSize = MappedFileBinaryDataStore.DEFAULT_SEGMENT_SIZE;
+
+  public MappedFileBinaryDataStoreFactoryFactoryBean() {
+    final String temp = System.getProperty("java.io.tmpdir");
+    setDataStoreBaseFolder(temp);
+    setDataStoreFolder(DEFAULT_DATASTORE_FOLDER);
+  }
+
+  public void setDataStoreBaseFolder(final String dataStoreBaseFolder) {
+    _dataStoreBaseFolder = dataStoreBaseFolder;
+  }
+
+  public String getDataStoreBaseFolder() {
+    return _dataStoreBaseFolder;
+  }
+
+  public void setDataStoreFolder(final String dataStoreFolder) {
+    _dataStoreFolder = dataStoreFolder;
+  }
+
+  public String getDataStoreFolder() {
+    return _dataStoreFolder;
+  }
+
+  public void setSegmentSize(final int segmentSize) {
+    _segmentSize = segmentSize;
+  }
+
+  public int getSegmentSize() {
+    return _segmentSize;
+  }
+
+  @Override
+  protected MappedFileBinaryDataStoreFactory createObject() {
+    final MappedFileBinaryDataStoreFactory factory = new MappedFileBinaryDataStoreFactory(new File(new File(getDataStoreBaseFolder()), getDataStoreFolder()));
+    factory.setSegmentSize(getSegmentSize());
+    return factory;
+  }
+
+}
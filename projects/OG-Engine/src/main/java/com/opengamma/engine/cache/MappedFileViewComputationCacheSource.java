@@ -0,0 +1,23 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import org.fudgemsg.FudgeContext;
+
+/**
+ * An implementation of {@link ViewComputationCacheSource} which will use an injected {@link IdentifierMap} and
+ * construct {@link DefaultViewComputationCache} instances backed by {@link MappedFileBinaryDataStore}s on demand.
+ * <p>
+ * This is an alternative to {@link BerkeleyDBViewComputationCacheSource} for the shared cache, allowing concurrent
+ * reads from the calculation nodes rather than serializing them through a single database worker.
+ */
+public class MappedFileViewComputationCacheSource extends DefaultViewComputationCacheSource {
+
+  public MappedFileViewComputationCacheSource(final IdentifierMap identifierMap, final MappedFileBinaryDataStoreFactory dataStoreFactory, final FudgeContext fudgeContext) {
+    super(identifierMap, fudgeContext, new DefaultFudgeMessageStoreFactory(dataStoreFactory, fudgeContext));
+  }
+
+}
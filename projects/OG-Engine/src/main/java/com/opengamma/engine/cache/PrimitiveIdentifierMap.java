@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.opengamma.engine.MemoryUtils;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * An implementation of {@link IdentifierMap} which is backed by primitive, open-addressed, hash tables. Unlike
+ * {@link InMemoryIdentifierMap} no boxed {@link Long} or map entry objects are held for each allocated identifier
+ * so the memory footprint is substantially smaller for large views. The specifications held are interned through
+ * {@link MemoryUtils} so that the instances are shared with the rest of the engine.
+ * <p>
+ * The map is internally synchronized; lookups of existing identifiers or specifications only need a shared lock
+ * so may proceed concurrently. The batch operations take the lock once for the whole batch rather than once for
+ * each element. This has no facilities for persistence.
+ */
+public class PrimitiveIdentifierMap extends AbstractIdentifierMap implements IdentifierMap {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 1024;
+
+  private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+
+  private final Object2LongOpenHashMap<ValueSpecification> _identifiers;
+  private final Long2ObjectOpenHashMap<ValueSpecification> _specifications;
+
+  private long _nextIdentifier = 1L;
+
+  public PrimitiveIdentifierMap() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * Creates a new identifier map, sizing the tables for the expected number of value specifications.
+   *
+   * @param expectedSize the expected number of value specifications, used to avoid rehashing while the map is populated
+   */
+  public PrimitiveIdentifierMap(final int expectedSize) {
+    ArgumentChecker.notNegative(expectedSize, "expectedSize");
+    _identifiers = new Object2LongOpenHashMap<ValueSpecification>(expectedSize);
+    // Zero is never allocated as an identifier so can be used to mark absence
+    _identifiers.defaultReturnValue(0L);
+    _specifications = new Long2ObjectOpenHashMap<ValueSpecification>(expectedSize);
+  }
+
+  /**
+   * Returns the number of identifiers allocated.
+   *
+   * @return the number of identifiers allocated
+   */
+  public int size() {
+    final Lock lock = _lock.readLock();
+    lock.lock();
+    try {
+      return _identifiers.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Allocates a new identifier for the specification, or returns the existing one if another thread has got there first.
+   * The caller must hold the write lock.
+   *
+   * @param spec the specification to allocate an identifier for, not null
+   * @return the identifier
+   */
+  private long allocateIdentifier(final ValueSpecification spec) {
+    long identifier = _identifiers.getLong(spec);
+    if (identifier == 0L) {
+      final ValueSpecification instance = MemoryUtils.instance(spec);
+      identifier = _nextIdentifier++;
+      _identifiers.put(instance, identifier);
+      _specifications.put(identifier, instance);
+    }
+    return identifier;
+  }
+
+  @Override
+  public long getIdentifier(final ValueSpecification spec) {
+    ArgumentChecker.notNull(spec, "Value specification");
+    Lock lock = _lock.readLock();
+    lock.lock();
+    try {
+      final long identifier = _identifiers.getLong(spec);
+      if (identifier != 0L) {
+        return identifier;
+      }
+    } finally {
+      lock.unlock();
+    }
+    lock = _lock.writeLock();
+    lock.lock();
+    try {
+      return allocateIdentifier(spec);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Object2LongMap<ValueSpecification> getIdentifiers(final Collection<ValueSpecification> specs) {
+    final Object2LongMap<ValueSpecification> result = new Object2LongOpenHashMap<ValueSpecification>(specs.size());
+    List<ValueSpecification> misses = null;
+    Lock lock = _lock.readLock();
+    lock.lock();
+    try {
+      for (ValueSpecification spec : specs) {
+        final long identifier = _identifiers.getLong(spec);
+        if (identifier != 0L) {
+          result.put(spec, identifier);
+        } else {
+          if (misses == null) {
+            misses = new ArrayList<ValueSpecification>(specs.size() - result.size());
+          }
+          misses.add(spec);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (misses != null) {
+      lock = _lock.writeLock();
+      lock.lock();
+      try {
+        for (ValueSpecification spec : misses) {
+          result.put(spec, allocateIdentifier(spec));
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public ValueSpecification getValueSpecification(final long identifier) {
+    final Lock lock = _lock.readLock();
+    lock.lock();
+    try {
+      return _specifications.get(identifier);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Long2ObjectMap<ValueSpecification> getValueSpecifications(final LongCollection identifiers) {
+    final Long2ObjectMap<ValueSpecification> result = new Long2ObjectOpenHashMap<ValueSpecification>(identifiers.size());
+    final Lock lock = _lock.readLock();
+    lock.lock();
+    try {
+      final LongIterator itr = identifiers.iterator();
+      while (itr.hasNext()) {
+        final long identifier = itr.nextLong();
+        result.put(identifier, _specifications.get(identifier));
+      }
+    } finally {
+      lock.unlock();
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fudgemsg.FudgeField;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.mapping.FudgeDeserializer;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.CacheSelectHint;
+import com.opengamma.engine.fudgemsg.CacheSelectHintFudgeBuilder;
+import com.opengamma.engine.fudgemsg.CalculationJobSpecificationFudgeBuilder;
+import com.opengamma.engine.fudgemsg.ComputationTargetReferenceFudgeBuilder;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.FunctionParameters;
+import com.opengamma.engine.view.ExecutionLogMode;
+import com.opengamma.id.VersionCorrection;
+
+/**
+ * Decodes calculation jobs written by a {@link CompactJobEncoder}.
+ * <p>
+ * The dictionary state is shared by all jobs received on a connection so messages must be decoded in the order they were received. The state must be
+ * {@link #reset} whenever the encoder is replaced, for example when the connection is re-established.
+ * <p>
+ * If a message fails to decode the dictionaries are discarded and all further messages are rejected until one arrives that tells the decoder to reset.
+ * The caller must ask the encoder to reset when this happens, for example by setting {@link com.opengamma.engine.calcnode.msg.Failure#setResetCompactJobs}
+ * on the failure reported for the job.
+ */
+/* package */class CompactJobDecoder {
+
+  private static final ExecutionLogMode[] LOG_MODES = ExecutionLogMode.values();
+
+  private final List<ComputationTargetSpecification> _targets = new ArrayList<ComputationTargetSpecification>();
+  private final List<String> _functions = new ArrayList<String>();
+  private final List<FunctionParameters> _parameters = new ArrayList<FunctionParameters>();
+  private boolean _awaitingReset;
+
+  /**
+   * Reads variable length integers from a byte array.
+   */
+  private static final class Reader {
+
+    private final byte[] _data;
+    private int _position;
+
+    public Reader(final byte[] data) {
+      _data = data;
+    }
+
+    public long readVarLong() {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = _data[_position++];
+        value |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+
+    public int readVarInt() {
+      return (int) readVarLong();
+    }
+
+  }
+
+  private static long unZigZag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static long readIdentifiers(final Reader reader, final long[] identifiers, long previous) {
+    for (int i = 0; i < identifiers.length; i++) {
+      previous += unZigZag(reader.readVarLong());
+      identifiers[i] = previous;
+    }
+    return previous;
+  }
+
+  private int dictionarySize() {
+    return _targets.size() + _functions.size() + _parameters.size();
+  }
+
+  /**
+   * Discards the dictionary state.
+   */
+  public synchronized void reset() {
+    _targets.clear();
+    _functions.clear();
+    _parameters.clear();
+    _awaitingReset = false;
+  }
+
+  /**
+   * Tests whether a previous message failed to decode and the decoder is waiting for the encoder to reset.
+   *
+   * @return true if messages will be rejected until the encoder resets, false otherwise
+   */
+  public synchronized boolean isAwaitingReset() {
+    return _awaitingReset;
+  }
+
+  /**
+   * Decodes just the job specification from an encoded job. This does not change the dictionary state so can be used to report a job that failed to decode.
+   *
+   * @param msg the encoded job, not null
+   * @return the job specification, not null
+   */
+  public static CalculationJobSpecification decodeSpecification(final FudgeMsg msg) {
+    return CalculationJobSpecificationFudgeBuilder.buildObjectImpl(msg);
+  }
+
+  /**
+   * Decodes a job.
+   *
+   * @param deserializer the deserializer to use, not null
+   * @param msg the encoded job, not null
+   * @return the decoded job, with identifiers that have not been resolved, not null
+   * @throws OpenGammaRuntimeException if the dictionary state is not consistent with the encoder's, or the decoder is waiting for the encoder to reset
+   */
+  public synchronized CalculationJob decode(final FudgeDeserializer deserializer, final FudgeMsg msg) {
+    if (msg.hasField(CompactJobEncoder.RESET_FIELD_NAME)) {
+      reset();
+    } else if (_awaitingReset) {
+      throw new OpenGammaRuntimeException("Dictionary for " + decodeSpecification(msg) + " discarded after an earlier failure, waiting for encoder to reset");
+    }
+    try {
+      return decodeImpl(deserializer, msg);
+    } catch (RuntimeException e) {
+      // The dictionaries may have been partially updated so can't be trusted for any later message
+      reset();
+      _awaitingReset = true;
+      throw e;
+    }
+  }
+
+  private CalculationJob decodeImpl(final FudgeDeserializer deserializer, final FudgeMsg msg) {
+    final CalculationJobSpecification jobSpec = CalculationJobSpecificationFudgeBuilder.buildObjectImpl(msg);
+    final CacheSelectHint cacheSelectHint = CacheSelectHintFudgeBuilder.buildObjectImpl(msg);
+    final int dictionarySize = msg.getInt(CompactJobEncoder.DICTIONARY_FIELD_NAME);
+    if (dictionarySize != dictionarySize()) {
+      throw new OpenGammaRuntimeException("Dictionary for " + jobSpec + " has " + dictionarySize() + " entries, expected " + dictionarySize);
+    }
+    for (FudgeField field : msg.getAllByName(CompactJobEncoder.TARGET_FIELD_NAME)) {
+      _targets.add(ComputationTargetReferenceFudgeBuilder.buildObjectImpl(deserializer, (FudgeMsg) field.getValue()).getSpecification());
+    }
+    for (FudgeField field : msg.getAllByName(CompactJobEncoder.FUNCTION_FIELD_NAME)) {
+      _functions.add((String) field.getValue());
+    }
+    for (FudgeField field : msg.getAllByName(CompactJobEncoder.PARAMETERS_FIELD_NAME)) {
+      _parameters.add(deserializer.fieldValueToObject(FunctionParameters.class, field));
+    }
+    final long[] requiredJobIds = msg.getValue(long[].class, CompactJobEncoder.REQUIRED_FIELD_NAME);
+    final long functionInitializationIdentifier = msg.getLong(CompactJobEncoder.FUNCTION_INITIALIZATION_IDENTIFIER_FIELD_NAME);
+    final VersionCorrection resolverVersionCorrection = deserializer.fieldValueToObject(VersionCorrection.class,
+        msg.getByName(CompactJobEncoder.RESOLVER_VERSION_CORRECTION_FIELD_NAME));
+    final Reader reader = new Reader(msg.getValue(byte[].class, CompactJobEncoder.ITEMS_FIELD_NAME));
+    final int itemCount = reader.readVarInt();
+    final List<CalculationJobItem> items = new ArrayList<CalculationJobItem>(itemCount);
+    long previous = 0;
+    for (int i = 0; i < itemCount; i++) {
+      final ComputationTargetSpecification target = _targets.get(reader.readVarInt());
+      final String function = _functions.get(reader.readVarInt());
+      final int parametersIndex = reader.readVarInt();
+      final FunctionParameters parameters = (parametersIndex == 0) ? EmptyFunctionParameters.INSTANCE : _parameters.get(parametersIndex - 1);
+      final ExecutionLogMode logMode = LOG_MODES[reader.readVarInt()];
+      final long[] inputs = new long[reader.readVarInt()];
+      previous = readIdentifiers(reader, inputs, previous);
+      final long[] outputs = new long[reader.readVarInt()];
+      previous = readIdentifiers(reader, outputs, previous);
+      items.add(new CalculationJobItem(function, parameters, target, inputs, outputs, logMode));
+    }
+    return new CalculationJob(jobSpec, functionInitializationIdentifier, resolverVersionCorrection, requiredJobIds, items, cacheSelectHint);
+  }
+
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.mapping.FudgeSerializer;
+
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.fudgemsg.CacheSelectHintFudgeBuilder;
+import com.opengamma.engine.fudgemsg.CalculationJobSpecificationFudgeBuilder;
+import com.opengamma.engine.fudgemsg.ComputationTargetReferenceFudgeBuilder;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.FunctionParameters;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Encodes calculation jobs into a compact form for sending to a remote calculation node. The receiving end must use a {@link CompactJobDecoder}.
+ * <p>
+ * Target specifications, function identifiers and function parameters are dictionary encoded; each is sent in full the first time it is used on the connection
+ * and subsequently referred to by its index. The job items are then written as a single byte array of variable length integers, with the input and output value
+ * specifications written as deltas between successive identifiers allocated from the shared {@link com.opengamma.engine.cache.IdentifierMap}. Jobs must have
+ * had their identifiers converted before they are encoded.
+ * <p>
+ * The dictionary state is shared by all jobs sent on a connection, so messages must be sent in the same order that they are encoded. If a message fails to
+ * encode or send, or the decoder reports that it failed to decode one, {@link #reset} must be called so that the decoder can be told to discard its
+ * dictionaries along with the next message. The dictionaries are also reset when they reach a maximum size, so that the memory held at each end of a long
+ * lived connection is bounded.
+ *
+ * <pre>
+ * message CompactCalculationJob extends CalculationJobSpecification, CacheSelect {
+ *   optional boolean reset;                                // decoder must discard its dictionaries before processing this message
+ *   required int dictionary;                               // dictionary size before any additions, to detect a decoder that is out of step
+ *   optional repeated ComputationTargetSpecification target; // additions to the target dictionary
+ *   optional repeated string function;                     // additions to the function identifier dictionary
+ *   optional repeated FunctionParameters parameters;       // additions to the function parameter dictionary
+ *   optional long[] required;                              // pre-requisite job identifiers
+ *   required long functionInitId;                          // function initialization latch flag
+ *   required VersionCorrection versionCorrection;          // resolver version/correction timestamps
+ *   required byte[] items;                                 // encoded job items
+ * }
+ * </pre>
+ */
+/* package */class CompactJobEncoder {
+
+  /* package */static final String RESET_FIELD_NAME = "reset";
+  /* package */static final String DICTIONARY_FIELD_NAME = "dictionary";
+  /* package */static final String TARGET_FIELD_NAME = "target";
+  /* package */static final String FUNCTION_FIELD_NAME = "function";
+  /* package */static final String PARAMETERS_FIELD_NAME = "parameters";
+  /* package */static final String REQUIRED_FIELD_NAME = "required";
+  /* package */static final String FUNCTION_INITIALIZATION_IDENTIFIER_FIELD_NAME = "functionInitId";
+  /* package */static final String RESOLVER_VERSION_CORRECTION_FIELD_NAME = "versionCorrection";
+  /* package */static final String ITEMS_FIELD_NAME = "items";
+
+  /**
+   * The default maximum number of dictionary entries before the dictionaries are reset.
+   */
+  public static final int DEFAULT_MAX_DICTIONARY_SIZE = 65536;
+
+  private final int _maxDictionarySize;
+
+  private final Map<ComputationTargetSpecification, Integer> _targets = new HashMap<ComputationTargetSpecification, Integer>();
+  private final Map<String, Integer> _functions = new HashMap<String, Integer>();
+  private final Map<FunctionParameters, Integer> _parameters = new HashMap<FunctionParameters, Integer>();
+  private boolean _reset;
+
+  public CompactJobEncoder() {
+    this(DEFAULT_MAX_DICTIONARY_SIZE);
+  }
+
+  /**
+   * Creates an encoder.
+   *
+   * @param maxDictionarySize the number of dictionary entries at which the dictionaries are reset before encoding the next job
+   */
+  public CompactJobEncoder(final int maxDictionarySize) {
+    ArgumentChecker.isTrue(maxDictionarySize > 0, "maxDictionarySize");
+    _maxDictionarySize = maxDictionarySize;
+  }
+
+  /**
+   * Growable buffer of variable length integers.
+   */
+  private static final class Buffer {
+
+    private byte[] _data;
+    private int _length;
+
+    public Buffer(final int capacity) {
+      _data = new byte[capacity];
+    }
+
+    public void writeVarLong(long value) {
+      if (_length + 10 > _data.length) {
+        _data = Arrays.copyOf(_data, Math.max(_data.length << 1, _length + 10));
+      }
+      while ((value & ~0x7FL) != 0) {
+        _data[_length++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      _data[_length++] = (byte) value;
+    }
+
+    public void writeVarInt(final int value) {
+      writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public byte[] toByteArray() {
+      return Arrays.copyOf(_data, _length);
+    }
+
+  }
+
+  private static long zigZag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long writeIdentifiers(final Buffer buffer, final long[] identifiers, long previous) {
+    buffer.writeVarInt(identifiers.length);
+    for (long identifier : identifiers) {
+      buffer.writeVarLong(zigZag(identifier - previous));
+      previous = identifier;
+    }
+    return previous;
+  }
+
+  private int dictionarySize() {
+    return _targets.size() + _functions.size() + _parameters.size();
+  }
+
+  /**
+   * Discards the dictionary state. The next message encoded will instruct the decoder to do the same.
+   */
+  public synchronized void reset() {
+    _targets.clear();
+    _functions.clear();
+    _parameters.clear();
+    _reset = true;
+  }
+
+  /**
+   * Encodes a job. The job's identifiers must already have been converted.
+   *
+   * @param serializer the serializer to use, not null
+   * @param job the job to encode, not null
+   * @return the encoded job, not null
+   */
+  public synchronized MutableFudgeMsg encode(final FudgeSerializer serializer, final CalculationJob job) {
+    final MutableFudgeMsg msg = serializer.newMessage();
+    CalculationJobSpecificationFudgeBuilder.buildMessageImpl(msg, job.getSpecification());
+    CacheSelectHintFudgeBuilder.buildMessageImpl(msg, job.getCacheSelectHint());
+    if (dictionarySize() >= _maxDictionarySize) {
+      reset();
+    }
+    if (_reset) {
+      msg.add(RESET_FIELD_NAME, Boolean.TRUE);
+      _reset = false;
+    }
+    final int dictionarySize = dictionarySize();
+    final List<CalculationJobItem> items = job.getJobItems();
+    final Buffer buffer = new Buffer(items.size() * 16 + 8);
+    buffer.writeVarInt(items.size());
+    List<ComputationTargetSpecification> newTargets = null;
+    List<String> newFunctions = null;
+    List<FunctionParameters> newParameters = null;
+    long previous = 0;
+    for (CalculationJobItem item : items) {
+      Integer index = _targets.get(item.getComputationTargetSpecification());
+      if (index == null) {
+        index = _targets.size();
+        _targets.put(item.getComputationTargetSpecification(), index);
+        if (newTargets == null) {
+          newTargets = new ArrayList<ComputationTargetSpecification>();
+        }
+        newTargets.add(item.getComputationTargetSpecification());
+      }
+      buffer.writeVarInt(index);
+      index = _functions.get(item.getFunctionUniqueIdentifier());
+      if (index == null) {
+        index = _functions.size();
+        _functions.put(item.getFunctionUniqueIdentifier(), index);
+        if (newFunctions == null) {
+          newFunctions = new ArrayList<String>();
+        }
+        newFunctions.add(item.getFunctionUniqueIdentifier());
+      }
+      buffer.writeVarInt(index);
+      if (item.getFunctionParameters() instanceof EmptyFunctionParameters) {
+        buffer.writeVarInt(0);
+      } else {
+        index = _parameters.get(item.getFunctionParameters());
+        if (index == null) {
+          index = _parameters.size();
+          _parameters.put(item.getFunctionParameters(), index);
+          if (newParameters == null) {
+            newParameters = new ArrayList<FunctionParameters>();
+          }
+          newParameters.add(item.getFunctionParameters());
+        }
+        // Zero is reserved for the empty parameters
+        buffer.writeVarInt(index + 1);
+      }
+      buffer.writeVarInt(item.getLogMode().ordinal());
+      previous = writeIdentifiers(buffer, item.getInputIdentifiers(), previous);
+      previous = writeIdentifiers(buffer, item.getOutputIdentifiers(), previous);
+    }
+    msg.add(DICTIONARY_FIELD_NAME, dictionarySize);
+    if (newTargets != null) {
+      for (ComputationTargetSpecification target : newTargets) {
+        final MutableFudgeMsg targetMsg = serializer.newMessage();
+        ComputationTargetReferenceFudgeBuilder.buildMessageImpl(serializer, targetMsg, target);
+        msg.add(TARGET_FIELD_NAME, targetMsg);
+      }
+    }
+    if (newFunctions != null) {
+      for (String function : newFunctions) {
+        msg.add(FUNCTION_FIELD_NAME, function);
+      }
+    }
+    if (newParameters != null) {
+      for (FunctionParameters parameters : newParameters) {
+        serializer.addToMessageWithClassHeaders(msg, PARAMETERS_FIELD_NAME, null, parameters, FunctionParameters.class);
+      }
+    }
+    if (job.getRequiredJobIds() != null) {
+      msg.add(REQUIRED_FIELD_NAME, job.getRequiredJobIds());
+    }
+    msg.add(FUNCTION_INITIALIZATION_IDENTIFIER_FIELD_NAME, job.getFunctionInitializationIdentifier());
+    serializer.addToMessage(msg, RESOLVER_VERSION_CORRECTION_FIELD_NAME, null, job.getResolverVersionCorrection());
+    msg.add(ITEMS_FIELD_NAME, buffer.toByteArray());
+    return msg;
+  }
+
+}
@@ -21,6 +21,7 @@ import org.springframework.context.Lifecycle;
 import com.opengamma.engine.cache.AbstractIdentifierMap;
 import com.opengamma.engine.cache.IdentifierMap;
 import com.opengamma.engine.calcnode.msg.Cancel;
+import com.opengamma.engine.calcnode.msg.CompactExecute;
 import com.opengamma.engine.calcnode.msg.Execute;
 import com.opengamma.engine.calcnode.msg.Failure;
 import com.opengamma.engine.calcnode.msg.Init;
@@ -50,6 +51,7 @@ public class RemoteNodeClient extends SimpleCalculationNodeInvocationContainer i
   private final CompiledFunctionService _functionCompilationService;
   private final IdentifierMap _identifierMap;
   private final FunctionInvocationStatisticsSender _statistics;
+  private final CompactJobDecoder _compactJobDecoder = new CompactJobDecoder();
   private boolean _started;
   private String _hostId;
   private final RemoteCalcNodeMessageVisitor _messageVisitor = new RemoteCalcNodeMessageVisitor() {
@@ -66,9 +68,28 @@ public class RemoteNodeClient extends SimpleCalculationNodeInvocationContainer i
       }
     }
 
+    @Override
+    protected void visitCompactExecuteMessage(final CompactExecute message) {
+      final CalculationJob job;
+      try {
+        job = _compactJobDecoder.decode(new FudgeDeserializer(getConnection().getFudgeMessageSender().getFudgeContext()), message.getJob());
+      } catch (RuntimeException e) {
+        s_logger.error("Couldn't decode job", e);
+        final Failure failure = new Failure(CompactJobDecoder.decodeSpecification(message.getJob()), e.getMessage(), getHostId());
+        // The decoder has discarded its dictionaries so the server's encoder must start again
+        failure.setResetCompactJobs(Boolean.TRUE);
+        sendMessage(failure);
+        return;
+      }
+      execute(job);
+    }
+
     @Override
     protected void visitExecuteMessage(final Execute message) {
-      final CalculationJob job = message.getJob();
+      execute(message.getJob());
+    }
+
+    private void execute(final CalculationJob job) {
       VersionCorrectionUtils.lockForLifetime(job.getResolverVersionCorrection(), job);
       getFunctionCompilationService().reinitializeIfNeeded(job.getFunctionInitializationIdentifier());
       AbstractIdentifierMap.resolveIdentifiers(getIdentifierMap(), job);
@@ -92,6 +113,8 @@ public class RemoteNodeClient extends SimpleCalculationNodeInvocationContainer i
     @Override
     protected void visitInitMessage(final Init message) {
       // Note that this may be called multiple times, e.g. after a reconnect.
+      // The server has a new job encoder for each connection so any existing dictionary state is no longer valid.
+      _compactJobDecoder.reset();
       getFunctionCompilationService().initialize(message.getFunctionInitId());
     }
 
@@ -180,7 +203,7 @@ public class RemoteNodeClient extends SimpleCalculationNodeInvocationContainer i
   }
 
   protected void sendCapabilities() {
-    final Ready ready = new Ready(getTotalNodeCount(), getHostId());
+    final Ready ready = new Ready(getTotalNodeCount(), getHostId(), Boolean.TRUE);
     // TODO any other capabilities to add
     sendMessage(ready);
   }
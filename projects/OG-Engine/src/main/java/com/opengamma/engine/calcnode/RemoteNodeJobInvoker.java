@@ -29,6 +29,7 @@ import com.opengamma.OpenGammaRuntimeException;
 import com.opengamma.engine.cache.AbstractIdentifierMap;
 import com.opengamma.engine.cache.IdentifierMap;
 import com.opengamma.engine.calcnode.msg.Cancel;
+import com.opengamma.engine.calcnode.msg.CompactExecute;
 import com.opengamma.engine.calcnode.msg.Execute;
 import com.opengamma.engine.calcnode.msg.Failure;
 import com.opengamma.engine.calcnode.msg.Invocations;
@@ -99,6 +100,10 @@ import com.opengamma.transport.FudgeMessageSender;
   private final FunctionBlacklistQuery _blacklistQuery;
   private final FunctionBlacklistMaintainer _blacklistUpdate;
   private volatile String _invokerId;
+  /**
+   * The encoder for jobs if the remote node accepts compact jobs, null otherwise.
+   */
+  private final CompactJobEncoder _compactJobEncoder;
   private final RemoteCalcNodeMessageVisitor _messageVisitor = new RemoteCalcNodeMessageVisitor() {
 
     @Override
@@ -112,6 +117,9 @@ import com.opengamma.transport.FudgeMessageSender;
       if (message.getReady() != null) {
         message.getReady().accept(this);
       }
+      if (Boolean.TRUE.equals(message.getResetCompactJobs())) {
+        resetCompactJobEncoder();
+      }
       // We decrement the count (and re-register) before processing the data as the remote node is already available if it's sent us its data.
       final JobInfo job = getPendingJobs().remove(message.getJob());
       if (job == null) {
@@ -191,6 +199,25 @@ import com.opengamma.transport.FudgeMessageSender;
       final ExecutorService executorService, final Ready initialMessage, final FudgeConnection fudgeConnection,
       final IdentifierMap identifierMap, final FunctionCosts functionCosts, final FunctionBlacklistQuery blacklistQuery,
       final FunctionBlacklistMaintainer blacklistUpdate) {
+    this(executorService, initialMessage, fudgeConnection, identifierMap, functionCosts, blacklistQuery, blacklistUpdate, true);
+  }
+
+  /**
+   * Creates a new invoker.
+   * 
+   * @param executorService the executor for sending jobs, not null
+   * @param initialMessage the message received when the remote node connected, not null
+   * @param fudgeConnection the connection to the remote node, not null
+   * @param identifierMap the identifier map shared with the remote node, not null
+   * @param functionCosts the function cost statistics to update, not null
+   * @param blacklistQuery the blacklist to apply to jobs, not null
+   * @param blacklistUpdate the blacklist to update with failures, not null
+   * @param allowCompactJobs true to send jobs in the compact form if the remote node supports it, false to always use the full form
+   */
+  public RemoteNodeJobInvoker(
+      final ExecutorService executorService, final Ready initialMessage, final FudgeConnection fudgeConnection,
+      final IdentifierMap identifierMap, final FunctionCosts functionCosts, final FunctionBlacklistQuery blacklistQuery,
+      final FunctionBlacklistMaintainer blacklistUpdate, final boolean allowCompactJobs) {
     _executorService = executorService;
     _fudgeMessageSender = fudgeConnection.getFudgeMessageSender();
     _identifierMap = identifierMap;
@@ -198,6 +225,11 @@ import com.opengamma.transport.FudgeMessageSender;
     _functionCosts = functionCosts;
     _blacklistQuery = blacklistQuery;
     _blacklistUpdate = blacklistUpdate;
+    if (allowCompactJobs && Boolean.TRUE.equals(initialMessage.getCompactJobs())) {
+      _compactJobEncoder = new CompactJobEncoder();
+    } else {
+      _compactJobEncoder = null;
+    }
     fudgeConnection.setFudgeMessageReceiver(this);
     fudgeConnection.setConnectionStateListener(this);
     initialMessage.accept(_messageVisitor);
@@ -250,6 +282,40 @@ import com.opengamma.transport.FudgeMessageSender;
     getFudgeMessageSender().send(FudgeSerializer.addClassHeader(serializer.objectToFudgeMsg(message), message.getClass(), RemoteCalcNodeMessage.class));
   }
 
+  /**
+   * Sends a job to the remote node, using the compact form if the node supports it. The job's identifiers must already have been converted.
+   * 
+   * @param job the job to send, not null
+   */
+  protected void sendJobMessage(final CalculationJob job) {
+    final CompactJobEncoder encoder = _compactJobEncoder;
+    if (encoder != null) {
+      final FudgeSerializer serializer = new FudgeSerializer(getFudgeMessageSender().getFudgeContext());
+      // Jobs must arrive in the order they were encoded for the dictionaries to match
+      synchronized (encoder) {
+        try {
+          sendMessage(new CompactExecute(encoder.encode(serializer, job)));
+        } catch (RuntimeException e) {
+          encoder.reset();
+          throw e;
+        }
+      }
+    } else {
+      sendMessage(new Execute(job));
+    }
+  }
+
+  /**
+   * Discards the compact job dictionaries after the remote node failed to decode a job. The next job sent will tell the node to start again.
+   */
+  /* package */void resetCompactJobEncoder() {
+    final CompactJobEncoder encoder = _compactJobEncoder;
+    if (encoder != null) {
+      s_logger.warn("Remote node failed to decode a job; resetting compact job dictionaries");
+      encoder.reset();
+    }
+  }
+
   private void jobFailed(final JobInvocationReceiver receiver, final CalculationJob job, final String nodeId, final Exception e) {
     receiver.jobFailed(this, nodeId, e);
     if (job.getTail() == null) {
@@ -316,7 +382,7 @@ import com.opengamma.transport.FudgeMessageSender;
       private void sendJob(final CalculationJob job) throws Exception {
         getPendingJobs().put(job.getSpecification(), new JobInfo(receiver, job));
         AbstractIdentifierMap.convertIdentifiers(getIdentifierMap(), job);
-        sendMessage(new Execute(blacklist(getBlacklistQuery(), job)));
+        sendJobMessage(blacklist(getBlacklistQuery(), job));
       }
 
       @Override
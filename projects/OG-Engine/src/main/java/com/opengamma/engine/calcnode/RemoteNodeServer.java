@@ -264,6 +264,7 @@ public class RemoteNodeServer implements FudgeConnectionReceiver {
   private Set<Capability> _capabilitiesToAdd;
   private FunctionBlacklistMaintainerProvider _blacklistUpdate;
   private FunctionBlacklistQueryProvider _blacklistQuery;
+  private boolean _compactJobs = true;
 
   public RemoteNodeServer(final JobInvokerRegister jobInvokerRegister, final IdentifierMap identifierMap,
       final FunctionCosts functionCosts, final FunctionCompilationContext functionCompilationContext) {
@@ -345,6 +346,26 @@ public class RemoteNodeServer implements FudgeConnectionReceiver {
     return new DummyFunctionBlacklistQuery();
   }
 
+  /**
+   * Returns whether jobs are sent to remote nodes that support it in the compact form.
+   * 
+   * @return true if compact jobs are sent, false if the full form is always used
+   */
+  public boolean isCompactJobs() {
+    return _compactJobs;
+  }
+
+  /**
+   * Sets whether jobs are sent to remote nodes that support it in the compact form. The compact form dictionary encodes the targets, functions and parameters
+   * of the job items for the lifetime of the connection and writes the value identifiers as packed deltas, substantially reducing the message size and the
+   * encoding cost for jobs with many items. Nodes which do not support it will always be sent jobs in the full form.
+   * 
+   * @param compactJobs true to send compact jobs, false to always use the full form
+   */
+  public void setCompactJobs(final boolean compactJobs) {
+    _compactJobs = compactJobs;
+  }
+
   protected JobInvokerRegister getJobInvokerRegister() {
     return _jobInvokerRegister;
   }
@@ -380,7 +401,7 @@ public class RemoteNodeServer implements FudgeConnectionReceiver {
       protected void visitReadyMessage(final Ready message) {
         s_logger.info("Remote node {} connected - {}", message.getHostId(), connection);
         final RemoteNodeJobInvoker invoker = new RemoteNodeJobInvoker(getExecutorService(), message, connection, getIdentifierMap(), getFunctionCosts(), getBlacklistQuery(message.getHostId()),
-            getBlacklistUpdate(message.getHostId()));
+            getBlacklistUpdate(message.getHostId()), isCompactJobs());
         if (_capabilitiesToAdd != null) {
           invoker.addCapabilities(_capabilitiesToAdd);
         }
@@ -0,0 +1,70 @@
+// Automatically created - do not modify
+///CLOVER:OFF - CSOFF
+package com.opengamma.engine.calcnode.msg;
+public class CompactExecute extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMessage implements java.io.Serializable {
+  public void accept (RemoteCalcNodeMessageVisitor visitor) { visitor.visitCompactExecuteMessage (this); }
+  private static final long serialVersionUID = -31538207474l;
+  private org.fudgemsg.FudgeMsg _job;
+  public static final String JOB_KEY = "job";
+  public CompactExecute (org.fudgemsg.FudgeMsg job) {
+    if (job == null) throw new NullPointerException ("job' cannot be null");
+    _job = job;
+  }
+  protected CompactExecute (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
+    super (deserializer, fudgeMsg);
+    org.fudgemsg.FudgeField fudgeField;
+    fudgeField = fudgeMsg.getByName (JOB_KEY);
+    if (fudgeField == null) throw new IllegalArgumentException ("Fudge message is not a CompactExecute - field 'job' is not present");
+    try {
+      _job = fudgeMsg.getFieldValue (org.fudgemsg.FudgeMsg.class, fudgeField);
+    }
+    catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException ("Fudge message is not a CompactExecute - field 'job' is not anonymous/unknown message", e);
+    }
+  }
+  protected CompactExecute (final CompactExecute source) {
+    super (source);
+    if (source == null) throw new NullPointerException ("'source' must not be null");
+    _job = source._job;
+  }
+  public CompactExecute clone () {
+    return new CompactExecute (this);
+  }
+  public org.fudgemsg.FudgeMsg toFudgeMsg (final org.fudgemsg.mapping.FudgeSerializer serializer) {
+    if (serializer == null) throw new NullPointerException ("serializer must not be null");
+    final org.fudgemsg.MutableFudgeMsg msg = serializer.newMessage ();
+    toFudgeMsg (serializer, msg);
+    return msg;
+  }
+  public void toFudgeMsg (final org.fudgemsg.mapping.FudgeSerializer serializer, final org.fudgemsg.MutableFudgeMsg msg) {
+    super.toFudgeMsg (serializer, msg);
+    if (_job != null)  {
+      msg.add (JOB_KEY, null, (_job instanceof org.fudgemsg.MutableFudgeMsg) ? serializer.newMessage (_job) : _job);
+    }
+  }
+  public static CompactExecute fromFudgeMsg (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
+    final java.util.List<org.fudgemsg.FudgeField> types = fudgeMsg.getAllByOrdinal (0);
+    for (org.fudgemsg.FudgeField field : types) {
+      final String className = (String)field.getValue ();
+      if ("com.opengamma.engine.calcnode.msg.CompactExecute".equals (className)) break;
+      try {
+        return (com.opengamma.engine.calcnode.msg.CompactExecute)Class.forName (className).getDeclaredMethod ("fromFudgeMsg", org.fudgemsg.mapping.FudgeDeserializer.class, org.fudgemsg.FudgeMsg.class).invoke (null, deserializer, fudgeMsg);
+      }
+      catch (Throwable t) {
+        // no-action
+      }
+    }
+    return new CompactExecute (deserializer, fudgeMsg);
+  }
+  public org.fudgemsg.FudgeMsg getJob () {
+    return _job;
+  }
+  public void setJob (org.fudgemsg.FudgeMsg job) {
+    if (job == null) throw new NullPointerException ("job' cannot be null");
+    _job = job;
+  }
+  public String toString () {
+    return org.apache.commons.lang.builder.ToStringBuilder.reflectionToString(this, org.apache.commons.lang.builder.ToStringStyle.SHORT_PREFIX_STYLE);
+  }
+}
+///CLOVER:ON - CSON
@@ -3,7 +3,7 @@
 package com.opengamma.engine.calcnode.msg;
 public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMessage implements java.io.Serializable {
   public void accept (RemoteCalcNodeMessageVisitor visitor) { visitor.visitFailureMessage (this); }
-  private static final long serialVersionUID = 626330341754401411l;
+  private static final long serialVersionUID = 626330341755035271l;
   private com.opengamma.engine.calcnode.CalculationJobSpecification _job;
   public static final String JOB_KEY = "job";
   private String _errorMessage;
@@ -12,6 +12,8 @@ public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMes
   public static final String COMPUTE_NODE_ID_KEY = "computeNodeId";
   private com.opengamma.engine.calcnode.msg.Ready _ready;
   public static final String READY_KEY = "ready";
+  private Boolean _resetCompactJobs;
+  public static final String RESET_COMPACT_JOBS_KEY = "resetCompactJobs";
   public Failure (com.opengamma.engine.calcnode.CalculationJobSpecification job, String errorMessage, String computeNodeId) {
     if (job == null) throw new NullPointerException ("'job' cannot be null");
     else {
@@ -60,8 +62,17 @@ public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMes
         throw new IllegalArgumentException ("Fudge message is not a Failure - field 'ready' is not Ready message", e);
       }
     }
+    fudgeField = fudgeMsg.getByName (RESET_COMPACT_JOBS_KEY);
+    if (fudgeField != null)  {
+      try {
+        setResetCompactJobs (fudgeMsg.getFieldValue (Boolean.class, fudgeField));
+      }
+      catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException ("Fudge message is not a Failure - field 'resetCompactJobs' is not boolean", e);
+      }
+    }
   }
-  public Failure (com.opengamma.engine.calcnode.CalculationJobSpecification job, String errorMessage, String computeNodeId, com.opengamma.engine.calcnode.msg.Ready ready) {
+  public Failure (com.opengamma.engine.calcnode.CalculationJobSpecification job, String errorMessage, String computeNodeId, com.opengamma.engine.calcnode.msg.Ready ready, Boolean resetCompactJobs) {
     if (job == null) throw new NullPointerException ("'job' cannot be null");
     else {
       _job = job;
@@ -74,6 +85,7 @@ public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMes
     else {
       _ready = (com.opengamma.engine.calcnode.msg.Ready)ready.clone ();
     }
+    _resetCompactJobs = resetCompactJobs;
   }
   protected Failure (final Failure source) {
     super (source);
@@ -88,6 +100,7 @@ public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMes
     else {
       _ready = (com.opengamma.engine.calcnode.msg.Ready)source._ready.clone ();
     }
+    _resetCompactJobs = source._resetCompactJobs;
   }
   public Failure clone () {
     return new Failure (this);
@@ -114,6 +127,9 @@ public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMes
       _ready.toFudgeMsg (serializer, fudge1);
       msg.add (READY_KEY, null, fudge1);
     }
+    if (_resetCompactJobs != null)  {
+      msg.add (RESET_COMPACT_JOBS_KEY, null, _resetCompactJobs);
+    }
   }
   public static Failure fromFudgeMsg (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
     final java.util.List<org.fudgemsg.FudgeField> types = fudgeMsg.getAllByOrdinal (0);
@@ -161,6 +177,12 @@ public class Failure extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMes
       _ready = (com.opengamma.engine.calcnode.msg.Ready)ready.clone ();
     }
   }
+  public Boolean getResetCompactJobs () {
+    return _resetCompactJobs;
+  }
+  public void setResetCompactJobs (Boolean resetCompactJobs) {
+    _resetCompactJobs = resetCompactJobs;
+  }
   public String toString () {
     return org.apache.commons.lang.builder.ToStringBuilder.reflectionToString(this, org.apache.commons.lang.builder.ToStringStyle.SHORT_PREFIX_STYLE);
   }
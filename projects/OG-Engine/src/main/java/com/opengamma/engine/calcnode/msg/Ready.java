@@ -3,11 +3,13 @@
 package com.opengamma.engine.calcnode.msg;
 public class Ready extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMessage implements java.io.Serializable {
   public void accept (RemoteCalcNodeMessageVisitor visitor) { visitor.visitReadyMessage (this); }
-  private static final long serialVersionUID = -2059821179804l;
+  private static final long serialVersionUID = -1982375603171l;
   private int _capacity;
   public static final String CAPACITY_KEY = "capacity";
   private String _hostId;
   public static final String HOST_ID_KEY = "hostId";
+  private Boolean _compactJobs;
+  public static final String COMPACT_JOBS_KEY = "compactJobs";
   public Ready (int capacity, String hostId) {
     _capacity = capacity;
     if (hostId == null) throw new NullPointerException ("hostId' cannot be null");
@@ -32,12 +34,28 @@ public class Ready extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMessa
     catch (IllegalArgumentException e) {
       throw new IllegalArgumentException ("Fudge message is not a Ready - field 'hostId' is not string", e);
     }
+    fudgeField = fudgeMsg.getByName (COMPACT_JOBS_KEY);
+    if (fudgeField != null)  {
+      try {
+        setCompactJobs (fudgeMsg.getFieldValue (Boolean.class, fudgeField));
+      }
+      catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException ("Fudge message is not a Ready - field 'compactJobs' is not boolean", e);
+      }
+    }
+  }
+  public Ready (int capacity, String hostId, Boolean compactJobs) {
+    _capacity = capacity;
+    if (hostId == null) throw new NullPointerException ("hostId' cannot be null");
+    _hostId = hostId;
+    _compactJobs = compactJobs;
   }
   protected Ready (final Ready source) {
     super (source);
     if (source == null) throw new NullPointerException ("'source' must not be null");
     _capacity = source._capacity;
     _hostId = source._hostId;
+    _compactJobs = source._compactJobs;
   }
   public Ready clone () {
     return new Ready (this);
@@ -54,6 +72,9 @@ public class Ready extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMessa
     if (_hostId != null)  {
       msg.add (HOST_ID_KEY, null, _hostId);
     }
+    if (_compactJobs != null)  {
+      msg.add (COMPACT_JOBS_KEY, null, _compactJobs);
+    }
   }
   public static Ready fromFudgeMsg (final org.fudgemsg.mapping.FudgeDeserializer deserializer, final org.fudgemsg.FudgeMsg fudgeMsg) {
     final java.util.List<org.fudgemsg.FudgeField> types = fudgeMsg.getAllByOrdinal (0);
@@ -82,6 +103,12 @@ public class Ready extends com.opengamma.engine.calcnode.msg.RemoteCalcNodeMessa
     if (hostId == null) throw new NullPointerException ("hostId' cannot be null");
     _hostId = hostId;
   }
+  public Boolean getCompactJobs () {
+    return _compactJobs;
+  }
+  public void setCompactJobs (Boolean compactJobs) {
+    _compactJobs = compactJobs;
+  }
   public String toString () {
     return org.apache.commons.lang.builder.ToStringBuilder.reflectionToString(this, org.apache.commons.lang.builder.ToStringStyle.SHORT_PREFIX_STYLE);
   }
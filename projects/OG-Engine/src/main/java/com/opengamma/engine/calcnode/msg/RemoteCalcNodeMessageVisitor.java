@@ -17,6 +17,10 @@ public abstract class RemoteCalcNodeMessageVisitor {
     visitUnexpectedMessage(message);
   }
 
+  protected void visitCompactExecuteMessage(CompactExecute message) {
+    visitUnexpectedMessage(message);
+  }
+
   protected void visitExecuteMessage(Execute message) {
     visitUnexpectedMessage(message);
   }
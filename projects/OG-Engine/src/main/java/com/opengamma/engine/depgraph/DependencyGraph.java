@@ -66,6 +66,11 @@ public class DependencyGraph {
 
   private final Set<ComputationTargetSpecification> _allComputationTargets = new HashSet<>();
 
+  /**
+   * The number of changes made to the graph, used to detect when information derived from the graph is out of date.
+   */
+  private int _modificationCount;
+
   /**
    * Creates a new, initially empty, dependency graph for the named configuration.
    * 
@@ -196,6 +201,16 @@ public class DependencyGraph {
     return _dependencyNodes.size();
   }
 
+  /**
+   * Returns the number of changes made to the graph through its methods. Anything derived from the structure of the graph
+   * can compare this with the value at the time it was derived to tell whether the graph has changed since.
+   * 
+   * @return the modification count
+   */
+  public int getModificationCount() {
+    return _modificationCount;
+  }
+
   /**
    * Returns the set of market data required for successful execution of the graph. These correspond to the leaf nodes of the graph and can be queried from a market data provider.
    * 
@@ -225,6 +240,7 @@ public class DependencyGraph {
     if (!_dependencyNodes.add(node)) {
       throw new IllegalStateException("Node " + node + " already in the graph");
     }
+    _modificationCount++;
     node.gatherTerminalOutputValues(_terminalOutputs);
     final ValueSpecification marketData = node.getRequiredMarketData();
     if (marketData != null) {
@@ -264,6 +280,7 @@ public class DependencyGraph {
     if (!_dependencyNodes.remove(node)) {
       return;
     }
+    _modificationCount++;
     final ValueSpecification marketData = node.getRequiredMarketData();
     if (marketData != null) {
       _allRequiredMarketData.remove(marketData);
@@ -314,6 +331,7 @@ public class DependencyGraph {
     if (!_dependencyNodes.remove(node)) {
       throw new IllegalStateException("Node " + node + " is not in graph");
     }
+    _modificationCount++;
     final DependencyNode newNode = new DependencyNode(newTarget);
     newNode.setFunction(node.getFunction());
     node.replaceWithinGraph(newNode, this);
@@ -417,6 +435,7 @@ public class DependencyGraph {
    * @param specification the output specification to mark as terminal
    */
   public void addTerminalOutput(final ValueRequirement requirement, final ValueSpecification specification) {
+    _modificationCount++;
     getTerminalOutputValueRequirements(specification).add(requirement);
   }
 
@@ -428,6 +447,7 @@ public class DependencyGraph {
    * @param specifications the outputs to mark as terminals
    */
   public void addTerminalOutputs(final Map<ValueSpecification, Set<ValueRequirement>> specifications) {
+    _modificationCount++;
     for (Map.Entry<ValueSpecification, Set<ValueRequirement>> specification : specifications.entrySet()) {
       getTerminalOutputValueRequirements(specification.getKey()).addAll(specification.getValue());
     }
@@ -445,6 +465,7 @@ public class DependencyGraph {
     if (node == null) {
       throw new IllegalArgumentException("No node produces " + specification);
     }
+    _modificationCount++;
     node.removeTerminalOutputValue(specification);
     // Maintain the cache of all terminal outputs
     final Set<ValueRequirement> terminalRequirements = _terminalOutputs.get(specification);
@@ -472,6 +493,7 @@ public class DependencyGraph {
           continue;
         }
         if (!unnecessaryValues.isEmpty()) {
+          _modificationCount++;
           s_logger.info("{}: removed {} unnecessary potential result(s)", this, unnecessaryValues.size());
           for (final ValueSpecification unnecessaryValue : unnecessaryValues) {
             final DependencyNode removed = _outputValues.remove(unnecessaryValue);
@@ -488,6 +510,7 @@ public class DependencyGraph {
       if (unnecessaryNodes.isEmpty()) {
         return;
       }
+      _modificationCount++;
       s_logger.info("{}: removed {} unnecessary node(s)", this, unnecessaryNodes.size());
       _dependencyNodes.removeAll(unnecessaryNodes);
       _rootNodes.removeAll(unnecessaryNodes);
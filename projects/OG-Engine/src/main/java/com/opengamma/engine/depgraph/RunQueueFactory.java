@@ -111,4 +111,19 @@ public abstract class RunQueueFactory {
     };
   }
 
+  /**
+   * Creates queues with a deque for each graph building thread. Threads take from their own deque in LIFO order and steal from the other deques when they run out
+   * of work. This avoids contention on a single shared structure so can perform better than {@link #getConcurrentStack} when many threads are used.
+   * 
+   * @return the factory instance
+   */
+  public static RunQueueFactory getWorkStealing() {
+    return new RunQueueFactory() {
+      @Override
+      protected RunQueue createRunQueue() {
+        return new WorkStealingRunQueue();
+      }
+    };
+  }
+
 }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.depgraph;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Iterators;
+
+/**
+ * Run queue implementation based on per-thread deques with work stealing. Each thread adds and takes tasks at the tail of its own deque, giving LIFO ordering and no
+ * contention while it has work. A thread which has exhausted its own deque steals the oldest task from the head of another thread's deque. This scales better than
+ * the single shared queues when many threads are used for graph building.
+ */
+/* package */final class WorkStealingRunQueue implements RunQueue {
+
+  /**
+   * All deques that have been created, one per thread that has used the queue. The list is only written to when a new thread first uses the queue.
+   */
+  private final List<Deque<ContextRunnable>> _deques = new CopyOnWriteArrayList<Deque<ContextRunnable>>();
+
+  private final ThreadLocal<Deque<ContextRunnable>> _local = new ThreadLocal<Deque<ContextRunnable>>() {
+    @Override
+    protected Deque<ContextRunnable> initialValue() {
+      final Deque<ContextRunnable> deque = new ConcurrentLinkedDeque<ContextRunnable>();
+      _deques.add(deque);
+      return deque;
+    }
+  };
+
+  /**
+   * Rotating start point for steal attempts so that thieves don't all converge on the same victim.
+   */
+  private final AtomicInteger _nextVictim = new AtomicInteger();
+
+  @Override
+  public boolean isEmpty() {
+    for (Deque<ContextRunnable> deque : _deques) {
+      if (!deque.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Deque<ContextRunnable> deque : _deques) {
+      size += deque.size();
+    }
+    return size;
+  }
+
+  @Override
+  public Iterator<ContextRunnable> iterator() {
+    final List<Iterator<ContextRunnable>> iterators = new ArrayList<Iterator<ContextRunnable>>(_deques.size());
+    for (Deque<ContextRunnable> deque : _deques) {
+      iterators.add(deque.iterator());
+    }
+    return Iterators.concat(iterators.iterator());
+  }
+
+  @Override
+  public void add(final ContextRunnable runnable) {
+    _local.get().addLast(runnable);
+  }
+
+  @Override
+  public ContextRunnable take() {
+    final Deque<ContextRunnable> local = _local.get();
+    ContextRunnable runnable = local.pollLast();
+    if (runnable != null) {
+      return runnable;
+    }
+    final int count = _deques.size();
+    final int start = (_nextVictim.getAndIncrement() & Integer.MAX_VALUE) % count;
+    for (int i = 0; i < count; i++) {
+      final Deque<ContextRunnable> victim = _deques.get((start + i) % count);
+      if (victim != local) {
+        runnable = victim.pollFirst();
+        if (runnable != null) {
+          return runnable;
+        }
+      }
+    }
+    return null;
+  }
+
+}
@@ -137,6 +137,26 @@ public class MultipleNodeExecutorFactory extends PlanBasedGraphExecutorFactory i
     return _basePlanner.getMaximumConcurrency();
   }
 
+  /**
+   * Sets whether runnable jobs are dispatched in order of their position on the critical path.
+   *
+   * @param criticalPathScheduling true to prioritize jobs on the critical path, false otherwise
+   * @see MultipleNodeExecutionPlanner#setCriticalPathScheduling
+   */
+  public void setCriticalPathScheduling(final boolean criticalPathScheduling) {
+    _basePlanner.setCriticalPathScheduling(criticalPathScheduling);
+  }
+
+  /**
+   * Returns whether runnable jobs are dispatched in order of their position on the critical path.
+   *
+   * @return true if jobs are prioritized by the critical path, false otherwise
+   * @see MultipleNodeExecutionPlanner#isCriticalPathScheduling
+   */
+  public boolean isCriticalPathScheduling() {
+    return _basePlanner.isCriticalPathScheduling();
+  }
+
   public void setFunctionCosts(final FunctionCosts functionCosts) {
     _basePlanner.setFunctionCosts(functionCosts);
   }
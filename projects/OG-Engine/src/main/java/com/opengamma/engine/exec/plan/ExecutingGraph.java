@@ -99,7 +99,10 @@ public class ExecutingGraph {
     _cycleId = cycleId;
     _valuationTime = valuationTime;
     _resolverVersionCorrection = resolverVersionCorrection;
-    _executable = new ArrayList<PlannedJob>(plan.getLeafJobs());
+    _executable = new ArrayList<PlannedJob>(plan.getLeafJobs().size());
+    for (PlannedJob job : plan.getLeafJobs()) {
+      addExecutableJob(job);
+    }
     _blocked = new HashMap<PlannedJob, BlockedJobInfo>();
     _executing = new HashMap<CalculationJobSpecification, BlockedJobInfo[]>();
   }
@@ -222,7 +225,36 @@ public class ExecutingGraph {
   }
 
   /**
-   * Returns the next job that can be executed, or null if there are none available for execution.
+   * Adds a job to the executable list. The list is kept in ascending priority order so that the highest priority job is taken from the end. Jobs of
+   * equal priority are taken in the reverse of the order they were added.
+   * <p>
+   * The caller must already hold the synchronisation lock, or be the constructor.
+   * 
+   * @param job the job that is now executable, not null
+   */
+  private void addExecutableJob(final PlannedJob job) {
+    final long priority = job.getPriority();
+    int low = 0;
+    int high = _executable.size();
+    if ((high == 0) || (_executable.get(high - 1).getPriority() <= priority)) {
+      // Common case; all jobs have the same priority if critical path scheduling is not used
+      _executable.add(job);
+      return;
+    }
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (_executable.get(mid).getPriority() <= priority) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    _executable.add(low, job);
+  }
+
+  /**
+   * Returns the next job that can be executed, or null if there are none available for execution. If more than one job is available, the one with the
+   * highest priority is returned.
    * <p>
    * A null return may happen if either the graph has completed execution, or there are jobs pending.
    * 
@@ -259,7 +291,7 @@ public class ExecutingGraph {
       for (BlockedJobInfo blockedJob : blockedJobs) {
         if (blockedJob.unblock()) {
           final PlannedJob job = blockedJob.getJob();
-          _executable.add(job);
+          addExecutableJob(job);
           _blocked.remove(job);
         }
       }
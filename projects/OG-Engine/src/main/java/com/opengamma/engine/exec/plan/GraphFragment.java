@@ -85,6 +85,11 @@ import com.opengamma.engine.view.ExecutionLogMode;
    */
   private long _startTime = -1;
 
+  /**
+   * The estimated cost of the longest path from the start of this fragment to a terminal output, or -1 if not yet calculated.
+   */
+  private long _criticalPathCost = -1;
+
   /**
    * The execution group identifier, written by the graph coloring algorithm. If an output fragment has the same execution identifier then it will be streamed to the same node.
    */
@@ -209,6 +214,29 @@ import com.opengamma.engine.view.ExecutionLogMode;
     return latest;
   }
 
+  /**
+   * Returns the estimated cost of the longest path from the start of this fragment's execution to the completion of a terminal fragment. This is the
+   * job cost of this fragment plus the largest critical path cost of any of its output fragments.
+   * <p>
+   * The value is calculated on first use and must be requested before the job for this fragment is created.
+   * 
+   * @return the critical path cost, in nanoseconds
+   */
+  public long getCriticalPathCost() {
+    if (_criticalPathCost >= 0) {
+      return _criticalPathCost;
+    }
+    long longest = 0;
+    for (GraphFragment output : getOutputFragments()) {
+      final long cost = output.getCriticalPathCost();
+      if (cost > longest) {
+        longest = cost;
+      }
+    }
+    _criticalPathCost = getJobCost() + longest;
+    return _criticalPathCost;
+  }
+
   public int getExecutionId() {
     return _executionId;
   }
@@ -432,7 +460,8 @@ import com.opengamma.engine.view.ExecutionLogMode;
     } else {
       dependentJobs = null;
     }
-    return new PlannedJob(getInputFragments().size(), items, hint, tailJobs, dependentJobs);
+    final long priority = context.isCriticalPathScheduling() ? getCriticalPathCost() : 0L;
+    return new PlannedJob(getInputFragments().size(), items, hint, tailJobs, dependentJobs, priority);
   }
 
   public PlannedJob getOrCreateJob(final GraphFragmentContext context) {
@@ -20,6 +20,7 @@ import com.opengamma.engine.view.impl.ExecutionLogModeSource;
   private final ExecutionLogModeSource _logModeSource;
   private final long _functionInitializationId;
   private final Map<ValueSpecification, Boolean> _sharedCacheValues = new HashMap<ValueSpecification, Boolean>();
+  private boolean _criticalPathScheduling;
 
   public GraphFragmentContext(final ExecutionLogModeSource logModeSource, final long functionInitializationId) {
     _logModeSource = logModeSource;
@@ -38,6 +39,14 @@ import com.opengamma.engine.view.impl.ExecutionLogModeSource;
     return _sharedCacheValues;
   }
 
+  public boolean isCriticalPathScheduling() {
+    return _criticalPathScheduling;
+  }
+
+  public void setCriticalPathScheduling(final boolean criticalPathScheduling) {
+    _criticalPathScheduling = criticalPathScheduling;
+  }
+
   public void setTerminalOutputs(final Collection<ValueSpecification> outputs) {
     for (ValueSpecification output : outputs) {
       _sharedCacheValues.put(output, Boolean.TRUE);
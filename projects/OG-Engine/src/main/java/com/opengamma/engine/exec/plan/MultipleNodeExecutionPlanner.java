@@ -50,6 +50,7 @@ public class MultipleNodeExecutionPlanner implements GraphExecutionPlanner {
   private long _maximumJobCost = Long.MAX_VALUE;
   private int _maximumConcurrency = Integer.MAX_VALUE;
   private FunctionCosts _functionCosts = new FunctionCosts();
+  private boolean _criticalPathScheduling;
 
   /**
    * Sets the minimum number of items for each job.
@@ -168,6 +169,30 @@ public class MultipleNodeExecutionPlanner implements GraphExecutionPlanner {
     return _functionCosts;
   }
 
+  /**
+   * Sets whether jobs should be prioritized by their position on the critical path.
+   * <p>
+   * When enabled, each job is given a priority equal to the estimated cost of the longest path from its start to a terminal output, using the same
+   * function cost statistics as the partitioning. When more jobs are runnable than there are calculation nodes available, those on the longest paths are
+   * dispatched first. This reduces the overall execution time of a cycle when the calculation nodes are saturated. When disabled, runnable jobs are
+   * dispatched in the order they became available.
+   * 
+   * @param criticalPathScheduling true to prioritize jobs on the critical path, false otherwise
+   */
+  public void setCriticalPathScheduling(final boolean criticalPathScheduling) {
+    _criticalPathScheduling = criticalPathScheduling;
+  }
+
+  /**
+   * Returns whether jobs should be prioritized by their position on the critical path.
+   * 
+   * @return true if jobs are prioritized by the critical path, false otherwise
+   * @see #setCriticalPathScheduling
+   */
+  public boolean isCriticalPathScheduling() {
+    return _criticalPathScheduling;
+  }
+
   private GraphExecutionPlan createSingleNodePlan(final DependencyGraph graph, final ExecutionLogModeSource logModeSource, final long functionInitializationId) {
     return s_smallJobPlanner.createPlan(graph, logModeSource, functionInitializationId);
   }
@@ -403,6 +428,7 @@ public class MultipleNodeExecutionPlanner implements GraphExecutionPlanner {
   private GraphExecutionPlan createMultipleNodePlan(final DependencyGraph graph, final ExecutionLogModeSource logModeSource, final long functionInitializationId) {
     final GraphFragmentContext context = new GraphFragmentContext(logModeSource, functionInitializationId);
     context.setTerminalOutputs(graph.getTerminalOutputs().keySet());
+    context.setCriticalPathScheduling(isCriticalPathScheduling());
     final Set<GraphFragment> allFragments = Sets.newHashSetWithExpectedSize(graph.getSize());
     final Set<GraphFragment> rootFragments = Sets.newHashSetWithExpectedSize(graph.getRootNodes().size());
     createGraphFragments(graph, rootFragments, allFragments);
@@ -424,6 +450,12 @@ public class MultipleNodeExecutionPlanner implements GraphExecutionPlanner {
       }
     } while (true);
     findTailFragments(allFragments);
+    if (isCriticalPathScheduling()) {
+      // Calculate the critical paths before the jobs are created; job creation discards the fragment edges
+      for (GraphFragment fragment : allFragments) {
+        fragment.getCriticalPathCost();
+      }
+    }
     long totalSize = 0;
     long totalInvocationCost = 0;
     long totalDataCost = 0;
@@ -28,13 +28,30 @@ public class PlannedJob implements Serializable {
   private final CacheSelectHint _cacheSelectHint;
   private final PlannedJob[] _tails;
   private final PlannedJob[] _dependents;
+  private final long _priority;
 
   public PlannedJob(final int inputJobs, final List<CalculationJobItem> items, final CacheSelectHint cacheSelectHint, final PlannedJob[] tails, final PlannedJob[] dependents) {
+    this(inputJobs, items, cacheSelectHint, tails, dependents, 0L);
+  }
+
+  /**
+   * Creates a new planned job.
+   * 
+   * @param inputJobs the number of input jobs that this job is dependent on
+   * @param items the job items, not null
+   * @param cacheSelectHint the cache select hint for the job items, not null
+   * @param tails the jobs that can run as tails to this job, null for none
+   * @param dependents the jobs that may become runnable after this job completes, null for none
+   * @param priority the dispatch priority of the job; when several jobs are runnable those with higher values are dispatched first
+   */
+  public PlannedJob(final int inputJobs, final List<CalculationJobItem> items, final CacheSelectHint cacheSelectHint, final PlannedJob[] tails, final PlannedJob[] dependents,
+      final long priority) {
     _inputJobs = inputJobs;
     _items = items;
     _cacheSelectHint = cacheSelectHint;
     _tails = tails;
     _dependents = dependents;
+    _priority = priority;
   }
 
   /**
@@ -84,6 +101,18 @@ public class PlannedJob implements Serializable {
     return _dependents;
   }
 
+  /**
+   * Returns the dispatch priority of the job. When several jobs are runnable, those with a higher priority are dispatched first.
+   * <p>
+   * Plans produced with critical path scheduling use the estimated cost of the longest path from the start of this job to a terminal output, so that jobs
+   * which would otherwise extend the overall execution time are started as early as possible.
+   * 
+   * @return the priority, 0 if none was assigned
+   */
+  protected long getPriority() {
+    return _priority;
+  }
+
   /**
    * Creates a concrete calculation job that can be executed.
    * <p>
@@ -24,6 +24,7 @@ import org.apache.commons.lang.StringUtils;
 import com.google.common.collect.Sets;
 import com.opengamma.util.ArgumentChecker;
 import com.opengamma.util.PublicAPI;
+import com.opengamma.util.WeakInstanceCache;
 
 /**
  * An immutable set of constraints on the values required, or properties of the value produced.
@@ -282,8 +283,28 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
     }
   }
 
+  /**
+   * A result of an operation between two canonical property sets.
+   */
+  private static final class MemoEntry {
+
+    private final ValueProperties _other;
+    private final Object _result;
+
+    private MemoEntry(final ValueProperties other, final Object result) {
+      _other = other;
+      _result = result;
+    }
+
+  }
+
   /**
    * A value properties implementation holding a set of properties.
+   * <p>
+   * Instances are hash-consed lazily; an instance looks up the canonical instance for its property set the first time it is used in {@link #isSatisfiedBy}
+   * or {@link #compose} against another implementation instance, or when {@link #intern} is called, so property sets that are never compared cost nothing
+   * extra. The results of those operations are memoised in a small direct mapped table held by the canonical instance of the left hand operand. The memoised
+   * entries hold strong references to the other operand and result so the table is kept deliberately small.
    */
   public static final class ValuePropertiesImpl extends ValueProperties {
 
@@ -291,6 +312,14 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
      * 
      */
     private static final long serialVersionUID = 1L;
+    /**
+     * The canonical instances.
+     */
+    private static final WeakInstanceCache<ValuePropertiesImpl> s_instances = new WeakInstanceCache<ValuePropertiesImpl>();
+    /**
+     * The number of results memoised for each operation against each canonical instance. This must be a power of two.
+     */
+    private static final int MEMO_SIZE = 8;
     /**
      * The properties.
      */
@@ -307,6 +336,18 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
      * Indicates whether the hash-code is valid.
      */
     private volatile boolean _hashCodeValid;
+    /**
+     * The canonical instance of the property set, this if this is the canonical instance, null until first needed.
+     */
+    private transient volatile ValuePropertiesImpl _canonical;
+    /**
+     * Memoised results of {@link #isSatisfiedBy}, allocated on first use.
+     */
+    private transient volatile MemoEntry[] _satisfiedBy;
+    /**
+     * Memoised results of {@link #compose}, allocated on first use.
+     */
+    private transient volatile MemoEntry[] _composed;
 
     /**
      * Creates an instance.
@@ -319,6 +360,41 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
       _optional = optional;
     }
 
+    @Override
+    public ValueProperties intern() {
+      return canonical();
+    }
+
+    private ValuePropertiesImpl canonical() {
+      ValuePropertiesImpl canonical = _canonical;
+      if (canonical == null) {
+        canonical = s_instances.get(this);
+        // The instance may have been added to the cache by this call or by a racing one; marking it again is harmless
+        canonical._canonical = canonical;
+        _canonical = canonical;
+      }
+      return canonical;
+    }
+
+    private static Object getMemo(final MemoEntry[] memo, final ValueProperties properties) {
+      if (memo != null) {
+        final MemoEntry entry = memo[properties.hashCode() & (MEMO_SIZE - 1)];
+        if ((entry != null) && (entry._other == properties)) {
+          return entry._result;
+        }
+      }
+      return null;
+    }
+
+    private static MemoEntry[] putMemo(MemoEntry[] memo, final ValueProperties properties, final Object result) {
+      if (memo == null) {
+        memo = new MemoEntry[MEMO_SIZE];
+      }
+      // Entries are immutable so a racing reader will either see a complete entry or miss
+      memo[properties.hashCode() & (MEMO_SIZE - 1)] = new MemoEntry(properties, result);
+      return memo;
+    }
+
     @Override
     public Builder copy() {
       return new BuilderImpl(_properties, _optional);
@@ -342,6 +418,27 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
     @Override
     public boolean isSatisfiedBy(final ValueProperties properties) {
       assert properties != null;
+      if (properties == this) {
+        return true;
+      }
+      if (properties instanceof ValuePropertiesImpl) {
+        final ValuePropertiesImpl self = canonical();
+        final ValuePropertiesImpl other = ((ValuePropertiesImpl) properties).canonical();
+        if (self == other) {
+          return true;
+        }
+        final Boolean memo = (Boolean) getMemo(self._satisfiedBy, other);
+        if (memo != null) {
+          return memo;
+        }
+        final boolean result = self.isSatisfiedByImpl(other);
+        self._satisfiedBy = putMemo(self._satisfiedBy, other, result);
+        return result;
+      }
+      return isSatisfiedByImpl(properties);
+    }
+
+    private boolean isSatisfiedByImpl(final ValueProperties properties) {
       nextProperty: // CSIGNORE [DVI-122]
       for (Map.Entry<String, Set<String>> property : _properties.entrySet()) {
         final Set<String> available = properties.getValues(property.getKey());
@@ -379,9 +476,27 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
     @Override
     public ValueProperties compose(final ValueProperties properties) {
       assert properties != null;
-      if ((properties == EMPTY) || (properties == INFINITE)) {
+      if ((properties == EMPTY) || (properties == INFINITE) || (properties == this)) {
         return this;
       }
+      if (properties instanceof ValuePropertiesImpl) {
+        final ValuePropertiesImpl self = canonical();
+        final ValuePropertiesImpl other = ((ValuePropertiesImpl) properties).canonical();
+        if (self == other) {
+          return this;
+        }
+        ValueProperties result = (ValueProperties) getMemo(self._composed, other);
+        if (result == null) {
+          result = self.composeImpl(other);
+          self._composed = putMemo(self._composed, other, result);
+        }
+        // An unchanged composition is returned as this rather than the canonical instance
+        return (result == self) ? this : result;
+      }
+      return composeImpl(properties);
+    }
+
+    private ValueProperties composeImpl(final ValueProperties properties) {
       for (Map.Entry<String, Set<String>> property : _properties.entrySet()) {
         final Set<String> available = properties.getValues(property.getKey());
         if (available == null) {
@@ -391,29 +506,29 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
         if (available.isEmpty()) {
           // This property different in output if optional here, and composed against a required
           if (isOptional(property.getKey()) && !properties.isOptional(property.getKey())) {
-            return composeImpl(properties);
+            return createComposition(properties);
           }
           continue;
         }
         if (property.getValue().isEmpty()) {
           // Requires a subset in the output
-          return composeImpl(properties);
+          return createComposition(properties);
         }
         if (property.getValue().size() != available.size()) {
           // Requires an intersection in the output
-          return composeImpl(properties);
+          return createComposition(properties);
         }
         for (String value : property.getValue()) {
           if (!available.contains(value)) {
             // Requires an intersection in the output
-            return composeImpl(properties);
+            return createComposition(properties);
           }
         }
       }
       return this;
     }
 
-    private ValueProperties composeImpl(final ValueProperties properties) {
+    private ValueProperties createComposition(final ValueProperties properties) {
       final Map<String, Set<String>> composed = new HashMap<String, Set<String>>();
       Set<String> optional = null;
       int otherAvailable = 0;
@@ -560,6 +675,10 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
         return false;
       }
       final ValuePropertiesImpl other = (ValuePropertiesImpl) o;
+      if ((_canonical == this) && (other._canonical == other)) {
+        // Distinct canonical instances are never equal
+        return false;
+      }
       return _properties.equals(other._properties) && ObjectUtils.equals(_optional, other._optional);
     }
 
@@ -630,6 +749,7 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
     public String toString() {
       return toString(_properties, _optional, true);
     }
+
   }
 
   private static String escape(Pattern p, String s) {
@@ -1417,6 +1537,18 @@ public abstract class ValueProperties implements Serializable, Comparable<ValueP
    */
   public abstract boolean isEmpty();
 
+  /**
+   * Returns the canonical instance of this property set.
+   * <p>
+   * Property sets are not interned when they are created. An instance finds its canonical instance the first time its operations are memoised, or when this
+   * is called. Tests for equality between two canonical instances are reduced to a reference comparison.
+   * 
+   * @return the canonical instance equal to this, not null
+   */
+  public ValueProperties intern() {
+    return this;
+  }
+
   /**
    * Equivalent to calling {@code copy().withoutAny(propertyName).get()}.
    * 
@@ -5,32 +5,44 @@
  */
 package com.opengamma.engine.view.cycle;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.ObjectUtils;
 
+import com.google.common.collect.Sets;
 import com.opengamma.engine.cache.CacheSelectHint;
 import com.opengamma.engine.cache.ViewComputationCache;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyNode;
 import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.tuple.Pair;
 
 /**
  * Determines which nodes in a graph have changed. A node has 'changed' if and only
  * if its subtree contains a node for which PreviousLiveDataInput != CurrentLiveDataInput.
  * Note that this excludes changes due to passage of the system clock.
+ * <p>
+ * If constructed with a {@link MarketDataDependencyIndex} the changed market data is propagated forward from the
+ * nodes which consume it rather than walking the whole graph. The cost is then proportional to the number of
+ * market data inputs plus the size of the affected sub-graph, and the unchanged node set is a view onto the graph.
  */
 public class LiveDataDeltaCalculator {
 
   private final DependencyGraph _graph;
   private final ViewComputationCache _cache;
   private final ViewComputationCache _previousCache;
+  private final MarketDataDependencyIndex _index;
 
   private final Set<DependencyNode> _changedNodes = new HashSet<DependencyNode>();
-  private final Set<DependencyNode> _unchangedNodes = new HashSet<DependencyNode>();
+  private Set<DependencyNode> _unchangedNodes = new HashSet<DependencyNode>();
 
   private boolean _done; // = false
 
@@ -45,12 +57,25 @@ public class LiveDataDeltaCalculator {
    * @param previousCache Contains PreviousLiveDataInputs (for the given graph)
    */
   public LiveDataDeltaCalculator(final DependencyGraph graph, final ViewComputationCache cache, final ViewComputationCache previousCache) {
+    this(graph, cache, previousCache, null);
+  }
+
+  /**
+   * Creates a calculator which propagates changes forward through the graph using a pre-computed index.
+   *
+   * @param graph Dependency graph
+   * @param cache Contains CurrentLiveDataInputs (for the given graph)
+   * @param previousCache Contains PreviousLiveDataInputs (for the given graph)
+   * @param index Index of the market data consumed by the graph, null to walk the whole graph
+   */
+  public LiveDataDeltaCalculator(final DependencyGraph graph, final ViewComputationCache cache, final ViewComputationCache previousCache, final MarketDataDependencyIndex index) {
     ArgumentChecker.notNull(graph, "Graph");
     ArgumentChecker.notNull(cache, "Cache");
     ArgumentChecker.notNull(previousCache, "Previous cache");
     _graph = graph;
     _cache = cache;
     _previousCache = previousCache;
+    _index = index;
   }
 
   public Set<DependencyNode> getChangedNodes() {
@@ -74,13 +99,42 @@ public class LiveDataDeltaCalculator {
       throw new IllegalStateException("Cannot determine delta twice");
     }
 
-    for (final DependencyNode rootNode : _graph.getRootNodes()) {
-      computeDelta(rootNode);
+    if (_index != null) {
+      computeDeltaIncremental();
+    } else {
+      for (final DependencyNode rootNode : _graph.getRootNodes()) {
+        computeDelta(rootNode);
+      }
     }
 
     _done = true;
   }
 
+  private void computeDeltaIncremental() {
+    final Collection<ValueSpecification> marketData = _index.getMarketData();
+    // Market data is always in the shared cache
+    final Collection<Pair<ValueSpecification, Object>> newValues = _cache.getValues(marketData, CacheSelectHint.allShared());
+    final Collection<Pair<ValueSpecification, Object>> oldValues = _previousCache.getValues(marketData, CacheSelectHint.allShared());
+    final Map<ValueSpecification, Object> previous = new HashMap<ValueSpecification, Object>();
+    for (final Pair<ValueSpecification, Object> oldValue : oldValues) {
+      if (oldValue.getSecond() != null) {
+        previous.put(oldValue.getFirst(), oldValue.getSecond());
+      }
+    }
+    final List<ValueSpecification> changedMarketData = new ArrayList<ValueSpecification>();
+    for (final Pair<ValueSpecification, Object> newValue : newValues) {
+      if (newValue.getSecond() != null) {
+        if (!ObjectUtils.equals(previous.remove(newValue.getFirst()), newValue.getSecond())) {
+          changedMarketData.add(newValue.getFirst());
+        }
+      }
+    }
+    // Anything left had a previous value but no longer has one
+    changedMarketData.addAll(previous.keySet());
+    _index.collectAffectedNodes(changedMarketData, _changedNodes);
+    _unchangedNodes = Sets.difference(_graph.getDependencyNodes(), _changedNodes);
+  }
+
   private boolean computeDelta(final DependencyNode node) {
     if (_changedNodes.contains(node)) {
       return true;
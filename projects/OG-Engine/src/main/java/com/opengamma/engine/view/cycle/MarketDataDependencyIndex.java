@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.cycle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyNode;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * Index from each market data specification required by a dependency graph to the nodes which directly
+ * consume it. Together with the reverse edges held by {@link DependencyNode#getDependentNodes} this allows
+ * a change in market data to be propagated forward through the graph, visiting only the affected nodes.
+ * <p>
+ * Building the index requires a single pass over the graph. Indices are held against the graph instance
+ * so that consecutive cycles executing the same compiled graph share the index. A graph can be changed in
+ * place, for example by an incremental recompilation, so the index records the graph's modification count
+ * and is rebuilt the next time it is requested after a change.
+ */
+public final class MarketDataDependencyIndex {
+
+  /**
+   * Indices of graphs still in use. The map has weak, identity compared, keys.
+   */
+  private static final ConcurrentMap<DependencyGraph, MarketDataDependencyIndex> s_indices = new MapMaker().weakKeys().makeMap();
+
+  /**
+   * The nodes of the indexed graph. The graph itself is not referenced so that it can be used as a weak key.
+   */
+  private final Set<DependencyNode> _nodes;
+  private final Map<ValueSpecification, DependencyNode[]> _consumers;
+  private final int _modificationCount;
+
+  private MarketDataDependencyIndex(final DependencyGraph graph) {
+    _modificationCount = graph.getModificationCount();
+    _nodes = graph.getDependencyNodes();
+    final Map<ValueSpecification, List<DependencyNode>> consumers = new HashMap<ValueSpecification, List<DependencyNode>>();
+    for (DependencyNode node : graph.getDependencyNodes()) {
+      final ValueSpecification marketData = node.getRequiredMarketData();
+      if (marketData != null) {
+        List<DependencyNode> nodes = consumers.get(marketData);
+        if (nodes == null) {
+          nodes = new ArrayList<DependencyNode>(1);
+          consumers.put(marketData, nodes);
+        }
+        nodes.add(node);
+      }
+    }
+    _consumers = new HashMap<ValueSpecification, DependencyNode[]>(consumers.size() * 4 / 3 + 1);
+    for (Map.Entry<ValueSpecification, List<DependencyNode>> entry : consumers.entrySet()) {
+      _consumers.put(entry.getKey(), entry.getValue().toArray(new DependencyNode[entry.getValue().size()]));
+    }
+  }
+
+  /**
+   * Returns the index for a graph, building it if this is the first time the graph has been seen or if the
+   * graph has been modified since the index was built.
+   *
+   * @param graph the graph to index, not null
+   * @return the index, not null
+   */
+  public static MarketDataDependencyIndex of(final DependencyGraph graph) {
+    ArgumentChecker.notNull(graph, "graph");
+    MarketDataDependencyIndex index = s_indices.get(graph);
+    if (index == null) {
+      index = new MarketDataDependencyIndex(graph);
+      final MarketDataDependencyIndex existing = s_indices.putIfAbsent(graph, index);
+      if (existing != null) {
+        index = existing;
+      }
+    }
+    if (index._modificationCount != graph.getModificationCount()) {
+      index = new MarketDataDependencyIndex(graph);
+      s_indices.put(graph, index);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the number of nodes in the indexed graph.
+   *
+   * @return the number of nodes
+   */
+  public int getSize() {
+    return _nodes.size();
+  }
+
+  /**
+   * Returns the market data specifications consumed by the graph.
+   *
+   * @return the market data specifications, not null
+   */
+  public Set<ValueSpecification> getMarketData() {
+    return Collections.unmodifiableSet(_consumers.keySet());
+  }
+
+  /**
+   * Collects the nodes affected by a change to the given market data. These are the nodes which directly consume
+   * the market data and all nodes within the graph which transitively depend on them.
+   *
+   * @param changedMarketData the market data specifications which have changed, not null
+   * @param affectedNodes the set to add the affected nodes to, not null
+   */
+  public void collectAffectedNodes(final Collection<ValueSpecification> changedMarketData, final Set<DependencyNode> affectedNodes) {
+    final List<DependencyNode> pending = new ArrayList<DependencyNode>();
+    for (ValueSpecification marketData : changedMarketData) {
+      final DependencyNode[] consumers = _consumers.get(marketData);
+      if (consumers != null) {
+        for (DependencyNode consumer : consumers) {
+          if (affectedNodes.add(consumer)) {
+            pending.add(consumer);
+          }
+        }
+      }
+    }
+    while (!pending.isEmpty()) {
+      final DependencyNode node = pending.remove(pending.size() - 1);
+      for (DependencyNode dependent : node.getDependentNodes()) {
+        // Nodes may be shared with other (sub-)graphs so only follow edges within this one
+        if (_nodes.contains(dependent) && affectedNodes.add(dependent)) {
+          pending.add(dependent);
+        }
+      }
+    }
+  }
+
+}
@@ -61,12 +61,12 @@ public class ViewProcessContext {
 
   // TODO: Need to rethink this for distribution if the workers for the process are remote. Workers only need to read the log settings. The original
   // process is the one that updates them.
-  private final ExecutionLogModeSource _executionLogModeSource = new ExecutionLogModeSource();
+  private final ExecutionLogModeSource _executionLogModeSource;
 
   private final ViewExecutionCache _executionCache;
 
   // TODO: [PLAT-3190] Might need to inject this from the view processor so that all workers in the process group can share work
-  private final ViewExecutionCacheLock _executionCacheLock = new ViewExecutionCacheLock();
+  private final ViewExecutionCacheLock _executionCacheLock;
 
   public ViewProcessContext(
       final UniqueId processId,
@@ -118,7 +118,45 @@ public class ViewProcessContext {
     _overrideOperationCompiler = overrideOperationCompiler;
     _cycleManager = cycleManager;
     _cycleIdentifiers = cycleIdentifiers;
+    _executionLogModeSource = new ExecutionLogModeSource();
     _executionCache = executionCache;
+    _executionCacheLock = new ViewExecutionCacheLock();
+  }
+
+  private ViewProcessContext(final ViewProcessContext copyFrom, final MarketDataProviderResolver marketDataProviderResolver) {
+    _processId = copyFrom._processId;
+    _configSource = copyFrom._configSource;
+    _viewPermissionProvider = copyFrom._viewPermissionProvider;
+    _liveDataOverrideInjector = copyFrom._liveDataOverrideInjector;
+    _marketDataProviderResolver = marketDataProviderResolver;
+    _functionCompilationService = copyFrom._functionCompilationService;
+    _functionResolver = copyFrom._functionResolver;
+    _computationCacheSource = copyFrom._computationCacheSource;
+    _computationJobDispatcher = copyFrom._computationJobDispatcher;
+    _viewProcessWorkerFactory = copyFrom._viewProcessWorkerFactory;
+    _dependencyGraphBuilderFactory = copyFrom._dependencyGraphBuilderFactory;
+    _dependencyGraphExecutorFactory = copyFrom._dependencyGraphExecutorFactory;
+    _graphExecutorStatisticsGathererProvider = copyFrom._graphExecutorStatisticsGathererProvider;
+    _overrideOperationCompiler = copyFrom._overrideOperationCompiler;
+    _cycleManager = copyFrom._cycleManager;
+    _cycleIdentifiers = copyFrom._cycleIdentifiers;
+    _executionLogModeSource = copyFrom._executionLogModeSource;
+    _executionCache = copyFrom._executionCache;
+    _executionCacheLock = copyFrom._executionCacheLock;
+  }
+
+  /**
+   * Creates a context that shares everything with this one, including the execution cache and its locks, apart from the market data provider resolver.
+   * <p>
+   * This allows a group of workers acting on behalf of a single process to share resources, such as market data providers, that would otherwise be
+   * created independently by each worker.
+   * 
+   * @param marketDataProviderResolver the market data provider resolver to use, not null
+   * @return the new context, not null
+   */
+  public ViewProcessContext withMarketDataProviderResolver(final MarketDataProviderResolver marketDataProviderResolver) {
+    ArgumentChecker.notNull(marketDataProviderResolver, "marketDataProviderResolver");
+    return new ViewProcessContext(this, marketDataProviderResolver);
   }
 
   public UniqueId getProcessId() {
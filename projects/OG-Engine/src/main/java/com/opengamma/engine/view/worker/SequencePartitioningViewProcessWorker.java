@@ -16,6 +16,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Instant;
 
+import com.opengamma.engine.marketdata.MarketDataProvider;
+import com.opengamma.engine.marketdata.resolver.CachingMarketDataProviderResolver;
+import com.opengamma.engine.marketdata.resolver.MarketDataProviderResolver;
+import com.opengamma.engine.marketdata.spec.MarketDataSpecification;
 import com.opengamma.engine.view.ViewComputationResultModel;
 import com.opengamma.engine.view.ViewDefinition;
 import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphs;
@@ -28,9 +32,18 @@ import com.opengamma.engine.view.execution.ViewCycleExecutionSequence;
 import com.opengamma.engine.view.execution.ViewExecutionFlags;
 import com.opengamma.engine.view.execution.ViewExecutionOptions;
 import com.opengamma.engine.view.impl.ViewProcessContext;
+import com.opengamma.livedata.UserPrincipal;
+import com.opengamma.util.map.HashMap2;
+import com.opengamma.util.map.Map2;
 
 /**
  * Implementation of {@link ViewProcessWorker} for partitioning a sequence and delegating to other workers to handle each partition.
+ * <p>
+ * If the workers are to share resources then the first is spawned alone and the rest are held back until it has compiled the view definition. The
+ * later workers will then find the compiled form in the execution cache rather than compiling it again. A shared market data layer is used so
+ * that each worker receives the same provider instances (and so the same availability provider and execution cache key) rather than
+ * constructing its own. This is only suitable for read-only market data sources, such as historical time series or snapshots, as the providers'
+ * notifications are delivered to all of the workers.
  */
 public class SequencePartitioningViewProcessWorker implements ViewProcessWorker, ViewProcessWorkerContext {
 
@@ -50,9 +63,18 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
   private int _spawnedCycleCount;
   private int _spawnedWorkers;
   private int _trigger;
+  private final boolean _shared;
+  private volatile ViewProcessContext _sharedProcessContext;
+  private boolean _compiled;
+  private int _deferred;
 
   public SequencePartitioningViewProcessWorker(final ViewProcessWorkerFactory delegate, final ViewProcessWorkerContext context, final ViewExecutionOptions executionOptions,
       final ViewDefinition viewDefinition, final int partition, final int maxWorkers) {
+    this(delegate, context, executionOptions, viewDefinition, partition, maxWorkers, false);
+  }
+
+  public SequencePartitioningViewProcessWorker(final ViewProcessWorkerFactory delegate, final ViewProcessWorkerContext context, final ViewExecutionOptions executionOptions,
+      final ViewDefinition viewDefinition, final int partition, final int maxWorkers, final boolean shared) {
     _delegate = delegate;
     _context = context;
     _executionFlags = EnumSet.copyOf(executionOptions.getFlags());
@@ -62,6 +84,7 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
     _viewDefinition = viewDefinition;
     _partition = partition;
     _trigger = maxWorkers;
+    _shared = shared;
     if (!_executionFlags.remove(ViewExecutionFlags.WAIT_FOR_INITIAL_TRIGGER)) {
       // Kick off first batch of workers
       triggerCycle();
@@ -104,6 +127,25 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
     return _partition;
   }
 
+  private boolean isShared() {
+    return _shared;
+  }
+
+  /**
+   * Spawns any workers that were held back until the view definition had been compiled.
+   */
+  private synchronized void spawnDeferredWorkers() {
+    _compiled = true;
+    if (_deferred > 0) {
+      s_logger.debug("Spawning {} deferred workers", _deferred);
+      while ((_deferred > 0) && !_terminated) {
+        spawnWorker();
+        _deferred--;
+      }
+      _deferred = 0;
+    }
+  }
+
   private synchronized void spawnWorker() {
     ViewCycleExecutionSequence sequence = getSequence();
     final int partitionSize = getPartitionSize();
@@ -136,6 +178,13 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
       s_logger.debug("Ignoring triggerCycle on run-as-fast-as-possible sequence");
       return false;
     }
+    if (isShared() && !_compiled) {
+      // Let the first worker compile the view definition; the others will use its result from the execution cache
+      spawnWorker();
+      _deferred += _trigger - 1;
+      _trigger = 0;
+      return true;
+    }
     while (_trigger > 0) {
       spawnWorker();
       _trigger--;
@@ -260,19 +309,40 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
 
   @Override
   public ViewProcessContext getProcessContext() {
-    return getWorkerContext().getProcessContext();
+    if (!isShared()) {
+      return getWorkerContext().getProcessContext();
+    }
+    ViewProcessContext context = _sharedProcessContext;
+    if (context == null) {
+      synchronized (this) {
+        context = _sharedProcessContext;
+        if (context == null) {
+          final ViewProcessContext underlying = getWorkerContext().getProcessContext();
+          context = underlying.withMarketDataProviderResolver(new SharedMarketDataProviderResolver(underlying.getMarketDataProviderResolver()));
+          _sharedProcessContext = context;
+        }
+      }
+    }
+    return context;
   }
 
   @Override
   public void viewDefinitionCompiled(ViewExecutionDataProvider dataProvider, CompiledViewDefinitionWithGraphs compiled) {
     s_logger.debug("View definition compiled");
     getWorkerContext().viewDefinitionCompiled(dataProvider, compiled);
+    if (isShared()) {
+      spawnDeferredWorkers();
+    }
   }
 
   @Override
   public void viewDefinitionCompilationFailed(Instant compilationTime, Exception exception) {
     s_logger.debug("View definition compilation failed");
     getWorkerContext().viewDefinitionCompilationFailed(compilationTime, exception);
+    if (isShared()) {
+      // The other workers can make their own attempts
+      spawnDeferredWorkers();
+    }
   }
 
   @Override
@@ -304,6 +374,10 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
     s_logger.debug("Worker completed");
     final boolean finished;
     synchronized (this) {
+      if (isShared()) {
+        // The worker may have completed without compiling anything
+        spawnDeferredWorkers();
+      }
       finished = (--_spawnedWorkers) == 0;
       if (!_terminated) {
         spawnWorker();
@@ -316,6 +390,27 @@ public class SequencePartitioningViewProcessWorker implements ViewProcessWorker,
     }
   }
 
+  /**
+   * Market data provider resolver that holds the providers it returns for the lifetime of the partitioned execution, so that workers spawned for
+   * later partitions receive the same instances as the earlier ones even if there are times when no worker is running.
+   */
+  private static final class SharedMarketDataProviderResolver extends CachingMarketDataProviderResolver {
+
+    private final Map2<UserPrincipal, MarketDataSpecification, MarketDataProvider> _providers = new HashMap2<UserPrincipal, MarketDataSpecification, MarketDataProvider>(
+        HashMap2.STRONG_KEYS);
+
+    public SharedMarketDataProviderResolver(final MarketDataProviderResolver underlying) {
+      super(underlying);
+    }
+
+    @Override
+    protected Map2<UserPrincipal, MarketDataSpecification, MarketDataProvider> getCache() {
+      // Strong references to the values rather than the weak ones of the default cache
+      return _providers;
+    }
+
+  }
+
   // Object
 
   @Override
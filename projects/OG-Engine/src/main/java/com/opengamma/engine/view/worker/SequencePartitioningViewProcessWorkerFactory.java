@@ -62,6 +62,21 @@ public abstract class SequencePartitioningViewProcessWorkerFactory implements Vi
    */
   protected abstract int estimateMaximumCycles(final ViewProcessWorkerContext context, final ViewExecutionOptions executionOptions, final ViewDefinition viewDefinition);
 
+  /**
+   * Decide whether the workers should share a single compilation of the view definition and a common market data layer. This is suitable when the
+   * market data is read-only, for example a historical rerun, and avoids each worker compiling the same graph and constructing its own providers.
+   * <p>
+   * The default implementation returns false, giving each worker its own resources.
+   * 
+   * @param context the context as passed to {@link #createWorker}
+   * @param executionOptions the options as passed to {@link #createWorker}
+   * @param viewDefinition the view as passed to {@link #createWorker}
+   * @return true to share resources between the workers, false otherwise
+   */
+  protected boolean isShareResources(final ViewProcessWorkerContext context, final ViewExecutionOptions executionOptions, final ViewDefinition viewDefinition) {
+    return false;
+  }
+
   @Override
   public ViewProcessWorker createWorker(ViewProcessWorkerContext context, ViewExecutionOptions executionOptions, ViewDefinition viewDefinition) {
     if (!executionOptions.getFlags().contains(ViewExecutionFlags.RUN_AS_FAST_AS_POSSIBLE)) {
@@ -82,6 +97,7 @@ public abstract class SequencePartitioningViewProcessWorkerFactory implements Vi
     if (partition < minimumPartition) {
       partition = minimumPartition;
     }
-    return new SequencePartitioningViewProcessWorker(getDelegate(), context, executionOptions, viewDefinition, partition, saturation);
+    return new SequencePartitioningViewProcessWorker(getDelegate(), context, executionOptions, viewDefinition, partition, saturation,
+        isShareResources(context, executionOptions, viewDefinition));
   }
 }
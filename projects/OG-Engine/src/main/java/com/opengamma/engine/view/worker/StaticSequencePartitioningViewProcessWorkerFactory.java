@@ -19,6 +19,7 @@ public class StaticSequencePartitioningViewProcessWorkerFactory extends Sequence
   private volatile int _saturation = 1;
   private volatile int _minimumCycles = 1;
   private volatile int _maximumCycles = Integer.MAX_VALUE;
+  private volatile boolean _shareResources;
 
   public StaticSequencePartitioningViewProcessWorkerFactory(final ViewProcessWorkerFactory delegate) {
     super(delegate);
@@ -51,6 +52,14 @@ public class StaticSequencePartitioningViewProcessWorkerFactory extends Sequence
     return _maximumCycles;
   }
 
+  public void setShareResources(final boolean shareResources) {
+    _shareResources = shareResources;
+  }
+
+  public boolean isShareResources() {
+    return _shareResources;
+  }
+
   // SequencePartitioningViewProcessWorkerFactory
 
   @Override
@@ -68,6 +77,11 @@ public class StaticSequencePartitioningViewProcessWorkerFactory extends Sequence
     return getMaximumCycles();
   }
 
+  @Override
+  protected boolean isShareResources(final ViewProcessWorkerContext context, final ViewExecutionOptions executionOptions, final ViewDefinition viewDefinition) {
+    return isShareResources();
+  }
+
   // InitializingBean
 
   @Override
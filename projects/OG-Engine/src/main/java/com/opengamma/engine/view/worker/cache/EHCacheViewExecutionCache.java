@@ -25,6 +25,7 @@ import org.threeten.bp.Instant;
 import com.google.common.collect.MapMaker;
 import com.opengamma.core.config.ConfigSource;
 import com.opengamma.core.position.Portfolio;
+import com.opengamma.engine.ComputationTarget;
 import com.opengamma.engine.ComputationTargetSpecification;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyGraphExplorer;
@@ -179,7 +180,17 @@ public class EHCacheViewExecutionCache implements ViewExecutionCache {
     private final long _functionInitId;
 
     public CompiledViewDefinitionWithGraphsReader(final EHCacheViewExecutionCache parent, final CompiledViewDefinitionWithGraphs object) {
-      _parent = parent.instance();
+      this(parent.instance(), object);
+    }
+
+    /**
+     * Creates the serialized form of a compiled view definition.
+     *
+     * @param parent the identifier of the cache instance to resolve against when deserialized, null to return this object when deserialized
+     * @param object the compiled view definition, not null
+     */
+    /* package */CompiledViewDefinitionWithGraphsReader(final Serializable parent, final CompiledViewDefinitionWithGraphs object) {
+      _parent = parent;
       _versionCorrection = object.getResolverVersionCorrection();
       _compilationId = object.getCompilationIdentifier();
       if (object.getValidFrom() == null) {
@@ -202,22 +213,49 @@ public class EHCacheViewExecutionCache implements ViewExecutionCache {
         _graphs.add(new DependencyGraphHolder(explorer.getWholeGraph()));
       }
       _resolutions = object.getResolvedIdentifiers();
-      _portfolio = object.getPortfolio().getUniqueId();
+      _portfolio = (object.getPortfolio() != null) ? object.getPortfolio().getUniqueId() : null;
       _functionInitId = ((CompiledViewDefinitionWithGraphsImpl) object).getFunctionInitId();
     }
 
-    private Object readResolve() {
-      final EHCacheViewExecutionCache parent = instance(_parent);
-      final ViewDefinition viewDefinition = parent.getConfigSource().getConfig(ViewDefinition.class, _viewDefinition);
+    /**
+     * Reconstructs the compiled view definition.
+     *
+     * @param configSource the source of the view definition, not null
+     * @param functions the function service to resolve the graph functions and the portfolio from, not null
+     * @param functionInitId the function initialization identifier to use
+     * @return the compiled view definition, null if the view definition or portfolio is no longer available
+     */
+    /* package */CompiledViewDefinitionWithGraphs get(final ConfigSource configSource, final CompiledFunctionService functions, final long functionInitId) {
+      final ViewDefinition viewDefinition = configSource.getConfig(ViewDefinition.class, _viewDefinition);
+      if (viewDefinition == null) {
+        s_logger.info("View definition {} no longer available", _viewDefinition);
+        return null;
+      }
+      Portfolio portfolio = null;
+      if (_portfolio != null) {
+        final ComputationTarget target = functions.getFunctionCompilationContext().getRawComputationTargetResolver()
+            .resolve(new ComputationTargetSpecification(ComputationTargetType.PORTFOLIO, _portfolio), _versionCorrection);
+        if (target == null) {
+          s_logger.info("Portfolio {} no longer available at {}", _portfolio, _versionCorrection);
+          return null;
+        }
+        portfolio = (Portfolio) target.getValue();
+      }
       final Collection<DependencyGraph> graphs = new ArrayList<DependencyGraph>(_graphs.size());
-      final CompiledFunctionRepository functions = parent.getFunctions().compileFunctionRepository(_compilationTime);
+      final CompiledFunctionRepository compiledFunctions = functions.compileFunctionRepository(_compilationTime);
       for (DependencyGraphHolder graph : _graphs) {
-        graphs.add(graph.get(functions));
+        graphs.add(graph.get(compiledFunctions));
       }
-      final Portfolio portfolio = (Portfolio) parent.getFunctions().getFunctionCompilationContext().getRawComputationTargetResolver()
-          .resolve(new ComputationTargetSpecification(ComputationTargetType.PORTFOLIO, _portfolio), _versionCorrection).getValue();
-      return parent.new CompiledViewDefinitionWithGraphsHolder(new CompiledViewDefinitionWithGraphsImpl(_versionCorrection, _compilationId, viewDefinition, graphs, _resolutions, portfolio,
-          _functionInitId));
+      return new CompiledViewDefinitionWithGraphsImpl(_versionCorrection, _compilationId, viewDefinition, graphs, _resolutions, portfolio, functionInitId);
+    }
+
+    private Object readResolve() {
+      if (_parent == null) {
+        // not bound to a cache instance; the reader must call get explicitly
+        return this;
+      }
+      final EHCacheViewExecutionCache parent = instance(_parent);
+      return parent.new CompiledViewDefinitionWithGraphsHolder(get(parent.getConfigSource(), parent.getFunctions(), _functionInitId));
     }
   }
 
@@ -252,6 +290,10 @@ public class EHCacheViewExecutionCache implements ViewExecutionCache {
     if (element != null) {
       s_logger.debug("EHCache hit CompiledViewDefinitionWithGraphs for {}", key);
       graphs = ((CompiledViewDefinitionWithGraphsHolder) element.getObjectValue()).get();
+      if (graphs == null) {
+        s_logger.debug("EHCache entry for {} no longer valid", key);
+        return null;
+      }
       final CompiledViewDefinitionWithGraphs existing = _compiledViewDefinitionsFrontCache.putIfAbsent(key, graphs);
       if (existing != null) {
         graphs = existing;
@@ -0,0 +1,418 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.view.worker.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.MapMaker;
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.core.config.ConfigSource;
+import com.opengamma.engine.function.CompiledFunctionService;
+import com.opengamma.engine.function.FunctionDefinition;
+import com.opengamma.engine.function.FunctionRepository;
+import com.opengamma.engine.function.config.FunctionConfiguration;
+import com.opengamma.engine.function.config.FunctionConfigurationSource;
+import com.opengamma.engine.view.compilation.CompiledViewDefinitionWithGraphs;
+import com.opengamma.engine.view.worker.cache.EHCacheViewExecutionCache.CompiledViewDefinitionWithGraphsReader;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.NamedThreadPoolFactory;
+import com.opengamma.util.tuple.Pair;
+
+/**
+ * A disk backed implementation of {@link ViewExecutionCache} that retains compiled view definitions across server restarts.
+ * <p>
+ * Each entry is written to a file named by a digest of the {@link ViewExecutionCacheKey} and of the function repository. The function digest covers
+ * the identifiers, classes and default parameters of the functions and, if a function configuration source is given, the configuration the repository
+ * was built from. A change to the functions or their configuration therefore results in cache misses rather than the use of stale graphs, and entries
+ * written against a different function digest are deleted the first time the cache is used. Entries are read back lazily on the first request for a key
+ * using the same serialized form as {@link EHCacheViewExecutionCache}; a view definition or portfolio which can no longer be resolved at the stored
+ * version/correction causes the entry to be discarded. The worker remains responsible for checking the validity of the returned definition for its
+ * valuation time and resolver version/correction in the same way as for the other cache implementations.
+ * <p>
+ * Entries are written to disk by a background thread so that storing one does not delay the compilation which produced it. Until it has been
+ * written an entry is held in memory; {@link #flush} waits for the writes queued so far.
+ */
+public class FileViewExecutionCache implements ViewExecutionCache {
+
+  private static final Logger s_logger = LoggerFactory.getLogger(FileViewExecutionCache.class);
+
+  private static final String FILE_SUFFIX = ".graphs";
+
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  /**
+   * Writes the entries of all caches, in the order they were stored.
+   */
+  private static final ExecutorService s_writer = Executors.newSingleThreadExecutor(new NamedThreadPoolFactory("FileViewExecutionCache"));
+
+  private final File _directory;
+
+  private final ConfigSource _configSource;
+
+  private final CompiledFunctionService _functions;
+
+  private final FunctionConfigurationSource _functionConfiguration;
+
+  private final ConcurrentMap<ViewExecutionCacheKey, CompiledViewDefinitionWithGraphs> _compiledViewDefinitionsFrontCache = new MapMaker().softValues().makeMap();
+
+  /**
+   * The entries stored but not yet written to disk. A write is queued when an entry is first added; a newer definition for the same key
+   * replaces the entry and is picked up by the queued write.
+   */
+  private final ConcurrentMap<ViewExecutionCacheKey, CompiledViewDefinitionWithGraphs> _pendingWrites = new ConcurrentHashMap<ViewExecutionCacheKey, CompiledViewDefinitionWithGraphs>();
+
+  /**
+   * Set once stale entries have been purged. Guarded by {@code this}.
+   */
+  private boolean _purged;
+
+  private volatile Pair<FunctionRepository, String> _functionDigest;
+
+  public FileViewExecutionCache(final File directory, final ConfigSource configSource, final CompiledFunctionService functions) {
+    this(directory, configSource, functions, null);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param directory the directory to hold the entries, not null
+   * @param configSource the source of view definitions, not null
+   * @param functions the function service, not null
+   * @param functionConfiguration the source of the configuration the function repository was built from, null if not known
+   */
+  public FileViewExecutionCache(final File directory, final ConfigSource configSource, final CompiledFunctionService functions,
+      final FunctionConfigurationSource functionConfiguration) {
+    ArgumentChecker.notNull(directory, "directory");
+    ArgumentChecker.notNull(configSource, "configSource");
+    ArgumentChecker.notNull(functions, "functions");
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new OpenGammaRuntimeException("Couldn't create cache directory " + directory);
+    }
+    _directory = directory;
+    _configSource = configSource;
+    _functions = functions;
+    _functionConfiguration = functionConfiguration;
+  }
+
+  public File getDirectory() {
+    return _directory;
+  }
+
+  public ConfigSource getConfigSource() {
+    return _configSource;
+  }
+
+  public CompiledFunctionService getFunctions() {
+    return _functions;
+  }
+
+  public FunctionConfigurationSource getFunctionConfiguration() {
+    return _functionConfiguration;
+  }
+
+  /**
+   * For testing only.
+   */
+  /* package */void clearFrontCache() {
+    _compiledViewDefinitionsFrontCache.clear();
+  }
+
+  /**
+   * Returns a digest of the function repository and its configuration.
+   * <p>
+   * Function identifiers are allocated by the repository so any change to the functions available will change the digest. The default parameters of
+   * each function, and the configuration entries (including their constructor parameters) if a configuration source is available, are also included
+   * so that reconfiguring a function is detected. The digest is recalculated if the function repository instance changes.
+   *
+   * @return the digest, not null
+   */
+  protected String getFunctionDigest() {
+    final FunctionRepository repository = getFunctions().getFunctionRepository();
+    final Pair<FunctionRepository, String> cached = _functionDigest;
+    if ((cached != null) && (cached.getFirst() == repository)) {
+      return cached.getSecond();
+    }
+    final Collection<String> functions = new TreeSet<String>();
+    for (FunctionDefinition function : repository.getAllFunctions()) {
+      functions.add(function.getUniqueId() + "=" + function.getClass().getName() + "/" + function.getShortName() + "/" + digest(function.getDefaultParameters()));
+    }
+    final StringBuilder sb = new StringBuilder();
+    for (String function : functions) {
+      sb.append(function).append('\n');
+    }
+    if (getFunctionConfiguration() != null) {
+      final List<FunctionConfiguration> configurations = new ArrayList<FunctionConfiguration>(getFunctionConfiguration().getFunctionConfiguration().getFunctions());
+      Collections.sort(configurations);
+      for (FunctionConfiguration configuration : configurations) {
+        sb.append(configuration.getClass().getName()).append('=').append(digest(configuration)).append('\n');
+      }
+    }
+    final String digest = DigestUtils.sha1Hex(sb.toString());
+    _functionDigest = Pair.of(repository, digest);
+    return digest;
+  }
+
+  private static String digest(final Serializable object) {
+    if (object == null) {
+      return "";
+    }
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try {
+      final ObjectOutputStream out = new ObjectOutputStream(buffer);
+      out.writeObject(object);
+      out.close();
+    } catch (IOException e) {
+      // Not all parameter implementations honour Serializable; fall back to their string form
+      return DigestUtils.sha1Hex(object.getClass().getName() + ":" + object);
+    }
+    return DigestUtils.sha1Hex(buffer.toByteArray());
+  }
+
+  /**
+   * Returns the file that holds the entry for a key.
+   *
+   * @param key the key, not null
+   * @return the file, not null
+   */
+  protected File getFile(final ViewExecutionCacheKey key) {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try {
+      final ObjectOutputStream out = new ObjectOutputStream(buffer);
+      out.writeObject(key);
+      out.writeUTF(getFunctionDigest());
+      out.close();
+    } catch (IOException e) {
+      throw new OpenGammaRuntimeException("Couldn't serialize " + key, e);
+    }
+    return new File(getDirectory(), DigestUtils.sha1Hex(buffer.toByteArray()) + FILE_SUFFIX);
+  }
+
+  /**
+   * Deletes the entries written against a different function digest, and any temporary files left by an interrupted write.
+   * <p>
+   * The digest is held at the start of each file so only that is read.
+   */
+  protected void purge() {
+    final String digest = getFunctionDigest();
+    final File[] files = getDirectory().listFiles();
+    if (files == null) {
+      return;
+    }
+    int purged = 0;
+    for (File file : files) {
+      final String name = file.getName();
+      if (name.endsWith(TEMP_SUFFIX)) {
+        if (file.delete()) {
+          purged++;
+        }
+      } else if (name.endsWith(FILE_SUFFIX)) {
+        if (!digest.equals(readDigest(file)) && file.delete()) {
+          purged++;
+        }
+      }
+    }
+    if (purged > 0) {
+      s_logger.info("Deleted {} stale entries from {}", purged, getDirectory());
+    }
+  }
+
+  private static String readDigest(final File file) {
+    try {
+      final ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+      try {
+        return in.readUTF();
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  // Synchronized so that nothing is written until any temporary files have been purged
+  private synchronized void purgeOnce() {
+    if (!_purged) {
+      _purged = true;
+      purge();
+    }
+  }
+
+  protected CompiledViewDefinitionWithGraphs read(final ViewExecutionCacheKey key) {
+    final File file = getFile(key);
+    if (!file.exists()) {
+      return null;
+    }
+    final CompiledViewDefinitionWithGraphsReader reader;
+    try {
+      final ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+      try {
+        if (!getFunctionDigest().equals(in.readUTF())) {
+          s_logger.info("Function repository has changed since {} was cached", key);
+          file.delete();
+          return null;
+        }
+        if (!key.equals(in.readObject())) {
+          // Digest collision
+          return null;
+        }
+        reader = (CompiledViewDefinitionWithGraphsReader) in.readObject();
+      } finally {
+        in.close();
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      s_logger.warn("Couldn't read cached CompiledViewDefinitionWithGraphs from {}: {}", file, e.getMessage());
+      file.delete();
+      return null;
+    }
+    final CompiledViewDefinitionWithGraphs viewDefinition;
+    try {
+      // The function initialization identifier from the previous process is meaningless; use the current one
+      final Long functionInitId = getFunctions().getFunctionCompilationContext().getFunctionInitId();
+      viewDefinition = reader.get(getConfigSource(), getFunctions(), (functionInitId != null) ? functionInitId : 0L);
+    } catch (RuntimeException e) {
+      s_logger.warn("Couldn't restore cached CompiledViewDefinitionWithGraphs for {}: {}", key, e.getMessage());
+      file.delete();
+      return null;
+    }
+    if (viewDefinition == null) {
+      file.delete();
+    }
+    return viewDefinition;
+  }
+
+  protected void write(final ViewExecutionCacheKey key, final CompiledViewDefinitionWithGraphs viewDefinition) {
+    final File file = getFile(key);
+    final File temp = new File(file.getPath() + TEMP_SUFFIX);
+    try {
+      final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+      try {
+        // The digest is written first so that stale entries can be identified without reading the graphs
+        out.writeUTF(getFunctionDigest());
+        out.writeObject(key);
+        out.writeObject(new CompiledViewDefinitionWithGraphsReader((Serializable) null, viewDefinition));
+      } finally {
+        out.close();
+      }
+      // Replace the existing file atomically so concurrent readers never see a partial entry
+      if (!temp.renameTo(file)) {
+        file.delete();
+        if (!temp.renameTo(file)) {
+          throw new IOException("Couldn't rename " + temp + " to " + file);
+        }
+      }
+    } catch (IOException e) {
+      s_logger.warn("Couldn't write CompiledViewDefinitionWithGraphs for {} to {}: {}", new Object[] {key, file, e.getMessage() });
+      temp.delete();
+    }
+  }
+
+  /**
+   * Writes the pending entry for a key, and any newer entry stored for the key while it was being written.
+   *
+   * @param key the key, not null
+   */
+  private void writePending(final ViewExecutionCacheKey key) {
+    purgeOnce();
+    CompiledViewDefinitionWithGraphs viewDefinition = _pendingWrites.get(key);
+    while (viewDefinition != null) {
+      try {
+        write(key, viewDefinition);
+      } catch (RuntimeException e) {
+        s_logger.warn("Couldn't write CompiledViewDefinitionWithGraphs for {}: {}", key, e.getMessage());
+      }
+      if (_pendingWrites.remove(key, viewDefinition)) {
+        return;
+      }
+      viewDefinition = _pendingWrites.get(key);
+    }
+  }
+
+  /**
+   * Waits for the entries stored so far to be written to disk.
+   */
+  public void flush() {
+    try {
+      s_writer.submit(new Runnable() {
+        @Override
+        public void run() {
+          // No-op; the writes queued before this have completed when it runs
+        }
+      }).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OpenGammaRuntimeException("Interrupted waiting for cache writes", e);
+    } catch (ExecutionException e) {
+      throw new OpenGammaRuntimeException("Couldn't wait for cache writes", e.getCause());
+    }
+  }
+
+  @Override
+  public CompiledViewDefinitionWithGraphs getCompiledViewDefinitionWithGraphs(final ViewExecutionCacheKey key) {
+    CompiledViewDefinitionWithGraphs graphs = _compiledViewDefinitionsFrontCache.get(key);
+    if (graphs != null) {
+      s_logger.debug("Front cache hit CompiledViewDefinitionWithGraphs for {}", key);
+      return graphs;
+    }
+    graphs = _pendingWrites.get(key);
+    if (graphs != null) {
+      s_logger.debug("Pending write hit CompiledViewDefinitionWithGraphs for {}", key);
+      return graphs;
+    }
+    purgeOnce();
+    graphs = read(key);
+    if (graphs != null) {
+      s_logger.info("Restored CompiledViewDefinitionWithGraphs for {} from disk", key);
+      final CompiledViewDefinitionWithGraphs existing = _compiledViewDefinitionsFrontCache.putIfAbsent(key, graphs);
+      if (existing != null) {
+        graphs = existing;
+      }
+    } else {
+      s_logger.debug("Disk cache miss CompiledViewDefinitionWithGraphs for {}", key);
+    }
+    return graphs;
+  }
+
+  @Override
+  public void setCompiledViewDefinitionWithGraphs(final ViewExecutionCacheKey key, final CompiledViewDefinitionWithGraphs viewDefinition) {
+    final CompiledViewDefinitionWithGraphs existing = _compiledViewDefinitionsFrontCache.put(key, viewDefinition);
+    if (existing == viewDefinition) {
+      return;
+    }
+    s_logger.info("Storing CompiledViewDefinitionWithGraphs for {}", key);
+    if (_pendingWrites.put(key, viewDefinition) == null) {
+      s_writer.execute(new Runnable() {
+        @Override
+        public void run() {
+          writePending(key);
+        }
+      });
+    }
+  }
+
+}
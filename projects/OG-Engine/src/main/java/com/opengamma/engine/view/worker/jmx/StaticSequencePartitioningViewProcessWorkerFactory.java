@@ -71,4 +71,14 @@ public final class StaticSequencePartitioningViewProcessWorkerFactory implements
     return getFactory().getMaximumCycles();
   }
 
+  @Override
+  public void setShareResourcesBetweenWorkers(boolean shareResources) {
+    getFactory().setShareResources(shareResources);
+  }
+
+  @Override
+  public boolean isShareResourcesBetweenWorkers() {
+    return getFactory().isShareResources();
+  }
+
 }
@@ -22,4 +22,8 @@ public interface StaticSequencePartitioningViewProcessWorkerFactoryMBean {
 
   int getMaximumCyclesPerWorker();
 
+  void setShareResourcesBetweenWorkers(boolean shareResources);
+
+  boolean isShareResourcesBetweenWorkers();
+
 }
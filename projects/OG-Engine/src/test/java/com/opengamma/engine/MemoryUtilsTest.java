@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link MemoryUtils} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class MemoryUtilsTest {
+
+  public void testValuePropertiesImpl() {
+    final ValueProperties a = ValueProperties.with("A", "1").with("B", "2").get();
+    final ValueProperties b = ValueProperties.with("A", "1").with("B", "2").get();
+    assertNotSame(a, b);
+    assertSame(MemoryUtils.instance(a), MemoryUtils.instance(b));
+  }
+
+  public void testNearlyInfiniteValueProperties() {
+    final ValueProperties a = ValueProperties.all().withoutAny("A");
+    final ValueProperties b = ValueProperties.all().withoutAny("A");
+    assertNotSame(a, b);
+    assertEquals(a, b);
+    assertSame(MemoryUtils.instance(a), MemoryUtils.instance(b));
+  }
+
+}
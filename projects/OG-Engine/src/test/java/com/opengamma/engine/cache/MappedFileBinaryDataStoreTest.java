@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link MappedFileBinaryDataStore} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class MappedFileBinaryDataStoreTest {
+
+  private File createDirectory(final String methodName) {
+    return new File(new File(System.getProperty("java.io.tmpdir")), "MappedFileBinaryDataStore-" + System.currentTimeMillis() + "-" + methodName);
+  }
+
+  public void testPutGet() {
+    final MappedFileBinaryDataStore store = new MappedFileBinaryDataStore(createDirectory("testPutGet"), 1024);
+    try {
+      final Random random = new Random(1L);
+      final Map<Long, byte[]> expected = new HashMap<Long, byte[]>();
+      for (long i = 0; i < 1000; i++) {
+        final byte[] data = new byte[random.nextInt(100)];
+        random.nextBytes(data);
+        store.put(i * 31, data);
+        expected.put(i * 31, data);
+      }
+      for (Map.Entry<Long, byte[]> entry : expected.entrySet()) {
+        assertEquals(store.get(entry.getKey()), entry.getValue());
+      }
+      assertNull(store.get(1L));
+      final Map<Long, byte[]> bulk = store.get(Arrays.asList(0L, 31L, 1L));
+      assertEquals(bulk.size(), 2);
+      assertEquals(bulk.get(31L), expected.get(31L));
+    } finally {
+      store.delete();
+    }
+  }
+
+  public void testOverwriteAndLargeValue() {
+    final MappedFileBinaryDataStore store = new MappedFileBinaryDataStore(createDirectory("testOverwriteAndLargeValue"), 64);
+    try {
+      store.put(1L, new byte[] {1, 2, 3 });
+      store.put(1L, new byte[] {4, 5 });
+      final byte[] large = new byte[1000];
+      Arrays.fill(large, (byte) 7);
+      store.put(2L, large);
+      assertEquals(store.get(1L), new byte[] {4, 5 });
+      assertEquals(store.get(2L), large);
+    } finally {
+      store.delete();
+    }
+  }
+
+  public void testDelete() {
+    final File directory = createDirectory("testDelete");
+    final MappedFileBinaryDataStore store = new MappedFileBinaryDataStore(directory);
+    store.put(1L, new byte[] {1 });
+    store.delete();
+    assertNull(store.get(1L));
+    assertFalse(directory.exists());
+  }
+
+  public void testFactoryBean() {
+    final File directory = createDirectory("testFactoryBean");
+    final MappedFileBinaryDataStoreFactoryFactoryBean bean = new MappedFileBinaryDataStoreFactoryFactoryBean();
+    bean.setDataStoreBaseFolder(directory.getParent());
+    bean.setDataStoreFolder(directory.getName());
+    bean.setSegmentSize(1024);
+    bean.afterPropertiesSet();
+    final MappedFileBinaryDataStoreFactory factory = bean.getObject();
+    assertEquals(factory.getBaseDirectory(), directory);
+    assertEquals(factory.getSegmentSize(), 1024);
+    final BinaryDataStore store = factory.createDataStore(new ViewComputationCacheKey(UniqueId.of("Test", "Cycle"), "Default"));
+    try {
+      store.put(1L, new byte[] {1, 2, 3 });
+      assertEquals(store.get(1L), new byte[] {1, 2, 3 });
+    } finally {
+      store.delete();
+      directory.delete();
+    }
+  }
+
+  public void testConcurrentDelete() throws Exception {
+    final MappedFileBinaryDataStore store = new MappedFileBinaryDataStore(createDirectory("testConcurrentDelete"), 1024);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<?>> writers = new ArrayList<Future<?>>();
+      for (int i = 0; i < 4; i++) {
+        final long first = i * 100000L;
+        writers.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            start.await();
+            for (long j = first; j < first + 100000L; j++) {
+              try {
+                store.put(j, new byte[] {1, 2, 3 });
+              } catch (IllegalStateException e) {
+                // Deleted
+                return null;
+              }
+              store.get(j);
+            }
+            return null;
+          }
+        }));
+      }
+      start.countDown();
+      store.delete();
+      // Writers either complete or see the store deleted; none fail part way through a write
+      for (Future<?> writer : writers) {
+        writer.get();
+      }
+      assertNull(store.get(0L));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link PrimitiveIdentifierMap} class.
+ */
+@Test(groups = TestGroup.UNIT)
+public class PrimitiveIdentifierMapTest {
+
+  private ValueSpecification createValueSpec(final int id) {
+    return new ValueSpecification(Integer.toString(id), ComputationTargetSpecification.NULL, ValueProperties.with(ValuePropertyNames.FUNCTION, "Test").get());
+  }
+
+  public void testGetIdentifier() {
+    final PrimitiveIdentifierMap map = new PrimitiveIdentifierMap();
+    final long id1 = map.getIdentifier(createValueSpec(1));
+    final long id2 = map.getIdentifier(createValueSpec(2));
+    assertTrue(id1 != id2);
+    assertTrue(id1 != 0L);
+    assertTrue(id2 != 0L);
+    assertEquals(map.getIdentifier(createValueSpec(1)), id1);
+    assertEquals(map.getIdentifier(createValueSpec(2)), id2);
+    assertEquals(map.size(), 2);
+  }
+
+  public void testGetValueSpecification() {
+    final PrimitiveIdentifierMap map = new PrimitiveIdentifierMap();
+    final long id1 = map.getIdentifier(createValueSpec(1));
+    assertEquals(map.getValueSpecification(id1), createValueSpec(1));
+    assertNull(map.getValueSpecification(id1 + 1));
+  }
+
+  public void testGetIdentifiers() {
+    final PrimitiveIdentifierMap map = new PrimitiveIdentifierMap(2);
+    final long id1 = map.getIdentifier(createValueSpec(1));
+    final Object2LongMap<ValueSpecification> result = map.getIdentifiers(Arrays.asList(createValueSpec(1), createValueSpec(2), createValueSpec(3)));
+    assertEquals(result.size(), 3);
+    assertEquals(result.getLong(createValueSpec(1)), id1);
+    assertEquals(result.getLong(createValueSpec(2)), map.getIdentifier(createValueSpec(2)));
+    assertEquals(result.getLong(createValueSpec(3)), map.getIdentifier(createValueSpec(3)));
+    assertEquals(map.size(), 3);
+  }
+
+  public void testGetValueSpecifications() {
+    final PrimitiveIdentifierMap map = new PrimitiveIdentifierMap();
+    final Object2LongMap<ValueSpecification> identifiers = map.getIdentifiers(Arrays.asList(createValueSpec(1), createValueSpec(2)));
+    final long id1 = identifiers.getLong(createValueSpec(1));
+    final long id2 = identifiers.getLong(createValueSpec(2));
+    final Long2ObjectMap<ValueSpecification> result = map.getValueSpecifications(new LongArrayList(new long[] {id1, id2 }));
+    assertEquals(result.size(), 2);
+    assertEquals(result.get(id1), createValueSpec(1));
+    assertEquals(result.get(id2), createValueSpec(2));
+  }
+
+  public void testCachingFrontEnd() {
+    final PrimitiveIdentifierMap underlying = new PrimitiveIdentifierMap();
+    final CachingIdentifierMap cache = new CachingIdentifierMap(underlying);
+    final long id1 = cache.getIdentifier(createValueSpec(1));
+    assertEquals(underlying.getIdentifier(createValueSpec(1)), id1);
+    assertEquals(cache.getValueSpecification(id1), createValueSpec(1));
+  }
+
+}
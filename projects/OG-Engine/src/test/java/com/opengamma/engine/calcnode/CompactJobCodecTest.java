@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.calcnode;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.fudgemsg.FudgeMsg;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.AbstractIdentifierMap;
+import com.opengamma.engine.cache.CacheSelectHint;
+import com.opengamma.engine.cache.IdentifierMap;
+import com.opengamma.engine.cache.InMemoryIdentifierMap;
+import com.opengamma.engine.function.EmptyFunctionParameters;
+import com.opengamma.engine.function.SimpleFunctionParameters;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.ExecutionLogMode;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.test.AbstractFudgeBuilderTestCase;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the {@link CompactJobEncoder} and {@link CompactJobDecoder} classes.
+ */
+@Test(groups = TestGroup.UNIT)
+public class CompactJobCodecTest extends AbstractFudgeBuilderTestCase {
+
+  private final IdentifierMap _identifierMap = new InMemoryIdentifierMap();
+
+  private ValueSpecification createValue(final int i) {
+    return ValueSpecification.of("Foo", ComputationTargetType.PRIMITIVE, UniqueId.of("Value", Integer.toString(i)), ValueProperties.with(ValuePropertyNames.FUNCTION, "Test").get());
+  }
+
+  private CalculationJob createJob(final long jobId, final int firstItem, final int itemCount) {
+    final CalculationJobSpecification spec = new CalculationJobSpecification(UniqueId.of("Test", "ViewCycle"), "config", Instant.now(), jobId);
+    final SimpleFunctionParameters parameters = new SimpleFunctionParameters();
+    parameters.setValue("Foo", "Bar");
+    final List<CalculationJobItem> items = new ArrayList<CalculationJobItem>(itemCount);
+    for (int i = firstItem; i < firstItem + itemCount; i++) {
+      final ComputationTargetSpecification target = new ComputationTargetSpecification(ComputationTargetType.SECURITY, UniqueId.of("Security", Integer.toString(i % 3)));
+      items.add(new CalculationJobItem("Function" + (i % 2), ((i % 4) == 0) ? parameters : EmptyFunctionParameters.INSTANCE, target, Arrays.asList(createValue(i), createValue(i + 1)),
+          Collections.singleton(createValue(i + 1000)), ((i % 5) == 0) ? ExecutionLogMode.FULL : ExecutionLogMode.INDICATORS));
+    }
+    final CalculationJob job = new CalculationJob(spec, 123L, VersionCorrection.LATEST, ((jobId % 2) == 0) ? new long[] {jobId - 1 } : null, items, CacheSelectHint.allShared());
+    AbstractIdentifierMap.convertIdentifiers(_identifierMap, job);
+    return job;
+  }
+
+  private void assertJobEquals(final CalculationJob expected, final CalculationJob actual) {
+    assertEquals(expected.getSpecification(), actual.getSpecification());
+    assertEquals(expected.getFunctionInitializationIdentifier(), actual.getFunctionInitializationIdentifier());
+    assertEquals(expected.getResolverVersionCorrection(), actual.getResolverVersionCorrection());
+    assertTrue(Arrays.equals(expected.getRequiredJobIds(), actual.getRequiredJobIds()));
+    assertEquals(expected.getJobItems().size(), actual.getJobItems().size());
+    for (int i = 0; i < expected.getJobItems().size(); i++) {
+      final CalculationJobItem expectedItem = expected.getJobItems().get(i);
+      final CalculationJobItem actualItem = actual.getJobItems().get(i);
+      assertEquals(expectedItem.getComputationTargetSpecification(), actualItem.getComputationTargetSpecification());
+      assertEquals(expectedItem.getFunctionUniqueIdentifier(), actualItem.getFunctionUniqueIdentifier());
+      assertEquals(expectedItem.getFunctionParameters(), actualItem.getFunctionParameters());
+      assertEquals(expectedItem.getLogMode(), actualItem.getLogMode());
+      assertTrue(Arrays.equals(expectedItem.getInputIdentifiers(), actualItem.getInputIdentifiers()));
+      assertTrue(Arrays.equals(expectedItem.getOutputIdentifiers(), actualItem.getOutputIdentifiers()));
+    }
+  }
+
+  public void testSingleJob() {
+    final CompactJobEncoder encoder = new CompactJobEncoder();
+    final CompactJobDecoder decoder = new CompactJobDecoder();
+    final CalculationJob job = createJob(1L, 0, 20);
+    final FudgeMsg msg = cycleMessage(encoder.encode(getFudgeSerializer(), job));
+    final CalculationJob decoded = decoder.decode(getFudgeDeserializer(), msg);
+    assertJobEquals(job, decoded);
+    AbstractIdentifierMap.resolveIdentifiers(_identifierMap, decoded);
+    assertEquals(createValue(0), decoded.getJobItems().get(0).getInputs()[0]);
+    assertEquals(createValue(1000), decoded.getJobItems().get(0).getOutputs()[0]);
+  }
+
+  public void testDictionarySharedBetweenJobs() {
+    final CompactJobEncoder encoder = new CompactJobEncoder();
+    final CompactJobDecoder decoder = new CompactJobDecoder();
+    final CalculationJob job1 = createJob(1L, 0, 20);
+    final CalculationJob job2 = createJob(2L, 20, 20);
+    final FudgeMsg msg1 = cycleMessage(encoder.encode(getFudgeSerializer(), job1));
+    final FudgeMsg msg2 = cycleMessage(encoder.encode(getFudgeSerializer(), job2));
+    // All targets, functions and parameters were sent with the first job
+    assertTrue(msg1.hasField(CompactJobEncoder.TARGET_FIELD_NAME));
+    assertTrue(msg1.hasField(CompactJobEncoder.FUNCTION_FIELD_NAME));
+    assertTrue(msg1.hasField(CompactJobEncoder.PARAMETERS_FIELD_NAME));
+    assertFalse(msg2.hasField(CompactJobEncoder.TARGET_FIELD_NAME));
+    assertFalse(msg2.hasField(CompactJobEncoder.FUNCTION_FIELD_NAME));
+    assertFalse(msg2.hasField(CompactJobEncoder.PARAMETERS_FIELD_NAME));
+    final CalculationJob decoded1 = decoder.decode(getFudgeDeserializer(), msg1);
+    final CalculationJob decoded2 = decoder.decode(getFudgeDeserializer(), msg2);
+    assertJobEquals(job1, decoded1);
+    assertJobEquals(job2, decoded2);
+    assertSame(decoded1.getJobItems().get(0).getComputationTargetSpecification(), decoded2.getJobItems().get(0).getComputationTargetSpecification());
+    assertNull(decoded1.getRequiredJobIds());
+  }
+
+  @Test(expectedExceptions = OpenGammaRuntimeException.class)
+  public void testDictionaryMismatch() {
+    final CompactJobEncoder encoder = new CompactJobEncoder();
+    encoder.encode(getFudgeSerializer(), createJob(1L, 0, 5));
+    final FudgeMsg msg = cycleMessage(encoder.encode(getFudgeSerializer(), createJob(2L, 5, 5)));
+    // The decoder never saw the first message
+    new CompactJobDecoder().decode(getFudgeDeserializer(), msg);
+  }
+
+  public void testReset() {
+    final CompactJobEncoder encoder = new CompactJobEncoder();
+    final CompactJobDecoder decoder = new CompactJobDecoder();
+    final CalculationJob job1 = createJob(1L, 0, 10);
+    assertJobEquals(job1, decoder.decode(getFudgeDeserializer(), cycleMessage(encoder.encode(getFudgeSerializer(), job1))));
+    // Simulate a failed send; the next message must carry the whole dictionary again
+    encoder.encode(getFudgeSerializer(), createJob(2L, 10, 10));
+    encoder.reset();
+    final CalculationJob job3 = createJob(3L, 0, 10);
+    final FudgeMsg msg3 = cycleMessage(encoder.encode(getFudgeSerializer(), job3));
+    assertTrue(msg3.hasField(CompactJobEncoder.RESET_FIELD_NAME));
+    assertJobEquals(job3, decoder.decode(getFudgeDeserializer(), msg3));
+    final CalculationJob job4 = createJob(4L, 0, 10);
+    final FudgeMsg msg4 = cycleMessage(encoder.encode(getFudgeSerializer(), job4));
+    assertFalse(msg4.hasField(CompactJobEncoder.RESET_FIELD_NAME));
+    assertJobEquals(job4, decoder.decode(getFudgeDeserializer(), msg4));
+  }
+
+  public void testDecodeFailureRequiresReset() {
+    final CompactJobEncoder encoder = new CompactJobEncoder();
+    final CompactJobDecoder decoder = new CompactJobDecoder();
+    assertJobEquals(createJob(1L, 0, 5), decoder.decode(getFudgeDeserializer(), cycleMessage(encoder.encode(getFudgeSerializer(), createJob(1L, 0, 5)))));
+    // Lose a message so that the decoder is out of step
+    encoder.encode(getFudgeSerializer(), createJob(2L, 5, 5));
+    try {
+      decoder.decode(getFudgeDeserializer(), cycleMessage(encoder.encode(getFudgeSerializer(), createJob(3L, 10, 5))));
+      fail();
+    } catch (OpenGammaRuntimeException e) {
+      // Expected
+    }
+    assertTrue(decoder.isAwaitingReset());
+    // Messages are rejected, even if they happen to match the discarded dictionary size, until the encoder resets
+    final CompactJobEncoder other = new CompactJobEncoder();
+    try {
+      decoder.decode(getFudgeDeserializer(), cycleMessage(other.encode(getFudgeSerializer(), createJob(4L, 0, 5))));
+      fail();
+    } catch (OpenGammaRuntimeException e) {
+      // Expected
+    }
+    encoder.reset();
+    final CalculationJob job5 = createJob(5L, 0, 5);
+    assertJobEquals(job5, decoder.decode(getFudgeDeserializer(), cycleMessage(encoder.encode(getFudgeSerializer(), job5))));
+    assertFalse(decoder.isAwaitingReset());
+  }
+
+  public void testMaxDictionarySize() {
+    final CompactJobEncoder encoder = new CompactJobEncoder(4);
+    final CompactJobDecoder decoder = new CompactJobDecoder();
+    // The first job creates 3 targets, 2 functions and 1 parameter set
+    final CalculationJob job1 = createJob(1L, 0, 10);
+    final FudgeMsg msg1 = cycleMessage(encoder.encode(getFudgeSerializer(), job1));
+    assertJobEquals(job1, decoder.decode(getFudgeDeserializer(), msg1));
+    // The dictionaries are over the limit so the second job starts again
+    final CalculationJob job2 = createJob(2L, 10, 10);
+    final FudgeMsg msg2 = cycleMessage(encoder.encode(getFudgeSerializer(), job2));
+    assertTrue(msg2.hasField(CompactJobEncoder.RESET_FIELD_NAME));
+    assertTrue(msg2.hasField(CompactJobEncoder.TARGET_FIELD_NAME));
+    assertEquals(0, (int) msg2.getInt(CompactJobEncoder.DICTIONARY_FIELD_NAME));
+    assertJobEquals(job2, decoder.decode(getFudgeDeserializer(), msg2));
+  }
+
+}
@@ -11,6 +11,7 @@ import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -175,4 +176,28 @@ public class RunQueueTest {
     testLIFO(RunQueueFactory.getOrdered());
   }
 
+  public void testWorkStealingRunQueue() {
+    testSpeed(RunQueueFactory.getWorkStealing());
+    testLIFO(RunQueueFactory.getWorkStealing());
+  }
+
+  public void testWorkStealingRunQueueSteal() throws Exception {
+    final RunQueue queue = RunQueueFactory.getWorkStealing().createRunQueue();
+    final ContextRunnable r1 = runnable();
+    final ContextRunnable r2 = runnable();
+    queue.add(r1);
+    queue.add(r2);
+    // Another thread should steal the oldest task
+    assertSame(_executor.submit(new Callable<ContextRunnable>() {
+      @Override
+      public ContextRunnable call() {
+        assertFalse(queue.isEmpty());
+        return queue.take();
+      }
+    }).get(), r1);
+    assertEquals(queue.size(), 1);
+    assertSame(queue.take(), r2);
+    assertTrue(queue.isEmpty());
+  }
+
 }
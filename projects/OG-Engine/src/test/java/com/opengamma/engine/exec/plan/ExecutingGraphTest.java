@@ -136,4 +136,24 @@ public class ExecutingGraphTest {
     assertNull(executing.nextExecutableJob());
     assertTrue(executing.isFinished());
   }
+
+  public void priorityTest() {
+    final PlannedJob job4 = new PlannedJob(1, createJobItems(4), CacheSelectHint.allShared(), null, null, 1L);
+    final PlannedJob job5 = new PlannedJob(1, createJobItems(5), CacheSelectHint.allShared(), null, null, 4L);
+    final PlannedJob job1 = new PlannedJob(0, createJobItems(1), CacheSelectHint.allShared(), null, new PlannedJob[] {job4, job5 }, 5L);
+    final PlannedJob job2 = new PlannedJob(0, createJobItems(2), CacheSelectHint.allShared(), null, null, 3L);
+    final PlannedJob job3 = new PlannedJob(0, createJobItems(3), CacheSelectHint.allShared(), null, null, 2L);
+    final GraphExecutionPlan plan = new GraphExecutionPlan("Default", 0, Arrays.asList(job3, job1, job2), 0, 10d, 10d, 10d);
+    final ExecutingGraph executing = new ExecutingGraph(plan, UniqueId.of("Cycle", "Test"), Instant.now(), VersionCorrection.LATEST);
+    final CalculationJob actual1 = executing.nextExecutableJob();
+    assertJob(actual1, 1);
+    executing.jobCompleted(actual1.getSpecification());
+    // J5 is now runnable and takes precedence over the remaining leaves
+    assertJob(executing.nextExecutableJob(), 5);
+    assertJob(executing.nextExecutableJob(), 2);
+    assertJob(executing.nextExecutableJob(), 3);
+    assertJob(executing.nextExecutableJob(), 4);
+    assertNull(executing.nextExecutableJob());
+  }
+
 }
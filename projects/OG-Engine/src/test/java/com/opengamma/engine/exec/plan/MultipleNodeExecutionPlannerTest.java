@@ -17,10 +17,12 @@ import java.util.Set;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
 
 import com.opengamma.engine.ComputationTarget;
 import com.opengamma.engine.ComputationTargetSpecification;
 import com.opengamma.engine.cache.CacheSelectHint;
+import com.opengamma.engine.calcnode.CalculationJob;
 import com.opengamma.engine.calcnode.CalculationJobItem;
 import com.opengamma.engine.depgraph.DependencyGraph;
 import com.opengamma.engine.depgraph.DependencyNode;
@@ -32,6 +34,7 @@ import com.opengamma.engine.value.ValueRequirement;
 import com.opengamma.engine.value.ValueSpecification;
 import com.opengamma.engine.view.impl.ExecutionLogModeSource;
 import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
 import com.opengamma.util.test.TestGroup;
 
 /**
@@ -240,6 +243,65 @@ public class MultipleNodeExecutionPlannerTest {
     assertEquals(mask, 31);
   }
 
+  /**
+   * No changes to graph, jobs prioritized by critical path. With unit costs for each invocation and each input or output value:
+   * <ul>
+   * <li>N0 and N1 cost 3, N4 costs 4
+   * <li>N2 costs 4 so has a critical path (to N4) of 8
+   * <li>N3 costs 2 so has a critical path (to N4) of 6
+   * </ul>
+   */
+  public void testCriticalPath() {
+    final MultipleNodeExecutionPlanner planner = createPlanner(1, 1, 0);
+    planner.setCriticalPathScheduling(true);
+    final GraphExecutionPlan plan = plan(planner, _testGraph);
+    if (PRINT_GRAPHS) {
+      System.out.println("testCriticalPath");
+      plan.print();
+    }
+    assertEquals(plan.getLeafJobs().size(), 2);
+    int mask = 0;
+    for (PlannedJob job : plan.getLeafJobs()) {
+      if (matchJob(job, _testNode[2])) {
+        mask |= 1;
+        assertEquals(job.getPriority(), 8L);
+        for (PlannedJob job2 : job.getDependents()) {
+          if (matchJob(job2, _testNode[4])) {
+            mask |= 2;
+            assertEquals(job2.getPriority(), 4L);
+          } else {
+            assertEquals(job2.getPriority(), 3L);
+          }
+        }
+      } else if (matchJob(job, _testNode[3])) {
+        mask |= 4;
+        assertEquals(job.getPriority(), 6L);
+      } else {
+        fail();
+      }
+    }
+    assertEquals(mask, 7);
+    // The job on the critical path must be dispatched first
+    final ExecutingGraph executing = new ExecutingGraph(plan, UniqueId.of("Cycle", "Test"), Instant.now(), VersionCorrection.LATEST);
+    final CalculationJob first = executing.nextExecutableJob();
+    assertEquals(first.getJobItems().size(), 1);
+    assertEquals(first.getJobItems().get(0).getComputationTargetSpecification(), _testNode[2].getComputationTarget());
+  }
+
+  /**
+   * Default planner does not assign priorities.
+   */
+  public void testNoCriticalPath() {
+    final MultipleNodeExecutionPlanner planner = createPlanner(1, 1, 0);
+    final GraphExecutionPlan plan = plan(planner, _testGraph);
+    for (PlannedJob job : plan.getLeafJobs()) {
+      assertEquals(job.getPriority(), 0L);
+      for (PlannedJob job2 : job.getDependents()) {
+        assertEquals(job2.getPriority(), 0L);
+      }
+    }
+  }
+
   /**
    * Input-merge on N0+N1, single-dep merge on N4+N3
    */
@@ -7,6 +7,7 @@ package com.opengamma.engine.value;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotSame;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertSame;
@@ -310,7 +311,49 @@ public class ValuePropertiesTest {
     assertEquals(none, withOptionalWithout);
     assertEquals(withOptionalWithout, none);
   }
-  
+
+  public void testInterned() {
+    final ValueProperties a = ValueProperties.with("A", "1").with("B", "2", "3").withOptional("C").get();
+    final ValueProperties b = ValueProperties.withOptional("C").with("B", "3", "2").with("A", "1").get();
+    // interned lazily, not on creation
+    assertNotSame(a, b);
+    assertEquals(a, b);
+    final ValueProperties canonical = a.intern();
+    assertSame(canonical, b.intern());
+    assertSame(canonical, canonical.intern());
+    assertSame(canonical, ValueProperties.parse(a.toString()).intern());
+    assertSame(canonical, a.copy().get().intern());
+    assertEquals(canonical, a);
+    assertFalse(canonical.equals(ValueProperties.with("A", "1").get().intern()));
+  }
+
+  public void testMemoisedCompose() {
+    final ValueProperties constraints = ValueProperties.with("A", "1").withAny("B").get();
+    final ValueProperties properties = ValueProperties.with("A", "1", "2").with("B", "3", "4").get();
+    final ValueProperties composed = properties.compose(constraints);
+    assertEquals(ValueProperties.with("A", "1").with("B", "3", "4").get(), composed);
+    assertSame(composed, properties.compose(constraints));
+    // memoised against the canonical instances of equal operands
+    assertSame(composed, properties.copy().get().compose(ValueProperties.withAny("B").with("A", "1").get()));
+    // an unchanged composition is the left hand operand
+    final ValueProperties unchanged = ValueProperties.with("A", "1").with("B", "3").get();
+    assertSame(unchanged, unchanged.compose(constraints));
+    assertSame(unchanged, unchanged.compose(constraints));
+    final ValueProperties equalUnchanged = ValueProperties.with("A", "1").with("B", "3").get();
+    assertSame(equalUnchanged, equalUnchanged.compose(constraints));
+  }
+
+  public void testMemoisedSatisfiedBy() {
+    final ValueProperties constraints = ValueProperties.with("A", "1").withAny("B").get();
+    final ValueProperties satisfying = ValueProperties.with("A", "1", "2").with("B", "3").get();
+    final ValueProperties notSatisfying = ValueProperties.with("A", "2").with("B", "3").get();
+    for (int i = 0; i < 2; i++) {
+      assertTrue(constraints.isSatisfiedBy(satisfying));
+      assertFalse(constraints.isSatisfiedBy(notSatisfying));
+      assertTrue(constraints.isSatisfiedBy(constraints));
+    }
+  }
+
 
   
   @Test(expectedExceptions = IllegalArgumentException.class)
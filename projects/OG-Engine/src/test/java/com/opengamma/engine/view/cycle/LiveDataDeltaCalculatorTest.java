@@ -6,6 +6,8 @@
 package com.opengamma.engine.view.cycle;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
 
 import java.util.Collections;
 import java.util.Set;
@@ -178,4 +180,70 @@ public class LiveDataDeltaCalculatorTest {
     assertEquals(Collections.emptySet(), _deltaCalculator.getChangedNodes());
   }
 
+  public void incrementalChangeA() {
+    put(_cache, _node0, 6.0);
+    put(_previousCache, _node0, 7.0);
+    put(_cache, _node1, 6.0);
+    put(_previousCache, _node1, 6.0);
+
+    final LiveDataDeltaCalculator deltaCalculator = new LiveDataDeltaCalculator(_graph, _cache, _previousCache, MarketDataDependencyIndex.of(_graph));
+    deltaCalculator.computeDelta();
+
+    assertEquals(Sets.newHashSet(_node1, _node3), deltaCalculator.getUnchangedNodes());
+    assertEquals(Sets.newHashSet(_node0, _node2, _node4), deltaCalculator.getChangedNodes());
+  }
+
+  public void incrementalChangeB() {
+    put(_cache, _node1, 6.0);
+    put(_previousCache, _node1, 7.0);
+
+    final LiveDataDeltaCalculator deltaCalculator = new LiveDataDeltaCalculator(_graph, _cache, _previousCache, MarketDataDependencyIndex.of(_graph));
+    deltaCalculator.computeDelta();
+
+    assertEquals(Sets.newHashSet(_node0), deltaCalculator.getUnchangedNodes());
+    assertEquals(Sets.newHashSet(_node1, _node2, _node3, _node4), deltaCalculator.getChangedNodes());
+  }
+
+  public void incrementalNoChange() {
+    put(_cache, _node0, 6.0);
+    put(_previousCache, _node0, 6.0);
+    put(_cache, _node2, 6.0);
+    put(_previousCache, _node2, 7.0);
+
+    final LiveDataDeltaCalculator deltaCalculator = new LiveDataDeltaCalculator(_graph, _cache, _previousCache, MarketDataDependencyIndex.of(_graph));
+    deltaCalculator.computeDelta();
+
+    assertEquals(_graph.getDependencyNodes(), deltaCalculator.getUnchangedNodes());
+    assertEquals(Collections.emptySet(), deltaCalculator.getChangedNodes());
+  }
+
+  public void indexSharedBetweenCycles() {
+    assertSame(MarketDataDependencyIndex.of(_graph), MarketDataDependencyIndex.of(_graph));
+    assertEquals(MarketDataDependencyIndex.of(_graph).getMarketData().size(), 2);
+  }
+
+  public void incrementalGraphChangedInPlace() {
+    // a separate graph, as the shared test graph is used by the other cases
+    final DependencyNode marketData = createNode("MarketData", Collections.<DependencyNode>emptySet());
+    final DependencyNode consumer = createNode("Consumer", Sets.newHashSet(marketData));
+    final DependencyGraph graph = new DependencyGraph("test");
+    graph.addDependencyNode(marketData);
+    graph.addDependencyNode(consumer);
+    put(_cache, marketData, 6.0);
+    put(_previousCache, marketData, 6.0);
+    final MarketDataDependencyIndex index = MarketDataDependencyIndex.of(graph);
+    LiveDataDeltaCalculator deltaCalculator = new LiveDataDeltaCalculator(graph, _cache, _previousCache, index);
+    deltaCalculator.computeDelta();
+    assertEquals(Collections.emptySet(), deltaCalculator.getChangedNodes());
+    // an incremental recompilation rewrites the market data node to a new target
+    final DependencyNode newMarketData = graph.replaceNode(marketData, getTarget("NewMarketData").toSpecification());
+    put(_cache, newMarketData, 6.0);
+    put(_previousCache, newMarketData, 7.0);
+    assertNotSame(index, MarketDataDependencyIndex.of(graph));
+    deltaCalculator = new LiveDataDeltaCalculator(graph, _cache, _previousCache, MarketDataDependencyIndex.of(graph));
+    deltaCalculator.computeDelta();
+    assertEquals(Sets.newHashSet(newMarketData, consumer), deltaCalculator.getChangedNodes());
+    assertEquals(Collections.emptySet(), deltaCalculator.getUnchangedNodes());
+  }
+
 }
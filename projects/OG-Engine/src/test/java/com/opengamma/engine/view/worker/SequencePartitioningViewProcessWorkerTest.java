@@ -5,6 +5,7 @@
  */
 package com.opengamma.engine.view.worker;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
@@ -12,8 +13,11 @@ import static org.testng.Assert.fail;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.annotations.Test;
 import org.threeten.bp.Instant;
 
@@ -173,6 +177,45 @@ public class SequencePartitioningViewProcessWorkerTest {
     Mockito.verify(context, Mockito.times(0)).viewDefinitionCompilationFailed(Mockito.any(Instant.class), Mockito.any(Exception.class));
   }
 
+  public void testSharedResources() throws InterruptedException {
+    final AtomicInteger compilations = new AtomicInteger();
+    final AtomicInteger workersBeforeCompilation = new AtomicInteger();
+    final ViewProcessWorkerFactoryMock underlying = new ViewProcessWorkerFactoryMock(0) {
+      @Override
+      public ViewProcessWorker createWorker(ViewProcessWorkerContext context, ViewExecutionOptions executionOptions, ViewDefinition viewDefinition) {
+        if (compilations.get() == 0) {
+          workersBeforeCompilation.incrementAndGet();
+        }
+        return super.createWorker(context, executionOptions, viewDefinition);
+      }
+    };
+    final Instant t = Instant.now();
+    final List<ViewCycleExecutionOptions> cycles = new ArrayList<ViewCycleExecutionOptions>(37);
+    for (int i = 0; i < 37; i++) {
+      cycles.add(ViewCycleExecutionOptions.builder().setValuationTime(t.plusSeconds(i)).create());
+    }
+    final ViewCycleExecutionSequence sequence = new ArbitraryViewCycleExecutionSequence(cycles);
+    final ViewExecutionOptions options = ExecutionOptions.of(sequence, EnumSet.of(ViewExecutionFlags.RUN_AS_FAST_AS_POSSIBLE));
+    final ViewProcessWorkerContext context = Mockito.mock(ViewProcessWorkerContext.class);
+    Mockito.doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(final InvocationOnMock invocation) {
+        compilations.incrementAndGet();
+        return null;
+      }
+    }).when(context).viewDefinitionCompiled(Mockito.any(ViewExecutionDataProvider.class), Mockito.any(CompiledViewDefinitionWithGraphs.class));
+    final SequencePartitioningViewProcessWorker worker = new SequencePartitioningViewProcessWorker(underlying, context, options, Mockito.mock(ViewDefinition.class), 10, 3,
+        true);
+    assertTrue(worker.join(4 * Timeout.standardTimeoutMillis()));
+    assertTrue(worker.isTerminated());
+    // Only the first worker is spawned before the view definition is compiled
+    assertEquals(workersBeforeCompilation.get(), 1);
+    Mockito.verify(context, Mockito.times(cycles.size())).cycleStarted(Mockito.any(ViewCycleMetadata.class));
+    Mockito.verify(context, Mockito.times(4)).viewDefinitionCompiled(Mockito.any(ViewExecutionDataProvider.class), Mockito.any(CompiledViewDefinitionWithGraphs.class));
+    Mockito.verify(context, Mockito.times(cycles.size())).cycleCompleted(Mockito.any(ViewCycle.class));
+    Mockito.verify(context, Mockito.times(1)).workerCompleted();
+  }
+
   public void testInfiniteSequence() throws InterruptedException {
     final ViewProcessWorkerFactoryMock underlying = new ViewProcessWorkerFactoryMock((int) (Timeout.standardTimeoutMillis() / 32));
     final ViewExecutionOptions options = ExecutionOptions.of(new InfiniteViewCycleExecutionSequence(), EnumSet.of(ViewExecutionFlags.RUN_AS_FAST_AS_POSSIBLE));
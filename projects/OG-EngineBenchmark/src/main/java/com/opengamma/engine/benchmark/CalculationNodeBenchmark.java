@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.cache.CacheSelectHint;
+import com.opengamma.engine.cache.ViewComputationCache;
+import com.opengamma.engine.calcnode.CalculationJob;
+import com.opengamma.engine.calcnode.CalculationJobItem;
+import com.opengamma.engine.calcnode.CalculationJobResult;
+import com.opengamma.engine.calcnode.CalculationJobSpecification;
+import com.opengamma.engine.calcnode.SimpleCalculationNode;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.test.TestCalculationNode;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.ExecutionLogMode;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+
+/**
+ * Measures {@link SimpleCalculationNode} job execution using functions that do no work, so that the cost is that of the node itself; resolving targets,
+ * fetching inputs from the cache, invoking the function and writing the results back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CalculationNodeBenchmark {
+
+  /**
+   * The number of items in the job.
+   */
+  @Param({"10", "1000" })
+  public int _jobItems;
+
+  private TestCalculationNode _node;
+  private CalculationJob _job;
+
+  @Setup
+  public void setup() {
+    _node = new TestCalculationNode();
+    final NoOpFunction function = new NoOpFunction("NoOp", ComputationTargetType.PRIMITIVE, "Result", Collections.singleton("Input"),
+        Collections.<ValueRequirement>emptySet());
+    ((InMemoryFunctionRepository) _node.getFunctionCompilationService().getFunctionRepository()).addFunction(function);
+    _node.getFunctionCompilationService().initialize();
+    final CalculationJobSpecification jobSpec = new CalculationJobSpecification(UniqueId.of("Test", "ViewCycle"), "Default", Instant.now(), 1L);
+    final ViewComputationCache cache = _node.getCache(jobSpec);
+    final ValueProperties inputProperties = ValueProperties.with(ValuePropertyNames.FUNCTION, "MarketData").get();
+    final List<CalculationJobItem> items = new ArrayList<CalculationJobItem>(_jobItems);
+    for (int i = 0; i < _jobItems; i++) {
+      final ComputationTarget target = new ComputationTarget(ComputationTargetType.PRIMITIVE, UniqueId.of("Position", Integer.toString(i)));
+      final ValueSpecification input = new ValueSpecification("Input", target.toSpecification(), inputProperties);
+      cache.putSharedValue(new ComputedValue(input, (double) i));
+      items.add(new CalculationJobItem(function.getUniqueId(), function.getDefaultParameters(), target.toSpecification(), Collections.singleton(input),
+          Collections.singleton(function.getResult(target)), ExecutionLogMode.INDICATORS));
+    }
+    _job = new CalculationJob(jobSpec, 0L, VersionCorrection.LATEST, null, items, CacheSelectHint.allShared());
+  }
+
+  @Benchmark
+  public CalculationJobResult executeJob() {
+    return _node.executeJob(_job);
+  }
+
+}
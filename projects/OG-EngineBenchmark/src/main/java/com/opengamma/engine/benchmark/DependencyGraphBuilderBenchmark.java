@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+
+import com.opengamma.engine.ComputationTargetResolver;
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.DefaultComputationTargetResolver;
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyGraphBuilder;
+import com.opengamma.engine.function.CachingFunctionRepositoryCompiler;
+import com.opengamma.engine.function.CompiledFunctionService;
+import com.opengamma.engine.function.FunctionCompilationContext;
+import com.opengamma.engine.function.InMemoryFunctionRepository;
+import com.opengamma.engine.function.resolver.CompiledFunctionResolver;
+import com.opengamma.engine.function.resolver.DefaultFunctionResolver;
+import com.opengamma.engine.marketdata.availability.FixedMarketDataAvailabilityProvider;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.money.Currency;
+
+/**
+ * Measures {@link DependencyGraphBuilder} compilation of a synthetic portfolio.
+ * <p>
+ * Each position in the portfolio is a primitive target requiring a present value and a sensitivity. The present value depends on a market value which is
+ * sourced from market data; the sensitivity depends on the market value and on a curve that is shared by every position. Each position therefore contributes
+ * four nodes to the graph and one curve node is shared by all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DependencyGraphBuilderBenchmark {
+
+  private static final String PRESENT_VALUE = "PresentValue";
+  private static final String SENSITIVITY = "Sensitivity";
+  private static final String MARKET_VALUE = "MarketValue";
+  private static final String PRICE = "Price";
+  private static final String CURVE = "Curve";
+  private static final String CURVE_DATA = "CurveData";
+
+  /**
+   * The number of positions in the portfolio.
+   */
+  @Param({"100", "1000", "10000" })
+  public int _portfolioSize;
+
+  /**
+   * The number of additional threads the builder may use.
+   */
+  @Param({"0", "3" })
+  public int _additionalThreads;
+
+  private FunctionCompilationContext _context;
+  private CompiledFunctionResolver _functionResolver;
+  private FixedMarketDataAvailabilityProvider _marketData;
+  private Set<ValueRequirement> _requirements;
+
+  @Setup
+  public void setup() {
+    final Instant now = Instant.now();
+    final ComputationTargetSpecification curveTarget = ComputationTargetSpecification.of(Currency.USD);
+    final InMemoryFunctionRepository functions = new InMemoryFunctionRepository();
+    functions.addFunction(new NoOpFunction("PV", ComputationTargetType.PRIMITIVE, PRESENT_VALUE, Arrays.asList(MARKET_VALUE, SENSITIVITY),
+        Collections.<ValueRequirement>emptySet()));
+    functions.addFunction(new NoOpFunction("Sensitivity", ComputationTargetType.PRIMITIVE, SENSITIVITY, Collections.singleton(MARKET_VALUE),
+        Collections.singleton(new ValueRequirement(CURVE, curveTarget))));
+    functions.addFunction(new NoOpFunction("MV", ComputationTargetType.PRIMITIVE, MARKET_VALUE, Collections.singleton(PRICE),
+        Collections.<ValueRequirement>emptySet()));
+    functions.addFunction(new NoOpFunction("Curve", ComputationTargetType.CURRENCY, CURVE, Collections.singleton(CURVE_DATA),
+        Collections.<ValueRequirement>emptySet()));
+    _context = new FunctionCompilationContext();
+    final ComputationTargetResolver targetResolver = new DefaultComputationTargetResolver();
+    _context.setRawComputationTargetResolver(targetResolver);
+    _context.setComputationTargetResolver(targetResolver.atVersionCorrection(VersionCorrection.of(now, now)));
+    final CompiledFunctionService compilationService = new CompiledFunctionService(functions, new CachingFunctionRepositoryCompiler(), _context);
+    compilationService.initialize();
+    _functionResolver = new DefaultFunctionResolver(compilationService).compile(now);
+    _marketData = new FixedMarketDataAvailabilityProvider();
+    _marketData.addAvailableData(_marketData.resolveRequirement(new ValueRequirement(CURVE_DATA, curveTarget)));
+    _requirements = new HashSet<ValueRequirement>();
+    for (int i = 0; i < _portfolioSize; i++) {
+      final ComputationTargetSpecification position = ComputationTargetSpecification.of(UniqueId.of("Position", Integer.toString(i)));
+      _marketData.addAvailableData(_marketData.resolveRequirement(new ValueRequirement(PRICE, position)));
+      _requirements.add(new ValueRequirement(PRESENT_VALUE, position));
+      _requirements.add(new ValueRequirement(SENSITIVITY, position));
+    }
+  }
+
+  @Benchmark
+  public DependencyGraph buildGraph() {
+    final DependencyGraphBuilder builder = new DependencyGraphBuilder();
+    builder.setCalculationConfigurationName("Default");
+    builder.setMarketDataAvailabilityProvider(_marketData);
+    builder.setCompilationContext(_context);
+    builder.setFunctionResolver(_functionResolver);
+    builder.setMaxAdditionalThreads(_additionalThreads);
+    builder.addTarget(_requirements);
+    return builder.getDependencyGraph();
+  }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.cache.InMemoryViewComputationCacheSource;
+import com.opengamma.engine.cache.ViewComputationCache;
+import com.opengamma.engine.depgraph.DependencyGraph;
+import com.opengamma.engine.depgraph.DependencyNode;
+import com.opengamma.engine.function.MarketDataSourcingFunction;
+import com.opengamma.engine.function.ParameterizedFunction;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.engine.view.cycle.LiveDataDeltaCalculator;
+import com.opengamma.engine.view.cycle.MarketDataDependencyIndex;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.money.Currency;
+
+/**
+ * Measures {@link LiveDataDeltaCalculator} on a graph where each position has a market data node feeding a market value and a present value, and every present
+ * value also depends on a single curve built from shared market data. A fraction of the position market data is changed between the two cycles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LiveDataDeltaCalculatorBenchmark {
+
+  /**
+   * The number of positions in the graph.
+   */
+  @Param({"1000", "10000" })
+  public int _portfolioSize;
+
+  /**
+   * The proportion of the position market data that changes between cycles.
+   */
+  @Param({"0.01", "1.0" })
+  public double _changedFraction;
+
+  /**
+   * Whether to use the market data index to propagate the changes forward rather than walking the whole graph.
+   */
+  @Param({"false", "true" })
+  public boolean _indexed;
+
+  private DependencyGraph _graph;
+  private ViewComputationCache _cache;
+  private ViewComputationCache _previousCache;
+  private MarketDataDependencyIndex _index;
+
+  private static DependencyNode createMarketDataNode(final ComputationTarget target, final String valueName) {
+    final DependencyNode node = new DependencyNode(target);
+    final MarketDataSourcingFunction function = MarketDataSourcingFunction.INSTANCE;
+    node.setFunction(new ParameterizedFunction(function, function.getDefaultParameters()));
+    node.addOutputValue(new ValueSpecification(valueName, target.toSpecification(), ValueProperties.with(ValuePropertyNames.FUNCTION, function.getUniqueId()).get()));
+    return node;
+  }
+
+  private static DependencyNode createNode(final ComputationTarget target, final NoOpFunction function, final DependencyNode... inputs) {
+    final DependencyNode node = new DependencyNode(target);
+    node.setFunction(function);
+    node.addOutputValue(function.getResult(target));
+    for (DependencyNode input : inputs) {
+      node.addInputNode(input);
+      for (ValueSpecification inputValue : input.getOutputValues()) {
+        node.addInputValue(inputValue);
+      }
+    }
+    return node;
+  }
+
+  private static void put(final ViewComputationCache cache, final DependencyNode node, final Object value) {
+    final Set<ValueSpecification> outputs = node.getOutputValues();
+    cache.putSharedValue(new ComputedValue(outputs.iterator().next(), value));
+  }
+
+  @Setup
+  public void setup() {
+    final InMemoryViewComputationCacheSource source = new InMemoryViewComputationCacheSource(OpenGammaFudgeContext.getInstance());
+    _cache = source.getCache(UniqueId.of("Test", "ViewCycle", "1"), "Default");
+    _previousCache = source.getCache(UniqueId.of("Test", "ViewCycle", "0"), "Default");
+    _graph = new DependencyGraph("Default");
+    final NoOpFunction curveFunction = new NoOpFunction("Curve", ComputationTargetType.CURRENCY, "Curve");
+    final NoOpFunction marketValueFunction = new NoOpFunction("MV", ComputationTargetType.PRIMITIVE, "MarketValue");
+    final NoOpFunction presentValueFunction = new NoOpFunction("PV", ComputationTargetType.PRIMITIVE, "PresentValue");
+    final ComputationTarget currency = new ComputationTarget(ComputationTargetType.CURRENCY, Currency.USD);
+    final DependencyNode curveData = createMarketDataNode(currency, "CurveData");
+    final DependencyNode curve = createNode(currency, curveFunction, curveData);
+    _graph.addDependencyNode(curveData);
+    _graph.addDependencyNode(curve);
+    put(_cache, curveData, 0d);
+    put(_previousCache, curveData, 0d);
+    final int changeInterval = (_changedFraction > 0) ? (int) Math.max(1, Math.round(1d / _changedFraction)) : Integer.MAX_VALUE;
+    for (int i = 0; i < _portfolioSize; i++) {
+      final ComputationTarget position = new ComputationTarget(ComputationTargetType.PRIMITIVE, UniqueId.of("Position", Integer.toString(i)));
+      final DependencyNode price = createMarketDataNode(position, "Price");
+      final DependencyNode marketValue = createNode(position, marketValueFunction, price);
+      final DependencyNode presentValue = createNode(position, presentValueFunction, marketValue, curve);
+      _graph.addDependencyNode(price);
+      _graph.addDependencyNode(marketValue);
+      _graph.addDependencyNode(presentValue);
+      put(_cache, price, (double) i);
+      put(_previousCache, price, ((i % changeInterval) == 0) ? (double) -i - 1 : (double) i);
+    }
+    _index = _indexed ? MarketDataDependencyIndex.of(_graph) : null;
+  }
+
+  @Benchmark
+  public Set<DependencyNode> computeDelta() {
+    final LiveDataDeltaCalculator calculator = new LiveDataDeltaCalculator(_graph, _cache, _previousCache, _index);
+    calculator.computeDelta();
+    return calculator.getChangedNodes();
+  }
+
+}
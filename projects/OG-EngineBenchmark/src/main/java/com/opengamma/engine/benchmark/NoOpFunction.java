@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.opengamma.engine.ComputationTarget;
+import com.opengamma.engine.function.AbstractFunction;
+import com.opengamma.engine.function.FunctionCompilationContext;
+import com.opengamma.engine.function.FunctionExecutionContext;
+import com.opengamma.engine.function.FunctionInputs;
+import com.opengamma.engine.target.ComputationTargetType;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueRequirement;
+import com.opengamma.engine.value.ValueSpecification;
+
+/**
+ * A function that applies to every target of a given type and does no work. It produces a single value, requiring zero or more values on the same target and
+ * zero or more fixed values from elsewhere, so that graphs with realistic shapes can be built without any real analytics being involved.
+ */
+public class NoOpFunction extends AbstractFunction.NonCompiledInvoker {
+
+  private static final Double RESULT = 1d;
+
+  private final ComputationTargetType _targetType;
+  private final String _valueName;
+  private final Collection<String> _targetInputs;
+  private final Collection<ValueRequirement> _fixedInputs;
+
+  /**
+   * Creates a new function.
+   *
+   * @param uniqueId the unique identifier of the function, not null
+   * @param targetType the type of target the function applies to, not null
+   * @param valueName the value produced on each target, not null
+   * @param targetInputs the values required on the same target, not null
+   * @param fixedInputs the values required regardless of the target, not null
+   */
+  public NoOpFunction(final String uniqueId, final ComputationTargetType targetType, final String valueName, final Collection<String> targetInputs,
+      final Collection<ValueRequirement> fixedInputs) {
+    setUniqueId(uniqueId);
+    _targetType = targetType;
+    _valueName = valueName;
+    _targetInputs = targetInputs;
+    _fixedInputs = fixedInputs;
+  }
+
+  /**
+   * Creates a new function with no inputs.
+   *
+   * @param uniqueId the unique identifier of the function, not null
+   * @param targetType the type of target the function applies to, not null
+   * @param valueName the value produced on each target, not null
+   */
+  public NoOpFunction(final String uniqueId, final ComputationTargetType targetType, final String valueName) {
+    this(uniqueId, targetType, valueName, Collections.<String>emptySet(), Collections.<ValueRequirement>emptySet());
+  }
+
+  /**
+   * Returns the value specification this function produces on a target.
+   *
+   * @param target the target, not null
+   * @return the value specification, not null
+   */
+  public ValueSpecification getResult(final ComputationTarget target) {
+    return new ValueSpecification(_valueName, target.toSpecification(), createValueProperties().get());
+  }
+
+  @Override
+  public ComputationTargetType getTargetType() {
+    return _targetType;
+  }
+
+  @Override
+  public boolean canApplyTo(final FunctionCompilationContext context, final ComputationTarget target) {
+    return true;
+  }
+
+  @Override
+  public Set<ValueSpecification> getResults(final FunctionCompilationContext context, final ComputationTarget target) {
+    return Collections.singleton(getResult(target));
+  }
+
+  @Override
+  public Set<ValueRequirement> getRequirements(final FunctionCompilationContext context, final ComputationTarget target, final ValueRequirement desiredValue) {
+    final Set<ValueRequirement> requirements = new HashSet<ValueRequirement>();
+    for (String targetInput : _targetInputs) {
+      requirements.add(new ValueRequirement(targetInput, target.toSpecification()));
+    }
+    requirements.addAll(_fixedInputs);
+    return requirements;
+  }
+
+  @Override
+  public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
+      final Set<ValueRequirement> desiredValues) {
+    final Set<ComputedValue> results = new HashSet<ComputedValue>();
+    for (ValueRequirement desiredValue : desiredValues) {
+      // The desired values are really the value specifications from the graph
+      results.add(new ComputedValue(new ValueSpecification(desiredValue.getValueName(), target.toSpecification(), desiredValue.getConstraints()), RESULT));
+    }
+    return results;
+  }
+
+}
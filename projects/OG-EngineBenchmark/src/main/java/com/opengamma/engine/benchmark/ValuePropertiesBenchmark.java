@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+
+/**
+ * Measures the {@link ValueProperties} operations used heavily during graph construction; building unions of property sets, testing whether a requirement's
+ * constraints are satisfied by a specification's properties and composing the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ValuePropertiesBenchmark {
+
+  private ValueProperties _constraints;
+  private ValueProperties _optionalConstraints;
+  private ValueProperties _properties;
+  private ValueProperties _otherProperties;
+  private ValueProperties _mismatchedProperties;
+
+  @Setup
+  public void setup() {
+    _constraints = ValueProperties.with(ValuePropertyNames.CURRENCY, "USD").with(ValuePropertyNames.CURVE, "Discounting")
+        .with(ValuePropertyNames.CALCULATION_METHOD, "Analytic").get();
+    _optionalConstraints = ValueProperties.with(ValuePropertyNames.CURRENCY, "USD").withAny(ValuePropertyNames.CURVE)
+        .withOptional(ValuePropertyNames.CALCULATION_METHOD).with("Shift", "0").withOptional("Shift").get();
+    _properties = ValueProperties.with(ValuePropertyNames.FUNCTION, "PresentValue").with(ValuePropertyNames.CURRENCY, "USD")
+        .with(ValuePropertyNames.CURVE, "Discounting", "Forward3M", "Forward6M").withAny(ValuePropertyNames.CALCULATION_METHOD)
+        .with(ValuePropertyNames.CURVE_CALCULATION_CONFIG, "DefaultTwoCurveUSDConfig").get();
+    _otherProperties = ValueProperties.with(ValuePropertyNames.FUNCTION, "PresentValue").with(ValuePropertyNames.CURRENCY, "USD")
+        .with(ValuePropertyNames.CURVE, "Discounting").with(ValuePropertyNames.CALCULATION_METHOD, "Analytic", "MonteCarlo").get();
+    _mismatchedProperties = ValueProperties.with(ValuePropertyNames.FUNCTION, "PresentValue").with(ValuePropertyNames.CURRENCY, "EUR")
+        .with(ValuePropertyNames.CURVE, "Discounting").get();
+  }
+
+  @Benchmark
+  public boolean isSatisfiedBy() {
+    return _constraints.isSatisfiedBy(_properties);
+  }
+
+  @Benchmark
+  public boolean isSatisfiedByOptional() {
+    return _optionalConstraints.isSatisfiedBy(_properties);
+  }
+
+  @Benchmark
+  public boolean isNotSatisfiedBy() {
+    return _constraints.isSatisfiedBy(_mismatchedProperties);
+  }
+
+  @Benchmark
+  public ValueProperties compose() {
+    return _properties.compose(_constraints);
+  }
+
+  @Benchmark
+  public ValueProperties intersect() {
+    return _properties.intersect(_otherProperties);
+  }
+
+  @Benchmark
+  public ValueProperties union() {
+    final ValueProperties.Builder builder = _properties.copy();
+    for (String property : _otherProperties.getProperties()) {
+      final Set<String> values = _otherProperties.getValues(property);
+      if (values.isEmpty()) {
+        builder.withAny(property);
+      } else {
+        builder.with(property, values);
+      }
+    }
+    return builder.get();
+  }
+
+  @Benchmark
+  public boolean equalsAndHashCode() {
+    return (_properties.hashCode() == _otherProperties.hashCode()) && _properties.equals(_otherProperties);
+  }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.engine.ComputationTargetSpecification;
+import com.opengamma.engine.cache.DefaultViewComputationCache;
+import com.opengamma.engine.cache.InMemoryViewComputationCacheSource;
+import com.opengamma.engine.value.ComputedValue;
+import com.opengamma.engine.value.ValueProperties;
+import com.opengamma.engine.value.ValuePropertyNames;
+import com.opengamma.engine.value.ValueSpecification;
+import com.opengamma.id.UniqueId;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
+import com.opengamma.util.tuple.Pair;
+
+/**
+ * Measures put and get operations on a {@link DefaultViewComputationCache} backed by in-memory stores, both one value at a time and in batches the size of a
+ * typical job.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ViewComputationCacheBenchmark {
+
+  /**
+   * The number of values written or read by the batch operations.
+   */
+  @Param({"10", "1000" })
+  public int _batchSize;
+
+  private InMemoryViewComputationCacheSource _source;
+  private DefaultViewComputationCache _cache;
+  private List<ValueSpecification> _specifications;
+  private List<ComputedValue> _values;
+  private int _index;
+
+  @Setup
+  public void setup() {
+    _source = new InMemoryViewComputationCacheSource(OpenGammaFudgeContext.getInstance());
+    _cache = _source.getCache(UniqueId.of("Test", "ViewCycle", "1"), "Default");
+    _specifications = new ArrayList<ValueSpecification>(_batchSize);
+    _values = new ArrayList<ComputedValue>(_batchSize);
+    final ValueProperties properties = ValueProperties.with(ValuePropertyNames.FUNCTION, "PV").get();
+    for (int i = 0; i < _batchSize; i++) {
+      final ValueSpecification specification = new ValueSpecification("PresentValue", ComputationTargetSpecification.of(UniqueId.of("Position", Integer.toString(i))),
+          properties);
+      _specifications.add(specification);
+      _values.add(new ComputedValue(specification, (double) i));
+    }
+    // Populate both stores so that the get operations always hit
+    _cache.putSharedValues(_values);
+    _cache.putPrivateValues(_values);
+  }
+
+  @TearDown
+  public void tearDown() {
+    _cache.delete();
+  }
+
+  private int nextIndex() {
+    final int index = _index;
+    _index = (index + 1) % _batchSize;
+    return index;
+  }
+
+  @Benchmark
+  public void putSharedValue() {
+    _cache.putSharedValue(_values.get(nextIndex()));
+  }
+
+  @Benchmark
+  public void putPrivateValue() {
+    _cache.putPrivateValue(_values.get(nextIndex()));
+  }
+
+  @Benchmark
+  public Object getValue() {
+    return _cache.getValue(_specifications.get(nextIndex()));
+  }
+
+  @Benchmark
+  public void putSharedValues() {
+    _cache.putSharedValues(_values);
+  }
+
+  @Benchmark
+  public Collection<Pair<ValueSpecification, Object>> getValues() {
+    return _cache.getValues(_specifications);
+  }
+
+}
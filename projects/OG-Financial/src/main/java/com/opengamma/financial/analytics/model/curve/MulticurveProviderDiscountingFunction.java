@@ -19,6 +19,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.Clock;
 import org.threeten.bp.Instant;
@@ -87,6 +89,7 @@ import com.opengamma.util.ArgumentChecker;
 import com.opengamma.util.async.AsynchronousExecution;
 import com.opengamma.util.money.Currency;
 import com.opengamma.util.tuple.Pair;
+import com.opengamma.util.tuple.Triple;
 
 /**
  *
@@ -136,6 +139,8 @@ public class MulticurveProviderDiscountingFunction extends AbstractFunction {
     final RegionSource regionSource = OpenGammaCompilationContext.getRegionSource(context);
     final CurveNodeToDefinitionConverter curveNodeToDefinitionConverter = new CurveNodeToDefinitionConverter(conventionSource, holidaySource, regionSource);
     return new AbstractInvokingCompiledFunction(atZDT.with(LocalTime.MIDNIGHT), atZDT.plusDays(1).with(LocalTime.MIDNIGHT).minusNanos(1000000)) {
+      /** The builders by root finder tolerances and maximum iterations, which start each calibration from the previous one */
+      private final ConcurrentMap<Triple<Double, Double, Integer>, MulticurveDiscountBuildingRepository> _builders = new ConcurrentHashMap<>();
 
       @Override
       public Set<ComputedValue> execute(final FunctionExecutionContext executionContext, final FunctionInputs inputs, final ComputationTarget target,
@@ -167,7 +172,7 @@ public class MulticurveProviderDiscountingFunction extends AbstractFunction {
         final double absoluteTolerance = Double.parseDouble(Iterables.getOnlyElement(bundleProperties.getValues(PROPERTY_ROOT_FINDER_ABSOLUTE_TOLERANCE)));
         final double relativeTolerance = Double.parseDouble(Iterables.getOnlyElement(bundleProperties.getValues(PROPERTY_ROOT_FINDER_RELATIVE_TOLERANCE)));
         final int maxIterations = Integer.parseInt(Iterables.getOnlyElement(bundleProperties.getValues(PROPERTY_ROOT_FINDER_MAX_ITERATIONS)));
-        final MulticurveDiscountBuildingRepository builder = new MulticurveDiscountBuildingRepository(absoluteTolerance, relativeTolerance, maxIterations);
+        final MulticurveDiscountBuildingRepository builder = getBuilder(absoluteTolerance, relativeTolerance, maxIterations);
         final Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> pair = getCurves(curveConstructionConfiguration, inputs, now, builder, knownData); //, fxMatrix);
         final ValueSpecification bundleSpec = new ValueSpecification(ValueRequirementNames.CURVE_BUNDLE, ComputationTargetSpecification.NULL, bundleProperties);
         final Set<ComputedValue> result = new HashSet<>();
@@ -182,6 +187,19 @@ public class MulticurveProviderDiscountingFunction extends AbstractFunction {
         return result;
       }
 
+      private MulticurveDiscountBuildingRepository getBuilder(final double absoluteTolerance, final double relativeTolerance, final int maxIterations) {
+        final Triple<Double, Double, Integer> key = Triple.of(absoluteTolerance, relativeTolerance, maxIterations);
+        MulticurveDiscountBuildingRepository builder = _builders.get(key);
+        if (builder == null) {
+          builder = new MulticurveDiscountBuildingRepository(absoluteTolerance, relativeTolerance, maxIterations, null, true);
+          final MulticurveDiscountBuildingRepository existing = _builders.putIfAbsent(key, builder);
+          if (existing != null) {
+            builder = existing;
+          }
+        }
+        return builder;
+      }
+
       @Override
       public ComputationTargetType getTargetType() {
         return ComputationTargetType.NULL;
@@ -0,0 +1,284 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.master.historicaltimeseries;
+
+import java.util.Map;
+
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectBean;
+import org.joda.beans.impl.direct.DirectBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.Maps;
+import com.opengamma.id.ObjectId;
+import com.opengamma.id.ObjectIdentifiable;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.PublicSPI;
+
+/**
+ * Request for getting the data points of several time-series at once.
+ * <p>
+ * Each time-series is identified by the object identifier of its data points
+ * and has its own filter on the data points.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+@PublicSPI
+@BeanDefinition
+public class HistoricalTimeSeriesBulkGetRequest extends DirectBean {
+
+  /**
+   * The filter of each time-series, keyed by the object identifier of the data points.
+   */
+  @PropertyDefinition
+  private final Map<ObjectId, HistoricalTimeSeriesGetFilter> _filters = Maps.newLinkedHashMap();
+  /**
+   * The version-correction locator to get at, not null.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private VersionCorrection _versionCorrection = VersionCorrection.LATEST;
+
+  /**
+   * Creates an instance.
+   */
+  public HistoricalTimeSeriesBulkGetRequest() {
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param versionCorrection  the version-correction locator to get at, not null
+   */
+  public HistoricalTimeSeriesBulkGetRequest(VersionCorrection versionCorrection) {
+    setVersionCorrection(versionCorrection);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a time-series to the request.
+   *
+   * @param objectId  the object identifier of the time-series data points, not null
+   * @param filter  the filter on the data points, not null
+   */
+  public void addTimeSeries(ObjectIdentifiable objectId, HistoricalTimeSeriesGetFilter filter) {
+    ArgumentChecker.notNull(objectId, "objectId");
+    ArgumentChecker.notNull(filter, "filter");
+    getFilters().put(objectId.getObjectId(), filter);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code HistoricalTimeSeriesBulkGetRequest}.
+   * @return the meta-bean, not null
+   */
+  public static HistoricalTimeSeriesBulkGetRequest.Meta meta() {
+    return HistoricalTimeSeriesBulkGetRequest.Meta.INSTANCE;
+  }
+  static {
+    JodaBeanUtils.registerMetaBean(HistoricalTimeSeriesBulkGetRequest.Meta.INSTANCE);
+  }
+
+  @Override
+  public HistoricalTimeSeriesBulkGetRequest.Meta metaBean() {
+    return HistoricalTimeSeriesBulkGetRequest.Meta.INSTANCE;
+  }
+
+  @Override
+  protected Object propertyGet(String propertyName, boolean quiet) {
+    switch (propertyName.hashCode()) {
+      case -854547461:  // filters
+        return getFilters();
+      case -2031293866:  // versionCorrection
+        return getVersionCorrection();
+    }
+    return super.propertyGet(propertyName, quiet);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void propertySet(String propertyName, Object newValue, boolean quiet) {
+    switch (propertyName.hashCode()) {
+      case -854547461:  // filters
+        setFilters((Map<ObjectId, HistoricalTimeSeriesGetFilter>) newValue);
+        return;
+      case -2031293866:  // versionCorrection
+        setVersionCorrection((VersionCorrection) newValue);
+        return;
+    }
+    super.propertySet(propertyName, newValue, quiet);
+  }
+
+  @Override
+  protected void validate() {
+    JodaBeanUtils.notNull(_versionCorrection, "versionCorrection");
+    super.validate();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      HistoricalTimeSeriesBulkGetRequest other = (HistoricalTimeSeriesBulkGetRequest) obj;
+      return JodaBeanUtils.equal(getFilters(), other.getFilters()) &&
+          JodaBeanUtils.equal(getVersionCorrection(), other.getVersionCorrection());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash += hash * 31 + JodaBeanUtils.hashCode(getFilters());
+    hash += hash * 31 + JodaBeanUtils.hashCode(getVersionCorrection());
+    return hash;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the filter of each time-series, keyed by the object identifier of the data points.
+   * @return the value of the property
+   */
+  public Map<ObjectId, HistoricalTimeSeriesGetFilter> getFilters() {
+    return _filters;
+  }
+
+  /**
+   * Sets the filter of each time-series, keyed by the object identifier of the data points.
+   * @param filters  the new value of the property
+   */
+  public void setFilters(Map<ObjectId, HistoricalTimeSeriesGetFilter> filters) {
+    this._filters.clear();
+    this._filters.putAll(filters);
+  }
+
+  /**
+   * Gets the the {@code filters} property.
+   * @return the property, not null
+   */
+  public final Property<Map<ObjectId, HistoricalTimeSeriesGetFilter>> filters() {
+    return metaBean().filters().createProperty(this);
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the version-correction locator to get at, not null.
+   * @return the value of the property, not null
+   */
+  public VersionCorrection getVersionCorrection() {
+    return _versionCorrection;
+  }
+
+  /**
+   * Sets the version-correction locator to get at, not null.
+   * @param versionCorrection  the new value of the property, not null
+   */
+  public void setVersionCorrection(VersionCorrection versionCorrection) {
+    JodaBeanUtils.notNull(versionCorrection, "versionCorrection");
+    this._versionCorrection = versionCorrection;
+  }
+
+  /**
+   * Gets the the {@code versionCorrection} property.
+   * @return the property, not null
+   */
+  public final Property<VersionCorrection> versionCorrection() {
+    return metaBean().versionCorrection().createProperty(this);
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code HistoricalTimeSeriesBulkGetRequest}.
+   */
+  public static class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code filters} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<Map<ObjectId, HistoricalTimeSeriesGetFilter>> _filters = DirectMetaProperty.ofReadWrite(
+        this, "filters", HistoricalTimeSeriesBulkGetRequest.class, (Class) Map.class);
+    /**
+     * The meta-property for the {@code versionCorrection} property.
+     */
+    private final MetaProperty<VersionCorrection> _versionCorrection = DirectMetaProperty.ofReadWrite(
+        this, "versionCorrection", HistoricalTimeSeriesBulkGetRequest.class, VersionCorrection.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> _metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "filters",
+        "versionCorrection");
+
+    /**
+     * Restricted constructor.
+     */
+    protected Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -854547461:  // filters
+          return _filters;
+        case -2031293866:  // versionCorrection
+          return _versionCorrection;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends HistoricalTimeSeriesBulkGetRequest> builder() {
+      return new DirectBeanBuilder<HistoricalTimeSeriesBulkGetRequest>(new HistoricalTimeSeriesBulkGetRequest());
+    }
+
+    @Override
+    public Class<? extends HistoricalTimeSeriesBulkGetRequest> beanType() {
+      return HistoricalTimeSeriesBulkGetRequest.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return _metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code filters} property.
+     * @return the meta-property, not null
+     */
+    public final MetaProperty<Map<ObjectId, HistoricalTimeSeriesGetFilter>> filters() {
+      return _filters;
+    }
+
+    /**
+     * The meta-property for the {@code versionCorrection} property.
+     * @return the meta-property, not null
+     */
+    public final MetaProperty<VersionCorrection> versionCorrection() {
+      return _versionCorrection;
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.master.historicaltimeseries;
+
+import java.util.Map;
+
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectBean;
+import org.joda.beans.impl.direct.DirectBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.Maps;
+import com.opengamma.id.ObjectId;
+import com.opengamma.util.PublicSPI;
+
+/**
+ * Result from getting the data points of several time-series at once.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+@PublicSPI
+@BeanDefinition
+public class HistoricalTimeSeriesBulkGetResult extends DirectBean {
+
+  /**
+   * The time-series that were found, keyed by the object identifier of the data points in the request.
+   * The time-series that do not exist are not included.
+   */
+  @PropertyDefinition
+  private final Map<ObjectId, ManageableHistoricalTimeSeries> _timeSeries = Maps.newHashMap();
+
+  /**
+   * Creates an instance.
+   */
+  public HistoricalTimeSeriesBulkGetResult() {
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param timeSeries  the map of time-series, not null
+   */
+  public HistoricalTimeSeriesBulkGetResult(Map<ObjectId, ManageableHistoricalTimeSeries> timeSeries) {
+    getTimeSeries().putAll(timeSeries);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code HistoricalTimeSeriesBulkGetResult}.
+   * @return the meta-bean, not null
+   */
+  public static HistoricalTimeSeriesBulkGetResult.Meta meta() {
+    return HistoricalTimeSeriesBulkGetResult.Meta.INSTANCE;
+  }
+  static {
+    JodaBeanUtils.registerMetaBean(HistoricalTimeSeriesBulkGetResult.Meta.INSTANCE);
+  }
+
+  @Override
+  public HistoricalTimeSeriesBulkGetResult.Meta metaBean() {
+    return HistoricalTimeSeriesBulkGetResult.Meta.INSTANCE;
+  }
+
+  @Override
+  protected Object propertyGet(String propertyName, boolean quiet) {
+    switch (propertyName.hashCode()) {
+      case 779431844:  // timeSeries
+        return getTimeSeries();
+    }
+    return super.propertyGet(propertyName, quiet);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void propertySet(String propertyName, Object newValue, boolean quiet) {
+    switch (propertyName.hashCode()) {
+      case 779431844:  // timeSeries
+        setTimeSeries((Map<ObjectId, ManageableHistoricalTimeSeries>) newValue);
+        return;
+    }
+    super.propertySet(propertyName, newValue, quiet);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      HistoricalTimeSeriesBulkGetResult other = (HistoricalTimeSeriesBulkGetResult) obj;
+      return JodaBeanUtils.equal(getTimeSeries(), other.getTimeSeries());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash += hash * 31 + JodaBeanUtils.hashCode(getTimeSeries());
+    return hash;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time-series that were found, keyed by the object identifier of the data points in the request.
+   * The time-series that do not exist are not included.
+   * @return the value of the property
+   */
+  public Map<ObjectId, ManageableHistoricalTimeSeries> getTimeSeries() {
+    return _timeSeries;
+  }
+
+  /**
+   * Sets the time-series that were found, keyed by the object identifier of the data points in the request.
+   * The time-series that do not exist are not included.
+   * @param timeSeries  the new value of the property
+   */
+  public void setTimeSeries(Map<ObjectId, ManageableHistoricalTimeSeries> timeSeries) {
+    this._timeSeries.clear();
+    this._timeSeries.putAll(timeSeries);
+  }
+
+  /**
+   * Gets the the {@code timeSeries} property.
+   * The time-series that do not exist are not included.
+   * @return the property, not null
+   */
+  public final Property<Map<ObjectId, ManageableHistoricalTimeSeries>> timeSeries() {
+    return metaBean().timeSeries().createProperty(this);
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code HistoricalTimeSeriesBulkGetResult}.
+   */
+  public static class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code timeSeries} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<Map<ObjectId, ManageableHistoricalTimeSeries>> _timeSeries = DirectMetaProperty.ofReadWrite(
+        this, "timeSeries", HistoricalTimeSeriesBulkGetResult.class, (Class) Map.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> _metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "timeSeries");
+
+    /**
+     * Restricted constructor.
+     */
+    protected Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 779431844:  // timeSeries
+          return _timeSeries;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends HistoricalTimeSeriesBulkGetResult> builder() {
+      return new DirectBeanBuilder<HistoricalTimeSeriesBulkGetResult>(new HistoricalTimeSeriesBulkGetResult());
+    }
+
+    @Override
+    public Class<? extends HistoricalTimeSeriesBulkGetResult> beanType() {
+      return HistoricalTimeSeriesBulkGetResult.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return _metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code timeSeries} property.
+     * @return the meta-property, not null
+     */
+    public final MetaProperty<Map<ObjectId, ManageableHistoricalTimeSeries>> timeSeries() {
+      return _timeSeries;
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -114,6 +114,19 @@ public interface HistoricalTimeSeriesMaster extends AbstractChangeProvidingMaste
    */
   ManageableHistoricalTimeSeries getTimeSeries(ObjectIdentifiable objectId, VersionCorrection versionCorrection, HistoricalTimeSeriesGetFilter filter);
 
+  /**
+   * Returns subsets of several time-series at once, each with its own filter.
+   * <p>
+   * This is equivalent to calling {@link #getTimeSeries(ObjectIdentifiable, VersionCorrection, HistoricalTimeSeriesGetFilter)}
+   * for each time-series in the request, but allows an implementation to fetch them in a single operation.
+   * Time-series that cannot be found are omitted from the result rather than causing an exception.
+   *
+   * @param request  the bulk get request, not null
+   * @return the time-series that were found, not null
+   * @throws IllegalArgumentException if the request is invalid
+   */
+  HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request);
+
   //-------------------------------------------------------------------------
   /**
    * Adds to the time-series by appending new data points.
@@ -5,7 +5,10 @@
  */
 package com.opengamma.master.historicaltimeseries.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.util.Map;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
@@ -14,17 +17,29 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.MutableFudgeMsg;
+import org.fudgemsg.mapping.FudgeSerializer;
+import org.fudgemsg.wire.FudgeDataOutputStreamWriter;
+import org.fudgemsg.wire.FudgeMsgWriter;
+
 import com.opengamma.id.ObjectId;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoMetaDataRequest;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoMetaDataResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoSearchRequest;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoSearchResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesMaster;
+import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
+import com.opengamma.transport.jaxrs.FudgeRest;
 import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
 import com.opengamma.util.rest.AbstractDataResource;
 import com.opengamma.util.rest.RestUtils;
 
@@ -36,6 +51,23 @@ import com.opengamma.util.rest.RestUtils;
 @Path("htsMaster")
 public class DataHistoricalTimeSeriesMasterResource extends AbstractDataResource {
 
+  /**
+   * The number of time-series fetched from the master for each part of a streamed bulk response.
+   */
+  private static final int BULK_BATCH_SIZE = 500;
+  /**
+   * Field name for the object identifier in each message of a bulk response.
+   */
+  /* package */static final String OBJECT_ID_FIELD_NAME = "objectId";
+  /**
+   * Field name for the time-series in each message of a bulk response.
+   */
+  /* package */static final String TIME_SERIES_FIELD_NAME = "timeSeries";
+  /**
+   * Field name for the number of time-series written in the final message of a bulk response.
+   */
+  /* package */static final String COUNT_FIELD_NAME = "count";
+
   /**
    * The info master.
    */
@@ -90,6 +122,67 @@ public class DataHistoricalTimeSeriesMasterResource extends AbstractDataResource
     return responseOkFudge(result);
   }
 
+  @POST
+  @Path("dataPointsBulk")
+  public Response getTimeSeries(final HistoricalTimeSeriesBulkGetRequest request) {
+    StreamingOutput output = new StreamingOutput() {
+      @Override
+      public void write(OutputStream out) throws IOException {
+        writeTimeSeries(getHistoricalTimeSeriesMaster(), request, out);
+      }
+    };
+    return Response.ok(output, FudgeRest.MEDIA_TYPE).build();
+  }
+
+  /**
+   * Writes the time-series for a bulk request as a stream of Fudge messages, one per time-series.
+   * <p>
+   * The time-series are fetched from the master in batches and each batch is written and flushed before the
+   * next is fetched, so neither end needs to hold the whole response. Each message contains the object
+   * identifier and the time-series; time-series that are not found are omitted. A final message contains only
+   * the number of time-series written, so that the reader can tell a complete response from a truncated one.
+   *
+   * @param master  the master to query, not null
+   * @param request  the bulk request, not null
+   * @param out  the stream to write to, not null
+   */
+  /* package */static void writeTimeSeries(final HistoricalTimeSeriesMaster master, final HistoricalTimeSeriesBulkGetRequest request, final OutputStream out) {
+    final FudgeContext fudgeContext = OpenGammaFudgeContext.getInstance();
+    final FudgeMsgWriter writer = new FudgeMsgWriter(new FudgeDataOutputStreamWriter(fudgeContext, out));
+    final FudgeSerializer serializer = new FudgeSerializer(fudgeContext);
+    HistoricalTimeSeriesBulkGetRequest batch = new HistoricalTimeSeriesBulkGetRequest(request.getVersionCorrection());
+    int count = 0;
+    for (Map.Entry<ObjectId, HistoricalTimeSeriesGetFilter> entry : request.getFilters().entrySet()) {
+      batch.addTimeSeries(entry.getKey(), entry.getValue());
+      if (batch.getFilters().size() >= BULK_BATCH_SIZE) {
+        count += writeTimeSeriesBatch(master, batch, serializer, writer);
+        batch = new HistoricalTimeSeriesBulkGetRequest(request.getVersionCorrection());
+      }
+    }
+    if (!batch.getFilters().isEmpty()) {
+      count += writeTimeSeriesBatch(master, batch, serializer, writer);
+    }
+    final MutableFudgeMsg end = serializer.newMessage();
+    end.add(COUNT_FIELD_NAME, count);
+    writer.writeMessage(end);
+    writer.flush();
+  }
+
+  private static int writeTimeSeriesBatch(final HistoricalTimeSeriesMaster master, final HistoricalTimeSeriesBulkGetRequest batch,
+      final FudgeSerializer serializer, final FudgeMsgWriter writer) {
+    int count = 0;
+    for (Map.Entry<ObjectId, ManageableHistoricalTimeSeries> entry : master.getTimeSeries(batch).getTimeSeries().entrySet()) {
+      serializer.reset();
+      final MutableFudgeMsg msg = serializer.newMessage();
+      msg.add(OBJECT_ID_FIELD_NAME, entry.getKey().toString());
+      serializer.addToMessageWithClassHeaders(msg, TIME_SERIES_FIELD_NAME, null, entry.getValue(), ManageableHistoricalTimeSeries.class);
+      writer.writeMessage(msg);
+      count++;
+    }
+    writer.flush();
+    return count;
+  }
+
   @POST
   @Path("infos")
   public Response add(@Context UriInfo uriInfo, HistoricalTimeSeriesInfoDocument request) {
@@ -139,6 +232,17 @@ public class DataHistoricalTimeSeriesMasterResource extends AbstractDataResource
     return bld.build();
   }
 
+  /**
+   * Builds a URI for getting the data points of several time-series.
+   *
+   * @param baseUri  the base URI, not null
+   * @return the URI, not null
+   */
+  public static URI uriBulkDataPoints(URI baseUri) {
+    UriBuilder bld = UriBuilder.fromUri(baseUri).path("dataPointsBulk");
+    return bld.build();
+  }
+
   /**
    * Builds a URI.
    *
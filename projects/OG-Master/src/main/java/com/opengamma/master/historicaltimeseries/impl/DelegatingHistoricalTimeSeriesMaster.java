@@ -22,6 +22,8 @@ import com.opengamma.id.ObjectIdentifiable;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.UniqueIdSchemeDelegator;
 import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoHistoryRequest;
@@ -245,6 +247,26 @@ public class DelegatingHistoricalTimeSeriesMaster extends UniqueIdSchemeDelegato
     return chooseDelegate(objectId.getObjectId().getScheme()).getTimeSeries(objectId, versionCorrection, filter);
   }
 
+  @Override
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    ArgumentChecker.notNull(request, "request");
+    final Map<HistoricalTimeSeriesMaster, HistoricalTimeSeriesBulkGetRequest> delegateRequests = newHashMap();
+    for (Map.Entry<ObjectId, HistoricalTimeSeriesGetFilter> entry : request.getFilters().entrySet()) {
+      final HistoricalTimeSeriesMaster delegate = chooseDelegate(entry.getKey().getScheme());
+      HistoricalTimeSeriesBulkGetRequest delegateRequest = delegateRequests.get(delegate);
+      if (delegateRequest == null) {
+        delegateRequest = new HistoricalTimeSeriesBulkGetRequest(request.getVersionCorrection());
+        delegateRequests.put(delegate, delegateRequest);
+      }
+      delegateRequest.addTimeSeries(entry.getKey(), entry.getValue());
+    }
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    for (Map.Entry<HistoricalTimeSeriesMaster, HistoricalTimeSeriesBulkGetRequest> entry : delegateRequests.entrySet()) {
+      result.getTimeSeries().putAll(entry.getKey().getTimeSeries(entry.getValue()).getTimeSeries());
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public UniqueId updateTimeSeriesDataPoints(ObjectIdentifiable objectId, LocalDateDoubleTimeSeries series) {
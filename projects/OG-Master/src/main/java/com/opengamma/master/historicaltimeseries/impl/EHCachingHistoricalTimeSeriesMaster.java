@@ -6,21 +6,34 @@
 package com.opengamma.master.historicaltimeseries.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
 
 import org.joda.beans.Bean;
+import org.joda.beans.JodaBeanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
 
+import com.opengamma.core.change.ChangeEvent;
+import com.opengamma.core.change.ChangeListener;
+import com.opengamma.core.change.ChangeType;
+import com.opengamma.id.ObjectId;
 import com.opengamma.id.ObjectIdentifiable;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
 import com.opengamma.master.cache.AbstractEHCachingMaster;
 import com.opengamma.master.cache.EHCachingSearchCache;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoHistoryRequest;
@@ -32,15 +45,21 @@ import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoSearchR
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesMaster;
 import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
 import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.ehcache.EHCacheUtils;
 import com.opengamma.util.paging.Paging;
 import com.opengamma.util.paging.PagingRequest;
 import com.opengamma.util.tuple.ObjectsPair;
+import com.opengamma.util.tuple.Pair;
 
 /**
  * A cache decorating a {@code HistoricalTimeSeriesMaster}, mainly intended to reduce the frequency and repetition of queries to
  * the underlying master.
  * <p>
  * The cache is implemented using {@code EHCache}.
+ * <p>
+ * Data points fetched by object identifier are cached per object identifier, keyed by the version-correction and filter
+ * used. All entries for an object identifier are discarded when the underlying master reports a change to it.
  */
 public class EHCachingHistoricalTimeSeriesMaster extends AbstractEHCachingMaster<HistoricalTimeSeriesInfoDocument> implements HistoricalTimeSeriesMaster {
 
@@ -53,6 +72,12 @@ public class EHCachingHistoricalTimeSeriesMaster extends AbstractEHCachingMaster
   /** The history search cache */
   private EHCachingSearchCache _historySearchCache;
 
+  /** The data points cache, keyed by object identifier */
+  private final Cache _dataPointsCache;
+
+  /** Listens for changes in the underlying master to discard cached data points */
+  private final ChangeListener _dataPointsChangeListener;
+
   /**
    * Creates an instance over an underlying master specifying the cache manager.
    *
@@ -97,6 +122,23 @@ public class EHCachingHistoricalTimeSeriesMaster extends AbstractEHCachingMaster
       }
     });
 
+    // Create the data points cache and discard entries as the underlying data points change
+    final String dataPointsCacheName = name + "HistoricalTimeSeriesDataPointsCache";
+    EHCacheUtils.addCache(cacheManager, dataPointsCacheName);
+    _dataPointsCache = EHCacheUtils.getCacheFromManager(cacheManager, dataPointsCacheName);
+    _dataPointsChangeListener = new ChangeListener() {
+      @Override
+      public void entityChanged(ChangeEvent event) {
+        if (event.getType() == ChangeType.REMOVED) {
+          // Removing the info also removes its data points, which have a different object identifier
+          _dataPointsCache.removeAll();
+        } else {
+          _dataPointsCache.remove(event.getObjectId());
+        }
+      }
+    };
+    underlying.changeManager().addChangeListener(_dataPointsChangeListener);
+
     // Prime document search cache
     HistoricalTimeSeriesInfoSearchRequest defaultSearch = new HistoricalTimeSeriesInfoSearchRequest();
     _documentSearchCache.prefetch(defaultSearch, PagingRequest.FIRST_PAGE);
@@ -170,24 +212,94 @@ public class EHCachingHistoricalTimeSeriesMaster extends AbstractEHCachingMaster
   public ManageableHistoricalTimeSeries getTimeSeries(ObjectIdentifiable objectId,
                                                       VersionCorrection versionCorrection,
                                                       HistoricalTimeSeriesGetFilter filter) {
-    return ((HistoricalTimeSeriesMaster) getUnderlying()).getTimeSeries(objectId, versionCorrection, filter);  // TODO
+    ArgumentChecker.notNull(objectId, "objectId");
+    ArgumentChecker.notNull(versionCorrection, "versionCorrection");
+    ArgumentChecker.notNull(filter, "filter");
+    final ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries> entries = getDataPointsEntries(objectId.getObjectId());
+    final Pair<VersionCorrection, HistoricalTimeSeriesGetFilter> key = Pair.of(versionCorrection, filter);
+    ManageableHistoricalTimeSeries series = entries.get(key);
+    if (series == null) {
+      series = ((HistoricalTimeSeriesMaster) getUnderlying()).getTimeSeries(objectId, versionCorrection, filter);
+      // The filter is mutable so a copy is used as the key
+      entries.put(Pair.of(versionCorrection, JodaBeanUtils.clone(filter)), series);
+    }
+    return JodaBeanUtils.clone(series);
+  }
+
+  @Override
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    ArgumentChecker.notNull(request, "request");
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    final HistoricalTimeSeriesBulkGetRequest missRequest = new HistoricalTimeSeriesBulkGetRequest(request.getVersionCorrection());
+    final Map<ObjectId, ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries>> missEntries =
+        new HashMap<ObjectId, ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries>>();
+    for (Map.Entry<ObjectId, HistoricalTimeSeriesGetFilter> entry : request.getFilters().entrySet()) {
+      final ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries> entries = getDataPointsEntries(entry.getKey());
+      final ManageableHistoricalTimeSeries series = entries.get(Pair.of(request.getVersionCorrection(), entry.getValue()));
+      if (series != null) {
+        result.getTimeSeries().put(entry.getKey(), JodaBeanUtils.clone(series));
+      } else {
+        missRequest.addTimeSeries(entry.getKey(), entry.getValue());
+        missEntries.put(entry.getKey(), entries);
+      }
+    }
+    if (!missRequest.getFilters().isEmpty()) {
+      // Only the misses go to the underlying master, in a single call
+      final HistoricalTimeSeriesBulkGetResult missResult = ((HistoricalTimeSeriesMaster) getUnderlying()).getTimeSeries(missRequest);
+      for (Map.Entry<ObjectId, ManageableHistoricalTimeSeries> entry : missResult.getTimeSeries().entrySet()) {
+        final ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries> entries = missEntries.get(entry.getKey());
+        if (entries != null) {
+          entries.put(Pair.of(request.getVersionCorrection(), JodaBeanUtils.clone(missRequest.getFilters().get(entry.getKey()))), entry.getValue());
+        }
+        result.getTimeSeries().put(entry.getKey(), JodaBeanUtils.clone(entry.getValue()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the cached data points for an object identifier, creating an empty entry if there is none.
+   * <p>
+   * The entry is obtained before the underlying master is queried, so if a change is reported while the query is in
+   * progress the result is written to an entry that has already been discarded rather than being cached.
+   *
+   * @param objectId  the object identifier, not null
+   * @return the cached data points keyed by version-correction and filter, not null
+   */
+  @SuppressWarnings("unchecked")
+  private ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries> getDataPointsEntries(final ObjectId objectId) {
+    Element element = _dataPointsCache.get(objectId);
+    if (element == null) {
+      final Element newElement = new Element(objectId, new ConcurrentHashMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries>());
+      element = _dataPointsCache.putIfAbsent(newElement);
+      if (element == null) {
+        element = newElement;
+      }
+    }
+    return (ConcurrentMap<Pair<VersionCorrection, HistoricalTimeSeriesGetFilter>, ManageableHistoricalTimeSeries>) element.getObjectValue();
   }
 
   @Override
   public UniqueId updateTimeSeriesDataPoints(ObjectIdentifiable objectId, LocalDateDoubleTimeSeries series) {
-    return ((HistoricalTimeSeriesMaster) getUnderlying()).updateTimeSeriesDataPoints(objectId, series);  // TODO
+    final UniqueId result = ((HistoricalTimeSeriesMaster) getUnderlying()).updateTimeSeriesDataPoints(objectId, series);
+    _dataPointsCache.remove(objectId.getObjectId());
+    return result;
   }
 
   @Override
   public UniqueId correctTimeSeriesDataPoints(ObjectIdentifiable objectId, LocalDateDoubleTimeSeries series) {
-    return ((HistoricalTimeSeriesMaster) getUnderlying()).correctTimeSeriesDataPoints(objectId, series);  // TODO
+    final UniqueId result = ((HistoricalTimeSeriesMaster) getUnderlying()).correctTimeSeriesDataPoints(objectId, series);
+    _dataPointsCache.remove(objectId.getObjectId());
+    return result;
   }
 
   @Override
   public UniqueId removeTimeSeriesDataPoints(ObjectIdentifiable objectId,
                                              LocalDate fromDateInclusive,
                                              LocalDate toDateInclusive) {
-    return ((HistoricalTimeSeriesMaster) getUnderlying()).removeTimeSeriesDataPoints(objectId, fromDateInclusive, toDateInclusive);  // TODO
+    final UniqueId result = ((HistoricalTimeSeriesMaster) getUnderlying()).removeTimeSeriesDataPoints(objectId, fromDateInclusive, toDateInclusive);
+    _dataPointsCache.remove(objectId.getObjectId());
+    return result;
   }
 
   @Override
@@ -216,4 +328,11 @@ public class EHCachingHistoricalTimeSeriesMaster extends AbstractEHCachingMaster
     return ((HistoricalTimeSeriesMaster) getUnderlying()).metaData(request);
   }
 
+  @Override
+  public void shutdown() {
+    super.shutdown();
+    getUnderlying().changeManager().removeChangeListener(_dataPointsChangeListener);
+    getCacheManager().removeCache(_dataPointsCache.getName());
+  }
+
 }
@@ -8,6 +8,7 @@ package com.opengamma.master.historicaltimeseries.impl;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -29,6 +30,8 @@ import com.opengamma.id.ObjectIdentifiable;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
 import com.opengamma.master.SimpleAbstractInMemoryMaster;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoHistoryRequest;
@@ -306,6 +309,19 @@ public class InMemoryHistoricalTimeSeriesMaster
     return result;
   }
 
+  @Override
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    ArgumentChecker.notNull(request, "request");
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    for (Map.Entry<ObjectId, HistoricalTimeSeriesGetFilter> entry : request.getFilters().entrySet()) {
+      try {
+        result.getTimeSeries().put(entry.getKey(), getTimeSeries(entry.getKey(), request.getVersionCorrection(), entry.getValue()));
+      } catch (DataNotFoundException ex) {
+        // omitted from the result
+      }
+    }
+    return result;
+  }
 
   //-------------------------------------------------------------------------
   @Override
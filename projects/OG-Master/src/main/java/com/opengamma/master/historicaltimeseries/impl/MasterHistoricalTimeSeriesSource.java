@@ -26,11 +26,13 @@ import com.opengamma.id.ObjectId;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
 import com.opengamma.master.AbstractMasterSource;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesMaster;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesResolutionResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesResolver;
+import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
 import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeriesInfo;
 import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
 import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
@@ -463,10 +465,38 @@ public class MasterHistoricalTimeSeriesSource
       Set<ExternalIdBundle> identifierSet, String dataSource, String dataProvider, String dataField, LocalDate start,
       boolean includeStart, LocalDate end, boolean includeEnd) {
     ArgumentChecker.notNull(identifierSet, "identifierSet");
+    ArgumentChecker.notNull(dataSource, "dataSource");
+    ArgumentChecker.notNull(dataField, "field");
+    if (start != null && !includeStart) {
+      start = start.plusDays(1);
+    }
+    if (end != null && !includeEnd) {
+      end = end.minusDays(1);
+    }
+    final LocalDate identifierValidityDate = LocalDate.now(getClock());
+    final HistoricalTimeSeriesGetFilter filter = HistoricalTimeSeriesGetFilter.ofRange(start, end);
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(Objects.firstNonNull(getVersionCorrection(), VersionCorrection.LATEST));
+    // resolve each bundle, then fetch all the data points in one call to the master
+    final Map<ExternalIdBundle, HistoricalTimeSeriesResolutionResult> resolved = Maps.newHashMap();
+    for (ExternalIdBundle externalIdBundle : identifierSet) {
+      HistoricalTimeSeriesResolutionResult resolutionResult = getResolver().resolve(externalIdBundle, identifierValidityDate, dataSource, dataProvider, dataField, null);
+      if (resolutionResult != null) {
+        resolved.put(externalIdBundle, resolutionResult);
+        request.addTimeSeries(resolutionResult.getHistoricalTimeSeriesInfo().getTimeSeriesObjectId(), filter);
+      }
+    }
+    final Map<ObjectId, ManageableHistoricalTimeSeries> fetched = getMaster().getTimeSeries(request).getTimeSeries();
     Map<ExternalIdBundle, HistoricalTimeSeries> result = Maps.newHashMap();
     for (ExternalIdBundle externalIdBundle : identifierSet) {
-      HistoricalTimeSeries historicalTimeSeries = getHistoricalTimeSeries(externalIdBundle, dataSource, dataProvider, dataField, start, includeStart, end, includeEnd);
-      result.put(externalIdBundle, historicalTimeSeries);
+      HistoricalTimeSeries hts = null;
+      HistoricalTimeSeriesResolutionResult resolutionResult = resolved.get(externalIdBundle);
+      if (resolutionResult != null) {
+        hts = fetched.get(resolutionResult.getHistoricalTimeSeriesInfo().getTimeSeriesObjectId());
+        if (hts != null && resolutionResult.getAdjuster() != null) {
+          hts = resolutionResult.getAdjuster().adjust(resolutionResult.getHistoricalTimeSeriesInfo().getExternalIdBundle().toBundle(), hts);
+        }
+      }
+      result.put(externalIdBundle, hts);
     }
     return result;
   }
@@ -5,15 +5,26 @@
  */
 package com.opengamma.master.historicaltimeseries.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
+import org.fudgemsg.FudgeContext;
+import org.fudgemsg.FudgeMsg;
+import org.fudgemsg.mapping.FudgeDeserializer;
+import org.fudgemsg.wire.FudgeDataInputStreamReader;
+import org.fudgemsg.wire.FudgeMsgReader;
 import org.threeten.bp.LocalDate;
 
+import com.opengamma.OpenGammaRuntimeException;
 import com.opengamma.core.change.ChangeManager;
+import com.opengamma.id.ObjectId;
 import com.opengamma.id.ObjectIdentifiable;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoHistoryRequest;
@@ -187,6 +198,61 @@ public class RemoteHistoricalTimeSeriesMaster
     return accessRemote(uri).get(ManageableHistoricalTimeSeries.class);
   }
 
+  @Override
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    ArgumentChecker.notNull(request, "request");
+
+    URI uri = DataHistoricalTimeSeriesMasterResource.uriBulkDataPoints(getBaseUri());
+    InputStream in = accessRemote(uri).post(InputStream.class, request);
+    try {
+      return readTimeSeries(getFudgeContext(), in);
+    } finally {
+      try {
+        in.close();
+      } catch (IOException ex) {
+        // ignore
+      }
+    }
+  }
+
+  /**
+   * Reads the stream of time-series written by {@link DataHistoricalTimeSeriesMasterResource} for a bulk request.
+   * <p>
+   * Each time-series is decoded as its message arrives rather than buffering the whole response.
+   *
+   * @param fudgeContext  the Fudge context, not null
+   * @param in  the stream to read, not null
+   * @return the result, not null
+   * @throws OpenGammaRuntimeException if the stream ends before the final message or the number of time-series doesn't match it
+   */
+  /* package */static HistoricalTimeSeriesBulkGetResult readTimeSeries(final FudgeContext fudgeContext, final InputStream in) {
+    final FudgeMsgReader reader = new FudgeMsgReader(new FudgeDataInputStreamReader(fudgeContext, in));
+    final FudgeDeserializer deserializer = new FudgeDeserializer(fudgeContext);
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    while (reader.hasNext()) {
+      final FudgeMsg msg = reader.nextMessage();
+      if (msg == null) {
+        break;
+      }
+      final Integer count = msg.getInt(DataHistoricalTimeSeriesMasterResource.COUNT_FIELD_NAME);
+      if (count != null) {
+        if (count != result.getTimeSeries().size()) {
+          throw new OpenGammaRuntimeException("Bulk time-series response contained " + result.getTimeSeries().size() + " time-series, expected " + count);
+        }
+        return result;
+      }
+      deserializer.reset();
+      final String objectId = msg.getString(DataHistoricalTimeSeriesMasterResource.OBJECT_ID_FIELD_NAME);
+      if (objectId == null) {
+        throw new OpenGammaRuntimeException("Invalid bulk time-series response message " + msg);
+      }
+      final ManageableHistoricalTimeSeries series = deserializer.fieldValueToObject(ManageableHistoricalTimeSeries.class,
+          msg.getByName(DataHistoricalTimeSeriesMasterResource.TIME_SERIES_FIELD_NAME));
+      result.getTimeSeries().put(ObjectId.parse(objectId), series);
+    }
+    throw new OpenGammaRuntimeException("Bulk time-series response ended after " + result.getTimeSeries().size() + " time-series without its final message");
+  }
+
   @Override
   public UniqueId updateTimeSeriesDataPoints(ObjectIdentifiable objectId, LocalDateDoubleTimeSeries series) {
     ArgumentChecker.notNull(objectId, "objectId");
@@ -5,25 +5,42 @@
  */
 package com.opengamma.master.historicaltimeseries.impl;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertSame;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.net.URI;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
 
+import com.opengamma.OpenGammaRuntimeException;
 import com.opengamma.id.ObjectId;
 import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesMaster;
+import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
 import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeriesInfo;
+import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
+import com.opengamma.util.fudgemsg.OpenGammaFudgeContext;
 import com.opengamma.util.test.TestGroup;
 import com.sun.jersey.api.client.ClientResponse.Status;
 
@@ -71,4 +88,76 @@ public class DataHistoricalTimeSeriesMasterResourceTest {
     assertEquals(ObjectId.of("Test", "A"), test.getUrlId());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Answers a bulk request with a time-series for every requested object identifier except those with the value "Missing".
+   */
+  private static final Answer<HistoricalTimeSeriesBulkGetResult> BULK_ANSWER = new Answer<HistoricalTimeSeriesBulkGetResult>() {
+    @Override
+    public HistoricalTimeSeriesBulkGetResult answer(InvocationOnMock invocation) throws Throwable {
+      final HistoricalTimeSeriesBulkGetRequest request = (HistoricalTimeSeriesBulkGetRequest) invocation.getArguments()[0];
+      final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+      for (ObjectId objectId : request.getFilters().keySet()) {
+        if (!"Missing".equals(objectId.getValue())) {
+          final ManageableHistoricalTimeSeries series = new ManageableHistoricalTimeSeries();
+          series.setUniqueId(objectId.atVersion("1"));
+          series.setTimeSeries(ImmutableLocalDateDoubleTimeSeries.of(LocalDate.of(2011, 1, 1), Double.parseDouble(objectId.getValue())));
+          result.getTimeSeries().put(objectId, series);
+        }
+      }
+      return result;
+    }
+  };
+
+  @Test
+  public void testGetTimeSeriesBulk() throws Exception {
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(VersionCorrection.LATEST);
+    request.addTimeSeries(ObjectId.of("Test", "1"), HistoricalTimeSeriesGetFilter.ofAll());
+    request.addTimeSeries(ObjectId.of("Test", "Missing"), HistoricalTimeSeriesGetFilter.ofAll());
+    request.addTimeSeries(ObjectId.of("Test", "2"), HistoricalTimeSeriesGetFilter.ofLatestPoint());
+    when(_underlying.getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class))).thenAnswer(BULK_ANSWER);
+    
+    Response test = _resource.getTimeSeries(request);
+    assertEquals(Status.OK.getStatusCode(), test.getStatus());
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) test.getEntity()).write(out);
+    final HistoricalTimeSeriesBulkGetResult result = RemoteHistoricalTimeSeriesMaster.readTimeSeries(
+        OpenGammaFudgeContext.getInstance(), new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(2, result.getTimeSeries().size());
+    assertEquals(UniqueId.of("Test", "1", "1"), result.getTimeSeries().get(ObjectId.of("Test", "1")).getUniqueId());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(LocalDate.of(2011, 1, 1), 2d), result.getTimeSeries().get(ObjectId.of("Test", "2")).getTimeSeries());
+  }
+
+  @Test
+  public void testGetTimeSeriesBulkBatched() throws Exception {
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(VersionCorrection.LATEST);
+    for (int i = 0; i < 501; i++) {
+      request.addTimeSeries(ObjectId.of("Test", Integer.toString(i)), HistoricalTimeSeriesGetFilter.ofAll());
+    }
+    when(_underlying.getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class))).thenAnswer(BULK_ANSWER);
+    
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataHistoricalTimeSeriesMasterResource.writeTimeSeries(_underlying, request, out);
+    verify(_underlying, times(2)).getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class));
+    final HistoricalTimeSeriesBulkGetResult result = RemoteHistoricalTimeSeriesMaster.readTimeSeries(
+        OpenGammaFudgeContext.getInstance(), new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(501, result.getTimeSeries().size());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(LocalDate.of(2011, 1, 1), 500d), result.getTimeSeries().get(ObjectId.of("Test", "500")).getTimeSeries());
+  }
+
+  @Test(expectedExceptions = OpenGammaRuntimeException.class)
+  public void testGetTimeSeriesBulkTruncated() throws Exception {
+    when(_underlying.getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class))).thenAnswer(BULK_ANSWER);
+    final ByteArrayOutputStream empty = new ByteArrayOutputStream();
+    DataHistoricalTimeSeriesMasterResource.writeTimeSeries(_underlying, new HistoricalTimeSeriesBulkGetRequest(VersionCorrection.LATEST), empty);
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(VersionCorrection.LATEST);
+    request.addTimeSeries(ObjectId.of("Test", "1"), HistoricalTimeSeriesGetFilter.ofAll());
+    request.addTimeSeries(ObjectId.of("Test", "2"), HistoricalTimeSeriesGetFilter.ofAll());
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataHistoricalTimeSeriesMasterResource.writeTimeSeries(_underlying, request, out);
+    // Drop the final message, which is the same size as the only message of an empty response
+    final byte[] data = out.toByteArray();
+    RemoteHistoricalTimeSeriesMaster.readTimeSeries(OpenGammaFudgeContext.getInstance(), new ByteArrayInputStream(data, 0, data.length - empty.size()));
+  }
+
 }
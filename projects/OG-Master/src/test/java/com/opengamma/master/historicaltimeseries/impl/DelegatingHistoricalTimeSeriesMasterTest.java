@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.master.historicaltimeseries.impl;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.core.change.BasicChangeManager;
+import com.opengamma.id.ObjectId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesMaster;
+import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Test {@link DelegatingHistoricalTimeSeriesMaster}.
+ */
+@Test(groups = TestGroup.UNIT)
+public class DelegatingHistoricalTimeSeriesMasterTest {
+
+  private static final ObjectId A1 = ObjectId.of("A", "1");
+  private static final ObjectId A2 = ObjectId.of("A", "2");
+  private static final ObjectId B1 = ObjectId.of("B", "1");
+  private static final ObjectId C1 = ObjectId.of("C", "1");
+  private static final VersionCorrection VC = VersionCorrection.of(Instant.ofEpochSecond(1000), Instant.ofEpochSecond(2000));
+
+  private HistoricalTimeSeriesMaster _default;
+  private HistoricalTimeSeriesMaster _a;
+  private HistoricalTimeSeriesMaster _b;
+  private DelegatingHistoricalTimeSeriesMaster _test;
+
+  private static HistoricalTimeSeriesMaster createMaster() {
+    final HistoricalTimeSeriesMaster master = mock(HistoricalTimeSeriesMaster.class);
+    when(master.changeManager()).thenReturn(new BasicChangeManager());
+    return master;
+  }
+
+  private static HistoricalTimeSeriesBulkGetResult result(final ObjectId... objectIds) {
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    for (ObjectId objectId : objectIds) {
+      final ManageableHistoricalTimeSeries series = new ManageableHistoricalTimeSeries();
+      series.setUniqueId(objectId.atVersion("V"));
+      result.getTimeSeries().put(objectId, series);
+    }
+    return result;
+  }
+
+  @BeforeMethod
+  public void setUp() {
+    _default = createMaster();
+    _a = createMaster();
+    _b = createMaster();
+    _test = new DelegatingHistoricalTimeSeriesMaster(_default, ImmutableMap.of("A", _a, "B", _b));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_bulkGet_splitByScheme() {
+    final HistoricalTimeSeriesGetFilter filter1 = HistoricalTimeSeriesGetFilter.ofAll();
+    final HistoricalTimeSeriesGetFilter filter2 = HistoricalTimeSeriesGetFilter.ofLatestPoint();
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(VC);
+    request.addTimeSeries(A1, filter1);
+    request.addTimeSeries(A2, filter2);
+    request.addTimeSeries(B1, filter1);
+    final ArgumentCaptor<HistoricalTimeSeriesBulkGetRequest> aRequest = ArgumentCaptor.forClass(HistoricalTimeSeriesBulkGetRequest.class);
+    final ArgumentCaptor<HistoricalTimeSeriesBulkGetRequest> bRequest = ArgumentCaptor.forClass(HistoricalTimeSeriesBulkGetRequest.class);
+    when(_a.getTimeSeries(aRequest.capture())).thenReturn(result(A1));
+    when(_b.getTimeSeries(bRequest.capture())).thenReturn(result(B1));
+    final HistoricalTimeSeriesBulkGetResult result = _test.getTimeSeries(request);
+    // A2 is not found by the delegate so is omitted
+    assertEquals(2, result.getTimeSeries().size());
+    assertEquals(A1.atVersion("V"), result.getTimeSeries().get(A1).getUniqueId());
+    assertEquals(B1.atVersion("V"), result.getTimeSeries().get(B1).getUniqueId());
+    assertEquals(ImmutableMap.of(A1, filter1, A2, filter2), aRequest.getValue().getFilters());
+    assertEquals(VC, aRequest.getValue().getVersionCorrection());
+    assertEquals(ImmutableMap.of(B1, filter1), bRequest.getValue().getFilters());
+    assertEquals(VC, bRequest.getValue().getVersionCorrection());
+    verify(_default, never()).getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class));
+  }
+
+  public void test_bulkGet_defaultMaster() {
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(VC);
+    request.addTimeSeries(C1, HistoricalTimeSeriesGetFilter.ofAll());
+    final ArgumentCaptor<HistoricalTimeSeriesBulkGetRequest> defaultRequest = ArgumentCaptor.forClass(HistoricalTimeSeriesBulkGetRequest.class);
+    when(_default.getTimeSeries(defaultRequest.capture())).thenReturn(result(C1));
+    final HistoricalTimeSeriesBulkGetResult result = _test.getTimeSeries(request);
+    assertEquals(1, result.getTimeSeries().size());
+    assertEquals(C1.atVersion("V"), result.getTimeSeries().get(C1).getUniqueId());
+    assertEquals(ImmutableMap.of(C1, HistoricalTimeSeriesGetFilter.ofAll()), defaultRequest.getValue().getFilters());
+    verify(_a, never()).getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class));
+  }
+
+}
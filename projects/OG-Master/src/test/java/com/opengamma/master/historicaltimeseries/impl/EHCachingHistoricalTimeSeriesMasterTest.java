@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.master.historicaltimeseries.impl;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.AssertJUnit.assertEquals;
+import net.sf.ehcache.CacheManager;
+
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.id.ExternalIdBundle;
+import com.opengamma.id.ExternalIdBundleWithDates;
+import com.opengamma.id.ObjectId;
+import com.opengamma.id.ObjectIdSupplier;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
+import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeriesInfo;
+import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.util.ehcache.EHCacheUtils;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Test {@link EHCachingHistoricalTimeSeriesMaster}.
+ */
+@Test(groups = TestGroup.UNIT)
+public class EHCachingHistoricalTimeSeriesMasterTest {
+
+  private static final LocalDate DATE1 = LocalDate.of(2011, 1, 1);
+  private static final LocalDate DATE2 = LocalDate.of(2011, 1, 2);
+  private static final LocalDateDoubleTimeSeries SERIES1 = ImmutableLocalDateDoubleTimeSeries.of(DATE1, 1.1d);
+  private static final LocalDateDoubleTimeSeries SERIES2 = ImmutableLocalDateDoubleTimeSeries.of(DATE2, 2.2d);
+
+  private CacheManager _cacheManager;
+  private InMemoryHistoricalTimeSeriesMaster _underlying;
+  private ObjectId _oid1;
+  private ObjectId _oid2;
+
+  @BeforeClass
+  public void setUpClass() {
+    _cacheManager = EHCacheUtils.createTestCacheManager(EHCachingHistoricalTimeSeriesMasterTest.class);
+  }
+
+  @AfterClass
+  public void tearDownClass() {
+    EHCacheUtils.shutdownQuiet(_cacheManager);
+  }
+
+  @BeforeMethod
+  public void setUp() {
+    EHCacheUtils.clear(_cacheManager);
+    _underlying = spy(new InMemoryHistoricalTimeSeriesMaster(new ObjectIdSupplier("Test")));
+    _oid1 = addTimeSeries("Name1", SERIES1);
+    _oid2 = addTimeSeries("Name2", SERIES2);
+  }
+
+  private ObjectId addTimeSeries(final String name, final LocalDateDoubleTimeSeries series) {
+    final ManageableHistoricalTimeSeriesInfo info = new ManageableHistoricalTimeSeriesInfo();
+    info.setName(name);
+    info.setDataField("DF");
+    info.setDataSource("DS");
+    info.setDataProvider("DP");
+    info.setObservationTime("OT");
+    info.setExternalIdBundle(ExternalIdBundleWithDates.of(ExternalIdBundle.of("A", name)));
+    final HistoricalTimeSeriesInfoDocument doc = _underlying.add(new HistoricalTimeSeriesInfoDocument(info));
+    _underlying.updateTimeSeriesDataPoints(doc.getInfo().getTimeSeriesObjectId(), series);
+    return doc.getInfo().getTimeSeriesObjectId();
+  }
+
+  private static HistoricalTimeSeriesBulkGetRequest request(final ObjectId... objectIds) {
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(VersionCorrection.LATEST);
+    for (ObjectId objectId : objectIds) {
+      request.addTimeSeries(objectId, HistoricalTimeSeriesGetFilter.ofAll());
+    }
+    return request;
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_bulkGet_onlyMissesQueried() {
+    final EHCachingHistoricalTimeSeriesMaster test = new EHCachingHistoricalTimeSeriesMaster("test", _underlying, _cacheManager);
+    try {
+      HistoricalTimeSeriesBulkGetResult result = test.getTimeSeries(request(_oid1));
+      assertEquals(SERIES1, result.getTimeSeries().get(_oid1).getTimeSeries());
+      result = test.getTimeSeries(request(_oid1, _oid2));
+      assertEquals(SERIES1, result.getTimeSeries().get(_oid1).getTimeSeries());
+      assertEquals(SERIES2, result.getTimeSeries().get(_oid2).getTimeSeries());
+      result = test.getTimeSeries(request(_oid1, _oid2));
+      assertEquals(2, result.getTimeSeries().size());
+      final ArgumentCaptor<HistoricalTimeSeriesBulkGetRequest> captor = ArgumentCaptor.forClass(HistoricalTimeSeriesBulkGetRequest.class);
+      verify(_underlying, times(2)).getTimeSeries(captor.capture());
+      assertEquals(ImmutableMap.of(_oid1, HistoricalTimeSeriesGetFilter.ofAll()), captor.getAllValues().get(0).getFilters());
+      assertEquals(ImmutableMap.of(_oid2, HistoricalTimeSeriesGetFilter.ofAll()), captor.getAllValues().get(1).getFilters());
+      // the single get shares the same entries
+      assertEquals(SERIES2, test.getTimeSeries(_oid2, VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofAll()).getTimeSeries());
+      verify(_underlying, times(2)).getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class));
+    } finally {
+      test.shutdown();
+    }
+  }
+
+  public void test_bulkGet_updateThroughCache() {
+    final EHCachingHistoricalTimeSeriesMaster test = new EHCachingHistoricalTimeSeriesMaster("test", _underlying, _cacheManager);
+    try {
+      test.getTimeSeries(request(_oid1));
+      final LocalDateDoubleTimeSeries update = ImmutableLocalDateDoubleTimeSeries.of(DATE2, 3.3d);
+      test.updateTimeSeriesDataPoints(_oid1, update);
+      final HistoricalTimeSeriesBulkGetResult result = test.getTimeSeries(request(_oid1));
+      assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {DATE1, DATE2 }, new double[] {1.1d, 3.3d }), result.getTimeSeries().get(_oid1).getTimeSeries());
+      verify(_underlying, times(2)).getTimeSeries(any(HistoricalTimeSeriesBulkGetRequest.class));
+    } finally {
+      test.shutdown();
+    }
+  }
+
+  public void test_bulkGet_underlyingChange() {
+    final EHCachingHistoricalTimeSeriesMaster test = new EHCachingHistoricalTimeSeriesMaster("test", _underlying, _cacheManager);
+    try {
+      test.getTimeSeries(request(_oid1, _oid2));
+      // a change made directly to the underlying master is reported through its change manager
+      _underlying.correctTimeSeriesDataPoints(_oid2, ImmutableLocalDateDoubleTimeSeries.of(DATE2, 4.4d));
+      final HistoricalTimeSeriesBulkGetResult result = test.getTimeSeries(request(_oid1, _oid2));
+      assertEquals(SERIES1, result.getTimeSeries().get(_oid1).getTimeSeries());
+      assertEquals(ImmutableLocalDateDoubleTimeSeries.of(DATE2, 4.4d), result.getTimeSeries().get(_oid2).getTimeSeries());
+      final ArgumentCaptor<HistoricalTimeSeriesBulkGetRequest> captor = ArgumentCaptor.forClass(HistoricalTimeSeriesBulkGetRequest.class);
+      verify(_underlying, times(2)).getTimeSeries(captor.capture());
+      assertEquals(ImmutableMap.of(_oid2, HistoricalTimeSeriesGetFilter.ofAll()), captor.getAllValues().get(1).getFilters());
+    } finally {
+      test.shutdown();
+    }
+  }
+
+  public void test_bulkGet_resultNotShared() {
+    final EHCachingHistoricalTimeSeriesMaster test = new EHCachingHistoricalTimeSeriesMaster("test", _underlying, _cacheManager);
+    try {
+      test.getTimeSeries(request(_oid1)).getTimeSeries().get(_oid1).setTimeSeries(SERIES2);
+      assertEquals(SERIES1, test.getTimeSeries(request(_oid1)).getTimeSeries().get(_oid1).getTimeSeries());
+    } finally {
+      test.shutdown();
+    }
+  }
+
+}
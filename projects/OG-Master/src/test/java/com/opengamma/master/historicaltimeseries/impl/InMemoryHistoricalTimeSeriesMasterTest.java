@@ -24,6 +24,8 @@ import com.opengamma.id.ExternalIdBundleWithDates;
 import com.opengamma.id.ObjectId;
 import com.opengamma.id.ObjectIdSupplier;
 import com.opengamma.id.UniqueId;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoSearchRequest;
@@ -420,4 +422,21 @@ public class InMemoryHistoricalTimeSeriesMasterTest {
     assertEquals(reference.getTimeSeries().getValueAtIndex(reference.getTimeSeries().size() - 1), test.getTimeSeries().getValueAtIndex(1));   
   }
 
+  public void test_points_bulkGet() {
+    LocalDate[] dates = {LocalDate.of(2011, 1, 1), LocalDate.of(2011, 1, 2), LocalDate.of(2011, 1, 3)};
+    double[] values = {1.1d, 2.2d, 3.3d};
+    LocalDateDoubleTimeSeries input = ImmutableLocalDateDoubleTimeSeries.of(dates, values);
+    testPopulated.updateTimeSeriesDataPoints(doc1.getUniqueId(), input);
+    
+    HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest();
+    request.addTimeSeries(doc1.getUniqueId(), HistoricalTimeSeriesGetFilter.ofRange(LocalDate.of(2011, 1, 2), null));
+    request.addTimeSeries(doc2.getUniqueId(), HistoricalTimeSeriesGetFilter.ofAll());
+    request.addTimeSeries(OTHER_UID, HistoricalTimeSeriesGetFilter.ofAll());
+    HistoricalTimeSeriesBulkGetResult result = testPopulated.getTimeSeries(request);
+    assertEquals(2, result.getTimeSeries().size());
+    assertEquals(input.subSeries(dates[1], true, dates[2], true), result.getTimeSeries().get(doc1.getUniqueId().getObjectId()).getTimeSeries());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES, result.getTimeSeries().get(doc2.getUniqueId().getObjectId()).getTimeSeries());
+    assertNull(result.getTimeSeries().get(OTHER_UID.getObjectId()));
+  }
+
 }
@@ -5,6 +5,12 @@
  */
 package com.opengamma.masterdb.batch;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Instant;
@@ -21,9 +27,16 @@ import com.opengamma.engine.view.cycle.ViewCycleMetadata;
 import com.opengamma.engine.view.execution.ViewCycleExecutionOptions;
 import com.opengamma.engine.view.listener.ViewResultListener;
 import com.opengamma.livedata.UserPrincipal;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.NamedThreadPoolFactory;
 
 /**
  * View result listener implementation for batch runs.
+ * <p>
+ * Results can optionally be written asynchronously, so that cycles are not held up by the database.
+ * The start of each run, its result fragments and its end are queued and written in order by a single
+ * background thread. The number of queued fragments is bounded, once full the cycle waits for the writer
+ * to catch up. Only the completion or termination of the process waits for the queue to be written.
  */
 public class BatchDbViewResultListener implements ViewResultListener {
 
@@ -31,12 +44,42 @@ public class BatchDbViewResultListener implements ViewResultListener {
   
   private final BatchRunWriter _batchRunWriter;
   private final UserPrincipal _user;
+  /**
+   * The writer of queued results, null if writing synchronously.
+   */
+  private final ExecutorService _writer;
+  /**
+   * The permits to queue a fragment, bounding the queue.
+   */
+  private final Semaphore _queuePermits;
   
+  /**
+   * The current run, only accessed by the writer.
+   */
   private RiskRun _riskRun;
 
   public BatchDbViewResultListener(BatchRunWriter batchRunWriter, UserPrincipal user) {
+    this(batchRunWriter, user, 0);
+  }
+
+  /**
+   * Creates a listener, optionally writing results asynchronously.
+   *
+   * @param batchRunWriter  the batch writer, not null
+   * @param user  the user, not null
+   * @param maxQueuedFragments  the maximum number of fragments queued for writing, zero to write synchronously
+   */
+  public BatchDbViewResultListener(BatchRunWriter batchRunWriter, UserPrincipal user, int maxQueuedFragments) {
+    ArgumentChecker.notNegative(maxQueuedFragments, "maxQueuedFragments");
     _batchRunWriter = batchRunWriter;
     _user = user;
+    if (maxQueuedFragments > 0) {
+      _writer = Executors.newSingleThreadExecutor(new NamedThreadPoolFactory("BatchDbWriter"));
+      _queuePermits = new Semaphore(maxQueuedFragments);
+    } else {
+      _writer = null;
+      _queuePermits = null;
+    }
   }
 
   @Override
@@ -56,63 +99,131 @@ public class BatchDbViewResultListener implements ViewResultListener {
   }
 
   @Override
-  public void cycleStarted(ViewCycleMetadata cycleMetadata) {
-    try {
-      _riskRun = _batchRunWriter.startRiskRun(cycleMetadata, Maps.<String, String>newHashMap(), RunCreationMode.AUTO, SnapshotMode.WRITE_THROUGH);
-    } catch (Exception e) {
-      s_logger.error("Failed to write start of batch job. No results will be recorded.", e);
-    }
+  public void cycleStarted(final ViewCycleMetadata cycleMetadata) {
+    write(new Runnable() {
+      @Override
+      public void run() {
+        startRiskRun(cycleMetadata);
+      }
+    });
   }
 
   @Override
   public void cycleCompleted(ViewComputationResultModel fullResult, ViewDeltaResultModel deltaResult) {
-    endRiskRun();
+    write(new Runnable() {
+      @Override
+      public void run() {
+        endRiskRun();
+      }
+    });
   }
 
   @Override
-  public void cycleFragmentCompleted(ViewComputationResultModel fullFragment, ViewDeltaResultModel deltaFragment) {
-    if (_riskRun == null) {
-      s_logger.warn("Skipping writing batch result fragment due to earlier failure to write start of batch job");
+  public void cycleFragmentCompleted(final ViewComputationResultModel fullFragment, ViewDeltaResultModel deltaFragment) {
+    if (_writer == null) {
+      addJobResults(fullFragment);
       return;
     }
+    _queuePermits.acquireUninterruptibly();
     try {
-      _batchRunWriter.addJobResults(_riskRun.getObjectId(), fullFragment);
-    } catch (Exception e) {
-      s_logger.error("Error writing batch result fragment", e);
+      _writer.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            addJobResults(fullFragment);
+          } finally {
+            _queuePermits.release();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      _queuePermits.release();
+      s_logger.error("Skipping writing batch result fragment as the writer has been shut down", e);
     }
   }
 
   @Override
   public void cycleExecutionFailed(ViewCycleExecutionOptions executionOptions, Exception exception) {
     s_logger.error("Batch cycle execution failed", exception);
-    if (_riskRun == null) {
-      s_logger.warn("Skipping writing batch cycle failure due to earlier failure to write start of batch job");
-      return;
-    }
-    try {
-      _batchRunWriter.endRiskRun(_riskRun.getObjectId());
-    } catch (Exception e) {
-      s_logger.error("Error writing batch cycle failure", e);
-    }
+    write(new Runnable() {
+      @Override
+      public void run() {
+        if (_riskRun == null) {
+          s_logger.warn("Skipping writing batch cycle failure due to earlier failure to write start of batch job");
+          return;
+        }
+        try {
+          _batchRunWriter.endRiskRun(_riskRun.getObjectId());
+        } catch (Exception e) {
+          s_logger.error("Error writing batch cycle failure", e);
+        }
+      }
+    });
   }
 
   @Override
   public void processCompleted() {
+    shutdownWriter(true);
   }
 
   @Override
   public void processTerminated(boolean executionInterrupted) {
     if (executionInterrupted) {
       // TODO Shall we add info to the batch run that it was interrupted?
-      endRiskRun();
+      write(new Runnable() {
+        @Override
+        public void run() {
+          endRiskRun();
+        }
+      });
     }
+    shutdownWriter(true);
   }
 
   @Override
   public void clientShutdown(Exception e) {
+    shutdownWriter(false);
   }
   
   //-------------------------------------------------------------------------
+  /**
+   * Writes to the batch writer, in order with the queued fragments if writing asynchronously.
+   *
+   * @param task  the task that writes, not null
+   */
+  private void write(Runnable task) {
+    if (_writer == null) {
+      task.run();
+      return;
+    }
+    try {
+      _writer.execute(task);
+    } catch (RejectedExecutionException e) {
+      s_logger.error("Skipping writing to batch as the writer has been shut down", e);
+    }
+  }
+
+  private void startRiskRun(ViewCycleMetadata cycleMetadata) {
+    try {
+      _riskRun = _batchRunWriter.startRiskRun(cycleMetadata, Maps.<String, String>newHashMap(), RunCreationMode.AUTO, SnapshotMode.WRITE_THROUGH);
+    } catch (Exception e) {
+      _riskRun = null;
+      s_logger.error("Failed to write start of batch job. No results will be recorded.", e);
+    }
+  }
+
+  private void addJobResults(ViewComputationResultModel fragment) {
+    if (_riskRun == null) {
+      s_logger.warn("Skipping writing batch result fragment due to earlier failure to write start of batch job");
+      return;
+    }
+    try {
+      _batchRunWriter.addJobResults(_riskRun.getObjectId(), fragment);
+    } catch (Exception e) {
+      s_logger.error("Error writing batch result fragment", e);
+    }
+  }
+
   private void endRiskRun() {
     if (_riskRun == null) {
       s_logger.warn("Skipping writing end of batch job due to earlier failure to write start of job");
@@ -124,5 +235,21 @@ public class BatchDbViewResultListener implements ViewResultListener {
       s_logger.error("Failed to write end of batch job. Job will appear incomplete.", e);
     }
   }
+
+  private void shutdownWriter(boolean await) {
+    if (_writer == null) {
+      return;
+    }
+    // results already queued are still written
+    _writer.shutdown();
+    if (await) {
+      try {
+        _writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        s_logger.warn("Interrupted waiting for batch results to be written");
+      }
+    }
+  }
   
 }
@@ -16,10 +16,11 @@ import com.opengamma.livedata.UserPrincipal;
 public class BatchDbViewResultListenerFactory implements ViewResultListenerFactory {
 
   private BatchRunWriter _batchRunWriter;
+  private int _maxQueuedFragments;
 
   @Override
   public ViewResultListener createViewResultListener(UserPrincipal user) {
-    return new BatchDbViewResultListener(_batchRunWriter, user);
+    return new BatchDbViewResultListener(_batchRunWriter, user, _maxQueuedFragments);
   }
 
   public BatchRunWriter getBatchRunMaster() {
@@ -29,4 +30,23 @@ public class BatchDbViewResultListenerFactory implements ViewResultListenerFacto
   public void setBatchRunMaster(BatchRunWriter batchRunWriter) {
     this._batchRunWriter = batchRunWriter;
   }
+
+  /**
+   * Gets the maximum number of result fragments queued for asynchronous writing.
+   *
+   * @return the maximum number of queued fragments, zero if written synchronously
+   */
+  public int getMaxQueuedFragments() {
+    return _maxQueuedFragments;
+  }
+
+  /**
+   * Sets the maximum number of result fragments queued for asynchronous writing.
+   * The default of zero writes each fragment synchronously as the cycle produces it.
+   *
+   * @param maxQueuedFragments  the maximum number of queued fragments, zero to write synchronously
+   */
+  public void setMaxQueuedFragments(int maxQueuedFragments) {
+    _maxQueuedFragments = maxQueuedFragments;
+  }
 }
@@ -387,6 +387,14 @@ public class DbBatchMaster extends AbstractDbMaster implements BatchMasterWriter
   //-------------------------------------------------------------------------
   @Override
   public void addJobResults(final ObjectId riskRunId, final ViewComputationResultModel result) {
+    // resolve new compute nodes up front, committing them separately from the results
+    getTransactionTemplateRetrying(getMaxRetries()).execute(new TransactionCallback<Void>() {
+      @Override
+      public Void doInTransaction(final TransactionStatus status) {
+        _dbBatchWriter.populateComputeNodesInTransaction(result);
+        return null;
+      }
+    });
     getTransactionTemplateRetrying(getMaxRetries()).execute(new TransactionCallback<Void>() {
       @Override
       public Void doInTransaction(final TransactionStatus status) {
@@ -12,7 +12,9 @@ import static com.google.common.collect.Sets.newHashSet;
 import static com.opengamma.lambdava.streams.Lambdava.newArray;
 import static com.opengamma.util.db.HibernateDbUtils.eqOrIsNull;
 
+import java.io.Reader;
 import java.io.Serializable;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -35,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.orm.hibernate3.HibernateCallback;
@@ -116,11 +119,22 @@ public class DbBatchWriter extends AbstractDbMaster {
    * The set of types to skip when encountered in market data because they already belong to a snapshot.
    */
   private static final Set<Class<?>> SKIP_MARKET_DATA_WRITE_TYPES = ImmutableSet.<Class<?>>of(SnapshotDataBundle.class);
+  /**
+   * The columns of the risk value table, in the order used for bulk loading.
+   */
+  private static final String[] RISK_VALUE_COLUMNS = {"id", "calculation_configuration_id", "name", "value_specification_id", "function_unique_id",
+    "computation_target_id", "run_id", "value", "eval_instant", "compute_node_id"};
+  /**
+   * The maximum number of risk values sent to the database in one statement.
+   */
+  private static final int RISK_VALUE_BATCH_SIZE = 10000;
 
   private final Map<String, Long> _calculationConfigurations = newConcurrentMap();
   private final Map<ValueRequirement, Long> _riskValueRequirements = newConcurrentMap();
   private final Map<ValueSpecification, Long> _riskValueSpecifications = newConcurrentMap();
   private final Map<ComputationTargetSpecification, Long> _computationTargets = newConcurrentMap();
+  private final Map<String, Long> _functionUniqueIds = newConcurrentMap();
+  private final Map<String, Long> _computeNodeIds = newConcurrentMap();
 
   private final Map<Long, RiskRun> _riskRunsByIds = newConcurrentMap();
   private final Map<Long, Map<Pair<Long, Long>, StatusEntry>> _statusCacheByRunId = newConcurrentMap();
@@ -496,6 +510,40 @@ public class DbBatchWriter extends AbstractDbMaster {
     _calculationConfigurations.putAll(populate(data, getElSqlBundle().getSql("SelectConfigName"), getElSqlBundle().getSql("InsertConfigName"), RSK_SEQUENCE_NAME));
   }
 
+  /**
+   * Resolves the ids of the functions producing the terminal outputs, so that writing
+   * the results does not need to look them up value by value.
+   *
+   * @param cycleMetadata  the cycle metadata, not null
+   */
+  protected void populateFunctionUniqueIds(ViewCycleMetadata cycleMetadata) {
+    for (final String configName : cycleMetadata.getAllCalculationConfigurationNames()) {
+      for (ValueSpecification specification : cycleMetadata.getTerminalOutputs(configName).keySet()) {
+        final String functionUniqueId = specification.getFunctionUniqueId();
+        if (functionUniqueId != null && !_functionUniqueIds.containsKey(functionUniqueId)) {
+          _functionUniqueIds.put(functionUniqueId, getFunctionUniqueIdInTransaction(functionUniqueId).getId());
+        }
+      }
+    }
+  }
+
+  /**
+   * Resolves the ids of the compute nodes that produced the results, creating any that are missing.
+   * <p>
+   * This is intended to be called in its own transaction before the results are written,
+   * so that the ids cached here are never rolled back with a failed write.
+   *
+   * @param resultModel  the results to be written, not null
+   */
+  public void populateComputeNodesInTransaction(ViewComputationResultModel resultModel) {
+    for (ViewResultEntry entry : resultModel.getAllResults()) {
+      final String computeNodeId = entry.getComputedValue().getComputeNodeId();
+      if (computeNodeId != null && !_computeNodeIds.containsKey(computeNodeId)) {
+        _computeNodeIds.put(computeNodeId, getOrCreateComputeNode(computeNodeId).getId());
+      }
+    }
+  }
+
   protected <T> Map<T, Long> populate(Map<Map<String, Object>, Collection<T>> data, String selectSql, String insertSql, String pkSequenceName) {
     final List<DbMapSqlParameterSource> insertArgsList = new ArrayList<DbMapSqlParameterSource>();
 
@@ -754,6 +802,7 @@ public class DbBatchWriter extends AbstractDbMaster {
 
     populateCalculationConfigurations(run.getId(), cycleMetadata);
     populateRiskValueRequirements(cycleMetadata);
+    populateFunctionUniqueIds(cycleMetadata);
 
     Collection<ComputationTargetSpecification> computationTargets = newArrayList();
     for (final String configName : cycleMetadata.getAllCalculationConfigurationNames()) {
@@ -902,7 +951,7 @@ public class DbBatchWriter extends AbstractDbMaster {
       final Set<ComputationTargetSpecification> successfulTargets = newHashSet();
       final Set<ComputationTargetSpecification> failedTargets = newHashSet();
 
-      List<SqlParameterSource> successes = newArrayList();
+      List<DbMapSqlParameterSource> successes = newArrayList();
       List<SqlParameterSource> failures = newArrayList();
       List<SqlParameterSource> failureReasons = newArrayList();
 
@@ -929,16 +978,15 @@ public class DbBatchWriter extends AbstractDbMaster {
             continue;
           }
           final long valueSpecificationId = _riskValueSpecifications.get(specification);
-          final long functionUniqueId = getFunctionUniqueIdInTransaction(specification.getFunctionUniqueId()).getId();
-          final long computeNodeId = getOrCreateComputeNode(computedValue.getComputeNodeId()).getId();
+          final long functionUniqueId = getFunctionUniqueId(specification.getFunctionUniqueId());
+          final long computeNodeId = getComputeNodeId(computedValue.getComputeNodeId());
           
           if (resultConverter != null && computedValue.getInvocationResult() == InvocationResult.SUCCESS) {
             Map<String, Double> valueAsDoublesMap = resultConverter.convert(computedValue.getSpecification().getValueName(), computedValue.getValue());
             for (Map.Entry<String, Double> valueEntry : valueAsDoublesMap.entrySet()) {
               final String valueName = valueEntry.getKey();
               final Double doubleValue = ensureDatabasePrecision(valueEntry.getValue());
-              final long successId = nextId(RSK_SEQUENCE_NAME);
-              successes.add(getSuccessArgs(successId, riskRunId, evalInstant, calcConfId, computationTargetId, valueSpecificationId, functionUniqueId, computeNodeId, valueName, doubleValue));
+              successes.add(getSuccessArgs(riskRunId, evalInstant, calcConfId, computationTargetId, valueSpecificationId, functionUniqueId, computeNodeId, valueName, doubleValue));
             }
           } else {
             s_logger.info("Writing failure for {} with invocation result {}, {} ",
@@ -976,9 +1024,15 @@ public class DbBatchWriter extends AbstractDbMaster {
         return;
       }
 
+      // ids are fetched together rather than once per value
+      final long[] successIds = nextIds(successes.size());
+      for (int i = 0; i < successIds.length; i++) {
+        successes.get(i).addValue("id", successIds[i]);
+      }
+
       Object preSuccessSavepoint = transactionStatus.createSavepoint();
       try {
-        getJdbcTemplate().batchUpdate(getElSqlBundle().getSql("InsertRiskSuccess"), successes.toArray(new DbMapSqlParameterSource[successes.size()]));
+        insertRiskSuccesses(successes);
       } catch (Exception e) {
         s_logger.error("Failed to write successful calculations to batch database. Converting to failures.", e);
         transactionStatus.rollbackToSavepoint(preSuccessSavepoint);
@@ -1018,6 +1072,77 @@ public class DbBatchWriter extends AbstractDbMaster {
     }
   }
 
+  private long getFunctionUniqueId(String functionUniqueId) {
+    final Long id = _functionUniqueIds.get(functionUniqueId);
+    return (id != null ? id : getFunctionUniqueIdInTransaction(functionUniqueId).getId());
+  }
+
+  private long getComputeNodeId(String computeNodeId) {
+    final Long id = _computeNodeIds.get(computeNodeId);
+    return (id != null ? id : getOrCreateComputeNode(computeNodeId).getId());
+  }
+
+  /**
+   * Gets a number of ids from the batch sequence.
+   * <p>
+   * Where the database supports it the ids are fetched in a single query.
+   *
+   * @param count  the number of ids required
+   * @return the ids, not null
+   */
+  protected long[] nextIds(int count) {
+    final long[] ids = new long[count];
+    if (count == 0) {
+      return ids;
+    }
+    final String sql = getDialect().sqlNextSequenceValuesSelect(RSK_SEQUENCE_NAME, count);
+    if (sql == null) {
+      for (int i = 0; i < count; i++) {
+        ids[i] = nextId(RSK_SEQUENCE_NAME);
+      }
+    } else {
+      final List<Long> results = getJdbcTemplate().getJdbcOperations().queryForList(sql, Long.class);
+      if (results.size() != count) {
+        throw new IncorrectResultSizeDataAccessException(count, results.size());
+      }
+      for (int i = 0; i < count; i++) {
+        ids[i] = results.get(i);
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Inserts the successfully calculated risk values.
+   * <p>
+   * Where the database has a bulk-load facility the rows are streamed to it,
+   * otherwise they are inserted using JDBC batches.
+   *
+   * @param successes  the risk value rows, not null
+   */
+  protected void insertRiskSuccesses(final List<DbMapSqlParameterSource> successes) {
+    if (successes.isEmpty()) {
+      return;
+    }
+    if (getDialect().isCopyInSupported()) {
+      final long count = getJdbcTemplate().getJdbcOperations().execute(new ConnectionCallback<Long>() {
+        @Override
+        public Long doInConnection(Connection connection) throws SQLException, DataAccessException {
+          return getDialect().copyIn(connection, "rsk_value", RISK_VALUE_COLUMNS, new RiskValueReader(successes));
+        }
+      });
+      if (count != successes.size()) {
+        throw new RuntimeException("risk value bulk load count is wrong: expected = " + successes.size() + " actual = " + count);
+      }
+    } else {
+      final String sql = getElSqlBundle().getSql("InsertRiskSuccess");
+      for (int start = 0; start < successes.size(); start += RISK_VALUE_BATCH_SIZE) {
+        final List<DbMapSqlParameterSource> batch = successes.subList(start, Math.min(start + RISK_VALUE_BATCH_SIZE, successes.size()));
+        getJdbcTemplate().batchUpdate(sql, batch.toArray(new DbMapSqlParameterSource[batch.size()]));
+      }
+    }
+  }
+
   private long getFunctionId(SqlParameterSource args) {
     return (Long) args.getValue("function_unique_id");
   }
@@ -1034,10 +1159,9 @@ public class DbBatchWriter extends AbstractDbMaster {
     return args;
   }
 
-  private SqlParameterSource getSuccessArgs(long successId, long riskRunId, Instant evalInstant, long calcConfId,
+  private DbMapSqlParameterSource getSuccessArgs(long riskRunId, Instant evalInstant, long calcConfId,
       long computationTargetId, long valueSpecificationId, long functionUniqueId, long computeNodeId, String valueName, Double doubleValue) {
     DbMapSqlParameterSource args = new DbMapSqlParameterSource();
-    args.addValue("id", successId);
     args.addValue("calculation_configuration_id", calcConfId);
     args.addValue("name", valueName);
     args.addValue("value_specification_id", valueSpecificationId);
@@ -1345,6 +1469,83 @@ public class DbBatchWriter extends AbstractDbMaster {
     return computeFailure;
   }
 
+  /**
+   * Streams risk value rows in the text format used for bulk loading.
+   * <p>
+   * Each row is only formatted when the database reads it.
+   */
+  /* package */ static final class RiskValueReader extends Reader {
+    private final List<DbMapSqlParameterSource> _rows;
+    private final StringBuilder _buf = new StringBuilder(256);
+    private int _row;
+    private int _pos;
+
+    /* package */ RiskValueReader(List<DbMapSqlParameterSource> rows) {
+      _rows = rows;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (_pos == _buf.length()) {
+        if (_row == _rows.size()) {
+          return -1;
+        }
+        formatRow(_rows.get(_row++));
+      }
+      final int count = Math.min(len, _buf.length() - _pos);
+      _buf.getChars(_pos, _pos + count, cbuf, off);
+      _pos += count;
+      return count;
+    }
+
+    private void formatRow(DbMapSqlParameterSource row) {
+      _buf.setLength(0);
+      _pos = 0;
+      for (int i = 0; i < RISK_VALUE_COLUMNS.length; i++) {
+        if (i > 0) {
+          _buf.append('\t');
+        }
+        final Object value = row.getValue(RISK_VALUE_COLUMNS[i]);
+        if (value == null) {
+          _buf.append("\\N");
+        } else if (value instanceof String) {
+          final String str = (String) value;
+          for (int j = 0; j < str.length(); j++) {
+            final char ch = str.charAt(j);
+            switch (ch) {
+              case '\\':
+                _buf.append("\\\\");
+                break;
+              case '\t':
+                _buf.append("\\t");
+                break;
+              case '\n':
+                _buf.append("\\n");
+                break;
+              case '\r':
+                _buf.append("\\r");
+                break;
+              default:
+                _buf.append(ch);
+            }
+          }
+        } else {
+          // numbers, and timestamps holding the UTC local date-time
+          _buf.append(value);
+        }
+      }
+      _buf.append('\n');
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Instances of this class are saved in the computation cache for each
    * failure (whether the failure is 'original' or due to missing inputs).
@@ -0,0 +1,565 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.historicaltimeseries;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+
+import com.opengamma.OpenGammaRuntimeException;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
+import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateToIntConverter;
+import com.opengamma.util.ArgumentChecker;
+
+/**
+ * A store of time-series data points in files, one file per time-series, used instead of the data points table.
+ * <p>
+ * Each file is a sequence of blocks, one per update, correction or removal of data points, appended in instant order.
+ * A block holds the instant at which it was written, the dates delta-encoded as variable length integers and the values.
+ * The versioning follows the rules of the data points table: the version instant of a data point is the instant
+ * at which its date was first written, its correction instant is the instant of its block, and the value of a date
+ * at a version-correction is the one of the last visible block containing the date.
+ * <p>
+ * Files are read into a heap buffer rather than memory-mapped, as a mapping of a file truncated by a writer would
+ * fault when read beyond the new end. The blocks are decoded into the {@code int} dates and {@code double} values of an {@link ImmutableLocalDateDoubleTimeSeries}.
+ * <p>
+ * This class is thread-safe. The writes are serialized, within this process and with other processes using
+ * an exclusive file lock, and only ever append to the files. Readers take no lock and ignore an incomplete last block.
+ * An incomplete block left by a failed write is truncated by the next write.
+ */
+public class DataPointsBlockFileStore {
+
+  /**
+   * The suffix of the data points files.
+   */
+  private static final String FILE_SUFFIX = ".hts";
+  /**
+   * The first four bytes of a data points file.
+   */
+  private static final int MAGIC = 0x4f474854;
+  /**
+   * The block types.
+   */
+  private static final byte VALUES_BLOCK = 0;
+  private static final byte REMOVALS_BLOCK = 1;
+  /**
+   * The size of a block header: instant seconds and nanos, block type, number of points, length of the encoded dates.
+   */
+  private static final int BLOCK_HEADER_SIZE = 8 + 4 + 1 + 4 + 4;
+  /**
+   * The directory containing the files.
+   */
+  private final File _directory;
+
+  /**
+   * Creates an instance.
+   *
+   * @param directory  the directory containing the data points files, created if necessary, not null
+   */
+  public DataPointsBlockFileStore(final File directory) {
+    ArgumentChecker.notNull(directory, "directory");
+    if (directory.isDirectory() == false && directory.mkdirs() == false) {
+      throw new OpenGammaRuntimeException("Unable to create data points directory: " + directory);
+    }
+    _directory = directory;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the directory containing the data points files.
+   *
+   * @return the directory, not null
+   */
+  public File getDirectory() {
+    return _directory;
+  }
+
+  /**
+   * Gets the file of a time-series.
+   *
+   * @param oid  the object row id of the time-series
+   * @return the file, not null
+   */
+  protected File getFile(final long oid) {
+    return new File(_directory, oid + FILE_SUFFIX);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Appends a block of data points, written as an update or a correction.
+   *
+   * @param oid  the object row id of the time-series
+   * @param instant  the instant of the block, not before the last block of the time-series, not null
+   * @param series  the data points, not empty, not null
+   * @throws IllegalArgumentException if the instant is before the last block of the time-series
+   */
+  public void appendDataPoints(final long oid, final Instant instant, final LocalDateDoubleTimeSeries series) {
+    ArgumentChecker.notNull(instant, "instant");
+    ArgumentChecker.notNull(series, "series");
+    ArgumentChecker.isFalse(series.isEmpty(), "series must not be empty");
+    append(oid, instant, encodeBlock(instant, VALUES_BLOCK, series.timesArrayFast(), series.valuesArrayFast()));
+  }
+
+  /**
+   * Appends a block of removed data points.
+   *
+   * @param oid  the object row id of the time-series
+   * @param instant  the instant of the block, not before the last block of the time-series, not null
+   * @param dates  the removed dates in the format of {@link LocalDateToIntConverter}, strictly increasing, not empty, not null
+   * @throws IllegalArgumentException if the instant is before the last block of the time-series
+   */
+  public void appendRemovals(final long oid, final Instant instant, final int[] dates) {
+    ArgumentChecker.notNull(instant, "instant");
+    ArgumentChecker.notNull(dates, "dates");
+    ArgumentChecker.isTrue(dates.length > 0, "dates must not be empty");
+    append(oid, instant, encodeBlock(instant, REMOVALS_BLOCK, dates, null));
+  }
+
+  // the file lock excludes other processes, but overlapping locks within this process fail, hence the synchronization
+  private synchronized void append(final long oid, final Instant instant, final ByteBuffer block) {
+    final File file = getFile(oid);
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock lock = channel.lock()) {
+      final long end = findEnd(channel, file, instant);
+      if (channel.size() > end) {
+        // an incomplete block left by a failed write
+        channel.truncate(end);
+      }
+      ByteBuffer buf = block;
+      if (end == 0) {
+        buf = ByteBuffer.allocate(4 + block.remaining());
+        buf.putInt(MAGIC).put(block);
+        buf.flip();
+      }
+      long position = end;
+      while (buf.hasRemaining()) {
+        position += channel.write(buf, position);
+      }
+      channel.force(false);
+    } catch (IOException ex) {
+      throw new OpenGammaRuntimeException("Unable to write data points file: " + file, ex);
+    }
+  }
+
+  /**
+   * Finds the end of the last complete block, checking the instant of a new block against it.
+   * <p>
+   * Reads stop at the first block corrected after the requested instant, so the blocks must be in instant order.
+   * Only the block headers are read.
+   *
+   * @param channel  the locked channel, not null
+   * @param file  the file, not null
+   * @param instant  the instant of the new block, not null
+   * @return the position after the last complete block, zero if the file has no header
+   * @throws IOException if an error occurs
+   */
+  private static long findEnd(final FileChannel channel, final File file, final Instant instant) throws IOException {
+    final long size = channel.size();
+    if (size < 4) {
+      return 0;
+    }
+    final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+    header.limit(4);
+    readFully(channel, header, 0);
+    if (header.getInt(0) != MAGIC) {
+      throw new OpenGammaRuntimeException("Invalid data points file: " + file);
+    }
+    long position = 4;
+    Instant lastInstant = null;
+    while (size - position >= BLOCK_HEADER_SIZE) {
+      header.clear();
+      readFully(channel, header, position);
+      header.flip();
+      final Instant blockInstant = Instant.ofEpochSecond(header.getLong(), header.getInt());
+      final byte type = header.get();
+      final int count = header.getInt();
+      final int datesLength = header.getInt();
+      final long blockEnd = position + BLOCK_HEADER_SIZE + datesLength + (type == VALUES_BLOCK ? count * 8L : 0L);
+      if (blockEnd > size) {
+        break;
+      }
+      lastInstant = blockInstant;
+      position = blockEnd;
+    }
+    if (lastInstant != null && instant.isBefore(lastInstant)) {
+      throw new IllegalArgumentException("Unable to write data points to " + file + " at " + instant +
+          " as it is before the last block at " + lastInstant);
+    }
+    return position;
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buf, final long position) throws IOException {
+    long pos = position;
+    while (buf.hasRemaining()) {
+      final int count = channel.read(buf, pos);
+      if (count < 0) {
+        break;
+      }
+      pos += count;
+    }
+  }
+
+  // header, then the first date and the increments to the following dates as unsigned variable length integers, then the values
+  private static ByteBuffer encodeBlock(final Instant instant, final byte type, final int[] dates, final double[] values) {
+    final byte[] encodedDates = new byte[4 + 5 * (dates.length - 1)];
+    int pos = 0;
+    encodedDates[pos++] = (byte) (dates[0] >>> 24);
+    encodedDates[pos++] = (byte) (dates[0] >>> 16);
+    encodedDates[pos++] = (byte) (dates[0] >>> 8);
+    encodedDates[pos++] = (byte) dates[0];
+    for (int i = 1; i < dates.length; i++) {
+      int delta = dates[i] - dates[i - 1];
+      if (delta <= 0) {
+        throw new IllegalArgumentException("Dates must be strictly increasing: " + dates[i - 1] + " followed by " + dates[i]);
+      }
+      while ((delta & ~0x7f) != 0) {
+        encodedDates[pos++] = (byte) ((delta & 0x7f) | 0x80);
+        delta >>>= 7;
+      }
+      encodedDates[pos++] = (byte) delta;
+    }
+    final int valuesLength = (type == VALUES_BLOCK ? dates.length * 8 : 0);
+    final ByteBuffer buf = ByteBuffer.allocate(BLOCK_HEADER_SIZE + pos + valuesLength);
+    buf.putLong(instant.getEpochSecond()).putInt(instant.getNano()).put(type).putInt(dates.length).putInt(pos).put(encodedDates, 0, pos);
+    if (type == VALUES_BLOCK) {
+      buf.asDoubleBuffer().put(values);
+    }
+    buf.rewind();
+    return buf;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads the data points of a time-series visible at a version-correction.
+   *
+   * @param oid  the object row id of the time-series
+   * @param versionAsOf  the version instant, not null
+   * @param correctedTo  the correction instant, not null
+   * @return the data points, not null
+   */
+  public DataPoints read(final long oid, final Instant versionAsOf, final Instant correctedTo) {
+    ArgumentChecker.notNull(versionAsOf, "versionAsOf");
+    ArgumentChecker.notNull(correctedTo, "correctedTo");
+    final File file = getFile(oid);
+    final DataPointsMerger merger = new DataPointsMerger();
+    if (file.exists() == false) {
+      return merger.toDataPoints();
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < 4) {
+        return merger.toDataPoints();
+      }
+      if (size > Integer.MAX_VALUE) {
+        throw new OpenGammaRuntimeException("Data points file too large: " + file);
+      }
+      final ByteBuffer buf = ByteBuffer.allocate((int) size);
+      readFully(channel, buf, 0);
+      buf.flip();
+      readBlocks(file, buf, versionAsOf, correctedTo, merger);
+      return merger.toDataPoints();
+    } catch (IOException ex) {
+      throw new OpenGammaRuntimeException("Unable to read data points file: " + file, ex);
+    }
+  }
+
+  private static void readBlocks(final File file, final ByteBuffer buf, final Instant versionAsOf, final Instant correctedTo, final DataPointsMerger merger) {
+    if (buf.getInt() != MAGIC) {
+      throw new OpenGammaRuntimeException("Invalid data points file: " + file);
+    }
+    while (buf.remaining() >= BLOCK_HEADER_SIZE) {
+      final Instant instant = Instant.ofEpochSecond(buf.getLong(), buf.getInt());
+      final byte type = buf.get();
+      final int count = buf.getInt();
+      final int datesLength = buf.getInt();
+      final int valuesLength = (type == VALUES_BLOCK ? count * 8 : 0);
+      if (buf.remaining() < datesLength + valuesLength || instant.isAfter(correctedTo)) {
+        // a block being appended, or a block corrected after the correction instant (and so are all the following blocks)
+        break;
+      }
+      merger.ensureBlockCapacity(count);
+      decodeDates(buf, count, merger._blockDates);
+      if (type == VALUES_BLOCK) {
+        buf.asDoubleBuffer().get(merger._blockValues, 0, count);
+        buf.position(buf.position() + valuesLength);
+      }
+      merger.merge(instant, instant.isAfter(versionAsOf) == false, count, type == VALUES_BLOCK);
+    }
+  }
+
+  private static void decodeDates(final ByteBuffer buf, final int count, final int[] dates) {
+    int date = buf.getInt();
+    dates[0] = date;
+    for (int i = 1; i < count; i++) {
+      int delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = buf.get();
+        delta |= (b & 0x7f) << shift;
+        shift += 7;
+      } while (b < 0);
+      date += delta;
+      dates[i] = date;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Merges the blocks, in instant order, into the data points known at the correction instant.
+   * <p>
+   * The arrays are reused from block to block: a block is decoded into the block arrays,
+   * and a correction is merged into the spare arrays which are then swapped with the current ones.
+   */
+  private static final class DataPointsMerger {
+    /** The point has a value. */
+    private static final byte VALUE = 0;
+    /** The point has been removed. */
+    private static final byte REMOVED = 1;
+    /** The date of the point was first written after the version instant, so the point is not visible. */
+    private static final byte HIDDEN = 2;
+
+    private int[] _dates = new int[0];
+    private double[] _values = new double[0];
+    private byte[] _states = new byte[0];
+    private int[] _spareDates = new int[0];
+    private double[] _spareValues = new double[0];
+    private byte[] _spareStates = new byte[0];
+    private int[] _blockDates = new int[0];
+    private double[] _blockValues = new double[0];
+    private int _size;
+    private Instant _versionInstant;
+    private Instant _correctionInstant;
+
+    private void ensureBlockCapacity(final int count) {
+      if (count > _blockDates.length) {
+        _blockDates = new int[count];
+        _blockValues = new double[count];
+      }
+    }
+
+    // merges the first n block dates, and values if present
+    private void merge(final Instant instant, final boolean newDatesVisible, final int n, final boolean hasValues) {
+      final int[] dates = _blockDates;
+      final double[] values = _blockValues;
+      final byte newState = (newDatesVisible ? (hasValues ? VALUE : REMOVED) : HIDDEN);
+      boolean visible = false;
+      ensureCapacity(_size + n);
+      if (_size == 0 || dates[0] > _dates[_size - 1]) {
+        // dates after the known ones, typically an update
+        System.arraycopy(dates, 0, _dates, _size, n);
+        if (hasValues) {
+          System.arraycopy(values, 0, _values, _size, n);
+        }
+        Arrays.fill(_states, _size, _size + n, newState);
+        _size += n;
+        visible = newDatesVisible;
+        if (newDatesVisible) {
+          _versionInstant = instant;
+        }
+      } else {
+        if (_spareDates.length < _dates.length) {
+          // only allocated once a block overlaps the known dates, an update only series never needs them
+          _spareDates = new int[_dates.length];
+          _spareValues = new double[_dates.length];
+          _spareStates = new byte[_dates.length];
+        }
+        final int[] mergedDates = _spareDates;
+        final double[] mergedValues = _spareValues;
+        final byte[] mergedStates = _spareStates;
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < _size || j < n) {
+          if (j == n || (i < _size && _dates[i] < dates[j])) {
+            mergedDates[k] = _dates[i];
+            mergedValues[k] = _values[i];
+            mergedStates[k++] = _states[i++];
+          } else if (i == _size || dates[j] < _dates[i]) {
+            mergedDates[k] = dates[j];
+            mergedValues[k] = (hasValues ? values[j] : 0d);
+            mergedStates[k++] = newState;
+            if (newDatesVisible) {
+              visible = true;
+              _versionInstant = instant;
+            }
+            j++;
+          } else {
+            // known date, visible if it was first written at or before the version instant
+            mergedDates[k] = dates[j];
+            if (_states[i] == HIDDEN) {
+              mergedValues[k] = _values[i];
+              mergedStates[k++] = HIDDEN;
+            } else {
+              mergedValues[k] = (hasValues ? values[j] : 0d);
+              mergedStates[k++] = (hasValues ? VALUE : REMOVED);
+              visible = true;
+            }
+            i++;
+            j++;
+          }
+        }
+        _spareDates = _dates;
+        _spareValues = _values;
+        _spareStates = _states;
+        _dates = mergedDates;
+        _values = mergedValues;
+        _states = mergedStates;
+        _size = k;
+      }
+      if (visible) {
+        _correctionInstant = instant;
+      }
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (capacity > _dates.length) {
+        final int newCapacity = Math.max(capacity, _dates.length * 2);
+        _dates = Arrays.copyOf(_dates, newCapacity);
+        _values = Arrays.copyOf(_values, newCapacity);
+        _states = Arrays.copyOf(_states, newCapacity);
+      }
+    }
+
+    private DataPoints toDataPoints() {
+      int visibleCount = 0;
+      int valueCount = 0;
+      for (int i = 0; i < _size; i++) {
+        if (_states[i] != HIDDEN) {
+          visibleCount++;
+          if (_states[i] == VALUE) {
+            valueCount++;
+          }
+        }
+      }
+      final int[] visibleDates = new int[visibleCount];
+      final int[] dates = new int[valueCount];
+      final double[] values = new double[valueCount];
+      int v = 0;
+      int p = 0;
+      for (int i = 0; i < _size; i++) {
+        if (_states[i] != HIDDEN) {
+          visibleDates[v++] = _dates[i];
+          if (_states[i] == VALUE) {
+            dates[p] = _dates[i];
+            values[p++] = _values[i];
+          }
+        }
+      }
+      return new DataPoints(_versionInstant, _correctionInstant, visibleDates, dates, values);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The data points of a time-series visible at a version-correction.
+   */
+  public static final class DataPoints {
+    private final Instant _versionInstant;
+    private final Instant _correctionInstant;
+    private final int[] _pointDates;
+    private final int[] _dates;
+    private final double[] _values;
+
+    private DataPoints(final Instant versionInstant, final Instant correctionInstant, final int[] pointDates, final int[] dates, final double[] values) {
+      _versionInstant = versionInstant;
+      _correctionInstant = correctionInstant;
+      _pointDates = pointDates;
+      _dates = dates;
+      _values = values;
+    }
+
+    /**
+     * Gets the latest version instant of the visible data points, including the removed ones.
+     *
+     * @return the instant, null if there is no visible data point
+     */
+    public Instant getVersionInstant() {
+      return _versionInstant;
+    }
+
+    /**
+     * Gets the latest correction instant of the visible data points, including the removed ones.
+     *
+     * @return the instant, null if there is no visible data point
+     */
+    public Instant getCorrectionInstant() {
+      return _correctionInstant;
+    }
+
+    /**
+     * Gets the latest date of the visible data points, including the removed ones.
+     *
+     * @return the date, null if there is no visible data point
+     */
+    public LocalDate getLatestDate() {
+      return (_pointDates.length > 0 ? LocalDateToIntConverter.convertToLocalDate(_pointDates[_pointDates.length - 1]) : null);
+    }
+
+    /**
+     * Gets the dates of the visible data points in a range, including the removed ones.
+     *
+     * @param fromDateInclusive  the start date, null for the far past
+     * @param toDateInclusive  the end date, null for the far future
+     * @return the dates in the format of {@link LocalDateToIntConverter}, not null
+     */
+    public int[] getDates(final LocalDate fromDateInclusive, final LocalDate toDateInclusive) {
+      return Arrays.copyOfRange(_pointDates, startIndex(_pointDates, fromDateInclusive), endIndex(_pointDates, toDateInclusive));
+    }
+
+    /**
+     * Gets the time-series of the values selected by a filter.
+     *
+     * @param filter  the filter, not null
+     * @return the time-series, not null
+     */
+    public LocalDateDoubleTimeSeries getTimeSeries(final HistoricalTimeSeriesGetFilter filter) {
+      int start = startIndex(_dates, filter.getEarliestDate());
+      int end = endIndex(_dates, filter.getLatestDate());
+      final Integer maxPoints = filter.getMaxPoints();
+      if (maxPoints != null) {
+        if (maxPoints >= 0) {
+          end = Math.min(end, start + maxPoints);
+        } else {
+          start = Math.max(start, end + maxPoints);
+        }
+      }
+      if (start >= end) {
+        return ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+      }
+      if (start == 0 && end == _dates.length) {
+        return ImmutableLocalDateDoubleTimeSeries.of(_dates, _values);
+      }
+      return ImmutableLocalDateDoubleTimeSeries.of(Arrays.copyOfRange(_dates, start, end), Arrays.copyOfRange(_values, start, end));
+    }
+
+    private static int startIndex(final int[] dates, final LocalDate fromDateInclusive) {
+      if (fromDateInclusive == null) {
+        return 0;
+      }
+      final int index = Arrays.binarySearch(dates, LocalDateToIntConverter.convertToInt(fromDateInclusive));
+      return (index >= 0 ? index : -(index + 1));
+    }
+
+    private static int endIndex(final int[] dates, final LocalDate toDateInclusive) {
+      if (toDateInclusive == null) {
+        return dates.length;
+      }
+      final int index = Arrays.binarySearch(dates, LocalDateToIntConverter.convertToInt(toDateInclusive));
+      return (index >= 0 ? index + 1 : -(index + 1));
+    }
+  }
+
+}
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,9 +31,12 @@ import com.opengamma.DataNotFoundException;
 import com.opengamma.OpenGammaRuntimeException;
 import com.opengamma.core.change.ChangeType;
 import com.opengamma.elsql.ElSqlBundle;
+import com.opengamma.id.ObjectId;
 import com.opengamma.id.ObjectIdentifiable;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
@@ -66,6 +70,10 @@ public class DbHistoricalTimeSeriesDataPointsWorker extends AbstractDbMaster {
    * The prefix used for data point unique identifiers.
    */
   protected static final String DATA_POINT_PREFIX = "DP";
+  /**
+   * The maximum number of time-series loaded by one query of a bulk get.
+   */
+  protected static final int BULK_BATCH_SIZE = 500;
 
   /**
    * The master.
@@ -165,6 +173,98 @@ public class DbHistoricalTimeSeriesDataPointsWorker extends AbstractDbMaster {
     return result;
   }
     
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the data points of several time-series at once.
+   * <p>
+   * The data points of up to {@link #BULK_BATCH_SIZE} time-series are loaded by one
+   * set-based query covering the union of the requested date ranges, with the range
+   * and maximum number of points of each filter applied as the rows are read.
+   * Time-series without data points fall back to the single time-series query.
+   *
+   * @param request  the request, not null
+   * @return the result, not null
+   */
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    ArgumentChecker.notNull(request, "request");
+    final VersionCorrection vc = request.getVersionCorrection().withLatestFixed(now());
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    final List<ObjectId> objectIds = new ArrayList<ObjectId>(request.getFilters().keySet());
+    for (int i = 0; i < objectIds.size(); i += BULK_BATCH_SIZE) {
+      final List<ObjectId> batch = objectIds.subList(i, Math.min(i + BULK_BATCH_SIZE, objectIds.size()));
+      getTimeSeries(batch, request.getFilters(), vc, result);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the data points of a batch of time-series using one query for the versions
+   * and one query for the data points.
+   *
+   * @param objectIds  the object identifiers of the batch, not null
+   * @param filters  the filters keyed by object identifier, not null
+   * @param vc  the fixed version-correction, not null
+   * @param result  the result to add to, not null
+   */
+  private void getTimeSeries(List<ObjectId> objectIds, Map<ObjectId, HistoricalTimeSeriesGetFilter> filters,
+      VersionCorrection vc, HistoricalTimeSeriesBulkGetResult result) {
+    final Map<Long, HistoricalTimeSeriesGetFilter> oidFilters = new HashMap<Long, HistoricalTimeSeriesGetFilter>();
+    final StringBuilder buf = new StringBuilder(objectIds.size() * 10);
+    LocalDate startDate = LocalDate.MAX;
+    LocalDate endDate = LocalDate.MIN;
+    for (ObjectId objectId : objectIds) {
+      checkScheme(objectId);
+      final long oid = extractOid(objectId);
+      final HistoricalTimeSeriesGetFilter filter = filters.get(objectId);
+      oidFilters.put(oid, filter);
+      buf.append(oid).append(", ");
+      // the query covers the union of the date ranges, null being unbounded
+      if (startDate != null && (filter.getEarliestDate() == null || filter.getEarliestDate().isBefore(startDate))) {
+        startDate = filter.getEarliestDate();
+      }
+      if (endDate != null && (filter.getLatestDate() == null || filter.getLatestDate().isAfter(endDate))) {
+        endDate = filter.getLatestDate();
+      }
+    }
+    buf.setLength(buf.length() - 2);
+    final DbMapSqlParameterSource args = new DbMapSqlParameterSource()
+      .addValue("sql_doc_oids", buf.toString())
+      .addTimestamp("version_as_of_instant", vc.getVersionAsOf())
+      .addTimestamp("corrected_to_instant", vc.getCorrectedTo())
+      .addValue("start_date", DbDateUtils.toSqlDateNullFarPast(startDate))
+      .addValue("end_date", DbDateUtils.toSqlDateNullFarFuture(endDate));
+    final NamedParameterJdbcOperations namedJdbc = getDbConnector().getJdbcTemplate();
+    final String sqlVersion = getElSqlBundle().getSql("SelectBulkDataPointsVersion", args);
+    final Map<Long, ManageableHistoricalTimeSeries> versions = namedJdbc.query(sqlVersion, args, new BulkManageableHTSExtractor());
+    final String sqlPoints = getElSqlBundle().getSql("SelectBulkDataPoints", args);
+    final Map<Long, LocalDateDoubleTimeSeries> points = namedJdbc.query(sqlPoints, args, new BulkDataPointsExtractor(oidFilters));
+
+    for (ObjectId objectId : objectIds) {
+      final long oid = extractOid(objectId);
+      final HistoricalTimeSeriesGetFilter filter = oidFilters.get(oid);
+      final ManageableHistoricalTimeSeries hts = versions.get(oid);
+      if (hts == null) {
+        // No data-points were found, the single query checks if the time-series doc exists
+        try {
+          result.getTimeSeries().put(objectId, getTimeSeries(objectId, vc, filter));
+        } catch (DataNotFoundException ex) {
+          // omitted from the result
+        }
+        continue;
+      }
+      LocalDateDoubleTimeSeries series = points.get(oid);
+      if (series == null) {
+        series = ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+      }
+      final Integer maxPoints = filter.getMaxPoints();
+      if (maxPoints != null && Math.abs(maxPoints) < series.size()) {
+        series = (maxPoints >= 0 ? series.head(maxPoints) : series.tail(-maxPoints));
+      }
+      hts.setTimeSeries(series);
+      result.getTimeSeries().put(objectId, hts);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public UniqueId updateTimeSeriesDataPoints(final ObjectIdentifiable objectId, final LocalDateDoubleTimeSeries series) {
     ArgumentChecker.notNull(objectId, "objectId");
@@ -441,6 +541,60 @@ public class DbHistoricalTimeSeriesDataPointsWorker extends AbstractDbMaster {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Mapper from SQL rows of several time-series to a LocalDateDoubleTimeSeries for each.
+   * The rows are ordered by object identifier and date, the date range of each filter is applied.
+   */
+  protected final class BulkDataPointsExtractor implements ResultSetExtractor<Map<Long, LocalDateDoubleTimeSeries>> {
+    private final Map<Long, HistoricalTimeSeriesGetFilter> _filters;
+    public BulkDataPointsExtractor(final Map<Long, HistoricalTimeSeriesGetFilter> filters) {
+      _filters = filters;
+    }
+    @Override
+    public Map<Long, LocalDateDoubleTimeSeries> extractData(final ResultSet rs) throws SQLException, DataAccessException {
+      final Map<Long, LocalDateDoubleTimeSeries> result = new HashMap<Long, LocalDateDoubleTimeSeries>();
+      final List<LocalDate> dates = new ArrayList<LocalDate>(256);
+      final List<Double> values = new ArrayList<Double>(256);
+      long lastOid = -1;
+      LocalDate earliest = null;
+      LocalDate latest = null;
+      LocalDate last = null;
+      while (rs.next()) {
+        final long oid = rs.getLong("DOC_OID");
+        if (oid != lastOid) {
+          if (lastOid >= 0) {
+            result.put(lastOid, ImmutableLocalDateDoubleTimeSeries.of(dates, values));
+            dates.clear();
+            values.clear();
+          }
+          lastOid = oid;
+          earliest = _filters.get(oid).getEarliestDate();
+          latest = _filters.get(oid).getLatestDate();
+          last = null;
+        }
+        LocalDate date = DbDateUtils.fromSqlDateAllowNull(rs.getDate("POINT_DATE"));
+        if (date.equals(last)) {
+          // The data points query should return no more than one value per date
+          throw new OpenGammaRuntimeException("Unexpected duplicate data point entry");
+        }
+        last = date;
+        if ((earliest != null && date.isBefore(earliest)) || (latest != null && date.isAfter(latest))) {
+          continue;
+        }
+        Double value = (Double) rs.getObject("POINT_VALUE");
+        if (value != null) {
+          dates.add(date);
+          values.add(value);
+        }
+      }
+      if (lastOid >= 0) {
+        result.put(lastOid, ImmutableLocalDateDoubleTimeSeries.of(dates, values));
+      }
+      return result;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Mapper from SQL rows to a UniqueId.
@@ -494,5 +648,29 @@ public class DbHistoricalTimeSeriesDataPointsWorker extends AbstractDbMaster {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Mapper from SQL rows to a ManageableHistoricalTimeSeries for each object identifier.
+   */
+  protected final class BulkManageableHTSExtractor implements ResultSetExtractor<Map<Long, ManageableHistoricalTimeSeries>> {
+    @Override
+    public Map<Long, ManageableHistoricalTimeSeries> extractData(final ResultSet rs) throws SQLException, DataAccessException {
+      final Map<Long, ManageableHistoricalTimeSeries> result = new HashMap<Long, ManageableHistoricalTimeSeries>();
+      while (rs.next()) {
+        final long oid = rs.getLong("DOC_OID");
+        Timestamp ver = rs.getTimestamp("max_ver_instant");
+        Timestamp corr = rs.getTimestamp("max_corr_instant");
+        Instant verInstant = ver != null ? DbDateUtils.fromSqlTimestamp(ver) : null;
+        Instant corrInstant = (corr != null ? DbDateUtils.fromSqlTimestamp(corr) : verInstant);
+        ManageableHistoricalTimeSeries hts = new ManageableHistoricalTimeSeries();
+        hts.setUniqueId(createTimeSeriesUniqueId(oid, verInstant, corrInstant));
+        hts.setVersionInstant(verInstant);
+        hts.setCorrectionInstant(corrInstant);
+        result.put(oid, hts);
+      }
+      return result;
+    }
+  }
+
 
 }
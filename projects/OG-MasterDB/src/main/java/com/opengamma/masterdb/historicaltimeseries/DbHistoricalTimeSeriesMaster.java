@@ -35,6 +35,8 @@ import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
 import com.opengamma.master.AbstractHistoryRequest;
 import com.opengamma.master.AbstractHistoryResult;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
 import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoHistoryRequest;
@@ -108,7 +110,7 @@ public class DbHistoricalTimeSeriesMaster extends AbstractDocumentDbMaster<Histo
   /**
    * Worker.
    */
-  private final DbHistoricalTimeSeriesDataPointsWorker _dataPointsWorker;
+  private DbHistoricalTimeSeriesDataPointsWorker _dataPointsWorker;
 
   // -----------------------------------------------------------------
   // TIMERS FOR METRICS GATHERING
@@ -119,6 +121,7 @@ public class DbHistoricalTimeSeriesMaster extends AbstractDocumentDbMaster<Histo
   private Timer _insertTimer = new Timer();
   private Timer _htsAddTimer = new Timer();
   private Timer _getTimeSeriesTimer = new Timer();
+  private Timer _getTimeSeriesBulkTimer = new Timer();
   private Timer _updatePointsTimer = new Timer();
   private Timer _correctPointsTimer = new Timer();
   private Timer _removePointsTimer = new Timer();
@@ -146,6 +149,7 @@ public class DbHistoricalTimeSeriesMaster extends AbstractDocumentDbMaster<Histo
     _insertTimer = summaryRegistry.timer(namePrefix + ".insert");
     _htsAddTimer = summaryRegistry.timer(namePrefix + ".htsAdd");
     _getTimeSeriesTimer = summaryRegistry.timer(namePrefix + ".getTimeSeries");
+    _getTimeSeriesBulkTimer = summaryRegistry.timer(namePrefix + ".getTimeSeriesBulk");
     _updatePointsTimer = summaryRegistry.timer(namePrefix + ".updatePoints");
     _correctPointsTimer = summaryRegistry.timer(namePrefix + ".correctPoints");
     _removePointsTimer = summaryRegistry.timer(namePrefix + ".removePoints");
@@ -207,6 +211,19 @@ public class DbHistoricalTimeSeriesMaster extends AbstractDocumentDbMaster<Histo
     return _dataPointsWorker;
   }
 
+  /**
+   * Sets the data points worker.
+   * <p>
+   * This allows the data points to be stored elsewhere than in the database, see {@link FileHistoricalTimeSeriesDataPointsWorker}.
+   *
+   * @param dataPointsWorker  the worker, created for this master, not null
+   */
+  public void setDataPointsWorker(final DbHistoricalTimeSeriesDataPointsWorker dataPointsWorker) {
+    ArgumentChecker.notNull(dataPointsWorker, "dataPointsWorker");
+    ArgumentChecker.isTrue(dataPointsWorker.getMaster() == this, "dataPointsWorker must be created for this master");
+    _dataPointsWorker = dataPointsWorker;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public HistoricalTimeSeriesInfoMetaDataResult metaData(HistoricalTimeSeriesInfoMetaDataRequest request) {
@@ -471,6 +488,13 @@ public class DbHistoricalTimeSeriesMaster extends AbstractDocumentDbMaster<Histo
     }
   }
 
+  @Override
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    try (Timer.Context context = _getTimeSeriesBulkTimer.time()) {
+      return getDataPointsWorker().getTimeSeries(request);
+    }
+  }
+
   //-------------------------------------------------------------------------
 
   @Override
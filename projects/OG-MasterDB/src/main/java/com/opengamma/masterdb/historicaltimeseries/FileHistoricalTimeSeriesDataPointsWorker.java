@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.historicaltimeseries;
+
+import java.io.File;
+import java.util.Map;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+
+import com.opengamma.DataNotFoundException;
+import com.opengamma.core.change.ChangeType;
+import com.opengamma.id.ObjectId;
+import com.opengamma.id.ObjectIdentifiable;
+import com.opengamma.id.UniqueId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesInfoDocument;
+import com.opengamma.master.historicaltimeseries.ManageableHistoricalTimeSeries;
+import com.opengamma.masterdb.historicaltimeseries.DataPointsBlockFileStore.DataPoints;
+import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.util.ArgumentChecker;
+import com.opengamma.util.db.DbMapSqlParameterSource;
+
+/**
+ * A worker that stores the data points of the time-series master in files rather than in the database.
+ * <p>
+ * The information documents remain in the database, the data points of each time-series are stored
+ * in a file of the {@link DataPointsBlockFileStore}, with the same version and correction behavior.
+ * Loading a long time-series reads one file instead of one database row per data point.
+ * <p>
+ * The data points are not written to the database, so updates, corrections and removals do not run in a
+ * database transaction. A file append cannot be rolled back, and a retried transaction would append it twice.
+ * <p>
+ * To use it, set it on the master after creation:
+ * {@code master.setDataPointsWorker(new FileHistoricalTimeSeriesDataPointsWorker(master, directory))}.
+ * <p>
+ * This class is mutable but must be treated as immutable after configuration.
+ */
+public class FileHistoricalTimeSeriesDataPointsWorker extends DbHistoricalTimeSeriesDataPointsWorker {
+
+  /**
+   * The data points store.
+   */
+  private final DataPointsBlockFileStore _store;
+
+  /**
+   * Creates an instance.
+   *
+   * @param master  the database master, not null
+   * @param directory  the directory of the data points files, not null
+   */
+  public FileHistoricalTimeSeriesDataPointsWorker(final DbHistoricalTimeSeriesMaster master, final File directory) {
+    this(master, new DataPointsBlockFileStore(directory));
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param master  the database master, not null
+   * @param store  the data points store, not null
+   */
+  public FileHistoricalTimeSeriesDataPointsWorker(final DbHistoricalTimeSeriesMaster master, final DataPointsBlockFileStore store) {
+    super(master);
+    ArgumentChecker.notNull(store, "store");
+    _store = store;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the data points store.
+   *
+   * @return the store, not null
+   */
+  public DataPointsBlockFileStore getStore() {
+    return _store;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ManageableHistoricalTimeSeries getTimeSeries(ObjectIdentifiable objectId, VersionCorrection versionCorrection, HistoricalTimeSeriesGetFilter filter) {
+    final long oid = extractOid(objectId);
+    final VersionCorrection vc = versionCorrection.withLatestFixed(now());
+    final DataPoints points = _store.read(oid, vc.getVersionAsOf(), vc.getCorrectedTo());
+    if (points.getVersionInstant() == null) {
+      // No data-points were found, check if the time-series doc exists or existed at some point
+      final DbMapSqlParameterSource args = new DbMapSqlParameterSource()
+        .addValue("doc_oid", oid)
+        .addTimestamp("version_as_of_instant", vc.getVersionAsOf())
+        .addTimestamp("corrected_to_instant", vc.getCorrectedTo());
+      final String sqlExists = getElSqlBundle().getSql("SelectExistential", args);
+      final ManageableHistoricalTimeSeries result = getDbConnector().getJdbcTemplate().query(sqlExists, args, new ManageableHTSExtractor(oid));
+      if (result == null) {
+        throw new DataNotFoundException("Unable to find time-series: " + objectId);
+      }
+      result.setTimeSeries(ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES);
+      return result;
+    }
+    final ManageableHistoricalTimeSeries result = new ManageableHistoricalTimeSeries();
+    result.setUniqueId(createTimeSeriesUniqueId(oid, points.getVersionInstant(), points.getCorrectionInstant()));
+    result.setVersionInstant(points.getVersionInstant());
+    result.setCorrectionInstant(points.getCorrectionInstant());
+    result.setTimeSeries(points.getTimeSeries(filter));
+    return result;
+  }
+
+  @Override
+  public HistoricalTimeSeriesBulkGetResult getTimeSeries(HistoricalTimeSeriesBulkGetRequest request) {
+    ArgumentChecker.notNull(request, "request");
+    // each time-series is a separate file, so there is no set-based read
+    final VersionCorrection vc = request.getVersionCorrection().withLatestFixed(now());
+    final HistoricalTimeSeriesBulkGetResult result = new HistoricalTimeSeriesBulkGetResult();
+    for (Map.Entry<ObjectId, HistoricalTimeSeriesGetFilter> entry : request.getFilters().entrySet()) {
+      try {
+        result.getTimeSeries().put(entry.getKey(), getTimeSeries(entry.getKey(), vc, entry.getValue()));
+      } catch (DataNotFoundException ex) {
+        // omitted from the result
+      }
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public UniqueId updateTimeSeriesDataPoints(final ObjectIdentifiable objectId, final LocalDateDoubleTimeSeries series) {
+    ArgumentChecker.notNull(objectId, "objectId");
+    ArgumentChecker.notNull(series, "series");
+    final UniqueId uniqueId = resolveObjectId(objectId, VersionCorrection.LATEST);
+    if (series.isEmpty()) {
+      return uniqueId;
+    }
+    final Instant now = now();
+    insertDataPointsCheckMaxDate(uniqueId, series);
+    final UniqueId result = insertDataPoints(uniqueId, series, now);
+    getMaster().changeManager().entityChanged(ChangeType.CHANGED, objectId.getObjectId(), null, null, now);
+    return result;
+  }
+
+  @Override
+  public UniqueId correctTimeSeriesDataPoints(final ObjectIdentifiable objectId, final LocalDateDoubleTimeSeries series) {
+    ArgumentChecker.notNull(objectId, "objectId");
+    ArgumentChecker.notNull(series, "series");
+    final UniqueId uniqueId = resolveObjectId(objectId, VersionCorrection.LATEST);
+    if (series.isEmpty()) {
+      return uniqueId;
+    }
+    final Instant now = now();
+    final UniqueId result = correctDataPoints(uniqueId, series, now);
+    getMaster().changeManager().entityChanged(ChangeType.CHANGED, objectId.getObjectId(), null, null, now);
+    return result;
+  }
+
+  @Override
+  public UniqueId removeTimeSeriesDataPoints(final ObjectIdentifiable objectId, final LocalDate fromDateInclusive, final LocalDate toDateInclusive) {
+    ArgumentChecker.notNull(objectId, "objectId");
+    if (fromDateInclusive != null && toDateInclusive != null) {
+      ArgumentChecker.inOrderOrEqual(fromDateInclusive, toDateInclusive, "fromDateInclusive", "toDateInclusive");
+    }
+    final UniqueId uniqueId = resolveObjectId(objectId, VersionCorrection.LATEST);
+    final Instant now = now();
+    final UniqueId result = removeDataPoints(uniqueId, fromDateInclusive, toDateInclusive, now);
+    getMaster().changeManager().entityChanged(ChangeType.CHANGED, objectId.getObjectId(), null, null, now);
+    return result;
+  }
+
+  @Override
+  protected void insertDataPointsCheckMaxDate(final UniqueId uniqueId, final LocalDateDoubleTimeSeries series) {
+    final VersionCorrection vc = getMaster().extractTimeSeriesInstants(uniqueId);
+    final LocalDate maxDate = _store.read(extractOid(uniqueId), vc.getVersionAsOf(), vc.getCorrectedTo()).getLatestDate();
+    if (maxDate != null && series.getEarliestTime().isAfter(maxDate) == false) {
+      throw new IllegalArgumentException("Unable to update data points of time-series " + uniqueId +
+          " as the update starts at " + series.getEarliestTime() +
+          " which is before the latest data point in the store at " + maxDate);
+    }
+  }
+
+  @Override
+  protected UniqueId insertDataPoints(final UniqueId uniqueId, final LocalDateDoubleTimeSeries series, final Instant now) {
+    final long docOid = extractOid(uniqueId);
+    _store.appendDataPoints(docOid, now, series);
+    return createTimeSeriesUniqueId(docOid, now, now);
+  }
+
+  @Override
+  protected UniqueId correctDataPoints(UniqueId uniqueId, LocalDateDoubleTimeSeries series, Instant now) {
+    _store.appendDataPoints(extractOid(uniqueId), now, series);
+    return resolveObjectId(uniqueId, VersionCorrection.of(now, now));
+  }
+
+  @Override
+  protected UniqueId removeDataPoints(UniqueId uniqueId, LocalDate fromDateInclusive, LocalDate toDateInclusive, Instant now) {
+    final long docOid = extractOid(uniqueId);
+    final int[] dates = _store.read(docOid, now, now).getDates(fromDateInclusive, toDateInclusive);
+    if (dates.length > 0) {
+      _store.appendRemovals(docOid, now, dates);
+    }
+    return resolveObjectId(uniqueId, VersionCorrection.of(now, now));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  protected UniqueId resolveObjectId(ObjectIdentifiable objectId, VersionCorrection versionCorrection) {
+    ArgumentChecker.notNull(objectId, "objectId");
+    ArgumentChecker.notNull(versionCorrection, "versionCorrection");
+    checkScheme(objectId);
+    final long oid = extractOid(objectId);
+    versionCorrection = versionCorrection.withLatestFixed(now());
+    // the document must exist at the version-correction, its instants are used if there are no data points
+    final HistoricalTimeSeriesInfoDocument doc = getMaster().get(objectId, versionCorrection);
+    final DataPoints points = _store.read(oid, versionCorrection.getVersionAsOf(), versionCorrection.getCorrectedTo());
+    if (points.getVersionInstant() == null) {
+      return createTimeSeriesUniqueId(oid, doc.getVersionFromInstant(), doc.getCorrectionFromInstant());
+    }
+    return createTimeSeriesUniqueId(oid, points.getVersionInstant(), points.getCorrectionInstant());
+  }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.batch;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.Test;
+
+import com.opengamma.batch.BatchRunWriter;
+import com.opengamma.batch.RunCreationMode;
+import com.opengamma.batch.SnapshotMode;
+import com.opengamma.batch.domain.RiskRun;
+import com.opengamma.engine.view.ViewComputationResultModel;
+import com.opengamma.engine.view.cycle.ViewCycleMetadata;
+import com.opengamma.engine.view.execution.ViewCycleExecutionOptions;
+import com.opengamma.engine.view.impl.InMemoryViewComputationResultModel;
+import com.opengamma.id.ObjectId;
+import com.opengamma.livedata.UserPrincipal;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Test.
+ */
+@Test(groups = TestGroup.UNIT)
+public class BatchDbViewResultListenerTest {
+
+  @SuppressWarnings("unchecked")
+  private static BatchRunWriter createWriter(final RiskRun run) {
+    BatchRunWriter writer = mock(BatchRunWriter.class);
+    when(writer.startRiskRun(any(ViewCycleMetadata.class), anyMap(), any(RunCreationMode.class), any(SnapshotMode.class)))
+        .thenReturn(run);
+    return writer;
+  }
+
+  public void test_synchronous() {
+    RiskRun run = new RiskRun();
+    run.setId(1);
+    BatchRunWriter writer = createWriter(run);
+    BatchDbViewResultListener test = new BatchDbViewResultListener(writer, UserPrincipal.getTestUser());
+    ViewComputationResultModel fragment = new InMemoryViewComputationResultModel();
+    test.cycleStarted(mock(ViewCycleMetadata.class));
+    test.cycleFragmentCompleted(fragment, null);
+    verify(writer).addJobResults(run.getObjectId(), fragment);
+    test.cycleCompleted(null, null);
+    verify(writer).endRiskRun(run.getObjectId());
+  }
+
+  public void test_asynchronous() throws Exception {
+    RiskRun run = new RiskRun();
+    run.setId(1);
+    final ObjectId runId = run.getObjectId();
+    BatchRunWriter writer = createWriter(run);
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        release.await();
+        return null;
+      }
+    }).when(writer).addJobResults(eq(runId), any(ViewComputationResultModel.class));
+    BatchDbViewResultListener test = new BatchDbViewResultListener(writer, UserPrincipal.getTestUser(), 2);
+    ViewComputationResultModel fragment1 = new InMemoryViewComputationResultModel();
+    ViewComputationResultModel fragment2 = new InMemoryViewComputationResultModel();
+    test.cycleStarted(mock(ViewCycleMetadata.class));
+    // the cycle is not held up while the first fragment is being written
+    test.cycleFragmentCompleted(fragment1, null);
+    test.cycleFragmentCompleted(fragment2, null);
+    release.countDown();
+    test.cycleCompleted(null, null);
+    test.processCompleted();
+    InOrder order = inOrder(writer);
+    order.verify(writer).addJobResults(runId, fragment1);
+    order.verify(writer).addJobResults(runId, fragment2);
+    order.verify(writer).endRiskRun(runId);
+  }
+
+  public void test_asynchronousEndDoesNotWait() throws Exception {
+    RiskRun run = new RiskRun();
+    run.setId(1);
+    final ObjectId runId = run.getObjectId();
+    BatchRunWriter writer = createWriter(run);
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        release.await();
+        return null;
+      }
+    }).when(writer).addJobResults(eq(runId), any(ViewComputationResultModel.class));
+    BatchDbViewResultListener test = new BatchDbViewResultListener(writer, UserPrincipal.getTestUser(), 1);
+    ViewComputationResultModel fragment = new InMemoryViewComputationResultModel();
+    test.cycleStarted(mock(ViewCycleMetadata.class));
+    test.cycleFragmentCompleted(fragment, null);
+    // neither the end of the cycle nor a failure waits for the fragment to be written
+    test.cycleCompleted(null, null);
+    test.cycleExecutionFailed(mock(ViewCycleExecutionOptions.class), new Exception());
+    verify(writer, never()).endRiskRun(runId);
+    release.countDown();
+    test.processCompleted();
+    InOrder order = inOrder(writer);
+    order.verify(writer).addJobResults(runId, fragment);
+    order.verify(writer, times(2)).endRiskRun(runId);
+  }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.batch;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+import com.opengamma.util.db.DbDateUtils;
+import com.opengamma.util.db.DbMapSqlParameterSource;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Test the bulk load row format of {@link DbBatchWriter.RiskValueReader}.
+ */
+@Test(groups = TestGroup.UNIT)
+public class DbBatchWriterRiskValueReaderTest {
+
+  private static final Instant EVAL_INSTANT = Instant.parse("2011-12-14T14:20:17.143Z");
+
+  private static DbMapSqlParameterSource row(final long id, final String name, final double value) {
+    final DbMapSqlParameterSource args = new DbMapSqlParameterSource();
+    args.addValue("id", id);
+    args.addValue("calculation_configuration_id", 2L);
+    args.addValue("name", name);
+    args.addValue("value_specification_id", 3L);
+    args.addValue("function_unique_id", 4L);
+    args.addValue("computation_target_id", 5L);
+    args.addValue("run_id", 6L);
+    args.addValue("value", value);
+    args.addTimestamp("eval_instant", EVAL_INSTANT);
+    args.addValue("compute_node_id", 7L);
+    return args;
+  }
+
+  private static String readAll(final Reader reader, final int bufferSize) throws Exception {
+    final StringBuilder buf = new StringBuilder();
+    final char[] chars = new char[bufferSize];
+    int count;
+    while ((count = reader.read(chars, 0, chars.length)) >= 0) {
+      buf.append(chars, 0, count);
+    }
+    reader.close();
+    return buf.toString();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_empty() throws Exception {
+    assertEquals("", readAll(new DbBatchWriter.RiskValueReader(Collections.<DbMapSqlParameterSource>emptyList()), 16));
+  }
+
+  public void test_zeroLength() throws Exception {
+    final Reader reader = new DbBatchWriter.RiskValueReader(Arrays.asList(row(1, "PV", 1d)));
+    assertEquals(0, reader.read(new char[4], 0, 0));
+    assertEquals('1', reader.read());
+  }
+
+  public void test_rows() throws Exception {
+    final String timestamp = DbDateUtils.toSqlTimestamp(EVAL_INSTANT).toString();
+    final String expected =
+        "1\t2\tPV\t3\t4\t5\t6\t1.5\t" + timestamp + "\t7\n" +
+        "8\t2\t\\N\t3\t4\t5\t6\t-2.0\t" + timestamp + "\t7\n";
+    assertEquals(expected, readAll(new DbBatchWriter.RiskValueReader(Arrays.asList(row(1, "PV", 1.5d), row(8, null, -2d))), 1024));
+  }
+
+  public void test_escaping() throws Exception {
+    final String timestamp = DbDateUtils.toSqlTimestamp(EVAL_INSTANT).toString();
+    final String expected = "1\t2\ta\\\\b\\tc\\nd\\re\t3\t4\t5\t6\t1.0\t" + timestamp + "\t7\n";
+    assertEquals(expected, readAll(new DbBatchWriter.RiskValueReader(Arrays.asList(row(1, "a\\b\tc\nd\re", 1d))), 1024));
+  }
+
+  public void test_smallBuffer() throws Exception {
+    final DbMapSqlParameterSource[] rows = {row(1, "PV", 1.5d), row(2, "Delta", 2.5d), row(3, null, 3.5d) };
+    final String expected = readAll(new DbBatchWriter.RiskValueReader(Arrays.asList(rows)), 4096);
+    assertEquals(expected, readAll(new DbBatchWriter.RiskValueReader(Arrays.asList(rows)), 3));
+    assertEquals(3, expected.split("\n").length);
+  }
+
+}
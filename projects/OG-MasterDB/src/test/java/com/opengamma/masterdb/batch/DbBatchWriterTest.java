@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.testng.annotations.Factory;
@@ -56,6 +57,7 @@ import com.opengamma.engine.view.impl.InMemoryViewComputationResultModel;
 import com.opengamma.id.ObjectId;
 import com.opengamma.id.UniqueId;
 import com.opengamma.id.VersionCorrection;
+import com.opengamma.util.db.DbMapSqlParameterSource;
 import com.opengamma.util.paging.PagingRequest;
 import com.opengamma.util.test.DbTest;
 import com.opengamma.util.test.TestGroup;
@@ -532,4 +534,53 @@ public class DbBatchWriterTest extends AbstractDbBatchTest {
     result.addValue("config_1", cvr);
     _batchMaster.addJobResults(run.getObjectId(), result);
   }
+
+  @Test
+  public void nextIds() {
+    assertEquals(0, _batchWriter.nextIds(0).length);
+    final long[] ids1 = _batchWriter.nextIds(5);
+    final long[] ids2 = _batchWriter.nextIds(3);
+    assertEquals(5, ids1.length);
+    assertEquals(3, ids2.length);
+    final Set<Long> all = new HashSet<Long>();
+    for (long id : ids1) {
+      all.add(id);
+    }
+    for (long id : ids2) {
+      all.add(id);
+    }
+    assertEquals(8, all.size());
+  }
+
+  @Test
+  public void insertRiskSuccesses() {
+    // write one value so that the referenced rows exist
+    addJobResults();
+    final JdbcOperations jdbc = _batchWriter.getDbConnector().getJdbcOperations();
+    assertEquals(1L, jdbc.queryForObject("SELECT COUNT(*) FROM rsk_value", Long.class).longValue());
+    // the map is case insensitive
+    final Map<String, Object> existing = jdbc.queryForMap("SELECT * FROM rsk_value");
+    final long[] ids = _batchWriter.nextIds(3);
+    final List<DbMapSqlParameterSource> successes = newArrayList();
+    for (int i = 0; i < ids.length; i++) {
+      final DbMapSqlParameterSource row = new DbMapSqlParameterSource();
+      for (String column : DbBatchWriter.RISK_VALUE_COLUMNS) {
+        row.addValue(column, existing.get(column));
+      }
+      row.addValue("id", ids[i]);
+      row.addValue("value", 2000.0 + i);
+      row.addValue("name", "name\t" + i);
+      successes.add(row);
+    }
+    _batchWriter.insertRiskSuccesses(successes);
+    _batchWriter.insertRiskSuccesses(Collections.<DbMapSqlParameterSource>emptyList());
+    assertEquals(4L, jdbc.queryForObject("SELECT COUNT(*) FROM rsk_value", Long.class).longValue());
+    for (int i = 0; i < ids.length; i++) {
+      final Map<String, Object> inserted = jdbc.queryForMap("SELECT * FROM rsk_value WHERE id = ?", ids[i]);
+      assertEquals(2000.0 + i, ((Number) inserted.get("value")).doubleValue(), 0d);
+      assertEquals("name\t" + i, inserted.get("name"));
+      assertEquals(((Number) existing.get("run_id")).longValue(), ((Number) inserted.get("run_id")).longValue());
+    }
+  }
+
 }
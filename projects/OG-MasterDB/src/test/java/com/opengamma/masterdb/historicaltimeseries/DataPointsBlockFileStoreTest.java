@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.historicaltimeseries;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
+import com.opengamma.masterdb.historicaltimeseries.DataPointsBlockFileStore.DataPoints;
+import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateToIntConverter;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Test DataPointsBlockFileStore.
+ */
+@Test(groups = TestGroup.UNIT)
+public class DataPointsBlockFileStoreTest {
+
+  private static final HistoricalTimeSeriesGetFilter ALL = HistoricalTimeSeriesGetFilter.ofRange(null, null);
+  private static final Instant T1 = Instant.ofEpochSecond(1000, 1);
+  private static final Instant T2 = Instant.ofEpochSecond(2000, 2);
+  private static final Instant T3 = Instant.ofEpochSecond(3000, 3);
+  private static final Instant T4 = Instant.ofEpochSecond(4000, 4);
+  private static final LocalDate D1 = LocalDate.of(2011, 1, 1);
+  private static final LocalDate D2 = LocalDate.of(2011, 1, 2);
+  private static final LocalDate D3 = LocalDate.of(2011, 1, 3);
+  private static final LocalDate D4 = LocalDate.of(2011, 2, 1);
+  private static final LocalDate D5 = LocalDate.of(2012, 1, 1);
+
+  private File _directory;
+  private DataPointsBlockFileStore _store;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("hts").toFile();
+    _store = new DataPointsBlockFileStore(_directory);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    for (File file : _directory.listFiles()) {
+      file.delete();
+    }
+    _directory.delete();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_noFile() {
+    final DataPoints points = _store.read(101, T4, T4);
+    assertNull(points.getVersionInstant());
+    assertNull(points.getCorrectionInstant());
+    assertNull(points.getLatestDate());
+    assertTrue(points.getTimeSeries(ALL).isEmpty());
+  }
+
+  public void test_updates() {
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2 }, new double[] {1.1, 2.2 }));
+    _store.appendDataPoints(101, T2, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D4, D5 }, new double[] {3.3, 4.4, 5.5 }));
+    DataPoints points = _store.read(101, T4, T4);
+    assertEquals(T2, points.getVersionInstant());
+    assertEquals(T2, points.getCorrectionInstant());
+    assertEquals(D5, points.getLatestDate());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3, D4, D5 }, new double[] {1.1, 2.2, 3.3, 4.4, 5.5 }), points.getTimeSeries(ALL));
+    // earlier version
+    points = _store.read(101, T1, T4);
+    assertEquals(T1, points.getVersionInstant());
+    assertEquals(T1, points.getCorrectionInstant());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2 }, new double[] {1.1, 2.2 }), points.getTimeSeries(ALL));
+    // other series
+    assertNull(_store.read(102, T4, T4).getVersionInstant());
+  }
+
+  public void test_corrections() {
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2 }, new double[] {1.1, 2.2 }));
+    _store.appendDataPoints(101, T2, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D4, D5 }, new double[] {4.4, 5.5 }));
+    // corrects D2 and D4, adds D3 which is then versioned at T3
+    _store.appendDataPoints(101, T3, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D4 }, new double[] {-2.2, -3.3, -4.4 }));
+    DataPoints points = _store.read(101, T4, T4);
+    assertEquals(T3, points.getVersionInstant());
+    assertEquals(T3, points.getCorrectionInstant());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3, D4, D5 }, new double[] {1.1, -2.2, -3.3, -4.4, 5.5 }), points.getTimeSeries(ALL));
+    // the correction of D2 applies to the version at T1, D3 and D4 are not in that version
+    points = _store.read(101, T1, T4);
+    assertEquals(T1, points.getVersionInstant());
+    assertEquals(T3, points.getCorrectionInstant());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2 }, new double[] {1.1, -2.2 }), points.getTimeSeries(ALL));
+    // before the correction
+    points = _store.read(101, T4, T2);
+    assertEquals(T2, points.getCorrectionInstant());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D4, D5 }, new double[] {1.1, 2.2, 4.4, 5.5 }), points.getTimeSeries(ALL));
+  }
+
+  public void test_removals() {
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3, D4 }, new double[] {1.1, 2.2, 3.3, 4.4 }));
+    final int[] dates = _store.read(101, T2, T2).getDates(D2, D3);
+    assertTrue(Arrays.equals(new int[] {LocalDateToIntConverter.convertToInt(D2), LocalDateToIntConverter.convertToInt(D3) }, dates));
+    _store.appendRemovals(101, T2, dates);
+    DataPoints points = _store.read(101, T4, T4);
+    assertEquals(T1, points.getVersionInstant());
+    assertEquals(T2, points.getCorrectionInstant());
+    assertEquals(D4, points.getLatestDate());
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D4 }, new double[] {1.1, 4.4 }), points.getTimeSeries(ALL));
+    // the removed dates can be corrected again
+    _store.appendDataPoints(101, T3, ImmutableLocalDateDoubleTimeSeries.of(D3, 3.0));
+    points = _store.read(101, T4, T4);
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D3, D4 }, new double[] {1.1, 3.0, 4.4 }), points.getTimeSeries(ALL));
+  }
+
+  public void test_filter() {
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3, D4, D5 }, new double[] {1, 2, 3, 4, 5 }));
+    final DataPoints points = _store.read(101, T1, T1);
+    LocalDateDoubleTimeSeries series = points.getTimeSeries(HistoricalTimeSeriesGetFilter.ofRange(D2, D4));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D4 }, new double[] {2, 3, 4 }), series);
+    series = points.getTimeSeries(HistoricalTimeSeriesGetFilter.ofRange(LocalDate.of(2011, 1, 4), null, 1));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(D4, 4), series);
+    series = points.getTimeSeries(HistoricalTimeSeriesGetFilter.ofRange(null, D4, -2));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D4 }, new double[] {3, 4 }), series);
+    assertTrue(points.getTimeSeries(HistoricalTimeSeriesGetFilter.ofRange(D4, D2)).isEmpty());
+  }
+
+  public void test_longSeries() {
+    final int n = 20 * 365;
+    final LocalDate[] dates = new LocalDate[n];
+    final double[] values = new double[n];
+    for (int i = 0; i < n; i++) {
+      dates[i] = LocalDate.of(1990, 1, 1).plusDays(i);
+      values[i] = Math.sin(i);
+    }
+    final LocalDateDoubleTimeSeries series = ImmutableLocalDateDoubleTimeSeries.of(dates, values);
+    _store.appendDataPoints(101, T1, series.subSeries(dates[0], dates[n / 2]));
+    _store.appendDataPoints(101, T2, series.subSeries(dates[n / 2], true, dates[n - 1], true));
+    assertEquals(series, _store.read(101, T2, T2).getTimeSeries(ALL));
+  }
+
+  public void test_largeFileWithCorrections() {
+    // many blocks over more than a megabyte
+    final int n = 200000;
+    final int[] dates = new int[n];
+    final double[] values = new double[n];
+    for (int i = 0; i < n; i++) {
+      dates[i] = LocalDateToIntConverter.convertToInt(LocalDate.of(1500, 1, 1).plusDays(i));
+      values[i] = i;
+    }
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(Arrays.copyOf(dates, n / 2), Arrays.copyOf(values, n / 2)));
+    _store.appendDataPoints(101, T2, ImmutableLocalDateDoubleTimeSeries.of(Arrays.copyOfRange(dates, n / 2, n), Arrays.copyOfRange(values, n / 2, n)));
+    final double[] expected = values.clone();
+    for (int c = 0; c < 20; c++) {
+      final int from = (c * 7919) % (n - 100);
+      final double[] corrected = new double[100];
+      for (int i = 0; i < corrected.length; i++) {
+        corrected[i] = -c - i;
+        expected[from + i] = corrected[i];
+      }
+      _store.appendDataPoints(101, T3.plusSeconds(c), ImmutableLocalDateDoubleTimeSeries.of(Arrays.copyOfRange(dates, from, from + 100), corrected));
+    }
+    assertTrue(_store.getFile(101).length() > 1024 * 1024);
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(dates, expected), _store.read(101, T4, T4).getTimeSeries(ALL));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(dates, values), _store.read(101, T4, T2).getTimeSeries(ALL));
+  }
+
+  public void test_incompleteBlock() throws IOException {
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2 }, new double[] {1.1, 2.2 }));
+    // the start of a block left by a failed write
+    try (FileOutputStream out = new FileOutputStream(_store.getFile(101), true)) {
+      out.write(new byte[] {0, 0, 0, 0, 0, 0, 0x10, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 9, 0, 0 });
+    }
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2 }, new double[] {1.1, 2.2 }), _store.read(101, T4, T4).getTimeSeries(ALL));
+    // the next write replaces it
+    _store.appendDataPoints(101, T2, ImmutableLocalDateDoubleTimeSeries.of(D3, 3.3));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3 }, new double[] {1.1, 2.2, 3.3 }), _store.read(101, T4, T4).getTimeSeries(ALL));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_appendBeforeLastBlock() {
+    _store.appendDataPoints(101, T2, ImmutableLocalDateDoubleTimeSeries.of(D1, 1.1));
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.of(D2, 2.2));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_removalsBeforeLastBlock() {
+    _store.appendDataPoints(101, T2, ImmutableLocalDateDoubleTimeSeries.of(D1, 1.1));
+    _store.appendRemovals(101, T1, new int[] {LocalDateToIntConverter.convertToInt(D1) });
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_emptySeries() {
+    _store.appendDataPoints(101, T1, ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES);
+  }
+
+}
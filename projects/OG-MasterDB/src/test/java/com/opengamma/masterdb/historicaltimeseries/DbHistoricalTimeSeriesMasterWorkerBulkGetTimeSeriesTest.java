@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.historicaltimeseries;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+
+import com.opengamma.id.ObjectId;
+import com.opengamma.id.VersionCorrection;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetRequest;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesBulkGetResult;
+import com.opengamma.master.historicaltimeseries.HistoricalTimeSeriesGetFilter;
+import com.opengamma.util.test.DbTest;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Tests the bulk get of DbHistoricalTimeSeriesMaster against the single get.
+ */
+@Test(groups = TestGroup.UNIT_DB)
+public class DbHistoricalTimeSeriesMasterWorkerBulkGetTimeSeriesTest extends AbstractDbHistoricalTimeSeriesMasterWorkerTest {
+  // superclass sets up dummy database
+
+  private static final Logger s_logger = LoggerFactory.getLogger(DbHistoricalTimeSeriesMasterWorkerBulkGetTimeSeriesTest.class);
+
+  private static final ObjectId OID_101 = ObjectId.of("DbHts", "DP101");
+  private static final ObjectId OID_102 = ObjectId.of("DbHts", "DP102");
+  private static final ObjectId OID_201 = ObjectId.of("DbHts", "DP201");
+  private static final ObjectId OID_MISSING = ObjectId.of("DbHts", "DP0");
+
+  @Factory(dataProvider = "databases", dataProviderClass = DbTest.class)
+  public DbHistoricalTimeSeriesMasterWorkerBulkGetTimeSeriesTest(String databaseType, String databaseVersion) {
+    super(databaseType, databaseVersion);
+    s_logger.info("running testcases for {}", databaseType);
+  }
+
+  //-------------------------------------------------------------------------
+  private void assertBulkMatchesSingle(final VersionCorrection vc, final HistoricalTimeSeriesGetFilter filter101) {
+    final HistoricalTimeSeriesBulkGetRequest request = new HistoricalTimeSeriesBulkGetRequest(vc);
+    request.addTimeSeries(OID_101, filter101);
+    request.addTimeSeries(OID_102, HistoricalTimeSeriesGetFilter.ofAll());
+    request.addTimeSeries(OID_201, HistoricalTimeSeriesGetFilter.ofLatestPoint());
+    request.addTimeSeries(OID_MISSING, HistoricalTimeSeriesGetFilter.ofAll());
+    final HistoricalTimeSeriesBulkGetResult result = _htsMaster.getTimeSeries(request);
+    assertNull(result.getTimeSeries().get(OID_MISSING));
+    for (Map.Entry<ObjectId, HistoricalTimeSeriesGetFilter> entry : request.getFilters().entrySet()) {
+      if (entry.getKey().equals(OID_MISSING) == false) {
+        assertEquals(entry.getKey().toString(), _htsMaster.getTimeSeries(entry.getKey(), vc, entry.getValue()), result.getTimeSeries().get(entry.getKey()));
+      }
+    }
+    assertEquals(3, result.getTimeSeries().size());
+  }
+
+  @Test
+  public void test_bulk_latest() {
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofAll());
+  }
+
+  @Test
+  public void test_bulk_corrections() {
+    assertBulkMatchesSingle(VersionCorrection.of(_version2Instant.plusSeconds(1), _version2Instant.plusSeconds(1)), HistoricalTimeSeriesGetFilter.ofAll());
+    assertBulkMatchesSingle(VersionCorrection.of(_version2Instant.plusSeconds(1), _version3Instant.plusSeconds(1)), HistoricalTimeSeriesGetFilter.ofAll());
+    assertBulkMatchesSingle(VersionCorrection.ofVersionAsOf(_version1Instant.plusSeconds(1)), HistoricalTimeSeriesGetFilter.ofAll());
+  }
+
+  @Test
+  public void test_bulk_dateRange() {
+    final VersionCorrection vc = VersionCorrection.of(_version2Instant.plusSeconds(1), _version3Instant.plusSeconds(1));
+    assertBulkMatchesSingle(vc, HistoricalTimeSeriesGetFilter.ofRange(null, LocalDate.of(2011, 1, 2)));
+    assertBulkMatchesSingle(vc, HistoricalTimeSeriesGetFilter.ofRange(LocalDate.of(2011, 1, 2), null));
+    assertBulkMatchesSingle(vc, HistoricalTimeSeriesGetFilter.ofRange(LocalDate.of(2011, 1, 2), LocalDate.of(2011, 1, 2)));
+  }
+
+  @Test
+  public void test_bulk_maxPoints() {
+    final HistoricalTimeSeriesGetFilter earliest = new HistoricalTimeSeriesGetFilter();
+    earliest.setMaxPoints(2);
+    assertBulkMatchesSingle(VersionCorrection.LATEST, earliest);
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofLatestPoint());
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofEarliestPoint());
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofRange(null, LocalDate.of(2011, 1, 2), -1));
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofRange(LocalDate.of(2011, 1, 2), null, 5));
+  }
+
+  @Test
+  public void test_bulk_removedPoints() {
+    _htsMaster.removeTimeSeriesDataPoints(OID_101, LocalDate.of(2011, 1, 2), LocalDate.of(2011, 1, 2));
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofAll());
+    assertBulkMatchesSingle(VersionCorrection.LATEST, HistoricalTimeSeriesGetFilter.ofLatestPoint());
+    final HistoricalTimeSeriesGetFilter earliest = new HistoricalTimeSeriesGetFilter();
+    earliest.setMaxPoints(2);
+    assertBulkMatchesSingle(VersionCorrection.LATEST, earliest);
+    assertEquals(2, _htsMaster.getTimeSeries(OID_101, VersionCorrection.LATEST).getTimeSeries().size());
+  }
+
+}
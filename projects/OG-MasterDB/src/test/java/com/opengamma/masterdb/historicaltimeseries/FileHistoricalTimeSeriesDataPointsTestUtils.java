@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.historicaltimeseries;
+
+import java.io.File;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+
+import com.opengamma.timeseries.date.localdate.ImmutableLocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateToIntConverter;
+import com.opengamma.util.db.DbDateUtils;
+
+/**
+ * Runs the data points tests of the master against {@link FileHistoricalTimeSeriesDataPointsWorker}.
+ */
+final class FileHistoricalTimeSeriesDataPointsTestUtils {
+
+  private FileHistoricalTimeSeriesDataPointsTestUtils() {
+  }
+
+  /**
+   * Moves the data points of the database into a new file store and sets a file worker on the master.
+   * <p>
+   * The rows are appended in correction order, one block per correction instant,
+   * and then deleted so that only the files can satisfy the tests.
+   *
+   * @param master  the master, with the test data inserted, not null
+   * @return the directory of the files, not null
+   */
+  static File install(final DbHistoricalTimeSeriesMaster master) {
+    final File directory = new File(System.getProperty("java.io.tmpdir"), "hts-" + UUID.randomUUID());
+    final DataPointsBlockFileStore store = new DataPointsBlockFileStore(directory);
+    final JdbcOperations template = master.getDbConnector().getJdbcOperations();
+    final List<Map<String, Object>> rows = template.queryForList(
+        "SELECT doc_oid, point_date, corr_instant, point_value FROM hts_point ORDER BY doc_oid, corr_instant, point_date");
+    int start = 0;
+    while (start < rows.size()) {
+      final long oid = ((Number) rows.get(start).get("doc_oid")).longValue();
+      final Instant instant = DbDateUtils.fromSqlTimestamp((Timestamp) rows.get(start).get("corr_instant"));
+      final List<LocalDate> dates = new ArrayList<LocalDate>();
+      final List<Double> values = new ArrayList<Double>();
+      final List<Integer> removed = new ArrayList<Integer>();
+      int end = start;
+      for (; end < rows.size(); end++) {
+        final Map<String, Object> row = rows.get(end);
+        if (((Number) row.get("doc_oid")).longValue() != oid || DbDateUtils.fromSqlTimestamp((Timestamp) row.get("corr_instant")).equals(instant) == false) {
+          break;
+        }
+        final LocalDate date = DbDateUtils.fromSqlDate((Date) row.get("point_date"));
+        final Number value = (Number) row.get("point_value");
+        if (value != null) {
+          dates.add(date);
+          values.add(value.doubleValue());
+        } else {
+          removed.add(LocalDateToIntConverter.convertToInt(date));
+        }
+      }
+      if (dates.size() > 0) {
+        store.appendDataPoints(oid, instant, ImmutableLocalDateDoubleTimeSeries.of(dates, values));
+      }
+      if (removed.size() > 0) {
+        final int[] removedDates = new int[removed.size()];
+        for (int i = 0; i < removedDates.length; i++) {
+          removedDates[i] = removed.get(i);
+        }
+        store.appendRemovals(oid, instant, removedDates);
+      }
+      start = end;
+    }
+    template.update("DELETE FROM hts_point");
+    master.setDataPointsWorker(new FileHistoricalTimeSeriesDataPointsWorker(master, store));
+    return directory;
+  }
+
+  /**
+   * Deletes the directory of the files.
+   *
+   * @param directory  the directory, null ignored
+   */
+  static void delete(final File directory) {
+    if (directory != null && directory.isDirectory()) {
+      for (File file : directory.listFiles()) {
+        file.delete();
+      }
+      directory.delete();
+    }
+  }
+
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.masterdb.historicaltimeseries;
+
+import java.io.File;
+
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+import com.opengamma.util.test.DbTest;
+import com.opengamma.util.test.TestGroup;
+
+/**
+ * Runs the tests of {@link DbHistoricalTimeSeriesMasterWorkerCorrectTimeSeriesTest} with the data points in files.
+ */
+@Test(groups = TestGroup.UNIT_DB)
+public class FileHistoricalTimeSeriesMasterWorkerCorrectTimeSeriesTest extends DbHistoricalTimeSeriesMasterWorkerCorrectTimeSeriesTest {
+
+  private File _directory;
+
+  @Factory(dataProvider = "databases", dataProviderClass = DbTest.class)
+  public FileHistoricalTimeSeriesMasterWorkerCorrectTimeSeriesTest(String databaseType, String databaseVersion) {
+    super(databaseType, databaseVersion);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  protected void doSetUp() {
+    super.doSetUp();
+    _directory = FileHistoricalTimeSeriesDataPointsTestUtils.install(_htsMaster);
+  }
+
+  @Override
+  protected void doTearDown() {
+    FileHistoricalTimeSeriesDataPointsTestUtils.delete(_directory);
+    _directory = null;
+    super.doTearDown();
+  }
+
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.maths.lowlevelapi.linearalgebra.blas;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+
+import com.opengamma.maths.highlevelapi.datatypes.primitive.OGArrayType;
+import com.opengamma.maths.lowlevelapi.datatypes.primitive.DenseMatrix;
+import com.opengamma.maths.lowlevelapi.linearalgebra.blas.blas3kernelabstractions.BLAS3DGEMMKernelAbstraction;
+import com.opengamma.maths.lowlevelapi.linearalgebra.blas.blas3kernelimplementations.BLAS3DenseKernels;
+import com.opengamma.maths.lowlevelapi.linearalgebra.blas.blas3kernelimplementations.DGEMMForDenseMatrix;
+
+/**
+ * Provides the BLAS level 3 behaviour for the OG matrix library.
+ * The kernels are cache blocked and, for large matrices, run in parallel on row (or column) panels.
+ * All the methods are stateless, the inputs are not modified.
+ * METHODS: DGEMM, DSYRK, DTRSM
+ */
+public class BLAS3 {
+  /**
+   * triangle: Enumeration for the triangle of a triangular matrix that holds the data.
+   */
+  public enum triangle {
+    /** the matrix is upper triangular */
+    upper,
+    /** the matrix is lower triangular */
+    lower
+  }
+
+  /**
+   * DGEMM hashmapped function pointers, by the type of A.
+   */
+  private static Map<Class<?>, BLAS3DGEMMKernelAbstraction<?, ?, ?, ?>> s_dgemmFunctionPointers = new HashMap<Class<?>, BLAS3DGEMMKernelAbstraction<?, ?, ?, ?>>();
+  static {
+    s_dgemmFunctionPointers.put(OGArrayType.class, DGEMMForDenseMatrix.getInstance()); // this is the wrapper for the high level API
+
+    s_dgemmFunctionPointers.put(DenseMatrix.class, DGEMMForDenseMatrix.getInstance());
+  }
+
+  /**
+   * gets the hashmap of class->kernels
+   * @return Map class->kernels
+   */
+  public Map<Class<?>, BLAS3DGEMMKernelAbstraction<?, ?, ?, ?>> getHashMap() {
+    return s_dgemmFunctionPointers;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BLAS3DGEMMKernelAbstraction<DenseMatrix, DenseMatrix, DenseMatrix, DenseMatrix> getKernel(final DenseMatrix aMatrix) {
+    final BLAS3DGEMMKernelAbstraction<DenseMatrix, DenseMatrix, DenseMatrix, DenseMatrix> use =
+        (BLAS3DGEMMKernelAbstraction<DenseMatrix, DenseMatrix, DenseMatrix, DenseMatrix>) s_dgemmFunctionPointers.get(aMatrix.getClass());
+    Validate.notNull(use, "BLAS3 DGEMM was called with an unknown Matrix type: " + aMatrix.getClass() + ". If this type is needed the implement a BLAS3DGEMMKernelAbstraction.");
+    return use;
+  }
+
+  /**
+   * DGEMM simplified: returns:=A*B
+   * @param aMatrix the matrix A
+   * @param bMatrix the matrix B
+   * @return the product
+   */
+  public static DenseMatrix dgemm(DenseMatrix aMatrix, DenseMatrix bMatrix) {
+    Validate.notNull(aMatrix);
+    Validate.notNull(bMatrix);
+    return getKernel(aMatrix).dm_stateless_A_times_B(aMatrix, bMatrix);
+  }
+
+  /**
+   * DGEMM simplified: returns:=op(A)*op(B) where op is the identity or the transposition depending on the orientations.
+   * @param aMatrix the matrix A
+   * @param oA the orientation of A
+   * @param bMatrix the matrix B
+   * @param oB the orientation of B
+   * @return the product
+   */
+  public static DenseMatrix dgemm(DenseMatrix aMatrix, BLAS2.orientation oA, DenseMatrix bMatrix, BLAS2.orientation oB) {
+    Validate.notNull(aMatrix);
+    Validate.notNull(bMatrix);
+    final BLAS3DGEMMKernelAbstraction<DenseMatrix, DenseMatrix, DenseMatrix, DenseMatrix> use = getKernel(aMatrix);
+    if (isTransposed(oA)) {
+      return isTransposed(oB) ? use.dm_stateless_AT_times_BT(aMatrix, bMatrix) : use.dm_stateless_AT_times_B(aMatrix, bMatrix);
+    }
+    return isTransposed(oB) ? use.dm_stateless_A_times_BT(aMatrix, bMatrix) : use.dm_stateless_A_times_B(aMatrix, bMatrix);
+  }
+
+  /**
+   * DGEMM FULL: returns:=alpha*op(A)*op(B) + beta*C where op is the identity or the transposition depending on the orientations.
+   * @param alpha the scaling of op(A)*op(B)
+   * @param aMatrix the matrix A
+   * @param oA the orientation of A
+   * @param bMatrix the matrix B
+   * @param oB the orientation of B
+   * @param beta the scaling of C
+   * @param cMatrix the matrix C
+   * @return the result
+   */
+  public static DenseMatrix dgemm(double alpha, DenseMatrix aMatrix, BLAS2.orientation oA, DenseMatrix bMatrix, BLAS2.orientation oB, double beta, DenseMatrix cMatrix) {
+    Validate.notNull(aMatrix);
+    Validate.notNull(bMatrix);
+    Validate.notNull(cMatrix);
+    final BLAS3DGEMMKernelAbstraction<DenseMatrix, DenseMatrix, DenseMatrix, DenseMatrix> use = getKernel(aMatrix);
+    if (isTransposed(oA)) {
+      return isTransposed(oB) ? use.dm_stateless_alpha_times_AT_times_BT_plus_beta_times_C(alpha, aMatrix, bMatrix, beta, cMatrix) :
+          use.dm_stateless_alpha_times_AT_times_B_plus_beta_times_C(alpha, aMatrix, bMatrix, beta, cMatrix);
+    }
+    return isTransposed(oB) ? use.dm_stateless_alpha_times_A_times_BT_plus_beta_times_C(alpha, aMatrix, bMatrix, beta, cMatrix) :
+        use.dm_stateless_alpha_times_A_times_B_plus_beta_times_C(alpha, aMatrix, bMatrix, beta, cMatrix);
+  }
+
+  /**
+   * DSYRK simplified: returns:=A*A^T OR returns:=A^T*A depending on the orientation.
+   * Half of the products of the equivalent DGEMM are computed.
+   * @param aMatrix the matrix A
+   * @param o orientation "normal" computes A*A^T, "transposed" computes A^T*A
+   * @return the symmetric product
+   */
+  public static DenseMatrix dsyrk(DenseMatrix aMatrix, BLAS2.orientation o) {
+    Validate.notNull(aMatrix);
+    return dsyrk(1, aMatrix, o, 0, null);
+  }
+
+  /**
+   * DSYRK FULL: returns:=alpha*A*A^T + beta*C OR returns:=alpha*A^T*A + beta*C depending on the orientation, C being symmetric.
+   * Half of the products of the equivalent DGEMM are computed; only the upper triangle of C is read.
+   * @param alpha the scaling of the product
+   * @param aMatrix the matrix A
+   * @param o orientation "normal" computes A*A^T, "transposed" computes A^T*A
+   * @param beta the scaling of C
+   * @param cMatrix the symmetric matrix C, null if beta is 0
+   * @return the symmetric result
+   */
+  public static DenseMatrix dsyrk(double alpha, DenseMatrix aMatrix, BLAS2.orientation o, double beta, DenseMatrix cMatrix) {
+    Validate.notNull(aMatrix);
+    Validate.isTrue(cMatrix != null || beta == 0, "C is required when beta is not 0");
+    final int rows = aMatrix.getNumberOfRows();
+    final int cols = aMatrix.getNumberOfColumns();
+    final double[] a;
+    final int n;
+    final int k;
+    if (isTransposed(o)) {
+      a = BLAS3DenseKernels.transpose(aMatrix.getData(), rows, cols);
+      n = cols;
+      k = rows;
+    } else {
+      a = aMatrix.getData();
+      n = rows;
+      k = cols;
+    }
+    final double[] c;
+    if (cMatrix == null) {
+      c = new double[n * n];
+    } else {
+      Validate.isTrue(cMatrix.getNumberOfRows() == n && cMatrix.getNumberOfColumns() == n, "C is " + cMatrix.getNumberOfRows() + "x" + cMatrix.getNumberOfColumns()
+          + ", the product is " + n + "x" + n + ".");
+      c = cMatrix.getData().clone();
+    }
+    BLAS3DenseKernels.dsyrk(alpha, a, n, k, beta, c);
+    return new DenseMatrix().noCopyOnContructFromRowVector(c, n, n);
+  }
+
+  /**
+   * DTRSM simplified: returns X such that op(A)*X = B, A being triangular.
+   * @param aMatrix the triangular matrix A, only the triangle t is read
+   * @param t the triangle of A that holds the data
+   * @param o orientation "normal" solves A*X = B, "transposed" solves A^T*X = B
+   * @param bMatrix the right hand sides B
+   * @return the solutions X
+   */
+  public static DenseMatrix dtrsm(DenseMatrix aMatrix, BLAS3.triangle t, BLAS2.orientation o, DenseMatrix bMatrix) {
+    return dtrsm(aMatrix, t, o, false, 1, bMatrix);
+  }
+
+  /**
+   * DTRSM FULL: returns X such that op(A)*X = alpha*B, A being triangular.
+   * @param aMatrix the triangular matrix A, only the triangle t is read
+   * @param t the triangle of A that holds the data
+   * @param o orientation "normal" solves A*X = alpha*B, "transposed" solves A^T*X = alpha*B
+   * @param unitDiagonal true if the diagonal of A is assumed to be 1 and is not read
+   * @param alpha the scaling of B
+   * @param bMatrix the right hand sides B
+   * @return the solutions X
+   */
+  public static DenseMatrix dtrsm(DenseMatrix aMatrix, BLAS3.triangle t, BLAS2.orientation o, boolean unitDiagonal, double alpha, DenseMatrix bMatrix) {
+    Validate.notNull(aMatrix);
+    Validate.notNull(t);
+    Validate.notNull(bMatrix);
+    final int n = aMatrix.getNumberOfRows();
+    Validate.isTrue(aMatrix.getNumberOfColumns() == n, "A is not square: " + n + "x" + aMatrix.getNumberOfColumns() + ".");
+    Validate.isTrue(bMatrix.getNumberOfRows() == n, "Arguments do not conform: A is " + n + "x" + n + ", B is " + bMatrix.getNumberOfRows() + "x"
+        + bMatrix.getNumberOfColumns() + ".");
+    boolean lower = t == BLAS3.triangle.lower;
+    double[] a = aMatrix.getData();
+    if (isTransposed(o)) {
+      a = BLAS3DenseKernels.transpose(a, n, n);
+      lower = !lower;
+    }
+    final int nrhs = bMatrix.getNumberOfColumns();
+    final double[] x = bMatrix.getData().clone();
+    BLAS3DenseKernels.dtrsm(a, lower, unitDiagonal, n, nrhs, alpha, x);
+    return new DenseMatrix().noCopyOnContructFromRowVector(x, n, nrhs);
+  }
+
+  private static boolean isTransposed(BLAS2.orientation o) {
+    switch (o) {
+      case normal:
+        return false;
+      case transposed:
+        return true;
+      default:
+        throw new IllegalArgumentException("BLAS2.orientation should be enumerated to either normal or transpose.");
+    }
+  }
+
+}
@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.maths.lowlevelapi.linearalgebra.blas.blas3kernelimplementations;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Cache blocked, multi-threaded kernels for the BLAS level 3 operations on row major data.
+ * <p>
+ * The products are computed a row panel of the result at a time. Within a panel the inner dimension and the columns are cut in blocks so that the
+ * block of the right hand side being swept stays in cache while it is used for all the rows of the panel, and the innermost loop runs along contiguous rows of
+ * the right hand side and of the result. When the amount of work is large enough the row panels (for the triangular solve, the column panels) are computed in
+ * parallel on a shared pool.
+ */
+public final class BLAS3DenseKernels {
+
+  /**
+   * The number of rows in a panel, the smallest unit of parallel work.
+   */
+  private static final int PANEL_ROWS = 64;
+  /**
+   * The block size on the inner dimension of the product.
+   */
+  private static final int BLOCK_INNER = 128;
+  /**
+   * The block size on the columns of the product.
+   */
+  private static final int BLOCK_COLUMNS = 256;
+  /**
+   * The number of multiply-adds above which the work is split across the pool.
+   */
+  private static final double PARALLEL_THRESHOLD = 2.0E6;
+  /**
+   * The pool on which the panels are computed.
+   */
+  private static final ForkJoinPool s_pool = new ForkJoinPool();
+
+  private BLAS3DenseKernels() {
+  }
+
+  /**
+   * Transposes a row major matrix.
+   * @param data the row major data
+   * @param rows the number of rows
+   * @param cols the number of columns
+   * @return the row major data of the transpose, a cols by rows matrix
+   */
+  public static double[] transpose(final double[] data, final int rows, final int cols) {
+    final double[] result = new double[data.length];
+    for (int ii = 0; ii < rows; ii += PANEL_ROWS) {
+      final int iEnd = Math.min(ii + PANEL_ROWS, rows);
+      for (int jj = 0; jj < cols; jj += PANEL_ROWS) {
+        final int jEnd = Math.min(jj + PANEL_ROWS, cols);
+        for (int i = ii; i < iEnd; i++) {
+          for (int j = jj; j < jEnd; j++) {
+            result[j * rows + i] = data[i * cols + j];
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * DGEMM: performs C := alpha*A*B + beta*C where A is m by k, B is k by n and C is m by n, all row major.
+   * @param alpha the scaling of A*B
+   * @param a the data of A
+   * @param b the data of B
+   * @param m the number of rows of A and C
+   * @param n the number of columns of B and C
+   * @param k the number of columns of A and rows of B
+   * @param beta the scaling of C, if 0 the initial content of C is ignored
+   * @param c the data of C, overwritten by the result
+   */
+  public static void dgemm(final double alpha, final double[] a, final double[] b, final int m, final int n, final int k, final double beta, final double[] c) {
+    checkSizes(a, b, m, n, k, c);
+    compute(new ProductTask(alpha, a, b, n, k, beta, c, false, 0, m), (double) m * n * k);
+  }
+
+  /**
+   * DSYRK: performs C := alpha*A*A^T + beta*C where A is n by k and C is a symmetric n by n matrix, all row major.
+   * Only the upper triangle is computed, the lower triangle is set by symmetry.
+   * @param alpha the scaling of A*A^T
+   * @param a the data of A
+   * @param n the number of rows of A
+   * @param k the number of columns of A
+   * @param beta the scaling of C, if 0 the initial content of C is ignored
+   * @param c the data of C, overwritten by the result
+   */
+  public static void dsyrk(final double alpha, final double[] a, final int n, final int k, final double beta, final double[] c) {
+    Validate.isTrue(a.length == n * k, "A is not " + n + " by " + k);
+    Validate.isTrue(c.length == n * n, "C is not " + n + " by " + n);
+    final double[] at = transpose(a, n, k);
+    compute(new ProductTask(alpha, a, at, n, k, beta, c, true, 0, n), (double) n * n * k / 2);
+    for (int i = 0; i < n; i++) {
+      for (int j = i + 1; j < n; j++) {
+        c[j * n + i] = c[i * n + j];
+      }
+    }
+  }
+
+  /**
+   * DTRSM: solves A*X = alpha*B where A is an n by n triangular matrix and B is n by nrhs, all row major.
+   * @param a the data of A, only the triangle given by lower is read
+   * @param lower true if A is lower triangular, false if it is upper triangular
+   * @param unitDiagonal true if the diagonal of A is assumed to be 1 and is not read
+   * @param n the order of A
+   * @param nrhs the number of columns of B
+   * @param alpha the scaling of B
+   * @param b the data of B, overwritten by X
+   */
+  public static void dtrsm(final double[] a, final boolean lower, final boolean unitDiagonal, final int n, final int nrhs, final double alpha, final double[] b) {
+    Validate.isTrue(a.length == n * n, "A is not " + n + " by " + n);
+    Validate.isTrue(b.length == n * nrhs, "B is not " + n + " by " + nrhs);
+    compute(new SolveTask(a, lower, unitDiagonal, n, nrhs, alpha, b, 0, nrhs), (double) n * n * nrhs / 2);
+  }
+
+  /**
+   * Splits a range of more than one panel on a panel boundary.
+   */
+  private static int split(final int start, final int end) {
+    final int nbPanels = (end - start + PANEL_ROWS - 1) / PANEL_ROWS;
+    return start + (nbPanels / 2) * PANEL_ROWS;
+  }
+
+  private static void checkSizes(final double[] a, final double[] b, final int m, final int n, final int k, final double[] c) {
+    Validate.isTrue(a.length == m * k, "A is not " + m + " by " + k);
+    Validate.isTrue(b.length == k * n, "B is not " + k + " by " + n);
+    Validate.isTrue(c.length == m * n, "C is not " + m + " by " + n);
+  }
+
+  private static void compute(final RecursiveAction task, final double work) {
+    if (work < PARALLEL_THRESHOLD) {
+      task.invoke();
+    } else {
+      s_pool.invoke(task);
+    }
+  }
+
+  /**
+   * Computes the rows [start, end) of C := alpha*A*B + beta*C, or of their upper triangle.
+   */
+  private static void product(final double alpha, final double[] a, final double[] b, final int n, final int k, final double beta, final double[] c,
+      final boolean upper, final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      final int rowC = i * n;
+      for (int j = upper ? i : 0; j < n; j++) {
+        c[rowC + j] = beta == 0 ? 0 : beta * c[rowC + j];
+      }
+    }
+    if (alpha == 0) {
+      return;
+    }
+    for (int pp = 0; pp < k; pp += BLOCK_INNER) {
+      final int pEnd = Math.min(pp + BLOCK_INNER, k);
+      for (int jj = upper ? start - start % BLOCK_COLUMNS : 0; jj < n; jj += BLOCK_COLUMNS) {
+        final int jEnd = Math.min(jj + BLOCK_COLUMNS, n);
+        for (int i = start; i < end; i++) {
+          final int jStart = upper ? Math.max(jj, i) : jj;
+          if (jStart >= jEnd) {
+            continue;
+          }
+          final int rowC = i * n;
+          final int rowA = i * k;
+          for (int p = pp; p < pEnd; p++) {
+            final double aip = alpha * a[rowA + p];
+            final int rowB = p * n;
+            for (int j = jStart; j < jEnd; j++) {
+              c[rowC + j] += aip * b[rowB + j];
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Solves for the columns [start, end) of X in A*X = alpha*B.
+   */
+  private static void solve(final double[] a, final boolean lower, final boolean unitDiagonal, final int n, final int nrhs, final double alpha, final double[] b,
+      final int start, final int end) {
+    for (int loop = 0; loop < n; loop++) {
+      // Forward substitution for a lower triangular matrix, backward for an upper triangular one
+      final int i = lower ? loop : n - 1 - loop;
+      final int rowB = i * nrhs;
+      final int rowA = i * n;
+      if (alpha != 1) {
+        for (int j = start; j < end; j++) {
+          b[rowB + j] *= alpha;
+        }
+      }
+      final int pStart = lower ? 0 : i + 1;
+      final int pEnd = lower ? i : n;
+      for (int p = pStart; p < pEnd; p++) {
+        final double aip = a[rowA + p];
+        if (aip == 0) {
+          continue;
+        }
+        final int rowX = p * nrhs;
+        for (int j = start; j < end; j++) {
+          b[rowB + j] -= aip * b[rowX + j];
+        }
+      }
+      if (!unitDiagonal) {
+        final double aii = a[rowA + i];
+        for (int j = start; j < end; j++) {
+          b[rowB + j] /= aii;
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes a range of row panels of a product, splitting it in two while it has more than one panel.
+   */
+  private static final class ProductTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double _alpha;
+    private final double[] _a;
+    private final double[] _b;
+    private final int _n;
+    private final int _k;
+    private final double _beta;
+    private final double[] _c;
+    private final boolean _upper;
+    private final int _start;
+    private final int _end;
+
+    private ProductTask(final double alpha, final double[] a, final double[] b, final int n, final int k, final double beta, final double[] c,
+        final boolean upper, final int start, final int end) {
+      _alpha = alpha;
+      _a = a;
+      _b = b;
+      _n = n;
+      _k = k;
+      _beta = beta;
+      _c = c;
+      _upper = upper;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start <= PANEL_ROWS || getPool() != s_pool) {
+        product(_alpha, _a, _b, _n, _k, _beta, _c, _upper, _start, _end);
+        return;
+      }
+      final int mid = split(_start, _end);
+      invokeAll(new ProductTask(_alpha, _a, _b, _n, _k, _beta, _c, _upper, _start, mid),
+          new ProductTask(_alpha, _a, _b, _n, _k, _beta, _c, _upper, mid, _end));
+    }
+  }
+
+  /**
+   * Solves for a range of column panels of a triangular system, splitting it in two while it has more than one panel.
+   */
+  private static final class SolveTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[] _a;
+    private final boolean _lower;
+    private final boolean _unitDiagonal;
+    private final int _n;
+    private final int _nrhs;
+    private final double _alpha;
+    private final double[] _b;
+    private final int _start;
+    private final int _end;
+
+    private SolveTask(final double[] a, final boolean lower, final boolean unitDiagonal, final int n, final int nrhs, final double alpha, final double[] b,
+        final int start, final int end) {
+      _a = a;
+      _lower = lower;
+      _unitDiagonal = unitDiagonal;
+      _n = n;
+      _nrhs = nrhs;
+      _alpha = alpha;
+      _b = b;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start <= PANEL_ROWS || getPool() != s_pool) {
+        solve(_a, _lower, _unitDiagonal, _n, _nrhs, _alpha, _b, _start, _end);
+        return;
+      }
+      final int mid = split(_start, _end);
+      invokeAll(new SolveTask(_a, _lower, _unitDiagonal, _n, _nrhs, _alpha, _b, _start, mid),
+          new SolveTask(_a, _lower, _unitDiagonal, _n, _nrhs, _alpha, _b, mid, _end));
+    }
+  }
+
+}
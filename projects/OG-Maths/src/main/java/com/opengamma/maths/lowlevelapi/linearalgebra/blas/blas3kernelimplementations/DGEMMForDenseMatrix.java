@@ -0,0 +1,389 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.maths.lowlevelapi.linearalgebra.blas.blas3kernelimplementations;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.Validate;
+
+import com.opengamma.maths.lowlevelapi.datatypes.primitive.DenseMatrix;
+import com.opengamma.maths.lowlevelapi.linearalgebra.blas.blas3kernelabstractions.BLAS3DGEMMKernelAbstraction;
+
+/**
+ * Does DGEMM like operations on the {@link DenseMatrix} type, using the blocked kernels of {@link BLAS3DenseKernels}.
+ * The in place operations write to the data returned by {@link DenseMatrix#getData()} of C, so C must not be a type that returns a copy of its data.
+ */
+public final class DGEMMForDenseMatrix extends BLAS3DGEMMKernelAbstraction<DenseMatrix, DenseMatrix, DenseMatrix, DenseMatrix> {
+  private static DGEMMForDenseMatrix s_instance = new DGEMMForDenseMatrix();
+
+  public static DGEMMForDenseMatrix getInstance() {
+    return s_instance;
+  }
+
+  private DGEMMForDenseMatrix() {
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_A_times_B(DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(1, A, false, B, false, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_AT_times_B(DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(1, A, true, B, false, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_A_times_BT(DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(1, A, false, B, true, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_AT_times_BT(DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(1, A, true, B, true, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_A_times_B(double alpha, DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(alpha, A, false, B, false, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_AT_times_B(double alpha, DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(alpha, A, true, B, false, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_A_times_BT(double alpha, DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(alpha, A, false, B, true, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_AT_times_BT(double alpha, DenseMatrix A, DenseMatrix B) { //CSIGNORE
+    return stateless(alpha, A, true, B, true, 0, null);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_A_times_B_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, false, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_AT_times_B_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, true, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_A_times_BT_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, false, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_AT_times_BT_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, true, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_A_times_B_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, false, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_AT_times_B_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, true, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_A_times_BT_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, false, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_AT_times_BT_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, true, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_A_times_B_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, false, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_AT_times_B_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, true, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_A_times_BT_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, false, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_AT_times_BT_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(1, A, true, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_times_A_times_B_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, false, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_times_AT_times_B_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, true, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_times_A_times_BT_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, false, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public DenseMatrix dm_stateless_alpha_times_AT_times_BT_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    return stateless(alpha, A, true, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_A_times_B_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, false, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_AT_times_B_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, true, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_A_times_BT_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, false, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_AT_times_BT_plus_C(DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, true, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_A_times_B_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, false, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_AT_times_B_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, true, B, false, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_A_times_BT_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, false, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_AT_times_BT_plus_C(double alpha, DenseMatrix A, DenseMatrix B, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, true, B, true, 1, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_A_times_B_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, false, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_AT_times_B_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, true, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_A_times_BT_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, false, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_AT_times_BT_plus_beta_times_C(DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(1, A, true, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_times_A_times_B_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, false, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_times_AT_times_B_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, true, B, false, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_times_A_times_BT_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, false, B, true, beta, C);
+  }
+
+  /**
+   *{@inheritDoc}
+   */
+  @Override
+  public void dm_inplace_alpha_times_AT_times_BT_plus_beta_times_C(double alpha, DenseMatrix A, DenseMatrix B, double beta, DenseMatrix C) { //CSIGNORE
+    inplace(alpha, A, true, B, true, beta, C);
+  }
+
+  private static DenseMatrix stateless(final double alpha, final DenseMatrix aMatrix, final boolean transA, final DenseMatrix bMatrix, final boolean transB, final double beta,
+      final DenseMatrix cMatrix) {
+    final int rows = transA ? aMatrix.getNumberOfColumns() : aMatrix.getNumberOfRows();
+    final int cols = transB ? bMatrix.getNumberOfRows() : bMatrix.getNumberOfColumns();
+    final double[] c;
+    if (cMatrix == null) {
+      c = new double[rows * cols];
+    } else {
+      checkResultSize(cMatrix, rows, cols);
+      c = Arrays.copyOf(cMatrix.getData(), rows * cols);
+    }
+    multiply(alpha, aMatrix, transA, bMatrix, transB, beta, c);
+    return new DenseMatrix().noCopyOnContructFromRowVector(c, rows, cols);
+  }
+
+  private static void inplace(final double alpha, final DenseMatrix aMatrix, final boolean transA, final DenseMatrix bMatrix, final boolean transB, final double beta,
+      final DenseMatrix cMatrix) {
+    checkResultSize(cMatrix, transA ? aMatrix.getNumberOfColumns() : aMatrix.getNumberOfRows(), transB ? bMatrix.getNumberOfRows() : bMatrix.getNumberOfColumns());
+    multiply(alpha, aMatrix, transA, bMatrix, transB, beta, cMatrix.getData());
+  }
+
+  private static void checkResultSize(final DenseMatrix cMatrix, final int rows, final int cols) {
+    Validate.isTrue(cMatrix.getNumberOfRows() == rows && cMatrix.getNumberOfColumns() == cols, "C is " + cMatrix.getNumberOfRows() + "x" + cMatrix.getNumberOfColumns()
+        + ", the product is " + rows + "x" + cols + ".");
+  }
+
+  private static void multiply(final double alpha, final DenseMatrix aMatrix, final boolean transA, final DenseMatrix bMatrix, final boolean transB, final double beta,
+      final double[] c) {
+    final int aRows = aMatrix.getNumberOfRows();
+    final int aCols = aMatrix.getNumberOfColumns();
+    final int bRows = bMatrix.getNumberOfRows();
+    final int bCols = bMatrix.getNumberOfColumns();
+    final int inner = transA ? aRows : aCols;
+    Validate.isTrue(inner == (transB ? bCols : bRows), "Arguments do not conform: A is " + aRows + "x" + aCols + ", B is " + bRows + "x" + bCols + ".");
+    // The kernel works on A and B in normal orientation; a transposition costs O(n^2) against the O(n^3) of the product.
+    final double[] a = transA ? BLAS3DenseKernels.transpose(aMatrix.getData(), aRows, aCols) : aMatrix.getData();
+    final double[] b = transB ? BLAS3DenseKernels.transpose(bMatrix.getData(), bRows, bCols) : bMatrix.getData();
+    BLAS3DenseKernels.dgemm(alpha, a, b, transA ? aCols : aRows, transB ? bRows : bCols, inner, beta, c);
+  }
+
+}
@@ -5,6 +5,11 @@
  */
 package com.opengamma.maths.lowlevelapi.linearalgebra.blas;
 
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Random;
+
 import org.testng.annotations.Test;
 
 import com.opengamma.maths.lowlevelapi.datatypes.primitive.DenseMatrix;
@@ -19,10 +24,71 @@ public class BLAS3DGEMMDenseDenseDenseMatrixTest {
   DenseMatrix aMatrix5by5 = new DenseMatrix(aData5x5);
   DenseMatrix bMatrix5by5 = new DenseMatrix(bData5x5);
 
+  double[][] ans_A5x5_times_B5x5 = {{215, 230, 245, 260, 275}, {490, 530, 570, 610, 650}, {765, 830, 895, 960, 1025}, {1040, 1130, 1220, 1310, 1400},
+    {1315, 1430, 1545, 1660, 1775}};
+  double[][] ans_AT5x5_times_B5x5 = {{855, 910, 965, 1020, 1075}, {910, 970, 1030, 1090, 1150}, {965, 1030, 1095, 1160, 1225}, {1020, 1090, 1160, 1230, 1300},
+    {1075, 1150, 1225, 1300, 1375}};
+
+  @Test
+  public void testDGEMM_ans_eq_A5x5_times_B5x5() {
+    assertTrue(new DenseMatrix(ans_A5x5_times_B5x5).equals(BLAS3.dgemm(aMatrix5by5, bMatrix5by5)));
+  }
+
   @Test
-  public void testDGEMV_ans_eq_A5x5_times_x5() {
+  public void testDGEMM_ans_eq_AT5x5_times_B5x5() {
+    assertTrue(new DenseMatrix(ans_AT5x5_times_B5x5).equals(BLAS3.dgemm(aMatrix5by5, BLAS2.orientation.transposed, bMatrix5by5, BLAS2.orientation.normal)));
+  }
+
+  @Test
+  public void testDGEMM_ans_eq_alpha_times_A5x5_times_BT5x5_plus_beta_times_C5x5() {
+    final DenseMatrix ans = BLAS3.dgemm(2, aMatrix5by5, BLAS2.orientation.normal, bMatrix5by5, BLAS2.orientation.transposed, -1, aMatrix5by5);
+    for (int i = 0; i < 5; i++) {
+      for (int j = 0; j < 5; j++) {
+        double sum = 0;
+        for (int k = 0; k < 5; k++) {
+          sum += aData5x5[i][k] * bData5x5[j][k];
+        }
+        assertEquals(2 * sum - aData5x5[i][j], ans.getEntry(i, j), 0);
+      }
+    }
+  }
 
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testDGEMM_nonConforming() {
+    BLAS3.dgemm(aMatrix5by5, new DenseMatrix(new double[][] { {1, 2 }, {3, 4 } }));
   }
 
+  @Test
+  /**
+   * Large enough for the blocked, multi-threaded path, with sizes that are not multiples of the blocks.
+   */
+  public void testDGEMM_large() {
+    final Random random = new Random(1);
+    final int m = 301;
+    final int n = 263;
+    final int k = 517;
+    final double[][] a = new double[k][m]; // used transposed
+    final double[][] b = new double[k][n];
+    for (int p = 0; p < k; p++) {
+      for (int i = 0; i < m; i++) {
+        a[p][i] = random.nextDouble() - 0.5;
+      }
+      for (int j = 0; j < n; j++) {
+        b[p][j] = random.nextDouble() - 0.5;
+      }
+    }
+    final DenseMatrix ans = BLAS3.dgemm(new DenseMatrix(a), BLAS2.orientation.transposed, new DenseMatrix(b), BLAS2.orientation.normal);
+    assertEquals(m, ans.getNumberOfRows());
+    assertEquals(n, ans.getNumberOfColumns());
+    for (int i = 0; i < m; i++) {
+      for (int j = 0; j < n; j++) {
+        double sum = 0;
+        for (int p = 0; p < k; p++) {
+          sum += a[p][i] * b[p][j];
+        }
+        assertEquals(sum, ans.getEntry(i, j), 1e-12);
+      }
+    }
+  }
 
 }
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.maths.lowlevelapi.linearalgebra.blas;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.maths.lowlevelapi.datatypes.primitive.DenseMatrix;
+
+/**
+ * tests the BLAS3 DSYRK and DTRSM kernels on dense matrices.
+ */
+public class BLAS3DSYRKDTRSMDenseMatrixTest {
+
+  double[][] aData5x5 = { {1, 2, 3, 4, 5 }, {6, 7, 8, 9, 10 }, {11, 12, 13, 14, 15 }, {16, 17, 18, 19, 20 }, {21, 22, 23, 24, 25 } };
+  DenseMatrix aMatrix5by5 = new DenseMatrix(aData5x5);
+  double[][] ans_AT5x5_times_A5x5 = { {855, 910, 965, 1020, 1075 }, {910, 970, 1030, 1090, 1150 }, {965, 1030, 1095, 1160, 1225 }, {1020, 1090, 1160, 1230, 1300 },
+    {1075, 1150, 1225, 1300, 1375 } };
+
+  double[][] lData4x4 = { {2, 0, 0, 0 }, {1, 3, 0, 0 }, {-1, 2, 4, 0 }, {0.5, -1, 1, 5 } };
+  double[][] bData4x3 = { {1, 2, 3 }, {4, 5, 6 }, {7, 8, 9 }, {10, 11, 12 } };
+
+  @Test
+  public void testDSYRK_ans_eq_AT5x5_times_A5x5() {
+    assertTrue(new DenseMatrix(ans_AT5x5_times_A5x5).equals(BLAS3.dsyrk(aMatrix5by5, BLAS2.orientation.transposed)));
+  }
+
+  @Test
+  public void testDSYRK_agrees_with_DGEMM() {
+    final Random random = new Random(7);
+    final double[][] a = new double[150][90];
+    for (int i = 0; i < a.length; i++) {
+      for (int j = 0; j < a[i].length; j++) {
+        a[i][j] = random.nextDouble() - 0.5;
+      }
+    }
+    final DenseMatrix aMatrix = new DenseMatrix(a);
+    final DenseMatrix c = BLAS3.dgemm(aMatrix, BLAS2.orientation.transposed, aMatrix, BLAS2.orientation.normal);
+    final DenseMatrix ans = BLAS3.dsyrk(0.5, aMatrix, BLAS2.orientation.transposed, 2, c);
+    for (int i = 0; i < 90; i++) {
+      for (int j = 0; j < 90; j++) {
+        assertEquals(2.5 * c.getEntry(i, j), ans.getEntry(i, j), 1e-12);
+      }
+    }
+  }
+
+  @Test
+  public void testDTRSM_lower_and_upper() {
+    final DenseMatrix lMatrix = new DenseMatrix(lData4x4);
+    final DenseMatrix bMatrix = new DenseMatrix(bData4x3);
+    // L*X = 2*B
+    DenseMatrix x = BLAS3.dtrsm(lMatrix, BLAS3.triangle.lower, BLAS2.orientation.normal, false, 2, bMatrix);
+    DenseMatrix check = BLAS3.dgemm(lMatrix, x);
+    for (int i = 0; i < 4; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(2 * bData4x3[i][j], check.getEntry(i, j), 1e-12);
+      }
+    }
+    // L^T*X = B, L^T being upper triangular
+    x = BLAS3.dtrsm(lMatrix, BLAS3.triangle.lower, BLAS2.orientation.transposed, bMatrix);
+    check = BLAS3.dgemm(lMatrix, BLAS2.orientation.transposed, x, BLAS2.orientation.normal);
+    for (int i = 0; i < 4; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(bData4x3[i][j], check.getEntry(i, j), 1e-12);
+      }
+    }
+  }
+
+  @Test
+  public void testDTRSM_unitDiagonal() {
+    // The diagonal is not read
+    final DenseMatrix x = BLAS3.dtrsm(new DenseMatrix(lData4x4), BLAS3.triangle.lower, BLAS2.orientation.normal, true, 1, new DenseMatrix(bData4x3));
+    final double[][] unit = new double[4][];
+    for (int i = 0; i < 4; i++) {
+      unit[i] = lData4x4[i].clone();
+      unit[i][i] = 1;
+    }
+    final DenseMatrix check = BLAS3.dgemm(new DenseMatrix(unit), x);
+    for (int i = 0; i < 4; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(bData4x3[i][j], check.getEntry(i, j), 1e-12);
+      }
+    }
+  }
+
+}
@@ -8,6 +8,9 @@ package com.opengamma.timeseries;
 import java.util.Arrays;
 import java.util.List;
 
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeriesOperations;
+
 /**
  * Bulk operations on time-series.
  */
@@ -31,6 +34,16 @@ public class BulkTimeSeriesOperations {
       }
       return results;
     }
+    if (isAllLocalDate(inputs)) {
+      // single merge pass over the primitive arrays
+      LocalDateDoubleTimeSeries[] localDateInputs = new LocalDateDoubleTimeSeries[inputs.length];
+      System.arraycopy(inputs, 0, localDateInputs, 0, inputs.length);
+      LocalDateDoubleTimeSeries[] intersected = LocalDateDoubleTimeSeriesOperations.intersection(localDateInputs);
+      for (int i = 0; i < inputs.length; i++) {
+        results[i] = (DoubleTimeSeries<E>) intersected[i];
+      }
+      return results;
+    }
     DoubleTimeSeries<E> intersection = inputs[0];
     for (int i = 1; i < inputs.length; i++) {
       intersection = intersection.intersectionFirstValue(inputs[i]);
@@ -41,6 +54,21 @@ public class BulkTimeSeriesOperations {
     return results;
   }
 
+  /**
+   * Checks if all the series are {@code LocalDateDoubleTimeSeries}.
+   * 
+   * @param inputs  the input series, not null
+   * @return true if all the series use local dates
+   */
+  static boolean isAllLocalDate(DoubleTimeSeries<?>[] inputs) {
+    for (DoubleTimeSeries<?> input : inputs) {
+      if (input instanceof LocalDateDoubleTimeSeries == false) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Calculates the intersection of the input time-series.
    * <p>
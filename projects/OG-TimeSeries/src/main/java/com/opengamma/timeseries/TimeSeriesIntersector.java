@@ -5,6 +5,9 @@
  */
 package com.opengamma.timeseries;
 
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeries;
+import com.opengamma.timeseries.date.localdate.LocalDateDoubleTimeSeriesOperations;
+
 /**
  * PLAT-1590
  */
@@ -14,6 +17,12 @@ public final class TimeSeriesIntersector {
     if (series.length <= 1) {
       return series;
     }
+    if (BulkTimeSeriesOperations.isAllLocalDate(series)) {
+      LocalDateDoubleTimeSeries[] localDateSeries = new LocalDateDoubleTimeSeries[series.length];
+      System.arraycopy(series, 0, localDateSeries, 0, series.length);
+      System.arraycopy(LocalDateDoubleTimeSeriesOperations.intersection(localDateSeries), 0, series, 0, series.length);
+      return series;
+    }
     
     //Make the smallest series we can
     for (int i = 1; i < series.length; i++) {
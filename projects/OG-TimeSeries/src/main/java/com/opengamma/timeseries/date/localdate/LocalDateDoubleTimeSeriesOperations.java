@@ -0,0 +1,322 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.timeseries.date.localdate;
+
+import java.util.Arrays;
+
+/**
+ * Vectorized operations on {@code LocalDateDoubleTimeSeries}.
+ * <p>
+ * These operations work directly on the primitive arrays of the series using
+ * simple counted loops, without operator objects or intermediate series.
+ * The arrays of the standard immutable implementation are read without copying,
+ * and series produced from the same input share their times array where possible.
+ * <p>
+ * Operations combining several series do so over the dates common to all of them,
+ * found in a single merge pass over the inputs.
+ * <p>
+ * This is a thread-safe static utility class.
+ */
+public final class LocalDateDoubleTimeSeriesOperations {
+
+  /**
+   * Restricted constructor.
+   */
+  private LocalDateDoubleTimeSeriesOperations() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the intersection of the input time-series.
+   * <p>
+   * Each output series contains the values of the matching input series at the
+   * dates present in all of the inputs. The output series share the same times array.
+   *
+   * @param series  the input series, not null
+   * @return the output series, one for each input, not null
+   */
+  public static LocalDateDoubleTimeSeries[] intersection(LocalDateDoubleTimeSeries... series) {
+    final int n = series.length;
+    final LocalDateDoubleTimeSeries[] results = new LocalDateDoubleTimeSeries[n];
+    if (n == 0) {
+      return results;
+    }
+    final int[][] times = new int[n][];
+    final double[][] values = new double[n][];
+    final int maxCount = extract(series, times, values);
+    final int[] resultTimes = new int[maxCount];
+    final double[][] resultValues = new double[n][maxCount];
+    final int count = merge(times, values, resultTimes, resultValues, null, null);
+    final int[] commonTimes = trim(resultTimes, count);
+    for (int i = 0; i < n; i++) {
+      results[i] = new ImmutableLocalDateDoubleTimeSeries(commonTimes, trim(resultValues[i], count));
+    }
+    return results;
+  }
+
+  /**
+   * Calculates the weighted sum of the input time-series.
+   * <p>
+   * The output contains the weighted sum of the input values at the dates present
+   * in all of the inputs. No intermediate series are created.
+   *
+   * @param series  the input series, not null
+   * @param weights  the weight of each input series, not null
+   * @return the weighted sum, not null
+   * @throws IllegalArgumentException if the number of weights does not match the number of series
+   */
+  public static LocalDateDoubleTimeSeries weightedSum(LocalDateDoubleTimeSeries[] series, double[] weights) {
+    final int n = series.length;
+    if (weights.length != n) {
+      throw new IllegalArgumentException("Arrays are of different sizes: " + n + ", " + weights.length);
+    }
+    if (n == 0) {
+      return ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+    }
+    final int[][] times = new int[n][];
+    final double[][] values = new double[n][];
+    final int maxCount = extract(series, times, values);
+    final int[] resultTimes = new int[maxCount];
+    final double[] resultSum = new double[maxCount];
+    final int count = merge(times, values, resultTimes, null, weights, resultSum);
+    return new ImmutableLocalDateDoubleTimeSeries(trim(resultTimes, count), trim(resultSum, count));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the simple returns of the time-series.
+   * <p>
+   * The return at each date except the first is {@code value / previousValue - 1}.
+   *
+   * @param series  the input series, not null
+   * @return the returns, with one less point than the input, not null
+   */
+  public static LocalDateDoubleTimeSeries returns(LocalDateDoubleTimeSeries series) {
+    final int n = series.size();
+    if (n < 2) {
+      return ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+    }
+    final double[] values = values(series);
+    final double[] result = new double[n - 1];
+    for (int i = 1; i < n; i++) {
+      result[i - 1] = values[i] / values[i - 1] - 1d;
+    }
+    return new ImmutableLocalDateDoubleTimeSeries(Arrays.copyOfRange(times(series), 1, n), result);
+  }
+
+  /**
+   * Calculates the continuously compounded returns of the time-series.
+   * <p>
+   * The return at each date except the first is {@code log(value / previousValue)}.
+   *
+   * @param series  the input series, not null
+   * @return the returns, with one less point than the input, not null
+   */
+  public static LocalDateDoubleTimeSeries logReturns(LocalDateDoubleTimeSeries series) {
+    final int n = series.size();
+    if (n < 2) {
+      return ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+    }
+    final double[] values = values(series);
+    final double[] result = new double[n - 1];
+    for (int i = 1; i < n; i++) {
+      result[i - 1] = Math.log(values[i] / values[i - 1]);
+    }
+    return new ImmutableLocalDateDoubleTimeSeries(Arrays.copyOfRange(times(series), 1, n), result);
+  }
+
+  /**
+   * Lags the values of the time-series by a number of points.
+   * <p>
+   * With a positive lag, the value at each date is the value the input had {@code lag} points
+   * earlier, and the first {@code lag} dates are dropped. A negative lag leads the values
+   * instead, dropping the last dates.
+   *
+   * @param series  the input series, not null
+   * @param lag  the number of points to lag by, negative to lead
+   * @return the lagged series, not null
+   */
+  public static LocalDateDoubleTimeSeries lag(LocalDateDoubleTimeSeries series, int lag) {
+    final int n = series.size();
+    if (lag == 0) {
+      return series;
+    }
+    final int shift = Math.abs(lag);
+    if (shift >= n) {
+      return ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+    }
+    final int[] times = times(series);
+    final double[] values = values(series);
+    if (lag > 0) {
+      return new ImmutableLocalDateDoubleTimeSeries(Arrays.copyOfRange(times, shift, n), Arrays.copyOfRange(values, 0, n - shift));
+    } else {
+      return new ImmutableLocalDateDoubleTimeSeries(Arrays.copyOfRange(times, 0, n - shift), Arrays.copyOfRange(values, shift, n));
+    }
+  }
+
+  /**
+   * Calculates the rolling sum of the time-series over a window of points.
+   * <p>
+   * The sum at each date is the sum of the values at that date and the preceding
+   * {@code window - 1} dates, the first {@code window - 1} dates are dropped.
+   * The sum is updated incrementally as the window moves.
+   *
+   * @param series  the input series, not null
+   * @param window  the number of points in the window, one or greater
+   * @return the rolling sum, not null
+   * @throws IllegalArgumentException if the window is less than one
+   */
+  public static LocalDateDoubleTimeSeries rollingSum(LocalDateDoubleTimeSeries series, int window) {
+    return rolling(series, window, 1d);
+  }
+
+  /**
+   * Calculates the rolling mean of the time-series over a window of points.
+   * <p>
+   * The mean at each date is the mean of the values at that date and the preceding
+   * {@code window - 1} dates, the first {@code window - 1} dates are dropped.
+   *
+   * @param series  the input series, not null
+   * @param window  the number of points in the window, one or greater
+   * @return the rolling mean, not null
+   * @throws IllegalArgumentException if the window is less than one
+   */
+  public static LocalDateDoubleTimeSeries rollingMean(LocalDateDoubleTimeSeries series, int window) {
+    return rolling(series, window, 1d / window);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the scaled rolling sum.
+   *
+   * @param series  the input series, not null
+   * @param window  the number of points in the window
+   * @param scale  the scale to apply to each sum
+   * @return the result, not null
+   */
+  private static LocalDateDoubleTimeSeries rolling(LocalDateDoubleTimeSeries series, int window, double scale) {
+    if (window < 1) {
+      throw new IllegalArgumentException("Window must be one or greater: " + window);
+    }
+    final int n = series.size();
+    if (n < window) {
+      return ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES;
+    }
+    final double[] values = values(series);
+    final double[] result = new double[n - window + 1];
+    double sum = 0d;
+    for (int i = 0; i < window; i++) {
+      sum += values[i];
+    }
+    result[0] = sum * scale;
+    for (int i = window; i < n; i++) {
+      sum += values[i] - values[i - window];
+      result[i - window + 1] = sum * scale;
+    }
+    return new ImmutableLocalDateDoubleTimeSeries(Arrays.copyOfRange(times(series), window - 1, n), result);
+  }
+
+  /**
+   * Merges the sorted times of several series, recording the values at the common times.
+   * <p>
+   * Each input is advanced in turn to the current candidate time, a time is common
+   * once all the inputs agree on it.
+   *
+   * @param times  the times of each series, not null
+   * @param values  the values of each series, not null
+   * @param resultTimes  the common times output, large enough for the shortest series, not null
+   * @param resultValues  the values output for each series at the common times, null if not required
+   * @param weights  the weights of the series, null if not required
+   * @param resultSum  the weighted sum output at the common times, null if not required
+   * @return the number of common times
+   */
+  private static int merge(int[][] times, double[][] values, int[] resultTimes, double[][] resultValues, double[] weights, double[] resultSum) {
+    final int n = times.length;
+    final int[] pos = new int[n];
+    int count = 0;
+    int candidate = Integer.MIN_VALUE;
+    int agree = 0;
+    int k = 0;
+    while (true) {
+      final int[] t = times[k];
+      int p = pos[k];
+      while (p < t.length && t[p] < candidate) {
+        p++;
+      }
+      if (p == t.length) {
+        return count;
+      }
+      pos[k] = p;
+      if (agree > 0 && t[p] == candidate) {
+        agree++;
+      } else {
+        candidate = t[p];
+        agree = 1;
+      }
+      if (agree == n) {
+        resultTimes[count] = candidate;
+        double sum = 0d;
+        for (int i = 0; i < n; i++) {
+          final int index = pos[i];
+          if (resultValues != null) {
+            resultValues[i][count] = values[i][index];
+          }
+          if (resultSum != null) {
+            sum += weights[i] * values[i][index];
+          }
+          pos[i] = index + 1;
+        }
+        if (resultSum != null) {
+          resultSum[count] = sum;
+        }
+        count++;
+        agree = 0;
+      }
+      k = (k + 1 == n ? 0 : k + 1);
+    }
+  }
+
+  /**
+   * Extracts the arrays of each series.
+   *
+   * @param series  the input series, not null
+   * @param times  the times output, not null
+   * @param values  the values output, not null
+   * @return the size of the smallest series
+   */
+  private static int extract(LocalDateDoubleTimeSeries[] series, int[][] times, double[][] values) {
+    int minSize = Integer.MAX_VALUE;
+    for (int i = 0; i < series.length; i++) {
+      times[i] = times(series[i]);
+      values[i] = values(series[i]);
+      minSize = Math.min(minSize, times[i].length);
+    }
+    return minSize;
+  }
+
+  private static int[] times(LocalDateDoubleTimeSeries series) {
+    if (series instanceof AbstractLocalDateDoubleTimeSeries) {
+      return ((AbstractLocalDateDoubleTimeSeries) series).timesArrayFast0();  // read only, not copied
+    }
+    return series.timesArrayFast();
+  }
+
+  private static double[] values(LocalDateDoubleTimeSeries series) {
+    if (series instanceof AbstractLocalDateDoubleTimeSeries) {
+      return ((AbstractLocalDateDoubleTimeSeries) series).valuesArrayFast0();  // read only, not copied
+    }
+    return series.valuesArrayFast();
+  }
+
+  private static int[] trim(int[] array, int size) {
+    return (array.length == size ? array : Arrays.copyOf(array, size));
+  }
+
+  private static double[] trim(double[] array, int size) {
+    return (array.length == size ? array : Arrays.copyOf(array, size));
+  }
+
+}
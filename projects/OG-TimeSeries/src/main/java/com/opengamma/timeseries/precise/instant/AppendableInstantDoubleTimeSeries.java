@@ -0,0 +1,269 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.timeseries.precise.instant;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.threeten.bp.Instant;
+
+/**
+ * A growable store of {@code double} values against {@code Instant} times,
+ * intended for capturing intraday ticks as they arrive.
+ * <p>
+ * The immutable time-series must be copied in full to add a point.
+ * This class stores the points in fixed size chunks instead, so appending is O(1),
+ * with only the small array of chunk references being grown as it fills.
+ * Points must be appended in time order.
+ * <p>
+ * Reads do not lock and see a consistent snapshot of the points appended before the read started.
+ * The {@link #snapshot()}, {@link #tail(int)} and {@link #subSeriesFast(long, boolean, long, boolean)}
+ * methods return immutable {@link InstantDoubleTimeSeries} instances, copying only the points requested.
+ * <p>
+ * This class is mutable and thread-safe.
+ * Appends are serialized, reads proceed concurrently with them.
+ */
+public final class AppendableInstantDoubleTimeSeries {
+
+  /**
+   * The shift to obtain the chunk from an index.
+   */
+  private static final int CHUNK_SHIFT = 12;
+  /**
+   * The number of points in each chunk.
+   */
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  /**
+   * The mask to obtain the position in the chunk from an index.
+   */
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  /**
+   * The times, by chunk.
+   * Only ever replaced by a larger array containing the same chunks.
+   */
+  private volatile long[][] _times = new long[1][];
+  /**
+   * The values, by chunk.
+   * Only ever replaced by a larger array containing the same chunks.
+   */
+  private volatile double[][] _values = new double[1][];
+  /**
+   * The number of points, written after the point itself to publish it.
+   */
+  private volatile int _size;
+
+  /**
+   * Creates an empty instance.
+   */
+  public AppendableInstantDoubleTimeSeries() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Appends a point after the latest point.
+   *
+   * @param instant  the instant, not null
+   * @param value  the value
+   * @throws IllegalArgumentException if the instant is not after the latest point
+   */
+  public void append(Instant instant, double value) {
+    appendFast(InstantToLongConverter.convertToLong(instant), value);
+  }
+
+  /**
+   * Appends a point after the latest point.
+   *
+   * @param instant  the instant, as nanoseconds from the epoch
+   * @param value  the value
+   * @throws IllegalArgumentException if the instant is not after the latest point
+   */
+  public synchronized void appendFast(long instant, double value) {
+    final int size = _size;
+    long[][] times = _times;
+    double[][] values = _values;
+    if (size > 0 && instant <= times[(size - 1) >>> CHUNK_SHIFT][(size - 1) & CHUNK_MASK]) {
+      throw new IllegalArgumentException("Instant must be after the latest point: " + InstantToLongConverter.convertToInstant(instant));
+    }
+    final int chunk = size >>> CHUNK_SHIFT;
+    if (chunk == times.length) {
+      times = Arrays.copyOf(times, chunk * 2);
+      values = Arrays.copyOf(values, chunk * 2);
+    }
+    if (times[chunk] == null) {
+      times[chunk] = new long[CHUNK_SIZE];
+      values[chunk] = new double[CHUNK_SIZE];
+    }
+    times[chunk][size & CHUNK_MASK] = instant;
+    values[chunk][size & CHUNK_MASK] = value;
+    _times = times;
+    _values = values;
+    _size = size + 1;  // publishes the point
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of points.
+   *
+   * @return the number of points
+   */
+  public int size() {
+    return _size;
+  }
+
+  /**
+   * Checks if there are no points.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return _size == 0;
+  }
+
+  /**
+   * Gets the latest instant.
+   *
+   * @return the latest instant, as nanoseconds from the epoch
+   * @throws NoSuchElementException if empty
+   */
+  public long getLatestTimeFast() {
+    final int size = _size;
+    if (size == 0) {
+      throw new NoSuchElementException("Series is empty");
+    }
+    return _times[(size - 1) >>> CHUNK_SHIFT][(size - 1) & CHUNK_MASK];
+  }
+
+  /**
+   * Gets the latest value.
+   *
+   * @return the latest value
+   * @throws NoSuchElementException if empty
+   */
+  public double getLatestValueFast() {
+    final int size = _size;
+    if (size == 0) {
+      throw new NoSuchElementException("Series is empty");
+    }
+    return _values[(size - 1) >>> CHUNK_SHIFT][(size - 1) & CHUNK_MASK];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets an immutable time-series of all the points.
+   *
+   * @return the time-series, not null
+   */
+  public InstantDoubleTimeSeries snapshot() {
+    final int size = _size;
+    return copy(_times, _values, 0, size);
+  }
+
+  /**
+   * Gets an immutable time-series of the latest points.
+   *
+   * @param numItems  the number of points to return, all points if larger than the size
+   * @return the time-series, not null
+   */
+  public InstantDoubleTimeSeries tail(int numItems) {
+    if (numItems < 0) {
+      throw new IndexOutOfBoundsException("Negative number of items: " + numItems);
+    }
+    final int size = _size;
+    return copy(_times, _values, Math.max(0, size - numItems), size);
+  }
+
+  /**
+   * Gets an immutable time-series of the points in a time window.
+   * <p>
+   * The start is inclusive and the end exclusive, as with the immutable time-series.
+   *
+   * @param startTime  the start instant, not null
+   * @param endTime  the end instant, not null
+   * @return the time-series, not null
+   */
+  public InstantDoubleTimeSeries subSeries(Instant startTime, Instant endTime) {
+    return subSeriesFast(InstantToLongConverter.convertToLong(startTime), true, InstantToLongConverter.convertToLong(endTime), false);
+  }
+
+  /**
+   * Gets an immutable time-series of the points in a time window.
+   * <p>
+   * The window is located by binary search, only the points within it are copied.
+   *
+   * @param startTime  the start instant, as nanoseconds from the epoch
+   * @param includeStart  true to include the start instant
+   * @param endTime  the end instant, as nanoseconds from the epoch
+   * @param includeEnd  true to include the end instant
+   * @return the time-series, not null
+   */
+  public InstantDoubleTimeSeries subSeriesFast(long startTime, boolean includeStart, long endTime, boolean includeEnd) {
+    final int size = _size;
+    final long[][] times = _times;
+    final int start = search(times, size, startTime, includeStart == false);
+    final int end = search(times, size, endTime, includeEnd);
+    return copy(times, _values, start, Math.max(start, end));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the index of the first point at or after an instant.
+   *
+   * @param times  the times, not null
+   * @param size  the number of points to search
+   * @param instant  the instant
+   * @param after  true to find the first point strictly after the instant
+   * @return the index, size if there is no such point
+   */
+  private static int search(long[][] times, int size, long instant, boolean after) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      final long time = times[mid >>> CHUNK_SHIFT][mid & CHUNK_MASK];
+      if (time < instant || (after && time == instant)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Copies a range of points to an immutable time-series.
+   *
+   * @param times  the times, not null
+   * @param values  the values, not null
+   * @param start  the start index, inclusive
+   * @param end  the end index, exclusive
+   * @return the time-series, not null
+   */
+  private static InstantDoubleTimeSeries copy(long[][] times, double[][] values, int start, int end) {
+    if (start == end) {
+      return ImmutableInstantDoubleTimeSeries.EMPTY_SERIES;
+    }
+    final long[] resultTimes = new long[end - start];
+    final double[] resultValues = new double[end - start];
+    int index = start;
+    while (index < end) {
+      final int chunk = index >>> CHUNK_SHIFT;
+      final int pos = index & CHUNK_MASK;
+      final int length = Math.min(CHUNK_SIZE - pos, end - index);
+      System.arraycopy(times[chunk], pos, resultTimes, index - start, length);
+      System.arraycopy(values[chunk], pos, resultValues, index - start, length);
+      index += length;
+    }
+    return new ImmutableInstantDoubleTimeSeries(resultTimes, resultValues);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "AppendableInstantDoubleTimeSeries[size=" + _size + "]";
+  }
+
+}
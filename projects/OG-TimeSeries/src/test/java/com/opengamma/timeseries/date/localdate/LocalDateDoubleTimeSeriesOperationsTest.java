@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.timeseries.date.localdate;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.LocalDate;
+
+/**
+ * Test LocalDateDoubleTimeSeriesOperations.
+ */
+@Test(groups = "unit")
+public class LocalDateDoubleTimeSeriesOperationsTest {
+
+  private static final LocalDate D1 = LocalDate.of(2010, 2, 1);
+  private static final LocalDate D2 = LocalDate.of(2010, 2, 2);
+  private static final LocalDate D3 = LocalDate.of(2010, 2, 3);
+  private static final LocalDate D4 = LocalDate.of(2010, 2, 4);
+  private static final LocalDate D5 = LocalDate.of(2010, 2, 5);
+  private static final LocalDateDoubleTimeSeries SERIES = ImmutableLocalDateDoubleTimeSeries.of(
+      new LocalDate[] {D1, D2, D3, D4, D5 }, new double[] {1, 2, 4, 8, 16 });
+
+  //-------------------------------------------------------------------------
+  public void test_intersection() {
+    LocalDateDoubleTimeSeries a = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3, D5 }, new double[] {1, 2, 3, 5 });
+    LocalDateDoubleTimeSeries b = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D4, D5 }, new double[] {20, 30, 40, 50 });
+    LocalDateDoubleTimeSeries c = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D3, D5 }, new double[] {100, 300, 500 });
+    LocalDateDoubleTimeSeries[] test = LocalDateDoubleTimeSeriesOperations.intersection(a, b, c);
+    assertEquals(3, test.length);
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D5 }, new double[] {3, 5 }), test[0]);
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D5 }, new double[] {30, 50 }), test[1]);
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D5 }, new double[] {300, 500 }), test[2]);
+    // matches the pairwise intersection
+    assertEquals(a.intersectionFirstValue(b).intersectionFirstValue(c), test[0]);
+  }
+
+  public void test_intersection_disjoint() {
+    LocalDateDoubleTimeSeries a = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D3 }, new double[] {1, 3 });
+    LocalDateDoubleTimeSeries b = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D4 }, new double[] {2, 4 });
+    LocalDateDoubleTimeSeries[] test = LocalDateDoubleTimeSeriesOperations.intersection(a, b, ImmutableLocalDateDoubleTimeSeries.EMPTY_SERIES);
+    for (LocalDateDoubleTimeSeries series : test) {
+      assertEquals(0, series.size());
+    }
+  }
+
+  public void test_weightedSum() {
+    LocalDateDoubleTimeSeries a = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3, D5 }, new double[] {1, 2, 3, 5 });
+    LocalDateDoubleTimeSeries b = ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D4, D5 }, new double[] {20, 30, 40, 50 });
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesOperations.weightedSum(
+        new LocalDateDoubleTimeSeries[] {a, b }, new double[] {2, 0.5 });
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D5 }, new double[] {14, 21, 35 }), test);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_weightedSum_badWeights() {
+    LocalDateDoubleTimeSeriesOperations.weightedSum(new LocalDateDoubleTimeSeries[] {SERIES }, new double[] {1, 2 });
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_returns() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesOperations.returns(SERIES);
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D4, D5 }, new double[] {1, 1, 1, 1 }), test);
+    assertEquals(0, LocalDateDoubleTimeSeriesOperations.returns(ImmutableLocalDateDoubleTimeSeries.of(D1, 1)).size());
+  }
+
+  public void test_logReturns() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesOperations.logReturns(SERIES);
+    assertEquals(4, test.size());
+    assertEquals(D2, test.getEarliestTime());
+    for (int i = 0; i < test.size(); i++) {
+      assertEquals(Math.log(2), test.getValueAtIndexFast(i), 1e-15);
+    }
+  }
+
+  public void test_lag() {
+    assertSame(SERIES, LocalDateDoubleTimeSeriesOperations.lag(SERIES, 0));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D4, D5 }, new double[] {1, 2, 4 }),
+        LocalDateDoubleTimeSeriesOperations.lag(SERIES, 2));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D1, D2, D3 }, new double[] {4, 8, 16 }),
+        LocalDateDoubleTimeSeriesOperations.lag(SERIES, -2));
+    assertEquals(0, LocalDateDoubleTimeSeriesOperations.lag(SERIES, 5).size());
+  }
+
+  public void test_rolling() {
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D3, D4, D5 }, new double[] {7, 14, 28 }),
+        LocalDateDoubleTimeSeriesOperations.rollingSum(SERIES, 3));
+    assertEquals(ImmutableLocalDateDoubleTimeSeries.of(new LocalDate[] {D2, D3, D4, D5 }, new double[] {1.5, 3, 6, 12 }),
+        LocalDateDoubleTimeSeriesOperations.rollingMean(SERIES, 2));
+    assertEquals(SERIES, LocalDateDoubleTimeSeriesOperations.rollingSum(SERIES, 1));
+    assertEquals(0, LocalDateDoubleTimeSeriesOperations.rollingSum(SERIES, 6).size());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_rolling_badWindow() {
+    LocalDateDoubleTimeSeriesOperations.rollingSum(SERIES, 0);
+  }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2013 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.timeseries.precise.instant;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+
+/**
+ * Test AppendableInstantDoubleTimeSeries.
+ */
+@Test(groups = "unit")
+public class AppendableInstantDoubleTimeSeriesTest {
+
+  private static final int COUNT = 10000;  // spans several chunks
+
+  private static AppendableInstantDoubleTimeSeries createSeries() {
+    AppendableInstantDoubleTimeSeries test = new AppendableInstantDoubleTimeSeries();
+    for (int i = 0; i < COUNT; i++) {
+      test.appendFast(i * 10L, i);
+    }
+    return test;
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    AppendableInstantDoubleTimeSeries test = new AppendableInstantDoubleTimeSeries();
+    assertTrue(test.isEmpty());
+    assertSame(ImmutableInstantDoubleTimeSeries.EMPTY_SERIES, test.snapshot());
+    assertSame(ImmutableInstantDoubleTimeSeries.EMPTY_SERIES, test.tail(3));
+  }
+
+  @Test(expectedExceptions = NoSuchElementException.class)
+  public void test_empty_latest() {
+    new AppendableInstantDoubleTimeSeries().getLatestTimeFast();
+  }
+
+  public void test_append() {
+    AppendableInstantDoubleTimeSeries test = new AppendableInstantDoubleTimeSeries();
+    test.append(Instant.ofEpochSecond(1), 1.5);
+    test.append(Instant.ofEpochSecond(2), 2.5);
+    assertEquals(2, test.size());
+    assertEquals(InstantToLongConverter.convertToLong(Instant.ofEpochSecond(2)), test.getLatestTimeFast());
+    assertEquals(2.5, test.getLatestValueFast(), 0d);
+    assertEquals(ImmutableInstantDoubleTimeSeries.of(new Instant[] {Instant.ofEpochSecond(1), Instant.ofEpochSecond(2) }, new double[] {1.5, 2.5 }),
+        test.snapshot());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_append_outOfOrder() {
+    AppendableInstantDoubleTimeSeries test = new AppendableInstantDoubleTimeSeries();
+    test.appendFast(20, 1);
+    test.appendFast(20, 2);
+  }
+
+  public void test_snapshot() {
+    AppendableInstantDoubleTimeSeries test = createSeries();
+    InstantDoubleTimeSeries snapshot = test.snapshot();
+    assertEquals(COUNT, snapshot.size());
+    for (int i = 0; i < COUNT; i++) {
+      assertEquals(i * 10L, snapshot.getTimeAtIndexFast(i));
+      assertEquals((double) i, snapshot.getValueAtIndexFast(i), 0d);
+    }
+    // later appends do not affect the snapshot
+    test.appendFast(COUNT * 10L, -1);
+    assertEquals(COUNT, snapshot.size());
+    assertEquals(COUNT + 1, test.size());
+  }
+
+  public void test_tail() {
+    AppendableInstantDoubleTimeSeries test = createSeries();
+    assertEquals(test.snapshot().tail(5000), test.tail(5000));
+    assertEquals(COUNT, test.tail(COUNT + 1).size());
+    assertEquals(0, test.tail(0).size());
+  }
+
+  public void test_subSeries() {
+    AppendableInstantDoubleTimeSeries test = createSeries();
+    InstantDoubleTimeSeries snapshot = test.snapshot();
+    assertEquals(snapshot.subSeriesFast(4000, true, 50000, false), test.subSeriesFast(4000, true, 50000, false));
+    assertEquals(snapshot.subSeriesFast(4000, false, 50000, true), test.subSeriesFast(4000, false, 50000, true));
+    assertEquals(snapshot.subSeriesFast(4005, true, 40955, true), test.subSeriesFast(4005, true, 40955, true));
+    assertEquals(0, test.subSeriesFast(50, true, 40, true).size());
+    assertEquals(0, test.subSeriesFast(COUNT * 10L, true, COUNT * 20L, true).size());
+    assertEquals(snapshot, test.subSeries(InstantToLongConverter.convertToInstant(0), InstantToLongConverter.convertToInstant(COUNT * 10L)));
+  }
+
+  public void test_concurrentReads() throws Exception {
+    final AppendableInstantDoubleTimeSeries test = new AppendableInstantDoubleTimeSeries();
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread reader = new Thread() {
+      @Override
+      public void run() {
+        try {
+          while (test.size() < COUNT) {
+            InstantDoubleTimeSeries snapshot = test.tail(100);
+            for (int i = 0; i < snapshot.size(); i++) {
+              if (snapshot.getTimeAtIndexFast(i) != snapshot.getValueAtIndexFast(i) * 10) {
+                throw new AssertionError("Inconsistent point at " + snapshot.getTimeAtIndexFast(i));
+              }
+            }
+          }
+        } catch (Throwable ex) {
+          failure.set(ex);
+        }
+      }
+    };
+    reader.start();
+    for (int i = 0; i < COUNT; i++) {
+      test.appendFast(i * 10L, i);
+    }
+    reader.join();
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+  }
+
+}
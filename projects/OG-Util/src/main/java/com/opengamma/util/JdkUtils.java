@@ -5,7 +5,11 @@
  */
 package com.opengamma.util;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 
 /**
  * Utility to fix bugs in the JDK.
@@ -41,4 +45,49 @@ public final class JdkUtils {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Releases the memory mapping behind a buffer without waiting for it to be garbage collected.
+   * <p>
+   * The JDK provides no way to unmap a file.
+   * <a href="http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4724038">Bug 4724038</a>.
+   * Until the buffer is collected the mapping holds address space and, on some platforms, prevents the file
+   * from being deleted. This uses the cleaner of the underlying direct buffer where the JVM exposes one.
+   * <p>
+   * The buffer, and any buffer derived from it, must not be used after this is called; doing so may crash the JVM.
+   * 
+   * @param buffer  the buffer to unmap, not null
+   * @return true if the mapping was released, false if the JVM does not allow it and it will be released when the buffer is collected
+   */
+  public static boolean unmap(final MappedByteBuffer buffer) {
+    ArgumentChecker.notNull(buffer, "buffer");
+    try {
+      // Java 9 and later
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      invokeCleaner.invoke(theUnsafe.get(null), buffer);
+      return true;
+    } catch (NoSuchMethodException ex) {
+      // Earlier JVMs, below
+    } catch (Exception ex) {
+      return false;
+    }
+    try {
+      final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      final Object cleaner = cleanerMethod.invoke(buffer);
+      if (cleaner == null) {
+        return false;
+      }
+      final Method cleanMethod = cleaner.getClass().getMethod("clean");
+      cleanMethod.setAccessible(true);
+      cleanMethod.invoke(cleaner);
+      return true;
+    } catch (Exception ex) {
+      return false;
+    }
+  }
+
 }
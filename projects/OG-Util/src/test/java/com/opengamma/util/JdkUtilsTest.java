@@ -7,7 +7,11 @@ package com.opengamma.util;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.io.File;
+import java.io.RandomAccessFile;
 import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.testng.annotations.Test;
 
@@ -24,4 +28,22 @@ public class JdkUtilsTest {
     assertEquals(BigDecimal.valueOf(1, 0), JdkUtils.stripTrailingZeros(BigDecimal.valueOf(1, 0)));
   }
 
+  public void test_unmap() throws Exception {
+    final File file = File.createTempFile("JdkUtilsTest", ".dat");
+    try {
+      final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+      final MappedByteBuffer buffer;
+      try {
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 1024);
+      } finally {
+        raf.close();
+      }
+      buffer.put(0, (byte) 1);
+      // The result depends on the JVM; either way the call must not fail
+      JdkUtils.unmap(buffer);
+    } finally {
+      file.delete();
+    }
+  }
+
 }
@@ -5,7 +5,10 @@
  */
 package com.opengamma.util.db;
 
+import java.io.Reader;
+import java.sql.Connection;
 import java.sql.Driver;
+import java.sql.SQLException;
 
 import org.apache.commons.lang.StringUtils;
 import org.hibernate.dialect.Dialect;
@@ -220,6 +223,48 @@ public abstract class DbDialect {
     return "NEXT VALUE FOR " + sequenceName + " ";
   }
 
+  /**
+   * Builds SQL to query a number of values from a sequence in a single statement.
+   * The SQL returns one row per value, with the value in the first column.
+   *
+   * @param sequenceName  the sequence name, not null
+   * @param count  the number of values, one or greater
+   * @return the SQL, not space terminated, null if the database does not support this
+   */
+  public String sqlNextSequenceValuesSelect(final String sequenceName, final int count) {
+    // no SQL standard form
+    return null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the database supports bulk loading rows using {@link #copyIn}.
+   *
+   * @return true if bulk loading is supported
+   */
+  public boolean isCopyInSupported() {
+    return false;
+  }
+
+  /**
+   * Bulk loads rows into a table using the native facility of the database.
+   * <p>
+   * The rows are in text format, one row per line with the columns separated by a tab.
+   * Backslash, tab, newline and carriage return within a column must be escaped by a backslash.
+   * A null column is written as {@code \N}.
+   *
+   * @param connection  the connection to load on, not null
+   * @param tableName  the table name, not null
+   * @param columnNames  the column names, in the order they appear in each row, not null
+   * @param rows  the rows to load, not null
+   * @return the number of rows loaded
+   * @throws SQLException if the load fails
+   * @throws UnsupportedOperationException if bulk loading is not supported
+   */
+  public long copyIn(final Connection connection, final String tableName, final String[] columnNames, final Reader rows) throws SQLException {
+    throw new UnsupportedOperationException("Bulk loading is not supported by " + getName());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds SQL to query the current timestamp.
@@ -5,10 +5,16 @@
  */
 package com.opengamma.util.db;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
 import java.sql.Driver;
+import java.sql.SQLException;
 
+import org.apache.commons.lang.StringUtils;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.PostgreSQLDialect;
+import org.postgresql.PGConnection;
 
 import com.opengamma.elsql.ElSqlConfig;
 
@@ -57,4 +63,26 @@ public class PostgresDbDialect extends DbDialect {
     return "nextval('" + sequenceName + "')";
   }
 
+  @Override
+  public String sqlNextSequenceValuesSelect(final String sequenceName, final int count) {
+    return "SELECT nextval('" + sequenceName + "') FROM generate_series(1, " + count + ")";
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean isCopyInSupported() {
+    return true;
+  }
+
+  @Override
+  public long copyIn(final Connection connection, final String tableName, final String[] columnNames, final Reader rows) throws SQLException {
+    // the default COPY text format matches the format defined by the superclass
+    final String sql = "COPY " + tableName + " (" + StringUtils.join(columnNames, ", ") + ") FROM STDIN";
+    try {
+      return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, rows);
+    } catch (IOException ex) {
+      throw new SQLException("Unable to read rows for " + tableName, ex);
+    }
+  }
+
 }